@@ -3,16 +3,17 @@ package ro.felixcirebea.medicalsys;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
-import ro.felixcirebea.medicalsys.exception.DataMismatchException;
-import ro.felixcirebea.medicalsys.service.InputFileParser;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ro.felixcirebea.medicalsys.service.SeedSnapshotService;
 
 @SpringBootApplication
+@EnableScheduling
 public class MedicalsysApplication {
 
-	public static void main(String[] args) throws DataMismatchException {
+	public static void main(String[] args) {
 		ApplicationContext run = SpringApplication.run(MedicalsysApplication.class, args);
-		InputFileParser fileParser = run.getBean(InputFileParser.class);
-		fileParser.run();
+		SeedSnapshotService seedSnapshotService = run.getBean(SeedSnapshotService.class);
+		seedSnapshotService.seed();
 	}
 
 }
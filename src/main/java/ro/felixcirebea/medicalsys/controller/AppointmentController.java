@@ -1,15 +1,25 @@
 package ro.felixcirebea.medicalsys.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
+import ro.felixcirebea.medicalsys.dto.BookingResultDto;
+import ro.felixcirebea.medicalsys.dto.SlotHoldDto;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.service.AppointmentExportService;
 import ro.felixcirebea.medicalsys.service.AppointmentService;
+import ro.felixcirebea.medicalsys.service.BookingBatchService;
+import ro.felixcirebea.medicalsys.service.EarliestAvailabilityService;
+import ro.felixcirebea.medicalsys.service.SlotHoldService;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
@@ -19,9 +29,21 @@ import java.util.List;
 public class AppointmentController {
 
     private final AppointmentService appointmentService;
+    private final EarliestAvailabilityService earliestAvailabilityService;
+    private final BookingBatchService bookingBatchService;
+    private final SlotHoldService slotHoldService;
+    private final AppointmentExportService appointmentExportService;
 
-    public AppointmentController(AppointmentService appointmentService) {
+    public AppointmentController(AppointmentService appointmentService,
+                                 EarliestAvailabilityService earliestAvailabilityService,
+                                 BookingBatchService bookingBatchService,
+                                 SlotHoldService slotHoldService,
+                                 AppointmentExportService appointmentExportService) {
         this.appointmentService = appointmentService;
+        this.earliestAvailabilityService = earliestAvailabilityService;
+        this.bookingBatchService = bookingBatchService;
+        this.slotHoldService = slotHoldService;
+        this.appointmentExportService = appointmentExportService;
     }
 
     @GetMapping("/available-hours")
@@ -34,6 +56,47 @@ public class AppointmentController {
                 appointmentService.getAvailableHours(doctorName, investigation, desiredDate));
     }
 
+    @GetMapping("/next-available")
+    public ResponseEntity<List<AvailableSlotDto>> getNextAvailableSlots(
+            @RequestParam(name = "doctor") String doctorName,
+            @RequestParam(name = "investigation") String investigation,
+            @RequestParam(name = "start-date") LocalDate startDate,
+            @RequestParam(name = "limit", required = false) Integer limit)
+            throws DataNotFoundException, ConcurrencyException, DataMismatchException {
+        Integer limitValue = Validator.limitValidator(
+                limit, AppointmentService.DEFAULT_SLOT_LIMIT, AppointmentService.MAX_SLOT_LIMIT);
+        return ResponseEntity.ok(
+                appointmentService.getNextAvailableSlots(doctorName, investigation, startDate, limitValue));
+    }
+
+    @GetMapping("/earliest-available")
+    public ResponseEntity<List<AvailableSlotDto>> getEarliestAvailableSlots(
+            @RequestParam(name = "investigation") String investigation,
+            @RequestParam(name = "specialty", required = false) String specialty,
+            @RequestParam(name = "start-date") LocalDate startDate,
+            @RequestParam(name = "limit", required = false) Integer limit)
+            throws DataNotFoundException, ConcurrencyException, DataMismatchException {
+        Integer limitValue = Validator.limitValidator(
+                limit, AppointmentService.DEFAULT_SLOT_LIMIT, AppointmentService.MAX_SLOT_LIMIT);
+        return ResponseEntity.ok(earliestAvailabilityService.getEarliestAvailableSlots(
+                investigation, specialty, startDate, limitValue));
+    }
+
+    @GetMapping("/export")
+    public void exportAppointments(
+            @RequestParam(name = "start-date") LocalDate startDate,
+            @RequestParam(name = "end-date") LocalDate endDate,
+            @RequestParam(name = "doctor", required = false) String doctorName,
+            @RequestParam(name = "status", required = false) String status,
+            HttpServletResponse response)
+            throws DataMismatchException, IOException {
+        Validator.dateRangeValidator(startDate, endDate);
+        AppointmentStatus statusValue = status == null ? null : Validator.appointmentStatusValidator(status);
+        response.setContentType(AppointmentExportService.EXPORT_CONTENT_TYPE);
+        appointmentExportService.exportAppointments(
+                startDate, endDate, doctorName, statusValue, response.getOutputStream());
+    }
+
     @PostMapping("/book")
     public ResponseEntity<Long> bookAppointment(
             @RequestBody @Valid AppointmentDto appointmentDto)
@@ -41,6 +104,30 @@ public class AppointmentController {
         return ResponseEntity.ok(appointmentService.bookAppointment(appointmentDto));
     }
 
+    @PostMapping("/book-batch")
+    public ResponseEntity<List<BookingResultDto>> bookAppointments(
+            @RequestBody List<AppointmentDto> appointmentDtos)
+            throws DataMismatchException, DataNotFoundException, ConcurrencyException {
+        return ResponseEntity.ok(bookingBatchService.bookAppointments(appointmentDtos));
+    }
+
+    @PostMapping("/hold")
+    public ResponseEntity<SlotHoldDto> holdSlot(
+            @RequestBody @Valid AppointmentDto appointmentDto,
+            @RequestParam(name = "hold-seconds", required = false) Integer holdSeconds)
+            throws DataMismatchException, DataNotFoundException, ConcurrencyException {
+        Integer holdSecondsValue = Validator.holdSecondsValidator(
+                holdSeconds, SlotHoldService.DEFAULT_HOLD_SECONDS, SlotHoldService.MAX_HOLD_SECONDS);
+        return ResponseEntity.ok(slotHoldService.holdSlot(appointmentDto, holdSecondsValue));
+    }
+
+    @PostMapping("/hold/{token}/confirm")
+    public ResponseEntity<Long> confirmHold(
+            @PathVariable(name = "token") String token)
+            throws DataNotFoundException, ConcurrencyException {
+        return ResponseEntity.ok(slotHoldService.confirmHold(token));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentDto> getAppointmentById(
             @PathVariable(name = "id") String appointmentId)
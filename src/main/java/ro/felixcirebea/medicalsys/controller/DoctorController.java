@@ -4,9 +4,11 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ro.felixcirebea.medicalsys.dto.DoctorDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.service.DoctorService;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
 import java.util.List;
@@ -51,8 +53,13 @@ public class DoctorController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<DoctorDto>> getAllDoctors() {
-        return ResponseEntity.ok(doctorService.getAllDoctors());
+    public ResponseEntity<PageDto<DoctorDto>> getAllDoctors(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size)
+            throws DataMismatchException {
+        Integer sizeValue = Validator.limitValidator(
+                size, KeysetPagination.DEFAULT_PAGE_SIZE, KeysetPagination.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(doctorService.getAllDoctors(cursor, sizeValue));
     }
 
     @DeleteMapping("/{id}")
@@ -4,13 +4,14 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ro.felixcirebea.medicalsys.dto.HolidayDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.service.HolidayService;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @RestController
 @RequestMapping("/holidays")
@@ -45,8 +46,13 @@ public class HolidayController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<HolidayDto>> getAllHolidays() {
-        return ResponseEntity.ok(holidayService.getAllHolidays());
+    public ResponseEntity<PageDto<HolidayDto>> getAllHolidays(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size)
+            throws DataMismatchException {
+        Integer sizeValue = Validator.limitValidator(
+                size, KeysetPagination.DEFAULT_PAGE_SIZE, KeysetPagination.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(holidayService.getAllHolidays(cursor, sizeValue));
     }
 
     @GetMapping("/is-holiday")
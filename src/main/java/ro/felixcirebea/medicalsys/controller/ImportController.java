@@ -0,0 +1,33 @@
+package ro.felixcirebea.medicalsys.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.helper.Validator;
+import ro.felixcirebea.medicalsys.service.CsvImportService;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/admin/import")
+public class ImportController {
+
+    private final CsvImportService csvImportService;
+
+    public ImportController(CsvImportService csvImportService) {
+        this.csvImportService = csvImportService;
+    }
+
+    @PostMapping("/{entity}")
+    public void importCsv(
+            @PathVariable(name = "entity") String entity,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws DataMismatchException, IOException {
+        ImportEntity importEntity = Validator.importEntityValidator(entity);
+        response.setContentType(CsvImportService.REPORT_CONTENT_TYPE);
+        csvImportService.importCsv(importEntity, request.getInputStream(), response.getOutputStream());
+    }
+}
@@ -4,9 +4,11 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ro.felixcirebea.medicalsys.dto.InvestigationDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.service.InvestigationService;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
 import java.util.List;
@@ -58,8 +60,13 @@ public class InvestigationController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<InvestigationDto>> getAllInvestigations() {
-        return ResponseEntity.ok(investigationService.getAllInvestigations());
+    public ResponseEntity<PageDto<InvestigationDto>> getAllInvestigations(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size)
+            throws DataMismatchException {
+        Integer sizeValue = Validator.limitValidator(
+                size, KeysetPagination.DEFAULT_PAGE_SIZE, KeysetPagination.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(investigationService.getAllInvestigations(cursor, sizeValue));
     }
 
     @DeleteMapping("/{id}")
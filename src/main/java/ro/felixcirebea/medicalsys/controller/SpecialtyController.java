@@ -3,14 +3,14 @@ package ro.felixcirebea.medicalsys.controller;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.dto.SpecialtyDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.service.SpecialtyService;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/specialties")
 public class SpecialtyController {
@@ -44,8 +44,13 @@ public class SpecialtyController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<SpecialtyDto>> getAllSpecialties() {
-        return ResponseEntity.ok(specialtyService.getAllSpecialties());
+    public ResponseEntity<PageDto<SpecialtyDto>> getAllSpecialties(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size)
+            throws DataMismatchException {
+        Integer sizeValue = Validator.limitValidator(
+                size, KeysetPagination.DEFAULT_PAGE_SIZE, KeysetPagination.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(specialtyService.getAllSpecialties(cursor, sizeValue));
     }
 
     @DeleteMapping("/{id}")
@@ -3,13 +3,14 @@ package ro.felixcirebea.medicalsys.controller;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
+import ro.felixcirebea.medicalsys.helper.Validator;
 import ro.felixcirebea.medicalsys.service.WorkingHoursService;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/working-hours")
 public class WorkingHoursController {
@@ -28,11 +29,16 @@ public class WorkingHoursController {
     }
 
     @GetMapping("/by-doctor-and-day")
-    public ResponseEntity<List<WorkingHoursDto>> getWorkingHoursByDoctorAndDay(
+    public ResponseEntity<PageDto<WorkingHoursDto>> getWorkingHoursByDoctorAndDay(
             @RequestParam(name = "doctor", required = false) String doctorName,
-            @RequestParam(name = "day", required = false) Integer dayOfWeek)
+            @RequestParam(name = "day", required = false) Integer dayOfWeek,
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size)
             throws DataNotFoundException, DataMismatchException {
-        return ResponseEntity.ok(workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek));
+        Integer sizeValue = Validator.limitValidator(
+                size, KeysetPagination.DEFAULT_PAGE_SIZE, KeysetPagination.MAX_PAGE_SIZE);
+        return ResponseEntity.ok(workingHoursService.getWorkingHoursByDoctorAndDay(
+                doctorName, dayOfWeek, cursor, sizeValue));
     }
 
     @DeleteMapping("/by-doctor-and-day")
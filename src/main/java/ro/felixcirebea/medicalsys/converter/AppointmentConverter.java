@@ -2,6 +2,8 @@ package ro.felixcirebea.medicalsys.converter;
 
 import org.springframework.stereotype.Component;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AppointmentExportDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentArchiveEntity;
 import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
@@ -39,4 +41,44 @@ public class AppointmentConverter {
                 .price(appointmentEntity.getPrice())
                 .build();
     }
+
+    public AppointmentExportDto fromEntityToExportDto(AppointmentEntity appointmentEntity) {
+        return AppointmentExportDto.builder()
+                .id(appointmentEntity.getId())
+                .clientName(appointmentEntity.getClientName())
+                .doctor(appointmentEntity.getDoctor().getName())
+                .investigation(appointmentEntity.getInvestigation().getName())
+                .date(appointmentEntity.getDate())
+                .startHour(appointmentEntity.getStartTime())
+                .endHour(appointmentEntity.getEndTime())
+                .price(appointmentEntity.getPrice())
+                .status(appointmentEntity.getStatus())
+                .build();
+    }
+
+    public AppointmentDto fromArchiveEntityToDto(AppointmentArchiveEntity archiveEntity) {
+        return AppointmentDto.builder()
+                .id(archiveEntity.getId())
+                .clientName(archiveEntity.getClientName())
+                .doctor(archiveEntity.getDoctor().getName())
+                .investigation(archiveEntity.getInvestigation().getName())
+                .date(archiveEntity.getDate())
+                .startHour(archiveEntity.getStartTime())
+                .price(archiveEntity.getPrice())
+                .build();
+    }
+
+    public AppointmentExportDto fromArchiveEntityToExportDto(AppointmentArchiveEntity archiveEntity) {
+        return AppointmentExportDto.builder()
+                .id(archiveEntity.getId())
+                .clientName(archiveEntity.getClientName())
+                .doctor(archiveEntity.getDoctor().getName())
+                .investigation(archiveEntity.getInvestigation().getName())
+                .date(archiveEntity.getDate())
+                .startHour(archiveEntity.getStartTime())
+                .endHour(archiveEntity.getEndTime())
+                .price(archiveEntity.getPrice())
+                .status(archiveEntity.getStatus())
+                .build();
+    }
 }
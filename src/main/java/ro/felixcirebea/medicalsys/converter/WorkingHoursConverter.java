@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursProjection;
 
 import java.time.DayOfWeek;
 
@@ -29,4 +30,14 @@ public class WorkingHoursConverter {
                 .endHour(workingHoursEntity.getEndHour())
                 .build();
     }
+
+    public WorkingHoursDto fromProjectionToDto(WorkingHoursProjection workingHoursProjection) {
+        return WorkingHoursDto.builder()
+                .id(workingHoursProjection.id())
+                .doctor(workingHoursProjection.doctor())
+                .dayOfWeek(workingHoursProjection.dayOfWeek().getValue())
+                .startHour(workingHoursProjection.startHour())
+                .endHour(workingHoursProjection.endHour())
+                .build();
+    }
 }
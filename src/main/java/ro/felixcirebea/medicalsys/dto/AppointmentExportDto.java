@@ -0,0 +1,32 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+public class AppointmentExportDto {
+
+    private Long id;
+
+    private String clientName;
+
+    private String doctor;
+
+    private String investigation;
+
+    private LocalDate date;
+
+    private LocalTime startHour;
+
+    private LocalTime endHour;
+
+    private Double price;
+
+    private AppointmentStatus status;
+
+}
@@ -0,0 +1,19 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+public class AvailableSlotDto {
+
+    private String doctor;
+
+    private LocalDate date;
+
+    private LocalTime startHour;
+
+}
@@ -0,0 +1,16 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingResultDto {
+
+    private Integer index;
+
+    private Long id;
+
+    private String error;
+
+}
@@ -0,0 +1,24 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportReportDto {
+
+    private Long line;
+
+    private String error;
+
+    private Long chunk;
+
+    private Long chunks;
+
+    private Long accepted;
+
+    private Long rejected;
+
+}
@@ -0,0 +1,16 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PageDto<T> {
+
+    private List<T> items;
+
+    private Long nextCursor;
+
+}
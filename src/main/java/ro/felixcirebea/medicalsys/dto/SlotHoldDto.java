@@ -0,0 +1,28 @@
+package ro.felixcirebea.medicalsys.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+public class SlotHoldDto {
+
+    private String token;
+
+    private String doctor;
+
+    private String investigation;
+
+    private LocalDate date;
+
+    private LocalTime startHour;
+
+    private LocalTime endHour;
+
+    private Instant expiresAt;
+
+}
@@ -2,11 +2,13 @@ package ro.felixcirebea.medicalsys.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class SpecialtyDto {
 
     private Long id;
@@ -0,0 +1,49 @@
+package ro.felixcirebea.medicalsys.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.ToString;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Cold copy of an appointment moved out of {@code appointments} by the archival job.
+ * Same columns, and the id is kept so archived appointments stay reachable by it.
+ */
+@Entity(name = "appointments_archive")
+@Table(indexes = {
+        @Index(name = "idx_appointments_archive_doctor_date", columnList = "doctor_id, date"),
+        @Index(name = "idx_appointments_archive_date", columnList = "date")
+})
+@Data
+@SuppressWarnings("all")
+public class AppointmentArchiveEntity {
+
+    @Id
+    private Long id;
+
+    private String clientName;
+
+    @ManyToOne
+    @JoinColumn(name = "doctor_id")
+    @ToString.Exclude
+    private DoctorEntity doctor;
+
+    @ManyToOne
+    @JoinColumn(name = "investigation_id")
+    private InvestigationEntity investigation;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private Double price;
+
+    @Enumerated(EnumType.STRING)
+    private AppointmentStatus status;
+
+}
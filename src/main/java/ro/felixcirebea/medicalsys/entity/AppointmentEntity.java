@@ -3,18 +3,25 @@ package ro.felixcirebea.medicalsys.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
 import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity(name = "appointments")
+@Table(indexes = {
+        @Index(name = "idx_appointments_doctor_date_start", columnList = "doctor_id, date, startTime"),
+        @Index(name = "idx_appointments_date", columnList = "date")
+})
 @Data
 @SuppressWarnings("all")
 public class AppointmentEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
     private Long id;
 
     private String clientName;
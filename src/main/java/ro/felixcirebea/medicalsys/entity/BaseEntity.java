@@ -1,17 +1,19 @@
 package ro.felixcirebea.medicalsys.entity;
 
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
 
 @MappedSuperclass
 @Data
 public class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
     private Long id;
 
     private Boolean isActive = true;
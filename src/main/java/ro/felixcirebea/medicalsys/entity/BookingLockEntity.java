@@ -0,0 +1,32 @@
+package ro.felixcirebea.medicalsys.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
+
+import java.time.LocalDate;
+
+@Entity(name = "booking_locks")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_booking_locks_doctor_date", columnNames = {"doctorId", "lockDate"}))
+@Data
+@NoArgsConstructor
+public class BookingLockEntity {
+
+    @Id
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
+    private Long id;
+
+    private Long doctorId;
+
+    private LocalDate lockDate;
+
+    public BookingLockEntity(Long doctorId, LocalDate lockDate) {
+        this.doctorId = doctorId;
+        this.lockDate = lockDate;
+    }
+
+}
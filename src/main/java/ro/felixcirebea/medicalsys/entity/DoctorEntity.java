@@ -4,15 +4,24 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity(name = "doctors")
+@Table(indexes = @Index(name = "idx_doctors_active", columnList = "isActive, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @SuppressWarnings("all")
 public class DoctorEntity extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @Column(unique = true)
     private String name;
 
@@ -24,6 +33,7 @@ public class DoctorEntity extends BaseEntity {
     private Double priceRate;
 
     @OneToMany(mappedBy = "doctor")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<WorkingHoursEntity> workingHours;
 
     @OneToMany(mappedBy = "doctor")
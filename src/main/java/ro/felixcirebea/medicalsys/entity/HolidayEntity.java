@@ -1,6 +1,8 @@
 package ro.felixcirebea.medicalsys.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -8,6 +10,10 @@ import java.time.LocalDate;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity(name = "holidays")
+@Table(indexes = {
+        @Index(name = "idx_holidays_active_dates", columnList = "isActive, startDate, endDate"),
+        @Index(name = "idx_holidays_description", columnList = "description, isActive")
+})
 @Data
 public class HolidayEntity extends BaseEntity {
 
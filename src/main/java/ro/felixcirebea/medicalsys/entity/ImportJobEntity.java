@@ -0,0 +1,44 @@
+package ro.felixcirebea.medicalsys.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.GenericGenerator;
+import ro.felixcirebea.medicalsys.enums.ImportJobStatus;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of importing one seed file. {@code committedOffset} is the byte offset of
+ * the first row not committed yet; it is written in the same transaction as each
+ * batch, so a restarted import resumes exactly after the last committed batch.
+ * The file hash and size tell a resumable job apart from a file that changed.
+ */
+@Entity(name = "import_jobs")
+@Data
+public class ImportJobEntity {
+
+    @Id
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
+    private Long id;
+
+    @Column(unique = true)
+    private String fileName;
+
+    private String fileHash;
+
+    private Long fileSize;
+
+    private Long committedOffset = 0L;
+
+    private Long insertedRows = 0L;
+
+    private Long skippedRows = 0L;
+
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status = ImportJobStatus.RUNNING;
+
+    private LocalDateTime updatedAt;
+
+}
@@ -4,13 +4,25 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity(name = "investigations")
+@Table(indexes = {
+        @Index(name = "idx_investigations_active", columnList = "isActive, id"),
+        @Index(name = "idx_investigations_duration", columnList = "duration, isActive")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @SuppressWarnings("all")
 public class InvestigationEntity extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @Column(unique = true)
     private String name;
 
@@ -3,14 +3,23 @@ package ro.felixcirebea.medicalsys.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.List;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity(name = "specialties")
+@Table(indexes = @Index(name = "idx_specialties_active", columnList = "isActive, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 public class SpecialtyEntity extends BaseEntity {
 
+    @NaturalId(mutable = true)
     @Column(unique = true)
     private String name;
 
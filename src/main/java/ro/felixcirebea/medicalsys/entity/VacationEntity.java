@@ -3,18 +3,26 @@ package ro.felixcirebea.medicalsys.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
 
 import java.time.LocalDate;
 
 @Entity(name = "vacations")
+@Table(indexes = {
+        @Index(name = "idx_vacations_doctor_dates", columnList = "doctor_id, startDate, endDate"),
+        @Index(name = "idx_vacations_doctor_status", columnList = "doctor_id, status"),
+        @Index(name = "idx_vacations_type", columnList = "type")
+})
 @Data
 @SuppressWarnings("all")
 public class VacationEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
     private Long id;
 
     @ManyToOne
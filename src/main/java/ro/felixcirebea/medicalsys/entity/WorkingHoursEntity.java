@@ -3,17 +3,28 @@ package ro.felixcirebea.medicalsys.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import ro.felixcirebea.medicalsys.helper.PooledLoSequenceGenerator;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 
 @Entity(name = "working_hours")
+@Table(indexes = {
+        @Index(name = "idx_working_hours_doctor_day", columnList = "doctor_id, dayOfWeek"),
+        @Index(name = "idx_working_hours_day", columnList = "dayOfWeek, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @SuppressWarnings("all")
 public class WorkingHoursEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = PooledLoSequenceGenerator.NAME)
+    @GenericGenerator(name = PooledLoSequenceGenerator.NAME, type = PooledLoSequenceGenerator.class)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,9 @@
+package ro.felixcirebea.medicalsys.enums;
+
+public enum ImportEntity {
+
+    APPOINTMENTS,
+    VACATIONS,
+    WORKING_HOURS
+
+}
@@ -0,0 +1,8 @@
+package ro.felixcirebea.medicalsys.enums;
+
+public enum ImportJobStatus {
+
+    RUNNING,
+    COMPLETED
+
+}
@@ -0,0 +1,10 @@
+package ro.felixcirebea.medicalsys.event;
+
+import java.time.LocalDate;
+
+public record AppointmentsChangedEvent(Long doctorId, LocalDate date) {
+
+    public static AppointmentsChangedEvent allDates(Long doctorId) {
+        return new AppointmentsChangedEvent(doctorId, null);
+    }
+}
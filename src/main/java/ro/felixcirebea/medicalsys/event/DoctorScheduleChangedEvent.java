@@ -0,0 +1,10 @@
+package ro.felixcirebea.medicalsys.event;
+
+import java.time.LocalDate;
+
+public record DoctorScheduleChangedEvent(Long doctorId, LocalDate startDate, LocalDate endDate) {
+
+    public static DoctorScheduleChangedEvent allDates(Long doctorId) {
+        return new DoctorScheduleChangedEvent(doctorId, null, null);
+    }
+}
@@ -0,0 +1,6 @@
+package ro.felixcirebea.medicalsys.event;
+
+import java.time.LocalDate;
+
+public record HolidaysChangedEvent(LocalDate startDate, LocalDate endDate) {
+}
@@ -0,0 +1,4 @@
+package ro.felixcirebea.medicalsys.event;
+
+public record InvestigationChangedEvent(Long investigationId) {
+}
@@ -0,0 +1,77 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.helper.BookingGuard.DoctorDay;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Finds the overlapping rows of a bulk appointment load. Rows and already booked
+ * appointments are grouped per doctor and day, sorted by start time and compared
+ * in one linear sweep per group, instead of checking every row against every
+ * booked slot. Rows are visited by start time, ties by position, so of two
+ * colliding rows the earlier-starting one is kept and the other reported.
+ */
+public final class AppointmentSweep {
+
+    private static final Comparator<AppointmentEntity> BY_START_TIME =
+            Comparator.comparing(AppointmentEntity::getStartTime);
+
+    private AppointmentSweep() {
+    }
+
+    public static BitSet conflicting(List<AppointmentEntity> candidates, Collection<AppointmentEntity> booked) {
+        Map<DoctorDay, List<Integer>> candidatesByDay = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            candidatesByDay.computeIfAbsent(doctorDayOf(candidates.get(i)), day -> new ArrayList<>()).add(i);
+        }
+
+        Map<DoctorDay, List<AppointmentEntity>> bookedByDay = new HashMap<>();
+        for (AppointmentEntity appointment : booked) {
+            DoctorDay day = doctorDayOf(appointment);
+            if (appointment.getStatus() != AppointmentStatus.CANCELED && candidatesByDay.containsKey(day)) {
+                bookedByDay.computeIfAbsent(day, key -> new ArrayList<>()).add(appointment);
+            }
+        }
+
+        BitSet conflicts = new BitSet(candidates.size());
+        candidatesByDay.forEach((day, indexes) ->
+                sweep(candidates, indexes, bookedByDay.getOrDefault(day, new ArrayList<>()), conflicts));
+        return conflicts;
+    }
+
+    private static void sweep(List<AppointmentEntity> candidates, List<Integer> indexes,
+                              List<AppointmentEntity> booked, BitSet conflicts) {
+        indexes.sort(Comparator.comparing((Integer index) -> candidates.get(index).getStartTime())
+                .thenComparing(Comparator.naturalOrder()));
+        booked.sort(BY_START_TIME);
+
+        LocalTime busyUntil = LocalTime.MIN;
+        int next = 0;
+        for (int index : indexes) {
+            AppointmentEntity candidate = candidates.get(index);
+            while (next < booked.size() && !booked.get(next).getStartTime().isAfter(candidate.getStartTime())) {
+                busyUntil = latest(busyUntil, booked.get(next).getEndTime());
+                next++;
+            }
+
+            boolean isOverlapping = busyUntil.isAfter(candidate.getStartTime()) ||
+                    (next < booked.size() && booked.get(next).getStartTime().isBefore(candidate.getEndTime()));
+            if (isOverlapping) {
+                conflicts.set(index);
+            } else {
+                busyUntil = latest(busyUntil, candidate.getEndTime());
+            }
+        }
+    }
+
+    private static LocalTime latest(LocalTime first, LocalTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static DoctorDay doctorDayOf(AppointmentEntity appointmentEntity) {
+        return new DoctorDay(appointmentEntity.getDoctor().getId(), appointmentEntity.getDate());
+    }
+}
@@ -0,0 +1,151 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
+import ro.felixcirebea.medicalsys.event.InvestigationChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of available-hours results, keyed by doctor, investigation
+ * and date. Entries are dropped by domain events rather than by TTL, after the
+ * publishing transaction commits. A version counter bumped on every invalidation
+ * keeps a result computed before an invalidation from being stored after it.
+ */
+@Component
+public class AvailableHoursCache implements InfoContributor {
+
+    private final int maxEntries;
+    private final Map<AvailabilityKey, CachedHours> entries;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AvailableHoursCache(@Value("${medicalsys.availability.cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<AvailabilityKey, CachedHours> eldest) {
+                boolean evict = size() > AvailableHoursCache.this.maxEntries;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public Optional<CachedHours> get(String doctorName, String investigation, LocalDate date) {
+        CachedHours cachedHours;
+        synchronized (entries) {
+            cachedHours = entries.get(new AvailabilityKey(doctorName, investigation, date));
+        }
+        (cachedHours == null ? misses : hits).incrementAndGet();
+        return Optional.ofNullable(cachedHours);
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public void put(String doctorName, String investigation, LocalDate date,
+                    CachedHours cachedHours, long computedAtVersion) {
+        synchronized (entries) {
+            if (version.get() == computedAtVersion) {
+                entries.put(new AvailabilityKey(doctorName, investigation, date), cachedHours);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentsChanged(AppointmentsChangedEvent event) {
+        invalidate((key, value) -> value.doctorId().equals(event.doctorId()) &&
+                (event.date() == null || key.date().equals(event.date())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorScheduleChanged(DoctorScheduleChangedEvent event) {
+        invalidate((key, value) -> value.doctorId().equals(event.doctorId()) &&
+                isWithin(key.date(), event.startDate(), event.endDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        invalidate((key, value) -> isWithin(key.date(), event.startDate(), event.endDate()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvestigationChanged(InvestigationChangedEvent event) {
+        invalidate((key, value) -> value.investigationId().equals(event.investigationId()));
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> cacheMap = Map.of(
+                "size", String.valueOf(size()),
+                "max-size", String.valueOf(maxEntries),
+                "hits", String.valueOf(hits.get()),
+                "misses", String.valueOf(misses.get()),
+                "evictions", String.valueOf(evictions.get()),
+                "invalidations", String.valueOf(invalidations.get()));
+
+        builder.withDetail("available-hours-cache", cacheMap);
+    }
+
+    private void invalidate(EntryPredicate predicate) {
+        synchronized (entries) {
+            version.incrementAndGet();
+            int before = entries.size();
+            entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+            invalidations.addAndGet(before - entries.size());
+        }
+    }
+
+    private static boolean isWithin(LocalDate date, LocalDate startDate, LocalDate endDate) {
+        return (startDate == null || !date.isBefore(startDate)) &&
+                (endDate == null || !date.isAfter(endDate));
+    }
+
+    @FunctionalInterface
+    private interface EntryPredicate {
+        boolean test(AvailabilityKey key, CachedHours value);
+    }
+
+    private record AvailabilityKey(String doctorName, String investigation, LocalDate date) {
+    }
+
+    public record CachedHours(Long doctorId, Long investigationId, Integer duration, List<LocalTime> freeHours) {
+    }
+}
@@ -0,0 +1,214 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.BookingLockRepository;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes bookings for the same doctor and day. Inside one instance a
+ * striped lock keeps unrelated doctors/days from waiting on each other; across
+ * instances the booking runs in a transaction holding a row lock on the
+ * matching booking_locks row. Stripe and row lock waits share one
+ * lock-timeout-ms budget, however many doctor days a booking spans.
+ */
+@Component
+@Slf4j
+public class BookingGuard implements InfoContributor {
+
+    public static final String LOCK_TIMEOUT_MSG = "Too many bookings for %s on %s, please retry";
+    public static final String LOG_LOCK_TIMEOUT_MSG = "Booking lock for doctor %s on %s not acquired in %s ms";
+    public static final String LOG_LOCK_ROW_RACE_MSG = "Booking lock row for doctor %s on %s created concurrently";
+    private final BookingLockRepository bookingLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate lockRowTemplate;
+    private final ReentrantLock[] stripes;
+    private final long lockTimeoutMillis;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong contendedAcquisitions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public BookingGuard(BookingLockRepository bookingLockRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${medicalsys.booking.lock-stripes:64}") int lockStripes,
+                        @Value("${medicalsys.booking.lock-timeout-ms:3000}") long lockTimeoutMillis) {
+        this.bookingLockRepository = bookingLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockRowTemplate = new TransactionTemplate(transactionManager);
+        this.lockRowTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T runExclusively(Long doctorId, LocalDate date, BookingAction<T> action)
+            throws DataNotFoundException, ConcurrencyException {
+        return runExclusively(List.of(new DoctorDay(doctorId, date)), action);
+    }
+
+    public <T> T runExclusively(Collection<DoctorDay> doctorDays, BookingAction<T> action)
+            throws DataNotFoundException, ConcurrencyException {
+        List<DoctorDay> orderedDays = doctorDays.stream()
+                .distinct()
+                .sorted(DoctorDay.ORDER)
+                .toList();
+        SortedMap<Integer, DoctorDay> stripeIndexes = new TreeMap<>();
+        orderedDays.forEach(day -> stripeIndexes.putIfAbsent(stripeIndexFor(day), day));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lockTimeoutMillis);
+        List<ReentrantLock> heldLocks = new ArrayList<>();
+        try {
+            for (Map.Entry<Integer, DoctorDay> stripe : stripeIndexes.entrySet()) {
+                ReentrantLock lock = stripes[stripe.getKey()];
+                acquireStripe(lock, stripe.getValue(), deadline);
+                heldLocks.add(lock);
+            }
+            orderedDays.forEach(this::ensureLockRow);
+            return runLocked(orderedDays, action, deadline);
+        } finally {
+            heldLocks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        long acquired = acquisitions.get();
+        Map<String, Object> bookingGuardMap = Map.of(
+                "lock-stripes", String.valueOf(stripes.length),
+                "acquisitions", String.valueOf(acquired),
+                "contended-acquisitions", String.valueOf(contendedAcquisitions.get()),
+                "timeouts", String.valueOf(timeouts.get()),
+                "average-wait-ms", String.valueOf(acquired == 0 ? 0 :
+                        TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / acquired)),
+                "max-wait-ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get())));
+
+        builder.withDetail("booking-guard", bookingGuardMap);
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.get();
+    }
+
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    private <T> T runLocked(List<DoctorDay> orderedDays, BookingAction<T> action, long deadline)
+            throws DataNotFoundException, ConcurrencyException {
+        DoctorDay[] current = new DoctorDay[1];
+        try {
+            return transactionTemplate.execute(status -> {
+                for (DoctorDay day : orderedDays) {
+                    current[0] = day;
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remainingMillis <= 0) {
+                        throw new BookingActionException(lockTimeout(day));
+                    }
+                    bookingLockRepository.lockByDoctorIdAndLockDate(day.doctorId(), day.date(), remainingMillis);
+                }
+                try {
+                    return action.execute();
+                } catch (DataNotFoundException | ConcurrencyException e) {
+                    throw new BookingActionException(e);
+                }
+            });
+        } catch (BookingActionException e) {
+            if (e.getCause() instanceof DataNotFoundException notFound) {
+                throw notFound;
+            }
+            throw (ConcurrencyException) e.getCause();
+        } catch (PessimisticLockingFailureException e) {
+            throw lockTimeout(current[0]);
+        }
+    }
+
+    private void acquireStripe(ReentrantLock lock, DoctorDay day, long deadline)
+            throws ConcurrencyException {
+        if (lock.tryLock()) {
+            acquisitions.incrementAndGet();
+            return;
+        }
+
+        contendedAcquisitions.incrementAndGet();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(deadline - start, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long waited = System.nanoTime() - start;
+
+        if (!acquired) {
+            throw lockTimeout(day);
+        }
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    private ConcurrencyException lockTimeout(DoctorDay day) {
+        timeouts.incrementAndGet();
+        log.warn(String.format(LOG_LOCK_TIMEOUT_MSG, day.doctorId(), day.date(), lockTimeoutMillis));
+        return new ConcurrencyException(String.format(LOCK_TIMEOUT_MSG, day.doctorId(), day.date()));
+    }
+
+    private void ensureLockRow(DoctorDay day) {
+        if (bookingLockRepository.existsByDoctorIdAndLockDate(day.doctorId(), day.date())) {
+            return;
+        }
+        try {
+            lockRowTemplate.executeWithoutResult(status ->
+                    bookingLockRepository.save(new BookingLockEntity(day.doctorId(), day.date())));
+        } catch (DataIntegrityViolationException e) {
+            log.debug(String.format(LOG_LOCK_ROW_RACE_MSG, day.doctorId(), day.date()));
+        }
+    }
+
+    private int stripeIndexFor(DoctorDay day) {
+        int hash = Objects.hash(day.doctorId(), day.date().toEpochDay());
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    public record DoctorDay(Long doctorId, LocalDate date) {
+
+        private static final Comparator<DoctorDay> ORDER =
+                Comparator.comparing(DoctorDay::doctorId).thenComparing(DoctorDay::date);
+    }
+
+    @FunctionalInterface
+    public interface BookingAction<T> {
+        T execute() throws DataNotFoundException, ConcurrencyException;
+    }
+
+    private static class BookingActionException extends RuntimeException {
+        BookingActionException(Exception cause) {
+            super(cause);
+        }
+    }
+}
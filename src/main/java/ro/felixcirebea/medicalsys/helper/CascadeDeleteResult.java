@@ -0,0 +1,8 @@
+package ro.felixcirebea.medicalsys.helper;
+
+/**
+ * Rows touched by a specialty soft-delete cascade, as reported by the bulk statements.
+ */
+public record CascadeDeleteResult(int doctors, int investigations, int appointments,
+                                  int vacations, int workingHours) {
+}
@@ -0,0 +1,189 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * One CSV line of a {@link MappedCsvReader} region, exposed as field slices over
+ * the mapped bytes. Dates, times and numbers are parsed straight from the slice;
+ * only {@link #text(int)} allocates. The instance is reused for every line of a
+ * region, so it must not be kept after the row parser returns.
+ */
+public class CsvRow {
+
+    private static final byte FIELD_SEPARATOR = ',';
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_POWER_OF_TEN + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private ByteBuffer buffer;
+    private long offset;
+    private int[] fieldStarts = new int[8];
+    private int[] fieldEnds = new int[8];
+    private int fieldCount;
+    private byte[] textBuffer = new byte[64];
+
+    void reset(ByteBuffer buffer, long offset, int start, int end) {
+        this.buffer = buffer;
+        this.offset = offset;
+        fieldCount = 0;
+        int fieldStart = start;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == FIELD_SEPARATOR) {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+        addField(fieldStart, end);
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    public int size() {
+        return fieldCount;
+    }
+
+    public String text(int field) {
+        int length = length(field);
+        if (textBuffer.length < length) {
+            textBuffer = new byte[Math.max(length, textBuffer.length * 2)];
+        }
+        buffer.get(fieldStarts[check(field)], textBuffer, 0, length);
+        return new String(textBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public int intValue(int field) {
+        int start = fieldStarts[check(field)];
+        int end = fieldEnds[field];
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(text(field));
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(text(field));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    public double doubleValue(int field) {
+        int start = fieldStarts[check(field)];
+        int end = fieldEnds[field];
+        boolean negative = start < end && buffer.get(start) == '-';
+        long mantissa = 0;
+        int fractionDigits = -1;
+        int digits = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            byte current = buffer.get(i);
+            if (current == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = current - '0';
+            if (digit < 0 || digit > 9 || mantissa >= MAX_EXACT_MANTISSA / 10) {
+                return Double.parseDouble(text(field));
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0 || fractionDigits > MAX_EXACT_POWER_OF_TEN) {
+            return Double.parseDouble(text(field));
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    public LocalDate date(int field) throws DataMismatchException {
+        int start = fieldStarts[check(field)];
+        if (length(field) != 10 || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-') {
+            return Validator.dateValidator(text(field));
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            throw new DataMismatchException(Validator.INVALID_DATE_MSG);
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new DataMismatchException(Validator.INVALID_DATE_MSG);
+        }
+    }
+
+    public LocalTime time(int field) throws DataMismatchException {
+        int start = fieldStarts[check(field)];
+        int length = length(field);
+        if ((length != 5 && length != 8) || buffer.get(start + 2) != ':' ||
+                (length == 8 && buffer.get(start + 5) != ':')) {
+            return Validator.timeValidator(text(field));
+        }
+        int hour = digits(start, 2);
+        int minute = digits(start + 3, 2);
+        int second = length == 8 ? digits(start + 6, 2) : 0;
+        if (hour < 0 || minute < 0 || second < 0) {
+            throw new DataMismatchException(Validator.INVALID_TIME_MSG);
+        }
+        try {
+            return LocalTime.of(hour, minute, second);
+        } catch (DateTimeException e) {
+            throw new DataMismatchException(Validator.INVALID_TIME_MSG);
+        }
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private int length(int field) {
+        return fieldEnds[check(field)] - fieldStarts[field];
+    }
+
+    private int check(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException(field);
+        }
+        return field;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+}
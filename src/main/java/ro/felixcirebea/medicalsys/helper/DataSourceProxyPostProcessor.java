@@ -0,0 +1,35 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a datasource-proxy so every JDBC
+ * execution passes through {@link SlowQueryListener}.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryListener> slowQueryListener;
+
+    public DataSourceProxyPostProcessor(ObjectProvider<SlowQueryListener> slowQueryListener) {
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(slowQueryListener.getObject())
+                .build();
+    }
+}
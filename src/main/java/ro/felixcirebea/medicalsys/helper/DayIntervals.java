@@ -0,0 +1,88 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable set of days stored as sorted, merged, non-overlapping [start, end]
+ * epoch-day intervals. Point lookups are a binary search over the interval ends.
+ */
+final class DayIntervals {
+
+    static final DayIntervals EMPTY = new DayIntervals(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private DayIntervals(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    static <T> DayIntervals of(Collection<T> ranges,
+                               Function<T, LocalDate> startDate,
+                               Function<T, LocalDate> endDate) {
+        List<T> sorted = ranges.stream()
+                .filter(range -> !startDate.apply(range).isAfter(endDate.apply(range)))
+                .sorted(Comparator.comparing(startDate))
+                .toList();
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        int size = 0;
+        for (T range : sorted) {
+            long start = startDate.apply(range).toEpochDay();
+            long end = endDate.apply(range).toEpochDay();
+            if (size > 0 && start <= ends[size - 1] + 1) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        return new DayIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    boolean contains(LocalDate date) {
+        long day = date.toEpochDay();
+        int i = firstEndingOnOrAfter(day);
+        return i < starts.length && starts[i] <= day;
+    }
+
+    boolean overlaps(LocalDate startDate, LocalDate endDate) {
+        int i = firstEndingOnOrAfter(startDate.toEpochDay());
+        return i < starts.length && starts[i] <= endDate.toEpochDay();
+    }
+
+    Set<LocalDate> daysBetween(LocalDate startDate, LocalDate endDate) {
+        long from = startDate.toEpochDay();
+        long to = endDate.toEpochDay();
+        Set<LocalDate> days = new HashSet<>();
+        for (int i = firstEndingOnOrAfter(from); i < starts.length && starts[i] <= to; i++) {
+            long clippedEnd = Math.min(ends[i], to);
+            for (long day = Math.max(starts[i], from); day <= clippedEnd; day++) {
+                days.add(LocalDate.ofEpochDay(day));
+            }
+        }
+        return days;
+    }
+
+    private int firstEndingOnOrAfter(long day) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
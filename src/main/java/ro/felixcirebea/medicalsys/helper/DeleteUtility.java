@@ -7,6 +7,7 @@ import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.service.AppointmentService;
+import ro.felixcirebea.medicalsys.service.VacationService;
 import ro.felixcirebea.medicalsys.service.WorkingHoursService;
 
 import java.util.Optional;
@@ -25,10 +26,11 @@ public interface DeleteUtility {
                             String exceptionMessage,
                             Contributor infoContributor) throws DataNotFoundException;
 
-    public void softCascadeDelete(SpecialtyEntity specialtyEntity,
-                                  WorkingHoursService workingHoursService,
-                                  AppointmentService appointmentService,
-                                  DoctorRepository doctorRepository,
-                                  InvestigationRepository investigationRepository,
-                                  String logSuccessMessage);
+    public CascadeDeleteResult softCascadeDelete(SpecialtyEntity specialtyEntity,
+                                                 WorkingHoursService workingHoursService,
+                                                 AppointmentService appointmentService,
+                                                 VacationService vacationService,
+                                                 DoctorRepository doctorRepository,
+                                                 InvestigationRepository investigationRepository,
+                                                 String logSuccessMessage);
 }
@@ -1,17 +1,17 @@
 package ro.felixcirebea.medicalsys.helper;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Component;
 import ro.felixcirebea.medicalsys.entity.BaseEntity;
-import ro.felixcirebea.medicalsys.entity.DoctorEntity;
-import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
-import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.event.InvestigationChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.service.AppointmentService;
+import ro.felixcirebea.medicalsys.service.VacationService;
 import ro.felixcirebea.medicalsys.service.WorkingHoursService;
 
 import java.util.List;
@@ -22,6 +22,12 @@ import java.util.Optional;
 @Component
 public class DeleteUtilityImpl implements DeleteUtility {
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DeleteUtilityImpl(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
     public <T extends BaseEntity> T softDeleteById(Long id,
                                                    Optional<T> entityOptional,
                                                    String failLogMessage,
@@ -61,29 +67,28 @@ public class DeleteUtilityImpl implements DeleteUtility {
         return entity;
     }
 
-    public void softCascadeDelete(SpecialtyEntity specialtyEntity,
-                                  WorkingHoursService workingHoursService,
-                                  AppointmentService appointmentService,
-                                  DoctorRepository doctorRepository,
-                                  InvestigationRepository investigationRepository,
-                                  String logSuccessMessage) {
-        List<DoctorEntity> doctors = specialtyEntity.getDoctors();
-        doctors.forEach(doc -> {
-            doc.setIsActive(false);
-            doc.getVacation().stream()
-                    .filter(vac -> !vac.getStatus().equals(VacationStatus.DONE))
-                    .forEach(undoneVac -> undoneVac.setStatus(VacationStatus.CANCELED));
-            log.info(workingHoursService.deleteAllWorkingHoursForDoctor(doc));
-            log.info(appointmentService.cancelAllAppointmentForDoctor(doc));
-        });
+    public CascadeDeleteResult softCascadeDelete(SpecialtyEntity specialtyEntity,
+                                                 WorkingHoursService workingHoursService,
+                                                 AppointmentService appointmentService,
+                                                 VacationService vacationService,
+                                                 DoctorRepository doctorRepository,
+                                                 InvestigationRepository investigationRepository,
+                                                 String logSuccessMessage) {
+        List<Long> doctorIds = doctorRepository.findAllIdsBySpecialtyAndIsActive(specialtyEntity, true);
+        List<Long> investigationIds =
+                investigationRepository.findAllIdsBySpecialtyAndIsActive(specialtyEntity, true);
 
-        doctorRepository.saveAll(doctors);
-        log.info(String.format(logSuccessMessage, doctors));
+        CascadeDeleteResult result = new CascadeDeleteResult(
+                doctorRepository.deactivateAllBySpecialty(specialtyEntity),
+                investigationRepository.deactivateAllBySpecialty(specialtyEntity),
+                appointmentService.cancelFutureAppointmentsForDoctors(doctorIds),
+                vacationService.cancelOpenVacationsForDoctors(doctorIds),
+                workingHoursService.deleteAllWorkingHoursForDoctors(doctorIds));
+        investigationIds.forEach(investigationId ->
+                eventPublisher.publishEvent(new InvestigationChangedEvent(investigationId)));
 
-        List<InvestigationEntity> investigations = specialtyEntity.getInvestigations();
-        investigations.forEach(inv -> inv.setIsActive(false));
-        investigationRepository.saveAll(investigations);
-        log.info(String.format(logSuccessMessage, doctors));
+        log.info(String.format(logSuccessMessage, result));
+        return result;
     }
 
 }
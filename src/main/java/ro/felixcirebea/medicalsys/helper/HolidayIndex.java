@@ -0,0 +1,74 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.felixcirebea.medicalsys.entity.HolidayEntity;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
+import ro.felixcirebea.medicalsys.repository.HolidayRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Active holidays kept as merged epoch-day intervals. Lookups are a binary
+ * search over an immutable snapshot; the snapshot is rebuilt and swapped in
+ * whenever holidays change.
+ */
+@Component
+@Slf4j
+public class HolidayIndex {
+
+    public static final String LOG_RELOAD_MSG = "Holiday index reloaded: %s intervals";
+    private final HolidayRepository holidayRepository;
+    private volatile DayIntervals intervals;
+
+    public HolidayIndex(HolidayRepository holidayRepository) {
+        this.holidayRepository = holidayRepository;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return snapshot().contains(date);
+    }
+
+    public Set<LocalDate> getHolidays(Collection<LocalDate> dates) {
+        DayIntervals current = snapshot();
+        Set<LocalDate> holidays = new HashSet<>();
+        for (LocalDate date : dates) {
+            if (current.contains(date)) {
+                holidays.add(date);
+            }
+        }
+        return holidays;
+    }
+
+    public Set<LocalDate> getHolidaysBetween(LocalDate startDate, LocalDate endDate) {
+        return snapshot().daysBetween(startDate, endDate);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        reload();
+    }
+
+    public synchronized void reload() {
+        intervals = DayIntervals.of(holidayRepository.findAllByIsActive(true),
+                HolidayEntity::getStartDate, HolidayEntity::getEndDate);
+        log.info(String.format(LOG_RELOAD_MSG, intervals.size()));
+    }
+
+    private DayIntervals snapshot() {
+        DayIntervals current = intervals;
+        if (current == null) {
+            synchronized (this) {
+                if (intervals == null) {
+                    reload();
+                }
+                current = intervals;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,50 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ro.felixcirebea.medicalsys.dto.PageDto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination on the id column. A page is requested as "rows with
+ * id greater than the cursor, ordered by id"; one extra row is fetched to know
+ * whether a next page exists, so no count query is needed.
+ */
+public class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final long BEFORE_FIRST_ID = 0L;
+
+    public static Long startAfter(Long cursor) {
+        return cursor == null ? BEFORE_FIRST_ID : cursor;
+    }
+
+    public static Pageable firstRows(int pageSize) {
+        return PageRequest.of(0, pageSize + 1, Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    public static <E, D> PageDto<D> toPage(List<E> rows, int pageSize,
+                                           Function<E, Long> idExtractor,
+                                           Function<E, D> converter) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        return PageDto.<D>builder()
+                .items(pageRows.stream().map(converter).toList())
+                .nextCursor(hasNext ? idExtractor.apply(pageRows.get(pageSize - 1)) : null)
+                .build();
+    }
+
+    public static <D> PageDto<D> toPage(List<D> rows, int pageSize, Function<D, Long> idExtractor) {
+        return toPage(rows, pageSize, idExtractor, Function.identity());
+    }
+
+    public static <D> PageDto<D> singlePage(List<D> items) {
+        return PageDto.<D>builder()
+                .items(items)
+                .build();
+    }
+}
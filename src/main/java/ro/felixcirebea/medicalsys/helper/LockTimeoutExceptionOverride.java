@@ -0,0 +1,22 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * H2 reports a row lock wait running out as an SQLTimeoutException, which Hikari
+ * treats as a broken connection. The connection is still healthy, so it is kept in
+ * the pool and the surrounding transaction can roll back normally.
+ */
+public class LockTimeoutExceptionOverride implements SQLExceptionOverride {
+
+    public static final int H2_LOCK_TIMEOUT_ERROR_CODE = 50200;
+
+    @java.lang.Override
+    public Override adjudicate(SQLException sqlException) {
+        return sqlException.getErrorCode() == H2_LOCK_TIMEOUT_ERROR_CODE
+                ? Override.DO_NOT_EVICT
+                : Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,186 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.exception.InputFileException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Reads a CSV file through {@link FileChannel#map}, without decoding whole lines
+ * into Strings. {@link #split(int)} cuts the file into regions that start right
+ * after a newline, so each region can be mapped and parsed by a different thread
+ * and the per-region results simply concatenated in order. Splitting can start at
+ * any line offset, which is how an interrupted import resumes. A row that fails to
+ * parse is reported as an {@link InputFileException} naming the file and line.
+ */
+public class MappedCsvReader implements AutoCloseable {
+
+    public static final int MIN_REGION_BYTES = 1 << 16;
+    public static final int MAX_REGION_BYTES = 1 << 30;
+    public static final String INVALID_LINE_MSG = "Internal error - %s line %s: %s";
+    private static final byte LINE_SEPARATOR = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int SCAN_BUFFER_BYTES = 8192;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+
+    private MappedCsvReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    public static MappedCsvReader open(Path path) throws IOException {
+        return new MappedCsvReader(path);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public List<Region> split(int parts) throws IOException {
+        return split(0, parts);
+    }
+
+    public List<Region> split(long from, int parts) throws IOException {
+        long target = Math.min(MAX_REGION_BYTES,
+                Math.max(MIN_REGION_BYTES, (size - from + parts - 1) / Math.max(1, parts)));
+        List<Region> regions = new ArrayList<>();
+        long start = from;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(start + target);
+            if (end - start > MAX_REGION_BYTES) {
+                throw new InputFileException(String.format(INVALID_LINE_MSG,
+                        path.getFileName(), lineNumberAt(start), "line longer than " + MAX_REGION_BYTES + " bytes"));
+            }
+            regions.add(new Region(start, end));
+            start = end;
+        }
+        return regions;
+    }
+
+    public <R> List<R> parse(Region region, RowParser<R> parser) throws IOException {
+        List<R> records = new ArrayList<>();
+        int length = (int) (region.end() - region.start());
+        if (length == 0) {
+            return records;
+        }
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, region.start(), length);
+        CsvRow row = new CsvRow();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buffer.get(lineEnd) != LINE_SEPARATOR) {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN ? lineEnd - 1 : lineEnd;
+            if (contentEnd > lineStart) {
+                row.reset(buffer, region.start() + lineStart, lineStart, contentEnd);
+                try {
+                    records.add(parser.parse(row));
+                } catch (RuntimeException | DataMismatchException exception) {
+                    throw new InputFileException(String.format(INVALID_LINE_MSG,
+                            path.getFileName(), lineNumberAt(row.offset()), exception.getMessage()));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return records;
+    }
+
+    public <R> List<R> parseAll(RowParser<R> parser) throws IOException {
+        List<R> records = new ArrayList<>();
+        for (Region region : split(1)) {
+            records.addAll(parse(region, parser));
+        }
+        return records;
+    }
+
+    public long lineNumberAt(long offset) throws IOException {
+        long lineNumber = 1;
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = 0;
+        while (position < offset) {
+            scanBuffer.clear();
+            scanBuffer.limit((int) Math.min(SCAN_BUFFER_BYTES, offset - position));
+            int read = channel.read(scanBuffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scanBuffer.get(i) == LINE_SEPARATOR) {
+                    lineNumber++;
+                }
+            }
+            position += read;
+        }
+        return lineNumber;
+    }
+
+    public String sha256() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = 0;
+        while (position < size) {
+            scanBuffer.clear();
+            int read = channel.read(scanBuffer, position);
+            if (read <= 0) {
+                break;
+            }
+            scanBuffer.flip();
+            digest.update(scanBuffer);
+            position += read;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long nextLineStart(long from) throws IOException {
+        ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = from;
+        while (position < size) {
+            scanBuffer.clear();
+            int read = channel.read(scanBuffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scanBuffer.get(i) == LINE_SEPARATOR) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    public record Region(long start, long end) {
+    }
+
+    @FunctionalInterface
+    public interface RowParser<R> {
+        R parse(CsvRow row) throws DataMismatchException;
+    }
+}
@@ -0,0 +1,34 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Per-entity sequence ({@code <table>_seq}) handed out in blocks through the pooled-lo optimizer,
+ * so a bulk insert only hits the sequence once every {@code medicalsys.id.allocation-size} rows.
+ */
+public class PooledLoSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String NAME = "pooled-lo-sequence";
+    public static final String ALLOCATION_SIZE_SETTING = "medicalsys.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+    private static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry)
+            throws MappingException {
+        Integer allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        parameters.put(SEQUENCE_PARAM, parameters.getProperty(TABLE) + SEQUENCE_SUFFIX);
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
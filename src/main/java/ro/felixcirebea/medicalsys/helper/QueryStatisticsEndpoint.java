@@ -0,0 +1,121 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * {@code /actuator/querystats}: per-query Hibernate statistics, entity and
+ * second-level cache counters, and the JDBC-level numbers gathered by
+ * {@link SlowQueryListener}. A DELETE resets both.
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private final Statistics statistics;
+    private final SlowQueryListener slowQueryListener;
+
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                   SlowQueryListener slowQueryListener) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.slowQueryListener = slowQueryListener;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryStatistics() {
+        Map<String, Object> hibernateMap = new LinkedHashMap<>();
+        hibernateMap.put("statistics-enabled", statistics.isStatisticsEnabled());
+        hibernateMap.put("prepared-statements", statistics.getPrepareStatementCount());
+        hibernateMap.put("queries", queries());
+        hibernateMap.put("entities", entities());
+        hibernateMap.put("second-level-cache", secondLevelCache());
+
+        Map<String, Object> jdbcMap = new LinkedHashMap<>();
+        jdbcMap.put("slow-query-threshold-ms", slowQueryListener.getSlowQueryThresholdMillis());
+        jdbcMap.put("slow-queries", slowQueryListener.getSlowQueries());
+        jdbcMap.put("recent-slow-queries", slowQueryListener.getRecentSlowQueries());
+        jdbcMap.put("statements", slowQueryListener.getStatementStatistics());
+
+        Map<String, Object> statisticsMap = new LinkedHashMap<>();
+        statisticsMap.put("hibernate", hibernateMap);
+        statisticsMap.put("jdbc", jdbcMap);
+        return statisticsMap;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+        slowQueryListener.reset();
+    }
+
+    private List<Map<String, Object>> queries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                    Map<String, Object> queryMap = new LinkedHashMap<>();
+                    queryMap.put("query", query);
+                    queryMap.put("executions", queryStatistics.getExecutionCount());
+                    queryMap.put("total-ms", queryStatistics.getExecutionTotalTime());
+                    queryMap.put("max-ms", queryStatistics.getExecutionMaxTime());
+                    queryMap.put("rows", queryStatistics.getExecutionRowCount());
+                    queryMap.put("cache-hits", queryStatistics.getCacheHitCount());
+                    return queryMap;
+                })
+                .sorted(Comparator.comparing(queryMap -> -((Long) queryMap.get("total-ms"))))
+                .toList();
+    }
+
+    private Map<String, Object> entities() {
+        Map<String, Object> entitiesMap = new LinkedHashMap<>();
+        entitiesMap.put("load-count", statistics.getEntityLoadCount());
+        entitiesMap.put("fetch-count", statistics.getEntityFetchCount());
+        entitiesMap.put("collection-load-count", statistics.getCollectionLoadCount());
+        entitiesMap.put("collection-fetch-count", statistics.getCollectionFetchCount());
+
+        Map<String, Object> perEntityMap = new TreeMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entityStatistics = statistics.getEntityStatistics(entityName);
+            if (entityStatistics.getLoadCount() == 0 && entityStatistics.getFetchCount() == 0) {
+                continue;
+            }
+            perEntityMap.put(entityName, Map.of(
+                    "loads", entityStatistics.getLoadCount(),
+                    "fetches", entityStatistics.getFetchCount()));
+        }
+        entitiesMap.put("per-entity", perEntityMap);
+        return entitiesMap;
+    }
+
+    private Map<String, Object> secondLevelCache() {
+        Map<String, Object> cacheMap = new LinkedHashMap<>();
+        cacheMap.put("hits", statistics.getSecondLevelCacheHitCount());
+        cacheMap.put("misses", statistics.getSecondLevelCacheMissCount());
+        cacheMap.put("puts", statistics.getSecondLevelCachePutCount());
+        cacheMap.put("natural-id-hits", statistics.getNaturalIdCacheHitCount());
+        cacheMap.put("natural-id-misses", statistics.getNaturalIdCacheMissCount());
+
+        Map<String, Object> regionsMap = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(regionName);
+            if (regionStatistics == null) {
+                continue;
+            }
+            regionsMap.put(regionName, Map.of(
+                    "hits", regionStatistics.getHitCount(),
+                    "misses", regionStatistics.getMissCount(),
+                    "puts", regionStatistics.getPutCount()));
+        }
+        cacheMap.put("regions", regionsMap);
+        return cacheMap;
+    }
+}
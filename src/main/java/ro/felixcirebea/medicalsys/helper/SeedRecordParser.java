@@ -0,0 +1,182 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import ro.felixcirebea.medicalsys.enums.VacationType;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.exception.InputFileException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses one CSV line of each seed file into a typed record. Parsing touches no
+ * repository, so whole files can be parsed concurrently and names resolved
+ * afterwards in one pass per referenced table. Every parser comes in a String
+ * form for streamed input and a {@link CsvRow} form for mapped files.
+ */
+public class SeedRecordParser {
+
+    public static final String INVALID_COLUMNS_MSG = "Expected %s columns but found %s";
+    public static final String INTERNAL_ERROR_DATE_OVERLAP_MSG =
+            "Internal error - start date cannot be after end date";
+
+    private SeedRecordParser() {
+    }
+
+    public static List<SpecialtyRecord> parseSpecialties(String line) {
+        return Arrays.stream(line.split(","))
+                .map(SpecialtyRecord::new)
+                .toList();
+    }
+
+    public static InvestigationRecord parseInvestigation(String line) {
+        String[] splitLine = split(line, 4);
+        return new InvestigationRecord(splitLine[0], splitLine[1],
+                Double.valueOf(splitLine[2]), Integer.valueOf(splitLine[3]));
+    }
+
+    public static DoctorRecord parseDoctor(String line) {
+        String[] splitLine = split(line, 3);
+        return new DoctorRecord(splitLine[0], splitLine[1], Double.valueOf(splitLine[2]));
+    }
+
+    public static WorkingHoursRecord parseWorkingHours(String line)
+            throws DataMismatchException {
+        String[] splitLine = split(line, 4);
+        return new WorkingHoursRecord(splitLine[0],
+                Validator.dayOfWeekValidator(Integer.parseInt(splitLine[1])),
+                Validator.timeValidator(splitLine[2]),
+                Validator.timeValidator(splitLine[3]));
+    }
+
+    public static HolidayRecord parseHoliday(String line)
+            throws DataMismatchException {
+        String[] splitLine = split(line, 3);
+        LocalDate startDate = Validator.dateValidator(splitLine[0]);
+        LocalDate endDate = Validator.dateValidator(splitLine[1]);
+        validateDateRange(startDate, endDate);
+        return new HolidayRecord(startDate, endDate, splitLine[2]);
+    }
+
+    public static VacationRecord parseVacation(String line)
+            throws DataMismatchException {
+        String[] splitLine = split(line, 4);
+        LocalDate startDate = Validator.dateValidator(splitLine[1]);
+        LocalDate endDate = Validator.dateValidator(splitLine[2]);
+        validateDateRange(startDate, endDate);
+        return new VacationRecord(splitLine[0], startDate, endDate,
+                Validator.vacationTypeValidator(splitLine[3]));
+    }
+
+    public static AppointmentRecord parseAppointment(String line)
+            throws DataMismatchException {
+        String[] splitLine = split(line, 5);
+        return new AppointmentRecord(splitLine[0], splitLine[1], splitLine[2],
+                Validator.dateValidator(splitLine[3]),
+                Validator.timeValidator(splitLine[4]));
+    }
+
+    public static List<SpecialtyRecord> parseSpecialties(CsvRow row) {
+        List<SpecialtyRecord> records = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            records.add(new SpecialtyRecord(row.text(i)));
+        }
+        return records;
+    }
+
+    public static InvestigationRecord parseInvestigation(CsvRow row) {
+        checkColumns(row, 4);
+        return new InvestigationRecord(row.text(0), row.text(1), row.doubleValue(2), row.intValue(3));
+    }
+
+    public static DoctorRecord parseDoctor(CsvRow row) {
+        checkColumns(row, 3);
+        return new DoctorRecord(row.text(0), row.text(1), row.doubleValue(2));
+    }
+
+    public static WorkingHoursRecord parseWorkingHours(CsvRow row)
+            throws DataMismatchException {
+        checkColumns(row, 4);
+        return new WorkingHoursRecord(row.text(0),
+                Validator.dayOfWeekValidator(row.intValue(1)),
+                row.time(2),
+                row.time(3));
+    }
+
+    public static HolidayRecord parseHoliday(CsvRow row)
+            throws DataMismatchException {
+        checkColumns(row, 3);
+        LocalDate startDate = row.date(0);
+        LocalDate endDate = row.date(1);
+        validateDateRange(startDate, endDate);
+        return new HolidayRecord(startDate, endDate, row.text(2));
+    }
+
+    public static VacationRecord parseVacation(CsvRow row)
+            throws DataMismatchException {
+        checkColumns(row, 4);
+        LocalDate startDate = row.date(1);
+        LocalDate endDate = row.date(2);
+        validateDateRange(startDate, endDate);
+        return new VacationRecord(row.text(0), startDate, endDate,
+                Validator.vacationTypeValidator(row.text(3)));
+    }
+
+    public static AppointmentRecord parseAppointment(CsvRow row)
+            throws DataMismatchException {
+        checkColumns(row, 5);
+        return new AppointmentRecord(row.text(0), row.text(1), row.text(2),
+                row.date(3),
+                row.time(4));
+    }
+
+    private static void checkColumns(CsvRow row, int columns) {
+        if (row.size() < columns) {
+            throw new InputFileException(String.format(INVALID_COLUMNS_MSG, columns, row.size()));
+        }
+    }
+
+    private static String[] split(String line, int columns) {
+        String[] splitLine = line.split(",");
+        if (splitLine.length < columns) {
+            throw new InputFileException(String.format(INVALID_COLUMNS_MSG, columns, splitLine.length));
+        }
+        return splitLine;
+    }
+
+    private static void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InputFileException(INTERNAL_ERROR_DATE_OVERLAP_MSG);
+        }
+    }
+
+    @FunctionalInterface
+    public interface LineParser<R> {
+        R parse(String line) throws DataMismatchException;
+    }
+
+    public record SpecialtyRecord(String name) {
+    }
+
+    public record InvestigationRecord(String name, String specialty, Double basePrice, Integer duration) {
+    }
+
+    public record DoctorRecord(String name, String specialty, Double priceRate) {
+    }
+
+    public record WorkingHoursRecord(String doctor, DayOfWeek dayOfWeek, LocalTime startHour, LocalTime endHour) {
+    }
+
+    public record HolidayRecord(LocalDate startDate, LocalDate endDate, String description) {
+    }
+
+    public record VacationRecord(String doctor, LocalDate startDate, LocalDate endDate, VacationType type) {
+    }
+
+    public record AppointmentRecord(String clientName, String doctor, String investigation,
+                                    LocalDate date, LocalTime startTime) {
+    }
+}
@@ -0,0 +1,177 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.springframework.stereotype.Component;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.helper.BookingGuard.DoctorDay;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory slot holds that expire after a TTL. Expired holds are reclaimed
+ * from a DelayQueue on each access, so the cost is proportional to the number
+ * of holds that actually expired rather than to the number of live holds.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private final Clock clock;
+    private final Map<String, SlotHold> holdsByToken = new ConcurrentHashMap<>();
+    private final Map<DoctorDay, Set<SlotHold>> holdsByDay = new ConcurrentHashMap<>();
+    private final DelayQueue<SlotHold> expiryQueue = new DelayQueue<>();
+
+    public SlotHoldRegistry() {
+        this(Clock.systemUTC());
+    }
+
+    SlotHoldRegistry(Clock clock) {
+        this.clock = clock;
+    }
+
+    public SlotHold hold(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                         AppointmentDto appointmentDto, Duration ttl) {
+        reclaimExpired();
+        SlotHold slotHold = new SlotHold(UUID.randomUUID().toString(), doctorId, date,
+                startTime, endTime, appointmentDto, clock.instant().plus(ttl));
+        holdsByToken.put(slotHold.getToken(), slotHold);
+        holdsByDay.compute(new DoctorDay(doctorId, date), (day, holds) -> {
+            Set<SlotHold> dayHolds = holds == null ? ConcurrentHashMap.newKeySet() : holds;
+            dayHolds.add(slotHold);
+            return dayHolds;
+        });
+        expiryQueue.put(slotHold);
+        return slotHold;
+    }
+
+    public Optional<SlotHold> find(String token) {
+        reclaimExpired();
+        return Optional.ofNullable(holdsByToken.get(token))
+                .filter(slotHold -> !slotHold.isExpired());
+    }
+
+    public boolean remove(String token) {
+        reclaimExpired();
+        SlotHold slotHold = holdsByToken.remove(token);
+        if (slotHold == null) {
+            return false;
+        }
+        detach(slotHold);
+        return true;
+    }
+
+    public List<SlotHold> getActiveHolds(Long doctorId, LocalDate date) {
+        reclaimExpired();
+        Set<SlotHold> holds = holdsByDay.get(new DoctorDay(doctorId, date));
+        if (holds == null) {
+            return Collections.emptyList();
+        }
+        return holds.stream()
+                .filter(slotHold -> !slotHold.isExpired())
+                .toList();
+    }
+
+    public boolean isHeld(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return getActiveHolds(doctorId, date).stream()
+                .anyMatch(slotHold -> slotHold.overlaps(startTime, endTime));
+    }
+
+    public int size() {
+        reclaimExpired();
+        return holdsByToken.size();
+    }
+
+    private void reclaimExpired() {
+        SlotHold expired;
+        while ((expired = expiryQueue.poll()) != null) {
+            if (holdsByToken.remove(expired.getToken(), expired)) {
+                detach(expired);
+            }
+        }
+    }
+
+    private void detach(SlotHold slotHold) {
+        holdsByDay.computeIfPresent(new DoctorDay(slotHold.getDoctorId(), slotHold.getDate()), (day, holds) -> {
+            holds.remove(slotHold);
+            return holds.isEmpty() ? null : holds;
+        });
+    }
+
+    public final class SlotHold implements Delayed {
+
+        private final String token;
+        private final Long doctorId;
+        private final LocalDate date;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
+        private final AppointmentDto appointmentDto;
+        private final Instant expiresAt;
+
+        private SlotHold(String token, Long doctorId, LocalDate date, LocalTime startTime,
+                         LocalTime endTime, AppointmentDto appointmentDto, Instant expiresAt) {
+            this.token = token;
+            this.doctorId = doctorId;
+            this.date = date;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.appointmentDto = appointmentDto;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public Long getDoctorId() {
+            return doctorId;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public LocalTime getStartTime() {
+            return startTime;
+        }
+
+        public LocalTime getEndTime() {
+            return endTime;
+        }
+
+        public AppointmentDto getAppointmentDto() {
+            return appointmentDto;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isExpired() {
+            return !clock.instant().isBefore(expiresAt);
+        }
+
+        public boolean overlaps(LocalTime otherStart, LocalTime otherEnd) {
+            return startTime.isBefore(otherEnd) && endTime.isAfter(otherStart);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(clock.instant(), expiresAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof SlotHold otherHold) {
+                return expiresAt.compareTo(otherHold.expiresAt);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps, per doctor and day, a bitmap with one bit per minute of the day.
+ * A set bit means the minute is taken by an appointment that is not canceled.
+ * Bitmaps are built lazily from the DB and are replaced (copy-on-write) on
+ * every booking or cancellation, so readers always scan an immutable snapshot.
+ * At most {@code maxDays} bitmaps are kept, least recently used first out.
+ * A bitmap is loaded outside the lock and only stored if no change was applied
+ * to the index meanwhile, so a load racing a booking cannot hide that booking.
+ * Bulk changes drop a doctor's bitmaps once the publishing transaction commits.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final int maxDays;
+    private final Map<SlotKey, long[]> occupancy;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SlotOccupancyIndex(@Value("${medicalsys.availability.occupancy-days:50000}") int maxDays) {
+        this.maxDays = maxDays;
+        this.occupancy = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SlotKey, long[]> eldest) {
+                boolean evict = size() > SlotOccupancyIndex.this.maxDays;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public DayOccupancy getOccupancy(Long doctorId, LocalDate date,
+                                     Supplier<List<AppointmentEntity>> loader) {
+        SlotKey key = new SlotKey(doctorId, date.toEpochDay());
+        long[] words;
+        synchronized (occupancy) {
+            words = occupancy.get(key);
+        }
+        if (words != null) {
+            return new DayOccupancy(words);
+        }
+
+        long loadedAtVersion = version.get();
+        long[] loaded = buildWords(loader.get());
+        synchronized (occupancy) {
+            words = occupancy.get(key);
+            if (words == null && version.get() == loadedAtVersion) {
+                occupancy.put(key, loaded);
+            }
+        }
+        return new DayOccupancy(words == null ? loaded : words);
+    }
+
+    public void markOccupied(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        update(new SlotKey(doctorId, date.toEpochDay()), startTime, endTime, true);
+    }
+
+    public void release(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        update(new SlotKey(doctorId, date.toEpochDay()), startTime, endTime, false);
+    }
+
+    public void evictDoctor(Long doctorId) {
+        synchronized (occupancy) {
+            version.incrementAndGet();
+            occupancy.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentsChanged(AppointmentsChangedEvent event) {
+        if (event.date() == null) {
+            evictDoctor(event.doctorId());
+        }
+    }
+
+    public void evictAll() {
+        synchronized (occupancy) {
+            version.incrementAndGet();
+            occupancy.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (occupancy) {
+            return occupancy.size();
+        }
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private void update(SlotKey key, LocalTime startTime, LocalTime endTime, boolean occupied) {
+        synchronized (occupancy) {
+            version.incrementAndGet();
+            long[] words = occupancy.get(key);
+            if (words == null) {
+                return;
+            }
+            long[] copy = words.clone();
+            setRange(copy, toMinute(startTime), toEndMinute(startTime, endTime), occupied);
+            occupancy.put(key, copy);
+        }
+    }
+
+    private static long[] buildWords(List<AppointmentEntity> appointments) {
+        long[] words = new long[WORDS_PER_DAY];
+        for (AppointmentEntity appointment : appointments) {
+            if (appointment.getStatus() == AppointmentStatus.CANCELED) {
+                continue;
+            }
+            setRange(words, toMinute(appointment.getStartTime()),
+                    toEndMinute(appointment.getStartTime(), appointment.getEndTime()), true);
+        }
+        return words;
+    }
+
+    static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    static int toEndMinute(LocalTime startTime, LocalTime endTime) {
+        int end = (endTime.toSecondOfDay() + 59) / 60;
+        return end <= toMinute(startTime) ? MINUTES_PER_DAY : end;
+    }
+
+    static void setRange(long[] words, int from, int to, boolean value) {
+        if (from >= to) {
+            return;
+        }
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        for (int i = startWord; i <= endWord; i++) {
+            long mask = -1L;
+            if (i == startWord) {
+                mask &= firstMask;
+            }
+            if (i == endWord) {
+                mask &= lastMask;
+            }
+            words[i] = value ? words[i] | mask : words[i] & ~mask;
+        }
+    }
+
+    static boolean isRangeClear(long[] words, int from, int to) {
+        if (from >= to) {
+            return true;
+        }
+        int startWord = from >>> 6;
+        int endWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (startWord == endWord) {
+            return (words[startWord] & firstMask & lastMask) == 0;
+        }
+        if ((words[startWord] & firstMask) != 0) {
+            return false;
+        }
+        for (int i = startWord + 1; i < endWord; i++) {
+            if (words[i] != 0) {
+                return false;
+            }
+        }
+        return (words[endWord] & lastMask) == 0;
+    }
+
+    private record SlotKey(Long doctorId, long epochDay) {
+    }
+
+    public static class DayOccupancy {
+
+        private final long[] words;
+
+        private DayOccupancy(long[] words) {
+            this.words = words;
+        }
+
+        public boolean isFree(LocalTime startTime, LocalTime endTime) {
+            return isRangeClear(words, toMinute(startTime), toEndMinute(startTime, endTime));
+        }
+
+        public List<LocalTime> findFreeSlots(LocalTime startHour, LocalTime endHour,
+                                             int duration, int step) {
+            List<LocalTime> freeSlots = new ArrayList<>();
+            int end = toMinute(endHour);
+            for (int current = toMinute(startHour); current + duration <= end; current += step) {
+                if (isRangeClear(words, current, current + duration)) {
+                    freeSlots.add(LocalTime.ofSecondOfDay(current * 60L));
+                }
+            }
+            return freeSlots;
+        }
+    }
+}
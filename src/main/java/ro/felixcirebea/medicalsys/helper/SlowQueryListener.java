@@ -0,0 +1,166 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC-level listener on the proxied DataSource. Aggregates execution count and
+ * time per SQL string, and logs every statement slower than the threshold with
+ * its bind parameters and the service method that issued it. Bind values can
+ * hold patient data, so only their types are recorded unless
+ * {@code medicalsys.jdbc.slow-query-log-bind-values} is switched on.
+ */
+@Component
+@Slf4j
+public class SlowQueryListener implements QueryExecutionListener {
+
+    public static final String LOG_SLOW_QUERY_MSG = "Slow query (%s ms) from %s: %s %s";
+    public static final String UNKNOWN_CALLER = "unknown";
+    public static final int MAX_TRACKED_STATEMENTS = 500;
+    public static final int MAX_RECENT_SLOW_QUERIES = 20;
+    private static final String SERVICE_PACKAGE = "ro.felixcirebea.medicalsys.service.";
+    private static final String LAMBDA_PREFIX = "lambda$";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private final long slowQueryThresholdMillis;
+    private final boolean logBindValues;
+    private final Map<String, StatementCounters> statements = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> recentSlowQueries = new ConcurrentLinkedDeque<>();
+    private final AtomicLong slowQueries = new AtomicLong();
+
+    public SlowQueryListener(@Value("${medicalsys.jdbc.slow-query-threshold-ms:200}") long slowQueryThresholdMillis,
+                             @Value("${medicalsys.jdbc.slow-query-log-bind-values:false}") boolean logBindValues) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        this.logBindValues = logBindValues;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = executionInfo.getElapsedTime();
+        queryInfoList.forEach(queryInfo -> record(queryInfo.getQuery(), elapsedMillis));
+
+        if (elapsedMillis < slowQueryThresholdMillis) {
+            return;
+        }
+
+        String caller = resolveCaller();
+        for (QueryInfo queryInfo : queryInfoList) {
+            String parameters = formatParameters(queryInfo.getParametersList());
+            slowQueries.incrementAndGet();
+            log.warn(String.format(LOG_SLOW_QUERY_MSG, elapsedMillis, caller, queryInfo.getQuery(), parameters));
+            recentSlowQueries.addFirst(new SlowQuery(queryInfo.getQuery(), parameters, caller, elapsedMillis));
+            while (recentSlowQueries.size() > MAX_RECENT_SLOW_QUERIES) {
+                recentSlowQueries.pollLast();
+            }
+        }
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    public long getSlowQueries() {
+        return slowQueries.get();
+    }
+
+    public List<SlowQuery> getRecentSlowQueries() {
+        return List.copyOf(recentSlowQueries);
+    }
+
+    public List<StatementStatistics> getStatementStatistics() {
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(StatementStatistics::totalMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+        recentSlowQueries.clear();
+        slowQueries.set(0);
+    }
+
+    private void record(String sql, long elapsedMillis) {
+        StatementCounters counters = statements.get(sql);
+        if (counters == null) {
+            if (statements.size() >= MAX_TRACKED_STATEMENTS) {
+                return;
+            }
+            counters = statements.computeIfAbsent(sql, key -> new StatementCounters());
+        }
+        counters.executions.increment();
+        counters.totalMillis.add(elapsedMillis);
+        counters.maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+    }
+
+    private static String resolveCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) &&
+                        !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse(UNKNOWN_CALLER));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static String methodName(String frameMethodName) {
+        if (!frameMethodName.startsWith(LAMBDA_PREFIX)) {
+            return frameMethodName;
+        }
+        String enclosing = frameMethodName.substring(LAMBDA_PREFIX.length());
+        int end = enclosing.indexOf('$');
+        return end < 0 ? enclosing : enclosing.substring(0, end);
+    }
+
+    private String formatParameters(List<List<ParameterSetOperation>> parametersList) {
+        return parametersList.stream()
+                .map(parameters -> parameters.stream()
+                        .map(this::formatParameter)
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(", "));
+    }
+
+    private String formatParameter(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        Object value = ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 ?
+                null : args[1];
+        if (logBindValues || value == null) {
+            return args[0] + "=" + value;
+        }
+        return args[0] + "=<" + value.getClass().getSimpleName() + ">";
+    }
+
+    public record StatementStatistics(String sql, long executions, long totalMillis, long maxMillis) {
+    }
+
+    public record SlowQuery(String sql, String parameters, String caller, long elapsedMillis) {
+    }
+
+    private static class StatementCounters {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private StatementStatistics snapshot(String sql) {
+            return new StatementStatistics(sql, executions.sum(), totalMillis.sum(), maxMillis.get());
+        }
+    }
+}
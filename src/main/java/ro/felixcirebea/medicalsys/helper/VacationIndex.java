@@ -0,0 +1,68 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.felixcirebea.medicalsys.entity.VacationEntity;
+import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
+import ro.felixcirebea.medicalsys.repository.VacationRepository;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per doctor, the PLANNED and IN_PROGRESS vacations kept as merged epoch-day
+ * intervals, loaded lazily from the DB. VacationService refreshes a doctor's
+ * entry after every insert or cancel.
+ */
+@Component
+public class VacationIndex {
+
+    public static final Set<VacationStatus> ACTIVE_STATUSES =
+            EnumSet.of(VacationStatus.PLANNED, VacationStatus.IN_PROGRESS);
+    private final VacationRepository vacationRepository;
+    private final Map<Long, DayIntervals> vacations = new ConcurrentHashMap<>();
+
+    public VacationIndex(VacationRepository vacationRepository) {
+        this.vacationRepository = vacationRepository;
+    }
+
+    public boolean isOnVacation(Long doctorId, LocalDate date) {
+        return intervalsFor(doctorId).contains(date);
+    }
+
+    public boolean hasVacationBetween(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        return intervalsFor(doctorId).overlaps(startDate, endDate);
+    }
+
+    public Set<LocalDate> getVacationDaysBetween(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        return intervalsFor(doctorId).daysBetween(startDate, endDate);
+    }
+
+    public void refresh(Long doctorId) {
+        vacations.put(doctorId, load(doctorId));
+    }
+
+    public void evictAll() {
+        vacations.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorScheduleChanged(DoctorScheduleChangedEvent event) {
+        if (event.startDate() == null) {
+            vacations.remove(event.doctorId());
+        }
+    }
+
+    private DayIntervals intervalsFor(Long doctorId) {
+        return vacations.computeIfAbsent(doctorId, this::load);
+    }
+
+    private DayIntervals load(Long doctorId) {
+        return DayIntervals.of(vacationRepository.findAllByDoctorIdAndStatusIn(doctorId, ACTIVE_STATUSES),
+                VacationEntity::getStartDate, VacationEntity::getEndDate);
+    }
+}
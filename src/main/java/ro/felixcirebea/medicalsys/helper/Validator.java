@@ -1,5 +1,7 @@
 package ro.felixcirebea.medicalsys.helper;
 
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
@@ -16,6 +18,9 @@ public class Validator {
     public static final String INVALID_DATE_MSG = "The given date is not valid";
     public static final String INVALID_ENUM_MSG = "The given argument is not valid enum element";
     public static final String INVALID_ID_MSG = "The given id is not a number";
+    public static final String INVALID_LIMIT_MSG = "The given limit must be between 1 and %s";
+    public static final String INVALID_DATE_RANGE_MSG = "The given start date must not be after the end date";
+    public static final String INVALID_HOLD_MSG = "The given hold time must be between 1 and %s seconds";
 
     public static LocalTime timeValidator(String inputTime)
             throws DataMismatchException {
@@ -53,6 +58,24 @@ public class Validator {
         }
     }
 
+    public static AppointmentStatus appointmentStatusValidator(String inputStatus)
+            throws DataMismatchException {
+        try {
+            return AppointmentStatus.valueOf(inputStatus);
+        } catch (IllegalArgumentException e) {
+            throw new DataMismatchException(INVALID_ENUM_MSG);
+        }
+    }
+
+    public static ImportEntity importEntityValidator(String inputEntity)
+            throws DataMismatchException {
+        try {
+            return ImportEntity.valueOf(inputEntity.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new DataMismatchException(INVALID_ENUM_MSG);
+        }
+    }
+
     public static LocalDate dateValidator(String inputDate)
             throws DataMismatchException {
         try {
@@ -62,6 +85,13 @@ public class Validator {
         }
     }
 
+    public static void dateRangeValidator(LocalDate startDate, LocalDate endDate)
+            throws DataMismatchException {
+        if (startDate.isAfter(endDate)) {
+            throw new DataMismatchException(INVALID_DATE_RANGE_MSG);
+        }
+    }
+
     public static Long idValidator(String inputId)
             throws DataMismatchException {
         try {
@@ -71,4 +101,26 @@ public class Validator {
         }
     }
 
+    public static Integer limitValidator(Integer inputLimit, int defaultLimit, int maxLimit)
+            throws DataMismatchException {
+        if (inputLimit == null) {
+            return defaultLimit;
+        }
+        if (inputLimit < 1 || inputLimit > maxLimit) {
+            throw new DataMismatchException(String.format(INVALID_LIMIT_MSG, maxLimit));
+        }
+        return inputLimit;
+    }
+
+    public static Integer holdSecondsValidator(Integer inputSeconds, int defaultSeconds, int maxSeconds)
+            throws DataMismatchException {
+        if (inputSeconds == null) {
+            return defaultSeconds;
+        }
+        if (inputSeconds < 1 || inputSeconds > maxSeconds) {
+            throw new DataMismatchException(String.format(INVALID_HOLD_MSG, maxSeconds));
+        }
+        return inputSeconds;
+    }
+
 }
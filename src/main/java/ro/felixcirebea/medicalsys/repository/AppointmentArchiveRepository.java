@@ -0,0 +1,53 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.AppointmentArchiveEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface AppointmentArchiveRepository extends CrudRepository<AppointmentArchiveEntity, Long> {
+
+    List<AppointmentArchiveEntity> findAllByDoctorInAndDateIn(Collection<DoctorEntity> doctors,
+                                                              Collection<LocalDate> dates);
+
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO appointments_archive " +
+            "(id, clientName, doctor, investigation, date, startTime, endTime, price, status) " +
+            "SELECT a.id, a.clientName, a.doctor, a.investigation, a.date, a.startTime, a.endTime, a.price, a.status " +
+            "FROM appointments a WHERE a.id IN :ids")
+    int copyFromAppointments(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM appointments_archive a " +
+            "JOIN FETCH a.doctor d " +
+            "LEFT JOIN FETCH d.specialty " +
+            "JOIN FETCH a.investigation i " +
+            "LEFT JOIN FETCH i.specialty " +
+            "WHERE a.date BETWEEN :startDate AND :endDate " +
+            "AND (:doctorName IS NULL OR d.name = :doctorName) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.id")
+    Stream<AppointmentArchiveEntity> streamForExport(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate,
+                                                     @Param("doctorName") String doctorName,
+                                                     @Param("status") AppointmentStatus status);
+
+}
@@ -1,28 +1,41 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends CrudRepository<AppointmentEntity, Long> {
 
     List<AppointmentEntity> findAllByDoctorAndDate(DoctorEntity doctor, LocalDate date);
 
+    List<AppointmentEntity> findAllByDoctorAndDateBetween(DoctorEntity doctor, LocalDate startDate, LocalDate endDate);
+
+    List<AppointmentEntity> findAllByDoctorInAndDateIn(Collection<DoctorEntity> doctors, Collection<LocalDate> dates);
+
     @Query("SELECT CASE WHEN COUNT(a) > 0 THEN true ELSE false END " +
             "FROM appointments a WHERE a.doctor = :doctor " +
             "AND a.date = :date " +
             "AND a.startTime < :endTime " +
-            "AND a.endTime > :startTime")
+            "AND a.endTime > :startTime " +
+            "AND a.status <> ro.felixcirebea.medicalsys.enums.AppointmentStatus.CANCELED")
     Boolean existsByDoctorDateAndTimeRange(@Param("doctor") DoctorEntity doctor,
                                            @Param("date") LocalDate date,
                                            @Param("startTime") LocalTime startTime,
@@ -30,6 +43,40 @@ public interface AppointmentRepository extends CrudRepository<AppointmentEntity,
 
     Optional<AppointmentEntity> findByIdAndClientNameAndStatus(Long id, String clientName, AppointmentStatus status);
 
-    List<AppointmentEntity> findAllByDoctor(DoctorEntity doctor);
+    @Transactional
+    @Modifying
+    @Query("UPDATE appointments a " +
+            "SET a.status = ro.felixcirebea.medicalsys.enums.AppointmentStatus.CANCELED " +
+            "WHERE a.doctor.id IN :doctorIds " +
+            "AND a.date >= :fromDate " +
+            "AND a.status = ro.felixcirebea.medicalsys.enums.AppointmentStatus.NEW")
+    int cancelAllNewByDoctorIdInAndDateFrom(@Param("doctorIds") Collection<Long> doctorIds,
+                                            @Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT a.id FROM appointments a WHERE a.date < :date ORDER BY a.id")
+    List<Long> findIdsByDateBefore(@Param("date") LocalDate date, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM appointments a WHERE a.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM appointments a " +
+            "JOIN FETCH a.doctor d " +
+            "LEFT JOIN FETCH d.specialty " +
+            "JOIN FETCH a.investigation i " +
+            "LEFT JOIN FETCH i.specialty " +
+            "WHERE a.date BETWEEN :startDate AND :endDate " +
+            "AND (:doctorName IS NULL OR d.name = :doctorName) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.id")
+    Stream<AppointmentEntity> streamForExport(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              @Param("doctorName") String doctorName,
+                                              @Param("status") AppointmentStatus status);
 
 }
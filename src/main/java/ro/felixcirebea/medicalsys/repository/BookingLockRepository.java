@@ -0,0 +1,23 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+
+import java.time.LocalDate;
+
+@Repository
+public interface BookingLockRepository extends CrudRepository<BookingLockEntity, Long>, BookingLockRepositoryCustom {
+
+    Boolean existsByDoctorIdAndLockDate(Long doctorId, LocalDate lockDate);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM booking_locks b WHERE b.lockDate < :date")
+    int deleteAllByLockDateBefore(@Param("date") LocalDate date);
+
+}
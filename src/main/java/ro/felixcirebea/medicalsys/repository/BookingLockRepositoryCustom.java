@@ -0,0 +1,12 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface BookingLockRepositoryCustom {
+
+    Optional<BookingLockEntity> lockByDoctorIdAndLockDate(Long doctorId, LocalDate lockDate, long timeoutMillis);
+
+}
@@ -0,0 +1,85 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Takes the booking row lock with a caller supplied timeout. The timeout goes out as the JPA
+ * lock timeout hint. H2 ignores that hint and waits for its session LOCK_TIMEOUT instead, so on
+ * H2 the session setting is moved to the same value while the row is locked and then put back to
+ * what it was, so other statements on the pooled connection keep their configured wait.
+ */
+public class BookingLockRepositoryCustomImpl implements BookingLockRepositoryCustom {
+
+    private static final String LOCK_QUERY =
+            "SELECT b FROM booking_locks b WHERE b.doctorId = :doctorId AND b.lockDate = :lockDate";
+    private static final String H2_LOCK_TIMEOUT = "SET LOCK_TIMEOUT ";
+    private static final String H2_CURRENT_LOCK_TIMEOUT = "SELECT LOCK_TIMEOUT()";
+
+    private final EntityManager entityManager;
+
+    public BookingLockRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Optional<BookingLockEntity> lockByDoctorIdAndLockDate(Long doctorId, LocalDate lockDate,
+                                                                 long timeoutMillis) {
+        Session session = entityManager.unwrap(Session.class);
+        if (!isH2(session)) {
+            return lock(doctorId, lockDate, timeoutMillis);
+        }
+        long previousTimeoutMillis = currentH2LockTimeout(session);
+        setH2LockTimeout(session, timeoutMillis);
+        try {
+            return lock(doctorId, lockDate, timeoutMillis);
+        } finally {
+            setH2LockTimeout(session, previousTimeoutMillis);
+        }
+    }
+
+    private Optional<BookingLockEntity> lock(Long doctorId, LocalDate lockDate, long timeoutMillis) {
+        return entityManager.createQuery(LOCK_QUERY, BookingLockEntity.class)
+                .setParameter("doctorId", doctorId)
+                .setParameter("lockDate", lockDate)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, Math.toIntExact(timeoutMillis))
+                .getResultStream()
+                .findFirst();
+    }
+
+    private static long currentH2LockTimeout(Session session) {
+        return session.doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(H2_CURRENT_LOCK_TIMEOUT)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        });
+    }
+
+    private static void setH2LockTimeout(Session session, long timeoutMillis) {
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(H2_LOCK_TIMEOUT + timeoutMillis);
+            }
+        });
+    }
+
+    private static boolean isH2(Session session) {
+        return session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+}
@@ -1,19 +1,57 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.dto.DoctorDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DoctorRepository extends CrudRepository<DoctorEntity, Long> {
+public interface DoctorRepository extends CrudRepository<DoctorEntity, Long>,
+        PagingAndSortingRepository<DoctorEntity, Long>, DoctorRepositoryCustom {
 
-    Optional<DoctorEntity> findByNameAndIsActive(String name, boolean isActive);
+    String DTO_SELECT = "SELECT new ro.felixcirebea.medicalsys.dto.DoctorDto(d.id, d.name, s.name, d.priceRate) " +
+            "FROM doctors d LEFT JOIN d.specialty s ";
 
     Optional<DoctorEntity> findByIdAndIsActive(Long id, boolean isActive);
 
-    List<DoctorEntity> findAllByIsActive(boolean isActive);
+    List<DoctorEntity> findAllByNameInAndIsActive(Collection<String> names, boolean isActive);
+
+    List<DoctorEntity> findAllByNameIn(Collection<String> names);
+
+    @Query(DTO_SELECT + "WHERE d.id = :id AND d.isActive = :isActive")
+    Optional<DoctorDto> findDtoByIdAndIsActive(@Param("id") Long id, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE d.specialty = :specialty AND d.isActive = :isActive")
+    List<DoctorDto> findAllDtoBySpecialtyAndIsActive(
+            @Param("specialty") SpecialtyEntity specialty, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE d.isActive = :isActive AND d.id > :id")
+    List<DoctorDto> findAllDtoByIsActiveAndIdGreaterThan(
+            @Param("isActive") boolean isActive, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT DISTINCT d FROM doctors d LEFT JOIN FETCH d.workingHours " +
+            "WHERE d.specialty = :specialty AND d.isActive = :isActive")
+    List<DoctorEntity> findAllWithWorkingHoursBySpecialtyAndIsActive(
+            @Param("specialty") SpecialtyEntity specialty, @Param("isActive") boolean isActive);
+
+    @Query("SELECT d.id FROM doctors d WHERE d.specialty = :specialty AND d.isActive = :isActive")
+    List<Long> findAllIdsBySpecialtyAndIsActive(
+            @Param("specialty") SpecialtyEntity specialty, @Param("isActive") boolean isActive);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE doctors d SET d.isActive = false WHERE d.specialty = :specialty AND d.isActive = true")
+    int deactivateAllBySpecialty(@Param("specialty") SpecialtyEntity specialty);
 
 }
@@ -0,0 +1,13 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+
+import java.util.Optional;
+
+public interface DoctorRepositoryCustom {
+
+    Optional<DoctorEntity> findByNameAndIsActive(String name, boolean isActive);
+
+    Optional<DoctorEntity> findWithWorkingHoursByNameAndIsActive(String name, boolean isActive);
+
+}
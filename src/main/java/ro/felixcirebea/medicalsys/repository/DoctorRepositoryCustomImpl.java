@@ -0,0 +1,40 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+
+import java.util.Optional;
+
+/**
+ * Name lookups resolve through the natural-id cache, so repeated lookups of the same doctor
+ * are answered from the second-level cache instead of the database. The working hours
+ * collection is cached as well, so initializing it on a warm doctor costs no statement.
+ */
+public class DoctorRepositoryCustomImpl implements DoctorRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public DoctorRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorEntity> findByNameAndIsActive(String name, boolean isActive) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(DoctorEntity.class)
+                .loadOptional(name)
+                .filter(doctor -> doctor.getIsActive() == isActive);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DoctorEntity> findWithWorkingHoursByNameAndIsActive(String name, boolean isActive) {
+        Optional<DoctorEntity> doctor = findByNameAndIsActive(name, isActive);
+        doctor.ifPresent(entity -> Hibernate.initialize(entity.getWorkingHours()));
+        return doctor;
+    }
+}
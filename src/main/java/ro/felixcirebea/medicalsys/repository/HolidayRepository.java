@@ -1,25 +1,39 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ro.felixcirebea.medicalsys.dto.HolidayDto;
 import ro.felixcirebea.medicalsys.entity.HolidayEntity;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface HolidayRepository extends CrudRepository<HolidayEntity, Long> {
+public interface HolidayRepository extends CrudRepository<HolidayEntity, Long>,
+        PagingAndSortingRepository<HolidayEntity, Long> {
+
+    String DTO_SELECT = "SELECT new ro.felixcirebea.medicalsys.dto.HolidayDto(" +
+            "h.id, h.startDate, h.endDate, h.description) FROM holidays h ";
 
     Optional<HolidayEntity> findByIdAndIsActive(Long id, boolean isActive);
 
     Optional<HolidayEntity> findByDescriptionAndIsActive(String description, boolean isActive);
 
-    @Query("SELECT COUNT(h) > 0 FROM holidays h WHERE h.isActive = true AND :date BETWEEN h.startDate AND h.endDate")
-    Boolean isDateBetweenHolidays(@Param("date") LocalDate date);
-
     List<HolidayEntity> findAllByIsActive(boolean isActive);
 
+    @Query(DTO_SELECT + "WHERE h.id = :id AND h.isActive = :isActive")
+    Optional<HolidayDto> findDtoByIdAndIsActive(@Param("id") Long id, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE h.description = :description AND h.isActive = :isActive")
+    Optional<HolidayDto> findDtoByDescriptionAndIsActive(
+            @Param("description") String description, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE h.isActive = :isActive AND h.id > :id")
+    List<HolidayDto> findAllDtoByIsActiveAndIdGreaterThan(
+            @Param("isActive") boolean isActive, @Param("id") Long id, Pageable pageable);
+
 }
@@ -0,0 +1,32 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.ImportJobEntity;
+import ro.felixcirebea.medicalsys.enums.ImportJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends CrudRepository<ImportJobEntity, Long> {
+
+    Optional<ImportJobEntity> findByFileName(String fileName);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE import_jobs j SET j.committedOffset = :committedOffset, " +
+            "j.insertedRows = j.insertedRows + :insertedRows, j.skippedRows = j.skippedRows + :skippedRows, " +
+            "j.status = :status, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("committedOffset") long committedOffset,
+                       @Param("insertedRows") long insertedRows,
+                       @Param("skippedRows") long skippedRows,
+                       @Param("status") ImportJobStatus status,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+}
@@ -1,20 +1,57 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.dto.InvestigationDto;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvestigationRepository extends CrudRepository<InvestigationEntity, Long> {
+public interface InvestigationRepository extends CrudRepository<InvestigationEntity, Long>,
+        PagingAndSortingRepository<InvestigationEntity, Long>, InvestigationRepositoryCustom {
+
+    String DTO_SELECT = "SELECT new ro.felixcirebea.medicalsys.dto.InvestigationDto(" +
+            "i.id, i.name, s.name, i.basePrice, i.duration) " +
+            "FROM investigations i LEFT JOIN i.specialty s ";
+
     Optional<InvestigationEntity> findByIdAndIsActive(Long id, boolean isActive);
 
-    Optional<InvestigationEntity> findByNameAndIsActive(String name, boolean isActive);
+    List<InvestigationEntity> findAllByNameInAndIsActive(Collection<String> names, boolean isActive);
+
+    List<InvestigationEntity> findAllByNameIn(Collection<String> names);
+
+    @Query(DTO_SELECT + "WHERE i.id = :id AND i.isActive = :isActive")
+    Optional<InvestigationDto> findDtoByIdAndIsActive(@Param("id") Long id, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE i.specialty = :specialty AND i.isActive = :isActive")
+    List<InvestigationDto> findAllDtoBySpecialtyAndIsActive(
+            @Param("specialty") SpecialtyEntity specialty, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE i.duration = :duration AND i.isActive = :isActive")
+    List<InvestigationDto> findAllDtoByDurationAndIsActive(
+            @Param("duration") Integer duration, @Param("isActive") boolean isActive);
+
+    @Query(DTO_SELECT + "WHERE i.isActive = :isActive AND i.id > :id")
+    List<InvestigationDto> findAllDtoByIsActiveAndIdGreaterThan(
+            @Param("isActive") boolean isActive, @Param("id") Long id, Pageable pageable);
 
-    List<InvestigationEntity> findAllByDurationAndIsActive(Integer duration, boolean isActive);
+    @Query("SELECT i.id FROM investigations i WHERE i.specialty = :specialty AND i.isActive = :isActive")
+    List<Long> findAllIdsBySpecialtyAndIsActive(
+            @Param("specialty") SpecialtyEntity specialty, @Param("isActive") boolean isActive);
 
-    List<InvestigationEntity> findAllByIsActive(boolean isActive);
+    @Transactional
+    @Modifying
+    @Query("UPDATE investigations i SET i.isActive = false WHERE i.specialty = :specialty AND i.isActive = true")
+    int deactivateAllBySpecialty(@Param("specialty") SpecialtyEntity specialty);
 
 }
@@ -0,0 +1,11 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+
+import java.util.Optional;
+
+public interface InvestigationRepositoryCustom {
+
+    Optional<InvestigationEntity> findByNameAndIsActive(String name, boolean isActive);
+
+}
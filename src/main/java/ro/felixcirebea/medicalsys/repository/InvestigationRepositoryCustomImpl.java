@@ -0,0 +1,26 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+
+import java.util.Optional;
+
+public class InvestigationRepositoryCustomImpl implements InvestigationRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public InvestigationRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<InvestigationEntity> findByNameAndIsActive(String name, boolean isActive) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(InvestigationEntity.class)
+                .loadOptional(name)
+                .filter(investigation -> investigation.getIsActive() == isActive);
+    }
+}
@@ -1,19 +1,34 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ro.felixcirebea.medicalsys.dto.SpecialtyDto;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SpecialtyRepository extends CrudRepository<SpecialtyEntity, Long> {
-
-    Optional<SpecialtyEntity> findByNameAndIsActive(String name, boolean isActive);
+public interface SpecialtyRepository extends CrudRepository<SpecialtyEntity, Long>,
+        PagingAndSortingRepository<SpecialtyEntity, Long>, SpecialtyRepositoryCustom {
 
     Optional<SpecialtyEntity> findByIdAndIsActive(Long id, boolean isActive);
 
     List<SpecialtyEntity> findAllByIsActive(boolean isActive);
 
+    List<SpecialtyEntity> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT s.name FROM specialties s WHERE s.id = :id AND s.isActive = :isActive")
+    Optional<String> findNameByIdAndIsActive(@Param("id") Long id, @Param("isActive") boolean isActive);
+
+    @Query("SELECT new ro.felixcirebea.medicalsys.dto.SpecialtyDto(s.id, s.name) FROM specialties s " +
+            "WHERE s.isActive = :isActive AND s.id > :id")
+    List<SpecialtyDto> findAllDtoByIsActiveAndIdGreaterThan(
+            @Param("isActive") boolean isActive, @Param("id") Long id, Pageable pageable);
+
 }
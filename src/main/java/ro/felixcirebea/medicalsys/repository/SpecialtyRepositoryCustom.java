@@ -0,0 +1,11 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+
+import java.util.Optional;
+
+public interface SpecialtyRepositoryCustom {
+
+    Optional<SpecialtyEntity> findByNameAndIsActive(String name, boolean isActive);
+
+}
@@ -0,0 +1,26 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+
+import java.util.Optional;
+
+public class SpecialtyRepositoryCustomImpl implements SpecialtyRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public SpecialtyRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SpecialtyEntity> findByNameAndIsActive(String name, boolean isActive) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(SpecialtyEntity.class)
+                .loadOptional(name)
+                .filter(specialty -> specialty.getIsActive() == isActive);
+    }
+}
@@ -1,42 +1,74 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.dto.VacationDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.VacationEntity;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VacationRepository extends CrudRepository<VacationEntity, Long> {
 
-    List<VacationEntity> findAllByDoctorAndStartDateAfter(DoctorEntity doctorEntity, LocalDate startDate);
+    String DTO_SELECT = "SELECT new ro.felixcirebea.medicalsys.dto.VacationDto(" +
+            "v.id, d.name, v.startDate, v.endDate, v.type) FROM vacations v JOIN v.doctor d ";
 
-    List<VacationEntity> findAllByDoctorAndEndDateBefore(DoctorEntity doctorEntity, LocalDate endDate);
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor")
+    List<VacationDto> findAllDtoByDoctor(@Param("doctor") DoctorEntity doctorEntity);
 
-    List<VacationEntity> findAllByDoctorAndStartDateAfterAndEndDateBefore(
-            DoctorEntity doctorEntity, LocalDate startDate, LocalDate endDate);
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor AND v.startDate > :startDate")
+    List<VacationDto> findAllDtoByDoctorAndStartDateAfter(
+            @Param("doctor") DoctorEntity doctorEntity, @Param("startDate") LocalDate startDate);
 
-    List<VacationEntity> findAllByDoctorAndType(DoctorEntity doctorEntity, VacationType type);
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor AND v.endDate < :endDate")
+    List<VacationDto> findAllDtoByDoctorAndEndDateBefore(
+            @Param("doctor") DoctorEntity doctorEntity, @Param("endDate") LocalDate endDate);
 
-    List<VacationEntity> findAllByType(VacationType type);
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor AND v.startDate > :startDate AND v.endDate < :endDate")
+    List<VacationDto> findAllDtoByDoctorAndStartDateAfterAndEndDateBefore(
+            @Param("doctor") DoctorEntity doctorEntity,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor AND v.type = :type")
+    List<VacationDto> findAllDtoByDoctorAndType(
+            @Param("doctor") DoctorEntity doctorEntity, @Param("type") VacationType type);
 
-    @Query("SELECT COUNT(v) > 0 FROM vacations v WHERE v.doctor = :doctor AND :date BETWEEN v.startDate AND v.endDate")
-    Boolean isDateBetweenVacation(@Param("doctor") DoctorEntity doctor, @Param("date") LocalDate date);
+    @Query(DTO_SELECT + "WHERE v.type = :type")
+    List<VacationDto> findAllDtoByType(@Param("type") VacationType type);
+
+    @Query(DTO_SELECT + "WHERE v.doctor = :doctor AND v.status = :status")
+    List<VacationDto> findAllDtoByDoctorAndStatus(
+            @Param("doctor") DoctorEntity doctor, @Param("status") VacationStatus status);
 
     Optional<VacationEntity> findByDoctorAndStartDate(DoctorEntity doctor, LocalDate startDate);
 
-    List<VacationEntity> findAllByDoctorAndStatus(DoctorEntity doctor, VacationStatus status);
+    List<VacationEntity> findAllByDoctorIdAndStatusIn(Long doctorId, Collection<VacationStatus> statuses);
+
+    List<VacationEntity> findAllByDoctorIn(Collection<DoctorEntity> doctors);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE vacations v SET v.status = ro.felixcirebea.medicalsys.enums.VacationStatus.CANCELED " +
+            "WHERE v.doctor.id IN :doctorIds AND v.status IN :statuses")
+    int cancelAllByDoctorIdInAndStatusIn(@Param("doctorIds") Collection<Long> doctorIds,
+                                         @Param("statuses") Collection<VacationStatus> statuses);
 
-    @Query("SELECT COUNT(v) > 0 FROM vacations v WHERE :startDate BETWEEN v.startDate AND v.endDate " +
-            "OR :endDate BETWEEN v.startDate AND v.endDate")
-    Boolean existsByDateBetweenDates(
+    @Query("SELECT COUNT(v) > 0 FROM vacations v WHERE v.doctor = :doctor " +
+            "AND (:startDate BETWEEN v.startDate AND v.endDate " +
+            "OR :endDate BETWEEN v.startDate AND v.endDate)")
+    Boolean existsByDoctorAndDateBetweenDates(
+            @Param("doctor") DoctorEntity doctor,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,12 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Read-only row for the working hours listings. The day stays a {@link DayOfWeek} here because
+ * the API exposes it as a number, which a JPQL constructor expression cannot convert.
+ */
+public record WorkingHoursProjection(Long id, String doctor, DayOfWeek dayOfWeek,
+                                     LocalTime startHour, LocalTime endHour) {
+}
@@ -1,28 +1,52 @@
 package ro.felixcirebea.medicalsys.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface WorkingHoursRepository extends CrudRepository<WorkingHoursEntity, Long> {
+public interface WorkingHoursRepository extends CrudRepository<WorkingHoursEntity, Long>,
+        PagingAndSortingRepository<WorkingHoursEntity, Long> {
 
     Boolean existsByDoctorAndDayOfWeek(DoctorEntity doctor, DayOfWeek dayOfWeek);
 
     Optional<WorkingHoursEntity> findByDoctorAndDayOfWeek(DoctorEntity doctor, DayOfWeek dayOfWeek);
 
-    List<WorkingHoursEntity> findByDoctor(DoctorEntity doctor);
+    List<WorkingHoursEntity> findAllByDoctorIn(Collection<DoctorEntity> doctors);
 
-    List<WorkingHoursEntity> findByDayOfWeek(DayOfWeek dayOfWeek);
+    String PROJECTION_SELECT = "SELECT new ro.felixcirebea.medicalsys.repository.WorkingHoursProjection(" +
+            "w.id, d.name, w.dayOfWeek, w.startHour, w.endHour) FROM working_hours w JOIN w.doctor d ";
+
+    @Query(PROJECTION_SELECT + "WHERE w.doctor = :doctor AND w.dayOfWeek = :dayOfWeek")
+    Optional<WorkingHoursProjection> findProjectionByDoctorAndDayOfWeek(
+            @Param("doctor") DoctorEntity doctor, @Param("dayOfWeek") DayOfWeek dayOfWeek);
+
+    @Query(PROJECTION_SELECT + "WHERE w.doctor = :doctor")
+    List<WorkingHoursProjection> findProjectionByDoctor(@Param("doctor") DoctorEntity doctor);
+
+    @Query(PROJECTION_SELECT + "WHERE w.dayOfWeek = :dayOfWeek AND w.id > :id")
+    List<WorkingHoursProjection> findProjectionByDayOfWeekAndIdGreaterThan(
+            @Param("dayOfWeek") DayOfWeek dayOfWeek, @Param("id") Long id, Pageable pageable);
+
+    @Query(PROJECTION_SELECT + "WHERE w.id > :id")
+    List<WorkingHoursProjection> findProjectionByIdGreaterThan(@Param("id") Long id, Pageable pageable);
 
     @Transactional
-    void deleteByDoctor(DoctorEntity doctor);
+    @Modifying
+    @Query("DELETE FROM working_hours w WHERE w.doctor.id IN :doctorIds")
+    int deleteAllByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds);
 
     @Transactional
     void deleteByDoctorAndDayOfWeek(DoctorEntity doctor, DayOfWeek dayOfWeek);
@@ -0,0 +1,166 @@
+package ro.felixcirebea.medicalsys.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.BookingLockRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves appointments dated before {@code current date - horizon} from the hot
+ * {@code appointments} table into {@code appointments_archive}. Each chunk is
+ * copied and deleted in its own transaction, so a run never holds locks on more
+ * than one chunk of rows and an interrupted run simply resumes on the next one.
+ * The same run drops the {@code booking_locks} rows of past days, which no
+ * booking can contend for anymore.
+ */
+@Service
+@Slf4j
+public class AppointmentArchiveService implements InfoContributor {
+
+    public static final String LOG_ARCHIVE_MSG = "Archived %s appointments dated before %s in %s chunks (%s ms)";
+    public static final String LOG_LOCK_PURGE_MSG = "Purged %s booking lock rows dated before %s";
+    public static final String LOG_ARCHIVE_RUNNING_MSG = "Appointment archival already running, skipped";
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository appointmentArchiveRepository;
+    private final BookingLockRepository bookingLockRepository;
+    private final Contributor infoContributor;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong rowsMoved = new AtomicLong();
+    private final AtomicLong lockRowsPurged = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong totalChunkNanos = new AtomicLong();
+    private final AtomicLong maxChunkNanos = new AtomicLong();
+    private final AtomicLong lastChunkNanos = new AtomicLong();
+    private final AtomicReference<LocalDate> lastCutoff = new AtomicReference<>();
+
+    public AppointmentArchiveService(AppointmentRepository appointmentRepository,
+                                     AppointmentArchiveRepository appointmentArchiveRepository,
+                                     BookingLockRepository bookingLockRepository,
+                                     Contributor infoContributor,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${medicalsys.archive.horizon-days:30}") int horizonDays,
+                                     @Value("${medicalsys.archive.chunk-size:500}") int chunkSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentArchiveRepository = appointmentArchiveRepository;
+        this.bookingLockRepository = bookingLockRepository;
+        this.infoContributor = infoContributor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${medicalsys.archive.cron:0 0 3 * * *}")
+    public void runScheduledArchival() {
+        archivePastAppointments();
+    }
+
+    public long archivePastAppointments() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn(LOG_ARCHIVE_RUNNING_MSG);
+            return 0;
+        }
+
+        try {
+            LocalDate currentDate = infoContributor.getCurrentDate();
+            LocalDate cutoff = currentDate.minusDays(horizonDays);
+            long start = System.nanoTime();
+            long moved = 0;
+            int chunkCount = 0;
+            int movedInChunk;
+            do {
+                long chunkStart = System.nanoTime();
+                movedInChunk = transactionTemplate.execute(status -> moveChunk(cutoff));
+                if (movedInChunk > 0) {
+                    recordChunk(System.nanoTime() - chunkStart, movedInChunk);
+                    moved += movedInChunk;
+                    chunkCount++;
+                }
+            } while (movedInChunk == chunkSize);
+
+            runs.incrementAndGet();
+            lastCutoff.set(cutoff);
+            log.info(String.format(LOG_ARCHIVE_MSG, moved, cutoff, chunkCount,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            purgeLockRows(currentDate);
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        long chunkCount = chunks.get();
+        Map<String, Object> archiveMap = Map.of(
+                "horizon-days", String.valueOf(horizonDays),
+                "chunk-size", String.valueOf(chunkSize),
+                "runs", String.valueOf(runs.get()),
+                "last-cutoff", String.valueOf(lastCutoff.get()),
+                "rows-moved", String.valueOf(rowsMoved.get()),
+                "lock-rows-purged", String.valueOf(lockRowsPurged.get()),
+                "chunks", String.valueOf(chunkCount),
+                "last-chunk-ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(lastChunkNanos.get())),
+                "average-chunk-ms", String.valueOf(chunkCount == 0 ? 0 :
+                        TimeUnit.NANOSECONDS.toMillis(totalChunkNanos.get() / chunkCount)),
+                "max-chunk-ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(maxChunkNanos.get())));
+
+        builder.withDetail("appointment-archive", archiveMap);
+    }
+
+    public long getRowsMoved() {
+        return rowsMoved.get();
+    }
+
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    public long getLockRowsPurged() {
+        return lockRowsPurged.get();
+    }
+
+    private int moveChunk(LocalDate cutoff) {
+        List<Long> ids = appointmentRepository.findIdsByDateBefore(cutoff, PageRequest.ofSize(chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        appointmentArchiveRepository.copyFromAppointments(ids);
+        return appointmentRepository.deleteAllByIdIn(ids);
+    }
+
+    private void purgeLockRows(LocalDate currentDate) {
+        int purged = bookingLockRepository.deleteAllByLockDateBefore(currentDate);
+        lockRowsPurged.addAndGet(purged);
+        log.info(String.format(LOG_LOCK_PURGE_MSG, purged, currentDate));
+    }
+
+    private void recordChunk(long elapsedNanos, int moved) {
+        chunks.incrementAndGet();
+        rowsMoved.addAndGet(moved);
+        lastChunkNanos.set(elapsedNanos);
+        totalChunkNanos.addAndGet(elapsedNanos);
+        maxChunkNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+}
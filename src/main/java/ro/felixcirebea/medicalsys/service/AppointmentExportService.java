@@ -0,0 +1,84 @@
+package ro.felixcirebea.medicalsys.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentExportDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentArchiveEntity;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class AppointmentExportService {
+
+    public static final String EXPORT_CONTENT_TYPE = "application/x-ndjson";
+    public static final String LOG_EXPORT_MSG = "Exported %s appointments between %s and %s";
+    private static final byte LINE_SEPARATOR = '\n';
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository appointmentArchiveRepository;
+    private final AppointmentConverter appointmentConverter;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public AppointmentExportService(AppointmentRepository appointmentRepository,
+                                    AppointmentArchiveRepository appointmentArchiveRepository,
+                                    AppointmentConverter appointmentConverter,
+                                    ObjectMapper objectMapper,
+                                    EntityManager entityManager,
+                                    @Value("${medicalsys.export.chunk-size:500}") int chunkSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentArchiveRepository = appointmentArchiveRepository;
+        this.appointmentConverter = appointmentConverter;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAppointments(LocalDate startDate, LocalDate endDate,
+                                   String doctorName, AppointmentStatus status,
+                                   OutputStream outputStream)
+            throws IOException {
+        long exported;
+        try (Stream<AppointmentArchiveEntity> archived =
+                     appointmentArchiveRepository.streamForExport(startDate, endDate, doctorName, status)) {
+            exported = write(archived.map(appointmentConverter::fromArchiveEntityToExportDto), outputStream, 0);
+        }
+        try (Stream<AppointmentEntity> appointments =
+                     appointmentRepository.streamForExport(startDate, endDate, doctorName, status)) {
+            exported = write(appointments.map(appointmentConverter::fromEntityToExportDto), outputStream, exported);
+        }
+        outputStream.flush();
+
+        log.info(String.format(LOG_EXPORT_MSG, exported, startDate, endDate));
+        return exported;
+    }
+
+    private long write(Stream<AppointmentExportDto> rows, OutputStream outputStream, long exported)
+            throws IOException {
+        Iterator<AppointmentExportDto> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+            outputStream.write(LINE_SEPARATOR);
+            if (++exported % chunkSize == 0) {
+                outputStream.flush();
+                entityManager.clear();
+            }
+        }
+        return exported;
+    }
+}
@@ -1,24 +1,33 @@
 package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
 import ro.felixcirebea.medicalsys.entity.*;
 import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
 import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.helper.AvailableHoursCache;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -27,32 +36,58 @@ public class  AppointmentService {
     public static final String NOT_FOUND_MSG = "%s not found";
     public static final String NOT_FOUND_WH_MSG = "Working hours not found for %s";
     public static final String NOT_AVAILABLE_MSG = "%s not available, please select a different hour";
+    public static final String ON_VACATION_MSG = "%s is on vacation on %s";
     public static final String WRONG_ID_MSG = "Wrong ID";
     public static final String LOG_SUCCESS_CANCEL_MSG = "Appointment: %s for %s canceled";
     public static final String LOG_FAIL_CANCEL_MSG = "Cancel appointment: %s for %s failed - not found";
     public static final String RETURN_SUCCESS_CANCEL_MSG = "Appointment successfully canceled";
     public static final String RETURN_FAIL_CANCEL_MSG = "No such appointments for %s";
     private static final String DATE_ERROR_MSG = "Can't create appointments for dates in the past";
-    public static final String CANCEL_ALL_APPOINTMENTS_MSG = "Appointments for %s canceled";
+    public static final String CANCEL_ALL_APPOINTMENTS_MSG = "%s future appointments for %s canceled";
+    public static final int SLOT_STEP_MINUTES = 30;
+    public static final int MAX_SEARCH_DAYS = 90;
+    public static final int DEFAULT_SLOT_LIMIT = 10;
+    public static final int MAX_SLOT_LIMIT = 100;
     private final DoctorRepository doctorRepository;
     private final InvestigationRepository investigationRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository appointmentArchiveRepository;
     private final HolidayService holidayService;
     private final AppointmentConverter appointmentConverter;
     private final Contributor infoContributor;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final BookingGuard bookingGuard;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final AvailableHoursCache availableHoursCache;
+    private final VacationIndex vacationIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AppointmentService(DoctorRepository doctorRepository,
                               InvestigationRepository investigationRepository,
                               AppointmentRepository appointmentRepository,
+                              AppointmentArchiveRepository appointmentArchiveRepository,
                               HolidayService holidayService,
                               AppointmentConverter appointmentConverter,
-                              Contributor infoContributor) {
+                              Contributor infoContributor,
+                              SlotOccupancyIndex slotOccupancyIndex,
+                              BookingGuard bookingGuard,
+                              SlotHoldRegistry slotHoldRegistry,
+                              AvailableHoursCache availableHoursCache,
+                              VacationIndex vacationIndex,
+                              ApplicationEventPublisher eventPublisher) {
         this.doctorRepository = doctorRepository;
         this.investigationRepository = investigationRepository;
         this.appointmentRepository = appointmentRepository;
+        this.appointmentArchiveRepository = appointmentArchiveRepository;
         this.holidayService = holidayService;
         this.appointmentConverter = appointmentConverter;
         this.infoContributor = infoContributor;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.bookingGuard = bookingGuard;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.availableHoursCache = availableHoursCache;
+        this.vacationIndex = vacationIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<LocalTime> getAvailableHours(String doctorName,
@@ -63,8 +98,16 @@ public class  AppointmentService {
             throw new ConcurrencyException(DATE_ERROR_MSG);
         }
 
+        Optional<AvailableHoursCache.CachedHours> cachedHours =
+                availableHoursCache.get(doctorName, investigation, desiredDate);
+        if (cachedHours.isPresent()) {
+            AvailableHoursCache.CachedHours cached = cachedHours.get();
+            return withoutHeldSlots(cached.freeHours(), cached.doctorId(), desiredDate, cached.duration());
+        }
+        long cacheVersion = availableHoursCache.currentVersion();
+
         DoctorEntity doctorEntity =
-                doctorRepository.findByNameAndIsActive(doctorName, true)
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true)
                 .orElseThrow(() -> new DataNotFoundException(
                         String.format(NOT_FOUND_MSG, doctorName)));
 
@@ -82,46 +125,118 @@ public class  AppointmentService {
                         String.format(NOT_FOUND_WH_MSG, desiredDate)));
 
         Boolean isHoliday = holidayService.isDateHoliday(desiredDate);
-        List<VacationEntity> vacation = doctorEntity.getVacation();
-        boolean isVacation = vacation.stream()
-                .anyMatch(vac ->
-                        desiredDate.isAfter(vac.getStartDate()) &&
-                                desiredDate.isBefore(vac.getEndDate()));
+        boolean isVacation = vacationIndex.isOnVacation(doctorEntity.getId(), desiredDate);
+
+        Integer investigationDuration = investigationEntity.getDuration();
 
         if (isHoliday || isVacation) {
+            availableHoursCache.put(doctorName, investigation, desiredDate,
+                    new AvailableHoursCache.CachedHours(doctorEntity.getId(), investigationEntity.getId(),
+                            investigationDuration, Collections.emptyList()), cacheVersion);
             return Collections.emptyList();
         }
 
-        Integer investigationDuration = investigationEntity.getDuration();
-
         LocalTime startWorkingHour = workingHoursEntity.getStartHour();
         LocalTime endWorkingHour = workingHoursEntity.getEndHour();
 
-        List<AppointmentEntity> appointments =
-                appointmentRepository.findAllByDoctorAndDate(doctorEntity, desiredDate);
+        List<LocalTime> freeHours = slotOccupancyIndex.getOccupancy(doctorEntity.getId(), desiredDate,
+                        () -> appointmentRepository.findAllByDoctorAndDate(doctorEntity, desiredDate))
+                .findFreeSlots(startWorkingHour, endWorkingHour,
+                        investigationDuration, SLOT_STEP_MINUTES);
+        availableHoursCache.put(doctorName, investigation, desiredDate,
+                new AvailableHoursCache.CachedHours(doctorEntity.getId(), investigationEntity.getId(),
+                        investigationDuration, freeHours), cacheVersion);
+        return withoutHeldSlots(freeHours, doctorEntity.getId(), desiredDate, investigationDuration);
+    }
 
-        List<LocalTime> availableHours = new ArrayList<>();
-        LocalTime currentTime = startWorkingHour;
+    public List<AvailableSlotDto> getNextAvailableSlots(String doctorName,
+                                                        String investigation,
+                                                        LocalDate startDate,
+                                                        Integer limit)
+            throws DataNotFoundException, ConcurrencyException {
+        if (startDate.isBefore(infoContributor.getCurrentDate())) {
+            throw new ConcurrencyException(DATE_ERROR_MSG);
+        }
 
-        while (!currentTime.isAfter(endWorkingHour.minusMinutes(investigationDuration))) {
-            boolean slotAvailable = true;
+        DoctorEntity doctorEntity =
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, doctorName)));
+
+        InvestigationEntity investigationEntity =
+                investigationRepository.findByNameAndIsActive(investigation, true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, investigation)));
 
-            for (AppointmentEntity appointment : appointments) {
-                LocalTime appointmentStart = appointment.getStartTime();
-                LocalTime appointmentEnd = appointment.getEndTime();
-                if (currentTime.isAfter(appointmentStart.minusMinutes(investigationDuration)) &&
-                        currentTime.isBefore(appointmentEnd)) {
-                    slotAvailable = false;
+        LocalDate endDate = startDate.plusDays(MAX_SEARCH_DAYS - 1);
+        Set<LocalDate> holidays = holidayService.getHolidayDatesBetween(startDate, endDate);
+
+        return findFreeSlotsBetween(doctorEntity, investigationEntity.getDuration(),
+                startDate, endDate, holidays, limit);
+    }
+
+    List<AvailableSlotDto> findFreeSlotsBetween(DoctorEntity doctorEntity,
+                                                Integer investigationDuration,
+                                                LocalDate startDate,
+                                                LocalDate endDate,
+                                                Set<LocalDate> holidays,
+                                                int limit) {
+        Map<DayOfWeek, WorkingHoursEntity> weekTemplate = new EnumMap<>(DayOfWeek.class);
+        doctorEntity.getWorkingHours().forEach(workingHours ->
+                weekTemplate.put(workingHours.getDayOfWeek(), workingHours));
+        if (weekTemplate.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<LocalDate> vacationDays =
+                vacationIndex.getVacationDaysBetween(doctorEntity.getId(), startDate, endDate);
+
+        Map<LocalDate, List<AppointmentEntity>> appointmentsByDate =
+                appointmentRepository.findAllByDoctorAndDateBetween(doctorEntity, startDate, endDate)
+                .stream()
+                .collect(Collectors.groupingBy(AppointmentEntity::getDate));
+
+        List<AvailableSlotDto> availableSlots = new ArrayList<>();
+        for (LocalDate date = startDate;
+             !date.isAfter(endDate) && availableSlots.size() < limit;
+             date = date.plusDays(1)) {
+            WorkingHoursEntity workingHoursEntity = weekTemplate.get(date.getDayOfWeek());
+            if (workingHoursEntity == null || holidays.contains(date) || vacationDays.contains(date)) {
+                continue;
+            }
+
+            LocalDate day = date;
+            List<LocalTime> freeHours = withoutHeldSlots(
+                    slotOccupancyIndex.getOccupancy(doctorEntity.getId(), day,
+                                    () -> appointmentsByDate.getOrDefault(day, Collections.emptyList()))
+                            .findFreeSlots(workingHoursEntity.getStartHour(), workingHoursEntity.getEndHour(),
+                                    investigationDuration, SLOT_STEP_MINUTES),
+                    doctorEntity.getId(), day, investigationDuration);
+
+            for (LocalTime freeHour : freeHours) {
+                if (availableSlots.size() == limit) {
                     break;
                 }
+                availableSlots.add(AvailableSlotDto.builder()
+                        .doctor(doctorEntity.getName())
+                        .date(day)
+                        .startHour(freeHour)
+                        .build());
             }
+        }
+        return availableSlots;
+    }
 
-            if (slotAvailable) {
-                availableHours.add(currentTime);
-            }
-            currentTime = currentTime.plusMinutes(30);
+    private List<LocalTime> withoutHeldSlots(List<LocalTime> freeHours, Long doctorId,
+                                             LocalDate date, Integer investigationDuration) {
+        List<SlotHoldRegistry.SlotHold> holds = slotHoldRegistry.getActiveHolds(doctorId, date);
+        if (holds.isEmpty()) {
+            return freeHours;
         }
-        return availableHours;
+        return freeHours.stream()
+                .filter(hour -> holds.stream().noneMatch(hold ->
+                        hold.overlaps(hour, hour.plusMinutes(investigationDuration))))
+                .toList();
     }
 
     public Long bookAppointment(AppointmentDto appointmentDto)
@@ -140,30 +255,47 @@ public class  AppointmentService {
                 .orElseThrow(() -> new DataNotFoundException(
                         String.format(NOT_FOUND_MSG, appointmentDto.getInvestigation())));
 
+        if (vacationIndex.isOnVacation(doctorEntity.getId(), appointmentDto.getDate())) {
+            throw new ConcurrencyException(
+                    String.format(ON_VACATION_MSG, doctorEntity.getName(), appointmentDto.getDate()));
+        }
+
         LocalTime clientStartHour = appointmentDto.getStartHour();
         LocalTime clientEndHour = clientStartHour.plusMinutes(investigationEntity.getDuration());
 
-        Boolean notAvailable =
-                appointmentRepository.existsByDoctorDateAndTimeRange(
-                        doctorEntity, appointmentDto.getDate(), clientStartHour, clientEndHour);
-
-        if (notAvailable) {
-            throw new ConcurrencyException(
-                    String.format(NOT_AVAILABLE_MSG, clientStartHour));
-        }
+        Long appointmentId = bookingGuard.runExclusively(doctorEntity.getId(), appointmentDto.getDate(), () -> {
+            boolean notAvailable = slotHoldRegistry.isHeld(
+                    doctorEntity.getId(), appointmentDto.getDate(), clientStartHour, clientEndHour) ||
+                    appointmentRepository.existsByDoctorDateAndTimeRange(
+                            doctorEntity, appointmentDto.getDate(), clientStartHour, clientEndHour);
 
-        AppointmentEntity entity =
-                appointmentConverter.fromDtoToEntity(
-                        appointmentDto, doctorEntity, investigationEntity);
-        return appointmentRepository.save(entity).getId();
+            if (notAvailable) {
+                throw new ConcurrencyException(
+                        String.format(NOT_AVAILABLE_MSG, clientStartHour));
+            }
 
+            AppointmentEntity entity =
+                    appointmentConverter.fromDtoToEntity(
+                            appointmentDto, doctorEntity, investigationEntity);
+            return appointmentRepository.save(entity).getId();
+        });
+        slotOccupancyIndex.markOccupied(
+                doctorEntity.getId(), appointmentDto.getDate(), clientStartHour, clientEndHour);
+        eventPublisher.publishEvent(
+                new AppointmentsChangedEvent(doctorEntity.getId(), appointmentDto.getDate()));
+        return appointmentId;
     }
 
     public AppointmentDto getAppointmentById(Long appointmentIdValue)
             throws DataNotFoundException {
-        AppointmentEntity appointmentEntity = appointmentRepository.findById(appointmentIdValue)
+        Optional<AppointmentEntity> appointmentEntityOptional = appointmentRepository.findById(appointmentIdValue);
+        if (appointmentEntityOptional.isPresent()) {
+            return appointmentConverter.fromEntityToDto(appointmentEntityOptional.get());
+        }
+
+        return appointmentArchiveRepository.findById(appointmentIdValue)
+                .map(appointmentConverter::fromArchiveEntityToDto)
                 .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
-        return appointmentConverter.fromEntityToDto(appointmentEntity);
     }
 
     public String cancelAppointmentByIdAndName(Long id, String clientName)
@@ -177,17 +309,33 @@ public class  AppointmentService {
             throw new DataNotFoundException(String.format(RETURN_FAIL_CANCEL_MSG, clientName));
         }
 
-        appointmentEntityOptional.get().setStatus(AppointmentStatus.CANCELED);
-        appointmentRepository.save(appointmentEntityOptional.get());
+        AppointmentEntity appointmentEntity = appointmentEntityOptional.get();
+        appointmentEntity.setStatus(AppointmentStatus.CANCELED);
+        appointmentRepository.save(appointmentEntity);
+        slotOccupancyIndex.release(appointmentEntity.getDoctor().getId(), appointmentEntity.getDate(),
+                appointmentEntity.getStartTime(), appointmentEntity.getEndTime());
+        eventPublisher.publishEvent(new AppointmentsChangedEvent(
+                appointmentEntity.getDoctor().getId(), appointmentEntity.getDate()));
         log.info(String.format(LOG_SUCCESS_CANCEL_MSG, id, clientName));
         return RETURN_SUCCESS_CANCEL_MSG;
     }
 
     public String cancelAllAppointmentForDoctor(DoctorEntity doctor) {
-        List<AppointmentEntity> appointments = appointmentRepository.findAllByDoctor(doctor);
-        appointments.forEach(book -> book.setStatus(AppointmentStatus.CANCELED));
-        appointmentRepository.saveAll(appointments);
-        return String.format(CANCEL_ALL_APPOINTMENTS_MSG, doctor.getName());
+        int canceled = cancelFutureAppointmentsForDoctors(List.of(doctor.getId()));
+        return String.format(CANCEL_ALL_APPOINTMENTS_MSG, canceled, doctor.getName());
+    }
+
+    @Transactional
+    public int cancelFutureAppointmentsForDoctors(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return 0;
+        }
+
+        int canceled = appointmentRepository.cancelAllNewByDoctorIdInAndDateFrom(
+                doctorIds, infoContributor.getCurrentDate());
+        doctorIds.forEach(doctorId ->
+                eventPublisher.publishEvent(AppointmentsChangedEvent.allDates(doctorId)));
+        return canceled;
     }
 
 }
@@ -0,0 +1,240 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.BookingResultDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
+import ro.felixcirebea.medicalsys.helper.BookingGuard.DoctorDay;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BookingBatchService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final String INVALID_BATCH_SIZE_MSG = "A batch must contain between 1 and %s appointments";
+    public static final String NOT_FOUND_MSG = "%s not found";
+    public static final String NOT_AVAILABLE_MSG = "%s not available, please select a different hour";
+    public static final String ON_VACATION_MSG = "%s is on vacation on %s";
+    public static final String EMPTY_ITEM_MSG = "Appointment cannot be null";
+    public static final String DATE_ERROR_MSG = "Can't create appointments for dates in the past";
+    public static final String LOG_BATCH_MSG = "Batch booking: %s accepted, %s rejected";
+    private final DoctorRepository doctorRepository;
+    private final InvestigationRepository investigationRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentConverter appointmentConverter;
+    private final Contributor infoContributor;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final BookingGuard bookingGuard;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final VacationIndex vacationIndex;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookingBatchService(DoctorRepository doctorRepository,
+                               InvestigationRepository investigationRepository,
+                               AppointmentRepository appointmentRepository,
+                               AppointmentConverter appointmentConverter,
+                               Contributor infoContributor,
+                               SlotOccupancyIndex slotOccupancyIndex,
+                               BookingGuard bookingGuard,
+                               SlotHoldRegistry slotHoldRegistry,
+                               VacationIndex vacationIndex,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher) {
+        this.doctorRepository = doctorRepository;
+        this.investigationRepository = investigationRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentConverter = appointmentConverter;
+        this.infoContributor = infoContributor;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.bookingGuard = bookingGuard;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.vacationIndex = vacationIndex;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<BookingResultDto> bookAppointments(List<AppointmentDto> appointmentDtos)
+            throws DataMismatchException, DataNotFoundException, ConcurrencyException {
+        if (appointmentDtos == null || appointmentDtos.isEmpty() || appointmentDtos.size() > MAX_BATCH_SIZE) {
+            throw new DataMismatchException(String.format(INVALID_BATCH_SIZE_MSG, MAX_BATCH_SIZE));
+        }
+
+        BookingResultDto[] results = new BookingResultDto[appointmentDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < appointmentDtos.size(); i++) {
+            String error = validate(appointmentDtos.get(i));
+            if (error != null) {
+                results[i] = rejected(i, error);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        if (validIndexes.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        Map<String, DoctorEntity> doctors = doctorRepository.findAllByNameInAndIsActive(
+                        collectDistinct(appointmentDtos, validIndexes, AppointmentDto::getDoctor), true)
+                .stream()
+                .collect(Collectors.toMap(DoctorEntity::getName, Function.identity(), (a, b) -> a));
+        Map<String, InvestigationEntity> investigations = investigationRepository.findAllByNameInAndIsActive(
+                        collectDistinct(appointmentDtos, validIndexes, AppointmentDto::getInvestigation), true)
+                .stream()
+                .collect(Collectors.toMap(InvestigationEntity::getName, Function.identity(), (a, b) -> a));
+
+        List<AppointmentEntity> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (Integer index : validIndexes) {
+            AppointmentDto appointmentDto = appointmentDtos.get(index);
+            DoctorEntity doctorEntity = doctors.get(appointmentDto.getDoctor());
+            InvestigationEntity investigationEntity = investigations.get(appointmentDto.getInvestigation());
+            if (doctorEntity == null) {
+                results[index] = rejected(index, String.format(NOT_FOUND_MSG, appointmentDto.getDoctor()));
+            } else if (investigationEntity == null) {
+                results[index] = rejected(index, String.format(NOT_FOUND_MSG, appointmentDto.getInvestigation()));
+            } else if (vacationIndex.isOnVacation(doctorEntity.getId(), appointmentDto.getDate())) {
+                results[index] = rejected(index, String.format(
+                        ON_VACATION_MSG, doctorEntity.getName(), appointmentDto.getDate()));
+            } else {
+                candidates.add(appointmentConverter.fromDtoToEntity(
+                        appointmentDto, doctorEntity, investigationEntity));
+                candidateIndexes.add(index);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<DoctorDay> doctorDays = candidates.stream()
+                    .map(BookingBatchService::doctorDayOf)
+                    .collect(Collectors.toSet());
+            List<AppointmentEntity> accepted = bookingGuard.runExclusively(doctorDays, () ->
+                    insertWithoutConflicts(candidates, candidateIndexes, doctorDays, results));
+            accepted.forEach(entity -> slotOccupancyIndex.markOccupied(entity.getDoctor().getId(),
+                    entity.getDate(), entity.getStartTime(), entity.getEndTime()));
+            accepted.stream()
+                    .map(BookingBatchService::doctorDayOf)
+                    .distinct()
+                    .forEach(day -> eventPublisher.publishEvent(
+                            new AppointmentsChangedEvent(day.doctorId(), day.date())));
+        }
+
+        long acceptedCount = Arrays.stream(results).filter(result -> result.getError() == null).count();
+        log.info(String.format(LOG_BATCH_MSG, acceptedCount, results.length - acceptedCount));
+        return Arrays.asList(results);
+    }
+
+    private List<AppointmentEntity> insertWithoutConflicts(List<AppointmentEntity> candidates,
+                                                           List<Integer> candidateIndexes,
+                                                           Set<DoctorDay> doctorDays,
+                                                           BookingResultDto[] results) {
+        Set<DoctorEntity> affectedDoctors = candidates.stream()
+                .map(AppointmentEntity::getDoctor)
+                .collect(Collectors.toSet());
+        Set<LocalDate> affectedDates = candidates.stream()
+                .map(AppointmentEntity::getDate)
+                .collect(Collectors.toSet());
+
+        Map<DoctorDay, List<AppointmentEntity>> booked = new HashMap<>();
+        appointmentRepository.findAllByDoctorInAndDateIn(affectedDoctors, affectedDates).stream()
+                .filter(existing -> existing.getStatus() != AppointmentStatus.CANCELED)
+                .filter(existing -> doctorDays.contains(doctorDayOf(existing)))
+                .forEach(existing -> booked.computeIfAbsent(doctorDayOf(existing), day -> new ArrayList<>())
+                        .add(existing));
+
+        List<AppointmentEntity> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            AppointmentEntity candidate = candidates.get(i);
+            List<AppointmentEntity> sameDay = booked.computeIfAbsent(doctorDayOf(candidate), day -> new ArrayList<>());
+            if (overlapsAny(sameDay, candidate.getStartTime(), candidate.getEndTime()) ||
+                    slotHoldRegistry.isHeld(candidate.getDoctor().getId(), candidate.getDate(),
+                            candidate.getStartTime(), candidate.getEndTime())) {
+                int index = candidateIndexes.get(i);
+                results[index] = rejected(index, String.format(NOT_AVAILABLE_MSG, candidate.getStartTime()));
+                continue;
+            }
+            sameDay.add(candidate);
+            accepted.add(candidate);
+            acceptedIndexes.add(candidateIndexes.get(i));
+        }
+
+        appointmentRepository.saveAll(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = BookingResultDto.builder()
+                    .index(index)
+                    .id(accepted.get(i).getId())
+                    .build();
+        }
+        return accepted;
+    }
+
+    private String validate(AppointmentDto appointmentDto) {
+        if (appointmentDto == null) {
+            return EMPTY_ITEM_MSG;
+        }
+        Set<ConstraintViolation<AppointmentDto>> violations = validator.validate(appointmentDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (appointmentDto.getDate().isBefore(infoContributor.getCurrentDate())) {
+            return DATE_ERROR_MSG;
+        }
+        return null;
+    }
+
+    private static boolean overlapsAny(List<AppointmentEntity> appointments, LocalTime startTime, LocalTime endTime) {
+        return appointments.stream()
+                .anyMatch(existing -> existing.getStartTime().isBefore(endTime) &&
+                        existing.getEndTime().isAfter(startTime));
+    }
+
+    private static Set<String> collectDistinct(List<AppointmentDto> appointmentDtos,
+                                               List<Integer> indexes,
+                                               Function<AppointmentDto, String> field) {
+        return indexes.stream()
+                .map(index -> field.apply(appointmentDtos.get(index)))
+                .collect(Collectors.toSet());
+    }
+
+    private static DoctorDay doctorDayOf(AppointmentEntity appointmentEntity) {
+        return new DoctorDay(appointmentEntity.getDoctor().getId(), appointmentEntity.getDate());
+    }
+
+    private static BookingResultDto rejected(int index, String error) {
+        return BookingResultDto.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
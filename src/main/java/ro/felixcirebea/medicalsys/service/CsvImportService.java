@@ -0,0 +1,441 @@
+package ro.felixcirebea.medicalsys.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.converter.VacationConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.ImportReportDto;
+import ro.felixcirebea.medicalsys.dto.VacationDto;
+import ro.felixcirebea.medicalsys.entity.*;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.exception.InputFileException;
+import ro.felixcirebea.medicalsys.helper.*;
+import ro.felixcirebea.medicalsys.helper.BookingGuard.DoctorDay;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.AppointmentRecord;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.LineParser;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.VacationRecord;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.WorkingHoursRecord;
+import ro.felixcirebea.medicalsys.repository.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runtime CSV import for appointments, vacations and working hours, in the same
+ * column layouts as the seed files. The upload is read line by line and handled
+ * in chunks of {@code medicalsys.import.chunk-size} rows, each committed in its own
+ * transaction, so memory stays bounded by one chunk. Invalid rows are rejected
+ * individually and reported with their line number; the rest of the chunk is kept.
+ * The report is written as NDJSON while the upload is still being read.
+ */
+@Service
+@Slf4j
+public class CsvImportService {
+
+    public static final String REPORT_CONTENT_TYPE = "application/x-ndjson";
+    public static final String NOT_FOUND_MSG = "%s not found";
+    public static final String IS_HOLIDAY_MSG = "%s is a holiday";
+    public static final String ON_VACATION_MSG = "%s is on vacation on %s";
+    public static final String NOT_AVAILABLE_MSG = "%s not available for %s on %s";
+    public static final String VACATION_PLANNED_MSG = "%s already has a vacation between %s and %s";
+    public static final String CHUNK_FAILED_MSG = "Chunk rolled back: %s";
+    public static final String LOG_IMPORT_MSG = "Imported %s: %s accepted, %s rejected in %s chunks (%s ms)";
+    private static final byte LINE_SEPARATOR = '\n';
+    private final DoctorRepository doctorRepository;
+    private final InvestigationRepository investigationRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final VacationRepository vacationRepository;
+    private final WorkingHoursRepository workingHoursRepository;
+    private final AppointmentConverter appointmentConverter;
+    private final VacationConverter vacationConverter;
+    private final Contributor infoContributor;
+    private final HolidayIndex holidayIndex;
+    private final VacationIndex vacationIndex;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final BookingGuard bookingGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CsvImportService(DoctorRepository doctorRepository,
+                            InvestigationRepository investigationRepository,
+                            AppointmentRepository appointmentRepository,
+                            VacationRepository vacationRepository,
+                            WorkingHoursRepository workingHoursRepository,
+                            AppointmentConverter appointmentConverter,
+                            VacationConverter vacationConverter,
+                            Contributor infoContributor,
+                            HolidayIndex holidayIndex,
+                            VacationIndex vacationIndex,
+                            SlotOccupancyIndex slotOccupancyIndex,
+                            SlotHoldRegistry slotHoldRegistry,
+                            BookingGuard bookingGuard,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${medicalsys.import.chunk-size:500}") int chunkSize) {
+        this.doctorRepository = doctorRepository;
+        this.investigationRepository = investigationRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.vacationRepository = vacationRepository;
+        this.workingHoursRepository = workingHoursRepository;
+        this.appointmentConverter = appointmentConverter;
+        this.vacationConverter = vacationConverter;
+        this.infoContributor = infoContributor;
+        this.holidayIndex = holidayIndex;
+        this.vacationIndex = vacationIndex;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.bookingGuard = bookingGuard;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReportDto importCsv(ImportEntity importEntity, InputStream inputStream, OutputStream outputStream)
+            throws IOException {
+        long start = System.nanoTime();
+        long accepted = 0;
+        long rejected = 0;
+        long chunks = 0;
+        long lineNumber = 0;
+        List<CsvLine> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        String line;
+        do {
+            line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    chunk.add(new CsvLine(lineNumber, line));
+                }
+            }
+
+            if (chunk.size() == chunkSize || (line == null && !chunk.isEmpty())) {
+                ChunkResult result = importChunk(importEntity, chunk);
+                chunks++;
+                accepted += result.accepted();
+                rejected += result.rejections().size();
+                for (ImportReportDto rejection : result.rejections()) {
+                    write(rejection, outputStream);
+                }
+                write(ImportReportDto.builder()
+                        .chunk(chunks)
+                        .accepted(result.accepted())
+                        .rejected((long) result.rejections().size())
+                        .build(), outputStream);
+                outputStream.flush();
+                chunk.clear();
+            }
+        } while (line != null);
+
+        ImportReportDto summary = ImportReportDto.builder()
+                .chunks(chunks)
+                .accepted(accepted)
+                .rejected(rejected)
+                .build();
+        write(summary, outputStream);
+        outputStream.flush();
+
+        log.info(String.format(LOG_IMPORT_MSG, importEntity, accepted, rejected, chunks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return summary;
+    }
+
+    private ChunkResult importChunk(ImportEntity importEntity, List<CsvLine> chunk) {
+        try {
+            ChunkResult result = switch (importEntity) {
+                case APPOINTMENTS -> importAppointments(chunk);
+                case VACATIONS -> importVacations(chunk);
+                case WORKING_HOURS -> importWorkingHours(chunk);
+            };
+            result.rejections().sort(Comparator.comparing(ImportReportDto::getLine));
+            return result;
+        } catch (DataAccessException | TransactionException exception) {
+            log.error(exception.getMessage());
+            List<ImportReportDto> rejections = chunk.stream()
+                    .map(csvLine -> rejected(csvLine.number(),
+                            String.format(CHUNK_FAILED_MSG, exception.getMostSpecificCause().getMessage())))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            return new ChunkResult(0, rejections);
+        }
+    }
+
+    private ChunkResult importAppointments(List<CsvLine> chunk) {
+        List<ImportReportDto> rejections = new ArrayList<>();
+        List<ParsedLine<AppointmentRecord>> records = parse(chunk, SeedRecordParser::parseAppointment, rejections);
+        Map<String, DoctorEntity> doctors = byName(doctorRepository.findAllByNameInAndIsActive(
+                distinct(records, AppointmentRecord::doctor), true), DoctorEntity::getName);
+        Map<String, InvestigationEntity> investigations = byName(investigationRepository.findAllByNameInAndIsActive(
+                distinct(records, AppointmentRecord::investigation), true), InvestigationEntity::getName);
+
+        List<AppointmentEntity> candidates = new ArrayList<>();
+        List<Long> candidateLines = new ArrayList<>();
+        for (ParsedLine<AppointmentRecord> parsedLine : records) {
+            AppointmentRecord record = parsedLine.record();
+            DoctorEntity doctorEntity = doctors.get(record.doctor());
+            InvestigationEntity investigationEntity = investigations.get(record.investigation());
+            if (doctorEntity == null) {
+                rejections.add(rejected(parsedLine.number(), String.format(NOT_FOUND_MSG, record.doctor())));
+            } else if (investigationEntity == null) {
+                rejections.add(rejected(parsedLine.number(), String.format(NOT_FOUND_MSG, record.investigation())));
+            } else if (holidayIndex.isHoliday(record.date())) {
+                rejections.add(rejected(parsedLine.number(), String.format(IS_HOLIDAY_MSG, record.date())));
+            } else if (vacationIndex.isOnVacation(doctorEntity.getId(), record.date())) {
+                rejections.add(rejected(parsedLine.number(),
+                        String.format(ON_VACATION_MSG, doctorEntity.getName(), record.date())));
+            } else {
+                candidates.add(appointmentConverter.fromDtoToEntity(AppointmentDto.builder()
+                        .clientName(record.clientName())
+                        .date(record.date())
+                        .startHour(record.startTime())
+                        .build(), doctorEntity, investigationEntity));
+                candidateLines.add(parsedLine.number());
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return new ChunkResult(0, rejections);
+        }
+
+        LocalDate currentDate = infoContributor.getCurrentDate();
+        Set<DoctorDay> bookableDays = candidates.stream()
+                .filter(candidate -> !candidate.getDate().isBefore(currentDate))
+                .map(CsvImportService::doctorDayOf)
+                .collect(Collectors.toSet());
+        List<AppointmentEntity> accepted;
+        try {
+            accepted = bookingGuard.runExclusively(bookableDays, () ->
+                    insertWithoutConflicts(candidates, candidateLines, rejections));
+        } catch (DataNotFoundException | ConcurrencyException exception) {
+            candidateLines.forEach(number -> rejections.add(rejected(number, exception.getMessage())));
+            return new ChunkResult(0, rejections);
+        }
+
+        accepted.forEach(entity -> slotOccupancyIndex.markOccupied(entity.getDoctor().getId(),
+                entity.getDate(), entity.getStartTime(), entity.getEndTime()));
+        accepted.stream()
+                .map(CsvImportService::doctorDayOf)
+                .distinct()
+                .forEach(day -> eventPublisher.publishEvent(
+                        new AppointmentsChangedEvent(day.doctorId(), day.date())));
+        return new ChunkResult(accepted.size(), rejections);
+    }
+
+    private List<AppointmentEntity> insertWithoutConflicts(List<AppointmentEntity> candidates,
+                                                           List<Long> candidateLines,
+                                                           List<ImportReportDto> rejections) {
+        List<AppointmentEntity> unheld = new ArrayList<>(candidates.size());
+        List<Long> unheldLines = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            AppointmentEntity candidate = candidates.get(i);
+            if (slotHoldRegistry.isHeld(candidate.getDoctor().getId(), candidate.getDate(),
+                    candidate.getStartTime(), candidate.getEndTime())) {
+                rejections.add(notAvailable(candidateLines.get(i), candidate));
+            } else {
+                unheld.add(candidate);
+                unheldLines.add(candidateLines.get(i));
+            }
+        }
+
+        Set<DoctorEntity> affectedDoctors = unheld.stream()
+                .map(AppointmentEntity::getDoctor)
+                .collect(Collectors.toSet());
+        Set<LocalDate> affectedDates = unheld.stream()
+                .map(AppointmentEntity::getDate)
+                .collect(Collectors.toSet());
+        BitSet conflicts = AppointmentSweep.conflicting(unheld,
+                appointmentRepository.findAllByDoctorInAndDateIn(affectedDoctors, affectedDates));
+
+        List<AppointmentEntity> accepted = new ArrayList<>();
+        for (int i = 0; i < unheld.size(); i++) {
+            if (conflicts.get(i)) {
+                rejections.add(notAvailable(unheldLines.get(i), unheld.get(i)));
+            } else {
+                accepted.add(unheld.get(i));
+            }
+        }
+
+        appointmentRepository.saveAll(accepted);
+        return accepted;
+    }
+
+    private ChunkResult importVacations(List<CsvLine> chunk) {
+        List<ImportReportDto> rejections = new ArrayList<>();
+        List<ParsedLine<VacationRecord>> records = parse(chunk, SeedRecordParser::parseVacation, rejections);
+        Map<String, DoctorEntity> doctors = byName(doctorRepository.findAllByNameInAndIsActive(
+                distinct(records, VacationRecord::doctor), true), DoctorEntity::getName);
+
+        Map<Long, List<VacationEntity>> acceptedByDoctor = new HashMap<>();
+        List<VacationEntity> accepted = new ArrayList<>();
+        for (ParsedLine<VacationRecord> parsedLine : records) {
+            VacationRecord record = parsedLine.record();
+            DoctorEntity doctorEntity = doctors.get(record.doctor());
+            if (doctorEntity == null) {
+                rejections.add(rejected(parsedLine.number(), String.format(NOT_FOUND_MSG, record.doctor())));
+                continue;
+            }
+
+            List<VacationEntity> sameDoctor =
+                    acceptedByDoctor.computeIfAbsent(doctorEntity.getId(), id -> new ArrayList<>());
+            boolean isPlanned = vacationIndex.hasVacationBetween(
+                    doctorEntity.getId(), record.startDate(), record.endDate()) ||
+                    sameDoctor.stream().anyMatch(vacation ->
+                            !vacation.getStartDate().isAfter(record.endDate()) &&
+                                    !record.startDate().isAfter(vacation.getEndDate()));
+            if (isPlanned) {
+                rejections.add(rejected(parsedLine.number(), String.format(VACATION_PLANNED_MSG,
+                        doctorEntity.getName(), record.startDate(), record.endDate())));
+                continue;
+            }
+
+            VacationEntity vacationEntity = vacationConverter.fromDtoToEntity(VacationDto.builder()
+                    .startDate(record.startDate())
+                    .endDate(record.endDate())
+                    .type(record.type())
+                    .build(), doctorEntity);
+            sameDoctor.add(vacationEntity);
+            accepted.add(vacationEntity);
+        }
+
+        if (!accepted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> vacationRepository.saveAll(accepted));
+        }
+        accepted.stream()
+                .map(vacation -> vacation.getDoctor().getId())
+                .distinct()
+                .forEach(vacationIndex::refresh);
+        accepted.forEach(vacation -> eventPublisher.publishEvent(new DoctorScheduleChangedEvent(
+                vacation.getDoctor().getId(), vacation.getStartDate(), vacation.getEndDate())));
+        return new ChunkResult(accepted.size(), rejections);
+    }
+
+    private ChunkResult importWorkingHours(List<CsvLine> chunk) {
+        List<ImportReportDto> rejections = new ArrayList<>();
+        List<ParsedLine<WorkingHoursRecord>> records =
+                parse(chunk, SeedRecordParser::parseWorkingHours, rejections);
+        Map<String, DoctorEntity> doctors = byName(doctorRepository.findAllByNameInAndIsActive(
+                distinct(records, WorkingHoursRecord::doctor), true), DoctorEntity::getName);
+
+        long accepted = transactionTemplate.execute(status -> {
+            Map<DoctorWeekDay, WorkingHoursEntity> workingHours = new HashMap<>();
+            workingHoursRepository.findAllByDoctorIn(doctors.values())
+                    .forEach(existing -> workingHours.put(weekDayOf(existing), existing));
+
+            long acceptedRows = 0;
+            for (ParsedLine<WorkingHoursRecord> parsedLine : records) {
+                WorkingHoursRecord record = parsedLine.record();
+                DoctorEntity doctorEntity = doctors.get(record.doctor());
+                if (doctorEntity == null) {
+                    rejections.add(rejected(parsedLine.number(), String.format(NOT_FOUND_MSG, record.doctor())));
+                    continue;
+                }
+
+                WorkingHoursEntity workingHoursEntity = workingHours.computeIfAbsent(
+                        new DoctorWeekDay(doctorEntity.getId(), record.dayOfWeek()), day -> {
+                            WorkingHoursEntity entity = new WorkingHoursEntity();
+                            entity.setDoctor(doctorEntity);
+                            entity.setDayOfWeek(record.dayOfWeek());
+                            return entity;
+                        });
+                workingHoursEntity.setStartHour(record.startHour());
+                workingHoursEntity.setEndHour(record.endHour());
+                acceptedRows++;
+            }
+            workingHoursRepository.saveAll(workingHours.values());
+            return acceptedRows;
+        });
+
+        records.stream()
+                .map(parsedLine -> doctors.get(parsedLine.record().doctor()))
+                .filter(Objects::nonNull)
+                .map(DoctorEntity::getId)
+                .distinct()
+                .forEach(doctorId -> eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorId)));
+        return new ChunkResult(accepted, rejections);
+    }
+
+    private static <R> List<ParsedLine<R>> parse(List<CsvLine> chunk, LineParser<R> parser,
+                                                 List<ImportReportDto> rejections) {
+        List<ParsedLine<R>> records = new ArrayList<>(chunk.size());
+        for (CsvLine csvLine : chunk) {
+            try {
+                records.add(new ParsedLine<>(csvLine.number(), parser.parse(csvLine.line())));
+            } catch (DataMismatchException | InputFileException | NumberFormatException exception) {
+                rejections.add(rejected(csvLine.number(), exception.getMessage()));
+            }
+        }
+        return records;
+    }
+
+    private void write(ImportReportDto reportDto, OutputStream outputStream) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(reportDto));
+        outputStream.write(LINE_SEPARATOR);
+    }
+
+    private static <R> Set<String> distinct(List<ParsedLine<R>> records, Function<R, String> field) {
+        return records.stream()
+                .map(parsedLine -> field.apply(parsedLine.record()))
+                .collect(Collectors.toSet());
+    }
+
+    private static <T> Map<String, T> byName(Collection<T> entities, Function<T, String> nameGetter) {
+        return entities.stream()
+                .collect(Collectors.toMap(nameGetter, Function.identity(), (first, second) -> first));
+    }
+
+    private static DoctorDay doctorDayOf(AppointmentEntity appointmentEntity) {
+        return new DoctorDay(appointmentEntity.getDoctor().getId(), appointmentEntity.getDate());
+    }
+
+    private static DoctorWeekDay weekDayOf(WorkingHoursEntity workingHoursEntity) {
+        return new DoctorWeekDay(workingHoursEntity.getDoctor().getId(), workingHoursEntity.getDayOfWeek());
+    }
+
+    private static ImportReportDto notAvailable(long line, AppointmentEntity appointmentEntity) {
+        return rejected(line, String.format(NOT_AVAILABLE_MSG, appointmentEntity.getStartTime(),
+                appointmentEntity.getDoctor().getName(), appointmentEntity.getDate()));
+    }
+
+    private static ImportReportDto rejected(long line, String error) {
+        return ImportReportDto.builder()
+                .line(line)
+                .error(error)
+                .build();
+    }
+
+    private record CsvLine(long number, String line) {
+    }
+
+    private record ParsedLine<R>(long number, R record) {
+    }
+
+    private record ChunkResult(long accepted, List<ImportReportDto> rejections) {
+    }
+
+    private record DoctorWeekDay(Long doctorId, DayOfWeek dayOfWeek) {
+    }
+}
@@ -1,17 +1,21 @@
 package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.DoctorConverter;
 import ro.felixcirebea.medicalsys.dto.DoctorDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
-import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,7 +36,9 @@ public class DoctorService {
     private final Contributor infoContributor;
     private final WorkingHoursService workingHoursService;
     private final AppointmentService appointmentService;
+    private final VacationService vacationService;
     private final DeleteUtility deleteUtility;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DoctorService(DoctorRepository doctorRepository,
                          SpecialtyRepository specialtyRepository,
@@ -40,14 +46,18 @@ public class DoctorService {
                          Contributor infoContributor,
                          WorkingHoursService workingHoursService,
                          AppointmentService appointmentService,
-                         DeleteUtility deleteUtility) {
+                         VacationService vacationService,
+                         DeleteUtility deleteUtility,
+                         ApplicationEventPublisher eventPublisher) {
         this.doctorRepository = doctorRepository;
         this.specialtyRepository = specialtyRepository;
         this.doctorConverter = doctorConverter;
         this.infoContributor = infoContributor;
         this.workingHoursService = workingHoursService;
         this.appointmentService = appointmentService;
+        this.vacationService = vacationService;
         this.deleteUtility = deleteUtility;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long upsertDoctor(DoctorDto doctorDto)
@@ -75,17 +85,19 @@ public class DoctorService {
         doctorEntity.setSpecialty(specialtyEntity);
         doctorEntity.setPriceRate(doctorDto.getPriceRate());
         log.info(String.format(LOG_UPDATE_MSG, nameToLog, doctorDto));
-        return doctorRepository.save(doctorEntity).getId();
+        Long doctorId = doctorRepository.save(doctorEntity).getId();
+        eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorEntity.getId()));
+        return doctorId;
     }
 
+    @Transactional(readOnly = true)
     public DoctorDto getDoctorById(Long doctorId)
             throws DataNotFoundException {
-        DoctorEntity doctorEntity =
-                doctorRepository.findByIdAndIsActive(doctorId, true)
-                        .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
-        return doctorConverter.fromEntityToDto(doctorEntity);
+        return doctorRepository.findDtoByIdAndIsActive(doctorId, true)
+                .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
     }
 
+    @Transactional(readOnly = true)
     public DoctorDto getDoctorByName(String doctorName)
             throws DataNotFoundException {
         DoctorEntity doctorEntity =
@@ -95,24 +107,25 @@ public class DoctorService {
         return doctorConverter.fromEntityToDto(doctorEntity);
     }
 
+    @Transactional(readOnly = true)
     public List<DoctorDto> getDoctorsBySpecialty(String specialtyName)
             throws DataNotFoundException {
         SpecialtyEntity specialtyEntity =
                 specialtyRepository.findByNameAndIsActive(specialtyName, true)
                         .orElseThrow(() -> new DataNotFoundException(
                                 String.format(NOT_FOUND_MSG, specialtyName)));
-        return specialtyEntity.getDoctors().stream()
-                .filter(doc -> doc.getIsActive().equals(true))
-                .map(doctorConverter::fromEntityToDto)
-                .toList();
+        return doctorRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, true);
     }
 
-    public List<DoctorDto> getAllDoctors() {
-        return doctorRepository.findAllByIsActive(true).stream()
-                .map(doctorConverter::fromEntityToDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public PageDto<DoctorDto> getAllDoctors(Long cursor, Integer pageSize) {
+        return KeysetPagination.toPage(
+                doctorRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                        true, KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                pageSize, DoctorDto::getId);
     }
 
+    @Transactional
     public Long deleteDoctorById(Long doctorId) {
         Optional<DoctorEntity> doctorEntityOptional =
                 doctorRepository.findByIdAndIsActive(doctorId, true);
@@ -130,6 +143,7 @@ public class DoctorService {
         return doctorRepository.save(doctorEntity).getId();
     }
 
+    @Transactional
     public Long deleteDoctorByName(String doctorName)
             throws DataNotFoundException {
         Optional<DoctorEntity> doctorEntityOptional =
@@ -145,9 +159,7 @@ public class DoctorService {
     }
 
     private void cascadeSoftDelete(DoctorEntity doctorEntity) {
-        doctorEntity.getVacation().stream()
-                .filter(vac -> !vac.getStatus().equals(VacationStatus.DONE))
-                .forEach(undoneVac -> undoneVac.setStatus(VacationStatus.CANCELED));
+        log.info(vacationService.cancelOpenVacationsForDoctor(doctorEntity));
         log.info(workingHoursService.deleteAllWorkingHoursForDoctor(doctorEntity));
         log.info(appointmentService.cancelAllAppointmentForDoctor(doctorEntity));
     }
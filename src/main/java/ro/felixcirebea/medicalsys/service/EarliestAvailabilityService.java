@@ -0,0 +1,142 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Searches every active doctor of the specialty in parallel for the earliest free
+ * slots. Doctors and their working hours are loaded in one query before the fan-out,
+ * so no transaction (and no pooled connection) is held by the caller while the
+ * per-doctor searches, each with its own short reads, are running. When the pool
+ * and its queue are full the caller runs the search itself instead of rejecting it.
+ */
+@Service
+@Slf4j
+public class EarliestAvailabilityService {
+
+    public static final String NOT_FOUND_MSG = "%s not found";
+    public static final String NOT_OFFERED_MSG = "%s is not offered by %s";
+    public static final String SEARCH_BUSY_MSG = "Availability search is busy, please retry";
+    public static final String LOG_TIMEOUT_MSG = "Availability search for %s did not finish in %s ms";
+    public static final String LOG_SEARCH_FAIL_MSG = "Availability search for %s failed: %s";
+    private static final String DATE_ERROR_MSG = "Can't create appointments for dates in the past";
+    private static final Comparator<AvailableSlotDto> EARLIEST_FIRST =
+            Comparator.comparing(AvailableSlotDto::getDate)
+                    .thenComparing(AvailableSlotDto::getStartHour)
+                    .thenComparing(AvailableSlotDto::getDoctor);
+    private final InvestigationRepository investigationRepository;
+    private final DoctorRepository doctorRepository;
+    private final AppointmentService appointmentService;
+    private final HolidayService holidayService;
+    private final Contributor infoContributor;
+    private final ExecutorService searchExecutor;
+    private final long searchTimeoutMillis;
+
+    public EarliestAvailabilityService(InvestigationRepository investigationRepository,
+                                       DoctorRepository doctorRepository,
+                                       AppointmentService appointmentService,
+                                       HolidayService holidayService,
+                                       Contributor infoContributor,
+                                       @Value("${medicalsys.availability.search-threads:4}") int searchThreads,
+                                       @Value("${medicalsys.availability.search-queue-capacity:64}") int queueCapacity,
+                                       @Value("${medicalsys.availability.search-timeout-ms:2000}") long searchTimeoutMillis) {
+        this.investigationRepository = investigationRepository;
+        this.doctorRepository = doctorRepository;
+        this.appointmentService = appointmentService;
+        this.holidayService = holidayService;
+        this.infoContributor = infoContributor;
+        this.searchTimeoutMillis = searchTimeoutMillis;
+        this.searchExecutor = new ThreadPoolExecutor(
+                searchThreads, searchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("availability-search-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public List<AvailableSlotDto> getEarliestAvailableSlots(String investigation,
+                                                            String specialty,
+                                                            LocalDate startDate,
+                                                            Integer limit)
+            throws DataNotFoundException, ConcurrencyException {
+        if (startDate.isBefore(infoContributor.getCurrentDate())) {
+            throw new ConcurrencyException(DATE_ERROR_MSG);
+        }
+
+        InvestigationEntity investigationEntity =
+                investigationRepository.findByNameAndIsActive(investigation, true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, investigation)));
+
+        String offeringSpecialty = investigationEntity.getSpecialty().getName();
+        if (specialty != null && !specialty.equals(offeringSpecialty)) {
+            throw new DataNotFoundException(String.format(NOT_OFFERED_MSG, investigation, specialty));
+        }
+
+        List<DoctorEntity> doctors = doctorRepository.findAllWithWorkingHoursBySpecialtyAndIsActive(
+                investigationEntity.getSpecialty(), true);
+
+        LocalDate endDate = startDate.plusDays(AppointmentService.MAX_SEARCH_DAYS - 1);
+        Set<LocalDate> holidays = holidayService.getHolidayDatesBetween(startDate, endDate);
+        Integer duration = investigationEntity.getDuration();
+
+        List<Callable<List<AvailableSlotDto>>> searches = doctors.stream()
+                .map(doc -> (Callable<List<AvailableSlotDto>>) () ->
+                        appointmentService.findFreeSlotsBetween(
+                                doc, duration, startDate, endDate, holidays, limit))
+                .toList();
+
+        List<Future<List<AvailableSlotDto>>> results;
+        try {
+            results = searchExecutor.invokeAll(searches, searchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyException(SEARCH_BUSY_MSG);
+        }
+
+        List<AvailableSlotDto> availableSlots = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            Future<List<AvailableSlotDto>> result = results.get(i);
+            String doctorName = doctors.get(i).getName();
+            if (result.isCancelled()) {
+                log.warn(String.format(LOG_TIMEOUT_MSG, doctorName, searchTimeoutMillis));
+                continue;
+            }
+            try {
+                availableSlots.addAll(result.get());
+            } catch (ExecutionException e) {
+                log.error(String.format(LOG_SEARCH_FAIL_MSG, doctorName, e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrencyException(SEARCH_BUSY_MSG);
+            }
+        }
+
+        return availableSlots.stream()
+                .sorted(EARLIEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+}
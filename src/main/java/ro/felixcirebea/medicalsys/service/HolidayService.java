@@ -1,18 +1,25 @@
 package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.HolidayConverter;
 import ro.felixcirebea.medicalsys.dto.HolidayDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.HolidayEntity;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.HolidayRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -28,15 +35,21 @@ public class HolidayService {
     private final HolidayConverter holidayConverter;
     private final Contributor infoContributor;
     private final DeleteUtility deleteUtility;
+    private final HolidayIndex holidayIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public HolidayService(HolidayRepository holidayRepository,
                           HolidayConverter holidayConverter,
                           Contributor infoContributor,
-                          DeleteUtility deleteUtility) {
+                          DeleteUtility deleteUtility,
+                          HolidayIndex holidayIndex,
+                          ApplicationEventPublisher eventPublisher) {
         this.holidayRepository = holidayRepository;
         this.holidayConverter = holidayConverter;
         this.infoContributor = infoContributor;
         this.deleteUtility = deleteUtility;
+        this.holidayIndex = holidayIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long upsertHoliday(HolidayDto holidayDto)
@@ -46,8 +59,10 @@ public class HolidayService {
         }
 
         log.info(String.format(LOG_INSERT_MSG, holidayDto.getDescription()));
-        return holidayRepository.save(
+        Long holidayId = holidayRepository.save(
                 holidayConverter.fromDtoToEntity(holidayDto)).getId();
+        eventPublisher.publishEvent(new HolidaysChangedEvent(holidayDto.getStartDate(), holidayDto.getEndDate()));
+        return holidayId;
     }
 
     private Long updateHoliday(HolidayDto holidayDto)
@@ -55,39 +70,52 @@ public class HolidayService {
         HolidayEntity holidayEntity =
                 holidayRepository.findByIdAndIsActive(holidayDto.getId(), true)
                 .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
+        HolidaysChangedEvent previousDates =
+                new HolidaysChangedEvent(holidayEntity.getStartDate(), holidayEntity.getEndDate());
 
         holidayEntity.setStartDate(holidayDto.getStartDate());
         holidayEntity.setEndDate(holidayDto.getEndDate());
         holidayEntity.setDescription(holidayDto.getDescription());
         log.info(String.format(LOG_UPDATE_MSG, holidayDto.getDescription(), holidayDto));
-        return holidayRepository.save(holidayEntity).getId();
+        Long holidayId = holidayRepository.save(holidayEntity).getId();
+        eventPublisher.publishEvent(previousDates);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(holidayDto.getStartDate(), holidayDto.getEndDate()));
+        return holidayId;
     }
 
+    @Transactional(readOnly = true)
     public HolidayDto getHolidayById(Long holidayId)
             throws DataNotFoundException {
-        HolidayEntity holidayEntity =
-                holidayRepository.findByIdAndIsActive(holidayId, true)
+        return holidayRepository.findDtoByIdAndIsActive(holidayId, true)
                 .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
-        return holidayConverter.fromEntityToDto(holidayEntity);
     }
 
+    @Transactional(readOnly = true)
     public HolidayDto getHolidayByDescription(String holidayDescription)
             throws DataNotFoundException {
-        HolidayEntity holidayEntity =
-                holidayRepository.findByDescriptionAndIsActive(holidayDescription, true)
+        return holidayRepository.findDtoByDescriptionAndIsActive(holidayDescription, true)
                 .orElseThrow(() -> new DataNotFoundException(
                         String.format(NOT_FOUND_MSG, holidayDescription)));
-        return holidayConverter.fromEntityToDto(holidayEntity);
     }
 
-    public List<HolidayDto> getAllHolidays() {
-        return holidayRepository.findAllByIsActive(true).stream()
-                .map(holidayConverter::fromEntityToDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public PageDto<HolidayDto> getAllHolidays(Long cursor, Integer pageSize) {
+        return KeysetPagination.toPage(
+                holidayRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                        true, KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                pageSize, HolidayDto::getId);
     }
 
     public Boolean isDateHoliday(LocalDate inputDate) {
-        return holidayRepository.isDateBetweenHolidays(inputDate);
+        return holidayIndex.isHoliday(inputDate);
+    }
+
+    public Set<LocalDate> getHolidayDates(Collection<LocalDate> dates) {
+        return holidayIndex.getHolidays(dates);
+    }
+
+    public Set<LocalDate> getHolidayDatesBetween(LocalDate startDate, LocalDate endDate) {
+        return holidayIndex.getHolidaysBetween(startDate, endDate);
     }
 
     public Long deleteHolidayById(Long holidayId) {
@@ -101,7 +129,7 @@ public class HolidayService {
         if (holidayEntity == null) {
             return holidayId;
         }
-        return holidayRepository.save(holidayEntity).getId();
+        return saveDeletedHoliday(holidayEntity);
     }
 
     public Long deleteHolidayByDescription(String description)
@@ -113,6 +141,13 @@ public class HolidayService {
                 description, holidayEntityOptional, holidayRepository,
                 LOG_FAIL_DELETE_MSG, LOG_SUCCESS_DELETE_MSG, NOT_FOUND_MSG, infoContributor);
 
-        return holidayRepository.save(holidayEntity).getId();
+        return saveDeletedHoliday(holidayEntity);
+    }
+
+    private Long saveDeletedHoliday(HolidayEntity holidayEntity) {
+        Long holidayId = holidayRepository.save(holidayEntity).getId();
+        eventPublisher.publishEvent(
+                new HolidaysChangedEvent(holidayEntity.getStartDate(), holidayEntity.getEndDate()));
+        return holidayId;
     }
 }
@@ -1,47 +1,80 @@
 package ro.felixcirebea.medicalsys.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ro.felixcirebea.medicalsys.entity.*;
-import ro.felixcirebea.medicalsys.enums.VacationType;
-import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.ImportJobStatus;
 import ro.felixcirebea.medicalsys.exception.InputFileException;
+import ro.felixcirebea.medicalsys.helper.AppointmentSweep;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.MappedCsvReader;
+import ro.felixcirebea.medicalsys.helper.MappedCsvReader.Region;
+import ro.felixcirebea.medicalsys.helper.MappedCsvReader.RowParser;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.*;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
 import ro.felixcirebea.medicalsys.repository.*;
-import ro.felixcirebea.medicalsys.helper.Validator;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Seeds the DB from the classpath CSVs in three stages: every file is memory-mapped,
+ * split into newline-aligned regions and parsed concurrently into
+ * {@link SeedRecordParser} records, names are resolved against
+ * name-to-entity maps loaded once per referenced table, and each table is then
+ * inserted in dependency order through JDBC batches of {@link #SEED_BATCH_SIZE}.
+ * Appointments are validated against the holiday and vacation indexes, and for
+ * overlaps by one {@link AppointmentSweep} over the whole file and the appointments
+ * already booked on the same doctor-days, so no per-row query is issued.
+ * <p>
+ * Each file is tracked by an {@link ImportJobEntity}: every batch commits together
+ * with the byte offset of the next row, so a seed interrupted by a crash resumes at
+ * that offset on the next start, and a completed file with the same hash is skipped.
+ * Rows whose natural key is already stored are not inserted again, which keeps a
+ * re-run over the same data (a rewound job or a changed file) from duplicating them.
+ * For appointments that includes canceled rows and rows moved to
+ * {@code appointments_archive}.
+ */
 @Component
 @Slf4j
 public class InputFileParser {
 
-    public static final String SPECIALTY_ENTITY = "SpecialtyEntity";
-    public static final String INVESTIGATION_ENTITY = "InvestigationEntity";
-    public static final String DOCTOR_ENTITY = "DoctorEntity";
-    public static final String WORKING_HOURS_ENTITY = "WorkingHoursEntity";
-    public static final String HOLIDAY_ENTITY = "HolidayEntity";
-    public static final String VACATION_ENTITY = "VacationEntity";
-    public static final String APPOINTMENT_ENTITY = "AppointmentEntity";
-    public static final String NO_CLASS_FOUND_MSG = "No suitable class found";
+    public static final int SEED_BATCH_SIZE = 500;
+    public static final int PARSE_THREADS = 4;
     public static final String LOG_DB_SUCCESS_MSG = "DB successfully populated";
+    public static final String LOG_DB_UP_TO_DATE_MSG = "DB already populated from the current seed files";
+    public static final String LOG_SEED_TIMING_MSG = "Seeded %s rows in %s ms (parse %s ms, insert %s ms)";
+    public static final String LOG_JOB_RESUMED_MSG = "Resuming import of %s at byte %s of %s";
+    public static final String LOG_JOB_RESTARTED_MSG = "Seed file %s changed since its last import, importing it again";
+    public static final String LOG_ROWS_SKIPPED_MSG = "Skipped %s rows of %s already present in DB";
     public static final String INTERNAL_ERROR_NOT_FOUND_MSG = "Internal error - %s not present in DB";
     public static final String INTERNAL_ERROR_IS_HOLIDAY_MSG = "Internal error - %s is holiday";
     public static final String INTERNAL_ERROR_IS_VAC_MSG = "Internal error - for %s doctor %s is in vacation";
     public static final String INTERNAL_ERROR_IS_OVERLAP_MSG =
             "Internal error - appointment for %s, in %s at %s is overlapping";
-    public static final String INTERNAL_ERROR_DATE_OVERLAP_MSG =
-            "Internal error - start date cannot be after end date";
     private final SpecialtyRepository specialtyRepository;
     private final InvestigationRepository investigationRepository;
     private final DoctorRepository doctorRepository;
@@ -49,6 +82,12 @@ public class InputFileParser {
     private final HolidayRepository holidayRepository;
     private final VacationRepository vacationRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentArchiveRepository appointmentArchiveRepository;
+    private final ImportJobRepository importJobRepository;
+    private final HolidayIndex holidayIndex;
+    private final VacationIndex vacationIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("classpath:/input-files/specialties.csv")
     private Resource specialtyResource;
@@ -77,7 +116,13 @@ public class InputFileParser {
                            WorkingHoursRepository workingHoursRepository,
                            HolidayRepository holidayRepository,
                            VacationRepository vacationRepository,
-                           AppointmentRepository appointmentRepository) {
+                           AppointmentRepository appointmentRepository,
+                           AppointmentArchiveRepository appointmentArchiveRepository,
+                           ImportJobRepository importJobRepository,
+                           HolidayIndex holidayIndex,
+                           VacationIndex vacationIndex,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager) {
         this.specialtyRepository = specialtyRepository;
         this.investigationRepository = investigationRepository;
         this.doctorRepository = doctorRepository;
@@ -85,99 +130,286 @@ public class InputFileParser {
         this.holidayRepository = holidayRepository;
         this.vacationRepository = vacationRepository;
         this.appointmentRepository = appointmentRepository;
+        this.appointmentArchiveRepository = appointmentArchiveRepository;
+        this.importJobRepository = importJobRepository;
+        this.holidayIndex = holidayIndex;
+        this.vacationIndex = vacationIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    public void run() throws DataMismatchException {
+    public void run() {
         try {
-            populateTable(getPath(specialtyResource), SpecialtyEntity.class);
-            populateTable(getPath(investigationResource), InvestigationEntity.class);
-            populateTable(getPath(doctorResource), DoctorEntity.class);
-            populateTable(getPath(workingHoursResource), WorkingHoursEntity.class);
-            populateTable(getPath(holidayResource), HolidayEntity.class);
-            populateTable(getPath(vacationResource), VacationEntity.class);
-            populateTable(getPath(appointmentResource), AppointmentEntity.class);
+            long start = System.nanoTime();
+            SeedFiles seedFiles = openJobs();
+            if (seedFiles.isCompleted()) {
+                log.info(LOG_DB_UP_TO_DATE_MSG);
+                return;
+            }
+
+            SeedRecords seedRecords = parseFiles(seedFiles);
+            long parsed = System.nanoTime();
+            long rows = insert(seedRecords, seedFiles);
+            long inserted = System.nanoTime();
+
             log.info(LOG_DB_SUCCESS_MSG);
+            log.info(String.format(LOG_SEED_TIMING_MSG, rows,
+                    TimeUnit.NANOSECONDS.toMillis(inserted - start),
+                    TimeUnit.NANOSECONDS.toMillis(parsed - start),
+                    TimeUnit.NANOSECONDS.toMillis(inserted - parsed)));
         } catch (InputFileException exception) {
             log.error(exception.getMessage());
             System.exit(1);
         }
     }
 
-    private <T> void populateTable(String filePath, Class<T> clazz)
-            throws DataMismatchException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                switch (clazz.getSimpleName()) {
-                    case SPECIALTY_ENTITY ->
-                            specialtyRepository.saveAll(generateSpecialtyCollection(line));
-                    case INVESTIGATION_ENTITY ->
-                            investigationRepository.save(generateInvestigationEntity(line));
-                    case DOCTOR_ENTITY ->
-                            doctorRepository.save(generateDoctorEntity(line));
-                    case WORKING_HOURS_ENTITY ->
-                            workingHoursRepository.save(generateWorkingHoursEntity(line));
-                    case HOLIDAY_ENTITY ->
-                            holidayRepository.save(generateHolidayEntity(line));
-                    case VACATION_ENTITY ->
-                            vacationRepository.save(generateVacationEntity(line));
-                    case APPOINTMENT_ENTITY ->
-                            appointmentRepository.save(generateAppointmentEntity(line));
-                    default -> throw new InputFileException(NO_CLASS_FOUND_MSG);
-                }
+    public Map<String, String> seedFileHashes() {
+        Map<String, String> hashes = new TreeMap<>();
+        for (Resource resource : List.of(specialtyResource, investigationResource, doctorResource,
+                workingHoursResource, holidayResource, vacationResource, appointmentResource)) {
+            try (MappedCsvReader reader = MappedCsvReader.open(getPath(resource))) {
+                hashes.put(resource.getFilename(), reader.sha256());
+            } catch (IOException e) {
+                throw new InputFileException(e.getMessage());
             }
+        }
+        return hashes;
+    }
+
+    private SeedFiles openJobs() {
+        return new SeedFiles(openJob(specialtyResource), openJob(investigationResource),
+                openJob(doctorResource), openJob(workingHoursResource), openJob(holidayResource),
+                openJob(vacationResource), openJob(appointmentResource));
+    }
+
+    private SeedFile openJob(Resource resource) {
+        Path path = getPath(resource);
+        String hash;
+        long size;
+        try (MappedCsvReader reader = MappedCsvReader.open(path)) {
+            hash = reader.sha256();
+            size = reader.size();
         } catch (IOException e) {
             throw new InputFileException(e.getMessage());
         }
+
+        String fileName = resource.getFilename();
+        ImportJobEntity job = importJobRepository.findByFileName(fileName).orElseGet(ImportJobEntity::new);
+        boolean isSameFile = hash.equals(job.getFileHash()) && job.getFileSize() == size;
+        if (job.getId() != null && !isSameFile) {
+            log.warn(String.format(LOG_JOB_RESTARTED_MSG, fileName));
+        } else if (job.getStatus() == ImportJobStatus.RUNNING && job.getCommittedOffset() > 0) {
+            log.info(String.format(LOG_JOB_RESUMED_MSG, fileName, job.getCommittedOffset(), size));
+        }
+
+        if (!isSameFile) {
+            job.setFileName(fileName);
+            job.setFileHash(hash);
+            job.setFileSize(size);
+            job.setCommittedOffset(0L);
+            job.setInsertedRows(0L);
+            job.setSkippedRows(0L);
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setUpdatedAt(LocalDateTime.now());
+            job = importJobRepository.save(job);
+        }
+        return new SeedFile(path, job);
     }
 
-    private AppointmentEntity generateAppointmentEntity(String line)
-            throws DataMismatchException {
+    private SeedRecords parseFiles(SeedFiles seedFiles) {
+        ExecutorService executor = Executors.newFixedThreadPool(PARSE_THREADS);
+        try {
+            List<Future<List<SeedRow<List<SpecialtyRecord>>>>> specialties =
+                    parseAsync(executor, seedFiles.specialties(), SeedRecordParser::parseSpecialties);
+            List<Future<List<SeedRow<InvestigationRecord>>>> investigations =
+                    parseAsync(executor, seedFiles.investigations(), SeedRecordParser::parseInvestigation);
+            List<Future<List<SeedRow<DoctorRecord>>>> doctors =
+                    parseAsync(executor, seedFiles.doctors(), SeedRecordParser::parseDoctor);
+            List<Future<List<SeedRow<WorkingHoursRecord>>>> workingHours =
+                    parseAsync(executor, seedFiles.workingHours(), SeedRecordParser::parseWorkingHours);
+            List<Future<List<SeedRow<HolidayRecord>>>> holidays =
+                    parseAsync(executor, seedFiles.holidays(), SeedRecordParser::parseHoliday);
+            List<Future<List<SeedRow<VacationRecord>>>> vacations =
+                    parseAsync(executor, seedFiles.vacations(), SeedRecordParser::parseVacation);
+            List<Future<List<SeedRow<AppointmentRecord>>>> appointments =
+                    parseAsync(executor, seedFiles.appointments(), SeedRecordParser::parseAppointment);
+
+            return new SeedRecords(
+                    awaitAll(specialties).stream()
+                            .flatMap(row -> row.value().stream().map(record -> new SeedRow<>(row.offset(), record)))
+                            .toList(),
+                    awaitAll(investigations), awaitAll(doctors), awaitAll(workingHours),
+                    awaitAll(holidays), awaitAll(vacations), awaitAll(appointments));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        String[] splitLine = line.split(",");
+    private long insert(SeedRecords seedRecords, SeedFiles seedFiles) {
+        long rows = saveInBatches(specialtyRepository, seedFiles.specialties(), withoutExisting(
+                specialtyRepository,
+                map(seedRecords.specialties(), this::generateSpecialtyEntity),
+                () -> specialtyRepository.findAllByNameIn(names(seedRecords.specialties(), SpecialtyRecord::name)),
+                SpecialtyEntity::getName));
+        Map<String, SpecialtyEntity> specialtiesByName = byName(
+                specialtyRepository.findAllByIsActive(true), SpecialtyEntity::getName);
+
+        rows += saveInBatches(investigationRepository, seedFiles.investigations(), withoutExisting(
+                investigationRepository,
+                map(seedRecords.investigations(), record -> generateInvestigationEntity(record, specialtiesByName)),
+                () -> investigationRepository.findAllByNameIn(
+                        names(seedRecords.investigations(), InvestigationRecord::name)),
+                InvestigationEntity::getName));
+        rows += saveInBatches(doctorRepository, seedFiles.doctors(), withoutExisting(
+                doctorRepository,
+                map(seedRecords.doctors(), record -> generateDoctorEntity(record, specialtiesByName)),
+                () -> doctorRepository.findAllByNameIn(names(seedRecords.doctors(), DoctorRecord::name)),
+                DoctorEntity::getName));
+
+        Map<String, DoctorEntity> doctorsByName = byName(
+                doctorRepository.findAllByNameInAndIsActive(seedRecords.referencedDoctors(), true),
+                DoctorEntity::getName);
+        Map<String, InvestigationEntity> investigationsByName = byName(
+                investigationRepository.findAllByNameInAndIsActive(seedRecords.referencedInvestigations(), true),
+                InvestigationEntity::getName);
+
+        rows += saveInBatches(workingHoursRepository, seedFiles.workingHours(), withoutExisting(
+                workingHoursRepository,
+                map(seedRecords.workingHours(), record -> generateWorkingHoursEntity(record, doctorsByName)),
+                () -> workingHoursRepository.findAllByDoctorIn(doctorsByName.values()),
+                workingHours -> Arrays.asList(workingHours.getDoctor().getId(), workingHours.getDayOfWeek())));
+        rows += saveInBatches(holidayRepository, seedFiles.holidays(), withoutExisting(
+                holidayRepository,
+                map(seedRecords.holidays(), this::generateHolidayEntity),
+                holidayRepository::findAll,
+                holiday -> Arrays.asList(holiday.getStartDate(), holiday.getEndDate(), holiday.getDescription())));
+        holidayIndex.reload();
+        rows += saveInBatches(vacationRepository, seedFiles.vacations(), withoutExisting(
+                vacationRepository,
+                map(seedRecords.vacations(), record -> generateVacationEntity(record, doctorsByName)),
+                () -> vacationRepository.findAllByDoctorIn(doctorsByName.values()),
+                vacation -> Arrays.asList(vacation.getDoctor().getId(), vacation.getStartDate(), vacation.getEndDate())));
+        vacationIndex.evictAll();
+
+        List<SeedRow<AppointmentEntity>> appointmentRows = map(seedRecords.appointments(),
+                record -> generateAppointmentEntity(record, doctorsByName, investigationsByName));
+        List<AppointmentEntity> booked = new ArrayList<>();
+        Set<Object> appointmentKeys = new HashSet<>();
+        if (!appointmentRows.isEmpty()) {
+            Set<LocalDate> dates = appointmentRows.stream()
+                    .map(row -> row.value().getDate())
+                    .collect(Collectors.toSet());
+            appointmentRepository.findAllByDoctorInAndDateIn(doctorsByName.values(), dates).forEach(appointment -> {
+                appointmentKeys.add(appointmentKey(appointment.getDoctor(), appointment.getDate(),
+                        appointment.getStartTime()));
+                if (appointment.getStatus() != AppointmentStatus.CANCELED) {
+                    booked.add(appointment);
+                }
+            });
+            appointmentArchiveRepository.findAllByDoctorInAndDateIn(doctorsByName.values(), dates)
+                    .forEach(appointment -> appointmentKeys.add(appointmentKey(appointment.getDoctor(),
+                            appointment.getDate(), appointment.getStartTime())));
+        }
+        appointmentRows = withoutExisting(appointmentRows, appointmentKeys, appointment ->
+                appointmentKey(appointment.getDoctor(), appointment.getDate(), appointment.getStartTime()));
+        validateNoOverlaps(appointmentRows.stream().filter(SeedRow::isNew).map(SeedRow::value).toList(), booked);
+        rows += saveInBatches(appointmentRepository, seedFiles.appointments(), appointmentRows);
 
-        DoctorEntity doctorEntity =
-                doctorRepository.findByNameAndIsActive(splitLine[1], true)
-                .orElseThrow(() -> new InputFileException(
-                        String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[1])));
+        return rows;
+    }
 
-        InvestigationEntity investigationEntity =
-                investigationRepository.findByNameAndIsActive(splitLine[2], true)
-                .orElseThrow(() -> new InputFileException(
-                        String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[2])));
+    private <T> long saveInBatches(CrudRepository<T, Long> repository, SeedFile seedFile, List<SeedRow<T>> rows) {
+        ImportJobEntity job = seedFile.job();
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            return 0;
+        }
 
-        LocalDate dateValue = Validator.dateValidator(splitLine[3]);
-        Boolean isHoliday = holidayRepository.isDateBetweenHolidays(dateValue);
-        if (isHoliday) {
-            throw new InputFileException(
-                    String.format(INTERNAL_ERROR_IS_HOLIDAY_MSG, splitLine[3]));
+        List<SeedRow<T>> newRows = rows.stream().filter(SeedRow::isNew).toList();
+        long skipped = rows.size() - newRows.size();
+        if (skipped > 0) {
+            log.info(String.format(LOG_ROWS_SKIPPED_MSG, skipped, job.getFileName()));
         }
 
-        Boolean isVacation = vacationRepository.isDateBetweenVacation(doctorEntity, dateValue);
-        if (isVacation) {
-            throw new InputFileException(
-                    String.format(INTERNAL_ERROR_IS_VAC_MSG, splitLine[3], doctorEntity.getName()));
+        int from = 0;
+        do {
+            int to = Math.min(newRows.size(), from + SEED_BATCH_SIZE);
+            List<T> batch = newRows.subList(from, to).stream().map(SeedRow::value).toList();
+            boolean isLast = to == newRows.size();
+            long committedOffset = isLast ? seedFile.size() : newRows.get(to).offset();
+            long skippedRows = from == 0 ? skipped : 0;
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(SEED_BATCH_SIZE);
+                repository.saveAll(batch);
+                importJobRepository.updateProgress(job.getId(), committedOffset, batch.size(), skippedRows,
+                        isLast ? ImportJobStatus.COMPLETED : ImportJobStatus.RUNNING, LocalDateTime.now());
+            });
+            from = to;
+        } while (from < newRows.size());
+        return newRows.size();
+    }
+
+    private static <T> List<SeedRow<T>> withoutExisting(CrudRepository<T, Long> repository,
+                                                        List<SeedRow<T>> rows,
+                                                        Supplier<? extends Iterable<T>> existing,
+                                                        Function<T, Object> naturalKey) {
+        if (rows.isEmpty() || repository.count() == 0) {
+            return rows;
         }
 
-        LocalTime startHour = Validator.timeValidator(splitLine[4]);
-        LocalTime endHour = startHour.plusMinutes(investigationEntity.getDuration());
-        Boolean isOverlapping =
-                appointmentRepository.existsByDoctorDateAndTimeRange(
-                        doctorEntity, dateValue, startHour, endHour);
-        if (isOverlapping) {
+        Set<Object> existingKeys = new HashSet<>();
+        existing.get().forEach(entity -> existingKeys.add(naturalKey.apply(entity)));
+        return withoutExisting(rows, existingKeys, naturalKey);
+    }
+
+    private static <T> List<SeedRow<T>> withoutExisting(List<SeedRow<T>> rows,
+                                                        Set<Object> existingKeys,
+                                                        Function<T, Object> naturalKey) {
+        return rows.stream()
+                .map(row -> existingKeys.contains(naturalKey.apply(row.value())) ? row.asExisting() : row)
+                .toList();
+    }
+
+    private static Object appointmentKey(DoctorEntity doctorEntity, LocalDate date, LocalTime startTime) {
+        return Arrays.asList(doctorEntity.getId(), date, startTime);
+    }
+
+    private void validateNoOverlaps(List<AppointmentEntity> appointmentEntities, List<AppointmentEntity> booked) {
+        BitSet conflicts = AppointmentSweep.conflicting(appointmentEntities, booked);
+        if (!conflicts.isEmpty()) {
+            AppointmentEntity overlapping = appointmentEntities.get(conflicts.nextSetBit(0));
             throw new InputFileException(
                     String.format(
-                            INTERNAL_ERROR_IS_OVERLAP_MSG, doctorEntity.getName(),
-                            dateValue, startHour)
+                            INTERNAL_ERROR_IS_OVERLAP_MSG, overlapping.getDoctor().getName(),
+                            overlapping.getDate(), overlapping.getStartTime())
             );
         }
+    }
+
+    private AppointmentEntity generateAppointmentEntity(AppointmentRecord record,
+                                                        Map<String, DoctorEntity> doctorsByName,
+                                                        Map<String, InvestigationEntity> investigationsByName) {
+        DoctorEntity doctorEntity = resolve(doctorsByName, record.doctor());
+        InvestigationEntity investigationEntity = resolve(investigationsByName, record.investigation());
+
+        LocalDate dateValue = record.date();
+        if (holidayIndex.isHoliday(dateValue)) {
+            throw new InputFileException(
+                    String.format(INTERNAL_ERROR_IS_HOLIDAY_MSG, dateValue));
+        }
 
+        if (vacationIndex.isOnVacation(doctorEntity.getId(), dateValue)) {
+            throw new InputFileException(
+                    String.format(INTERNAL_ERROR_IS_VAC_MSG, dateValue, doctorEntity.getName()));
+        }
+
+        LocalTime startHour = record.startTime();
+        LocalTime endHour = startHour.plusMinutes(investigationEntity.getDuration());
         Double basePrice = investigationEntity.getBasePrice();
         Double doctorRate = doctorEntity.getPriceRate();
         Double price = ((doctorRate / 100) * basePrice) + basePrice;
 
         AppointmentEntity appointmentEntity = new AppointmentEntity();
-        appointmentEntity.setClientName(splitLine[0]);
+        appointmentEntity.setClientName(record.clientName());
         appointmentEntity.setDoctor(doctorEntity);
         appointmentEntity.setInvestigation(investigationEntity);
         appointmentEntity.setDate(dateValue);
@@ -188,129 +420,195 @@ public class InputFileParser {
         return appointmentEntity;
     }
 
-    private VacationEntity generateVacationEntity(String line)
-            throws DataMismatchException {
-
-        String[] splitLine = line.split(",");
-
-        DoctorEntity doctorEntity =
-                doctorRepository.findByNameAndIsActive(splitLine[0], true)
-                        .orElseThrow(() -> new InputFileException(
-                                String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[0])));
-
+    private VacationEntity generateVacationEntity(VacationRecord record,
+                                                  Map<String, DoctorEntity> doctorsByName) {
         VacationEntity vacationEntity = new VacationEntity();
-        vacationEntity.setDoctor(doctorEntity);
-
-        LocalDate startDate = Validator.dateValidator(splitLine[1]);
-        LocalDate endDate = Validator.dateValidator(splitLine[2]);
-        vacationEntity.setStartDate(startDate);
-        vacationEntity.setEndDate(endDate);
-
-        if (startDate.isAfter(endDate)) {
-            throw new InputFileException(INTERNAL_ERROR_DATE_OVERLAP_MSG);
-        }
-
-        VacationType vacationType = Validator.vacationTypeValidator(splitLine[3]);
-        vacationEntity.setType(vacationType);
+        vacationEntity.setDoctor(resolve(doctorsByName, record.doctor()));
+        vacationEntity.setStartDate(record.startDate());
+        vacationEntity.setEndDate(record.endDate());
+        vacationEntity.setType(record.type());
 
         return vacationEntity;
     }
 
-    private HolidayEntity generateHolidayEntity(String line)
-            throws DataMismatchException {
-
-        String[] splitLine = line.split(",");
-
+    private HolidayEntity generateHolidayEntity(HolidayRecord record) {
         HolidayEntity holidayEntity = new HolidayEntity();
+        holidayEntity.setStartDate(record.startDate());
+        holidayEntity.setEndDate(record.endDate());
+        holidayEntity.setDescription(record.description());
 
-        LocalDate startDate = Validator.dateValidator(splitLine[0]);
-        LocalDate endDate = Validator.dateValidator(splitLine[1]);
-        holidayEntity.setStartDate(startDate);
-        holidayEntity.setEndDate(endDate);
+        return holidayEntity;
+    }
 
-        if (startDate.isAfter(endDate)) {
-            throw new InputFileException(INTERNAL_ERROR_DATE_OVERLAP_MSG);
-        }
-        holidayEntity.setDescription(splitLine[2]);
+    private WorkingHoursEntity generateWorkingHoursEntity(WorkingHoursRecord record,
+                                                          Map<String, DoctorEntity> doctorsByName) {
+        WorkingHoursEntity workingHoursEntity = new WorkingHoursEntity();
+        workingHoursEntity.setDoctor(resolve(doctorsByName, record.doctor()));
+        workingHoursEntity.setDayOfWeek(record.dayOfWeek());
+        workingHoursEntity.setStartHour(record.startHour());
+        workingHoursEntity.setEndHour(record.endHour());
 
-        return holidayEntity;
+        return workingHoursEntity;
     }
 
-    private WorkingHoursEntity generateWorkingHoursEntity(String line)
-            throws DataMismatchException {
+    private DoctorEntity generateDoctorEntity(DoctorRecord record,
+                                              Map<String, SpecialtyEntity> specialtiesByName) {
+        DoctorEntity doctorEntity = new DoctorEntity();
+        doctorEntity.setName(record.name());
+        doctorEntity.setSpecialty(resolve(specialtiesByName, record.specialty()));
+        doctorEntity.setPriceRate(record.priceRate());
 
-        String[] splitLine = line.split(",");
+        return doctorEntity;
+    }
 
-        DoctorEntity doctorEntity = doctorRepository.findByNameAndIsActive(splitLine[0], true)
-                .orElseThrow(() -> new InputFileException(
-                        String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[0])));
+    private InvestigationEntity generateInvestigationEntity(InvestigationRecord record,
+                                                            Map<String, SpecialtyEntity> specialtiesByName) {
+        InvestigationEntity investigationEntity = new InvestigationEntity();
+        investigationEntity.setName(record.name());
+        investigationEntity.setSpecialty(resolve(specialtiesByName, record.specialty()));
+        investigationEntity.setBasePrice(record.basePrice());
+        investigationEntity.setDuration(record.duration());
 
-        WorkingHoursEntity workingHoursEntity = new WorkingHoursEntity();
-        workingHoursEntity.setDoctor(doctorEntity);
+        return investigationEntity;
+    }
 
-        DayOfWeek dayOfWeek = Validator.dayOfWeekValidator(Integer.parseInt(splitLine[1]));
-        workingHoursEntity.setDayOfWeek(dayOfWeek);
+    private SpecialtyEntity generateSpecialtyEntity(SpecialtyRecord record) {
+        SpecialtyEntity entity = new SpecialtyEntity();
+        entity.setName(record.name());
+        return entity;
+    }
 
-        LocalTime startHour = Validator.timeValidator(splitLine[2]);
-        LocalTime endHour = Validator.timeValidator(splitLine[3]);
-        workingHoursEntity.setStartHour(startHour);
-        workingHoursEntity.setEndHour(endHour);
+    private static <T> T resolve(Map<String, T> entitiesByName, String name) {
+        T entity = entitiesByName.get(name);
+        if (entity == null) {
+            throw new InputFileException(String.format(INTERNAL_ERROR_NOT_FOUND_MSG, name));
+        }
+        return entity;
+    }
 
-        return workingHoursEntity;
+    private static <T> Map<String, T> byName(Collection<T> entities, Function<T, String> nameGetter) {
+        return entities.stream()
+                .collect(Collectors.toMap(nameGetter, Function.identity(), (first, second) -> first));
     }
 
-    private DoctorEntity generateDoctorEntity(String line) {
+    private static <R> Set<String> names(List<SeedRow<R>> rows, Function<R, String> nameGetter) {
+        return rows.stream()
+                .map(row -> nameGetter.apply(row.value()))
+                .collect(Collectors.toSet());
+    }
 
-        String[] splitLine = line.split(",");
+    private static <R, T> List<SeedRow<T>> map(List<SeedRow<R>> rows, Function<R, T> generator) {
+        return rows.stream()
+                .map(row -> new SeedRow<>(row.offset(), generator.apply(row.value())))
+                .toList();
+    }
 
-        SpecialtyEntity specialtyEntity =
-                specialtyRepository.findByNameAndIsActive(splitLine[1], true)
-                .orElseThrow(() -> new InputFileException(
-                        String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[1])));
+    private <R> List<Future<List<SeedRow<R>>>> parseAsync(ExecutorService executor, SeedFile seedFile,
+                                                          RowParser<R> parser) {
+        if (seedFile.job().getStatus() == ImportJobStatus.COMPLETED) {
+            return List.of();
+        }
 
-        DoctorEntity doctorEntity = new DoctorEntity();
-        doctorEntity.setName(splitLine[0]);
-        doctorEntity.setSpecialty(specialtyEntity);
-        doctorEntity.setPriceRate(Double.valueOf(splitLine[2]));
+        List<Region> regions;
+        try (MappedCsvReader reader = MappedCsvReader.open(seedFile.path())) {
+            regions = reader.split(seedFile.job().getCommittedOffset(), PARSE_THREADS);
+        } catch (IOException e) {
+            throw new InputFileException(e.getMessage());
+        }
+        return regions.stream()
+                .map(region -> executor.submit(() -> {
+                    try (MappedCsvReader reader = MappedCsvReader.open(seedFile.path())) {
+                        return reader.parse(region, row -> new SeedRow<>(row.offset(), parser.parse(row)));
+                    }
+                }))
+                .toList();
+    }
 
-        return doctorEntity;
+    private static <R> List<R> awaitAll(List<Future<List<R>>> futures) {
+        List<R> records = new ArrayList<>();
+        for (Future<List<R>> future : futures) {
+            records.addAll(await(future));
+        }
+        return records;
     }
 
-    private InvestigationEntity generateInvestigationEntity(String line) {
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InputFileException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new InputFileException(e.getCause().getMessage());
+        }
+    }
 
-        String[] splitLine = line.split(",");
+    private Path getPath(Resource resource) {
+        try {
+            return Paths.get(resource.getURI());
+        } catch (IOException e) {
+            throw new InputFileException(e.getMessage());
+        }
+    }
 
-        SpecialtyEntity specialtyEntity =
-                specialtyRepository.findByNameAndIsActive(splitLine[1], true)
-                .orElseThrow(() -> new InputFileException(
-                        String.format(INTERNAL_ERROR_NOT_FOUND_MSG, splitLine[1])));
+    /**
+     * A parsed record or generated entity with the byte offset of its line. Rows whose
+     * natural key is already stored stay in the list marked as not new, so they are
+     * counted as skipped and the next checkpoint still moves past them.
+     */
+    private record SeedRow<T>(long offset, T value, boolean isNew) {
 
-        InvestigationEntity investigationEntity = new InvestigationEntity();
-        investigationEntity.setName(splitLine[0]);
-        investigationEntity.setSpecialty(specialtyEntity);
-        investigationEntity.setBasePrice(Double.valueOf(splitLine[2]));
-        investigationEntity.setDuration(Integer.valueOf(splitLine[3]));
+        private SeedRow(long offset, T value) {
+            this(offset, value, true);
+        }
 
-        return investigationEntity;
+        private SeedRow<T> asExisting() {
+            return new SeedRow<>(offset, value, false);
+        }
     }
 
-    private List<SpecialtyEntity> generateSpecialtyCollection(String line) {
+    private record SeedFile(Path path, ImportJobEntity job) {
 
-        String[] splitLine = line.split(",");
-        List<SpecialtyEntity> returnList = new ArrayList<>();
-        Arrays.stream(splitLine).forEach(string -> {
-            SpecialtyEntity entity = new SpecialtyEntity();
-            entity.setName(string);
-            returnList.add(entity);
-        });
-        return returnList;
+        private long size() {
+            return job.getFileSize();
+        }
     }
 
-    private String getPath(Resource resource) {
-        try {
-            return Paths.get(resource.getURI()).toString();
-        } catch (IOException e) {
-            throw new InputFileException(e.getMessage());
+    private record SeedFiles(SeedFile specialties,
+                             SeedFile investigations,
+                             SeedFile doctors,
+                             SeedFile workingHours,
+                             SeedFile holidays,
+                             SeedFile vacations,
+                             SeedFile appointments) {
+
+        private boolean isCompleted() {
+            return Stream.of(specialties, investigations, doctors, workingHours, holidays, vacations, appointments)
+                    .allMatch(seedFile -> seedFile.job().getStatus() == ImportJobStatus.COMPLETED);
+        }
+    }
+
+    private record SeedRecords(List<SeedRow<SpecialtyRecord>> specialties,
+                               List<SeedRow<InvestigationRecord>> investigations,
+                               List<SeedRow<DoctorRecord>> doctors,
+                               List<SeedRow<WorkingHoursRecord>> workingHours,
+                               List<SeedRow<HolidayRecord>> holidays,
+                               List<SeedRow<VacationRecord>> vacations,
+                               List<SeedRow<AppointmentRecord>> appointments) {
+
+        private Set<String> referencedDoctors() {
+            Set<String> names = new HashSet<>();
+            workingHours.forEach(row -> names.add(row.value().doctor()));
+            vacations.forEach(row -> names.add(row.value().doctor()));
+            appointments.forEach(row -> names.add(row.value().doctor()));
+            return names;
+        }
+
+        private Set<String> referencedInvestigations() {
+            return names(appointments, AppointmentRecord::investigation);
         }
     }
 }
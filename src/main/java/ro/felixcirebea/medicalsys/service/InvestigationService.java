@@ -2,18 +2,23 @@ package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.InvestigationConverter;
 import ro.felixcirebea.medicalsys.dto.InvestigationDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+import ro.felixcirebea.medicalsys.event.InvestigationChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 
 import java.util.HashMap;
 import java.util.List;
@@ -36,19 +41,22 @@ public class InvestigationService {
     private final Contributor infoContributor;
     private final DoctorRepository doctorRepository;
     private final DeleteUtility deleteUtility;
+    private final ApplicationEventPublisher eventPublisher;
 
     public InvestigationService(InvestigationRepository investigationRepository,
                                 SpecialtyRepository specialtyRepository,
                                 InvestigationConverter investigationConverter,
                                 Contributor infoContributor,
                                 DoctorRepository doctorRepository,
-                                DeleteUtility deleteUtility) {
+                                DeleteUtility deleteUtility,
+                                ApplicationEventPublisher eventPublisher) {
         this.investigationRepository = investigationRepository;
         this.specialtyRepository = specialtyRepository;
         this.investigationConverter = investigationConverter;
         this.infoContributor = infoContributor;
         this.doctorRepository = doctorRepository;
         this.deleteUtility = deleteUtility;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long upsertInvestigation(InvestigationDto investigationDto)
@@ -82,17 +90,19 @@ public class InvestigationService {
         investigationEntity.setBasePrice(investigationDto.getBasePrice());
 
         log.info(String.format(LOG_UPDATE_MSG, nameToLog, investigationDto));
-        return investigationRepository.save(investigationEntity).getId();
+        Long investigationId = investigationRepository.save(investigationEntity).getId();
+        eventPublisher.publishEvent(new InvestigationChangedEvent(investigationEntity.getId()));
+        return investigationId;
     }
 
+    @Transactional(readOnly = true)
     public InvestigationDto getInvestigationById(Long investigationId)
             throws DataNotFoundException {
-        InvestigationEntity investigationEntity =
-                investigationRepository.findByIdAndIsActive(investigationId, true)
+        return investigationRepository.findDtoByIdAndIsActive(investigationId, true)
                 .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
-        return investigationConverter.fromEntityToDto(investigationEntity);
     }
 
+    @Transactional(readOnly = true)
     public InvestigationDto getInvestigationByName(String investigationName)
             throws DataNotFoundException {
         InvestigationEntity investigationEntity =
@@ -102,29 +112,27 @@ public class InvestigationService {
         return investigationConverter.fromEntityToDto(investigationEntity);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestigationDto> getInvestigationBySpecialty(String specialtyName)
             throws DataNotFoundException {
         SpecialtyEntity specialtyEntity =
                 specialtyRepository.findByNameAndIsActive(specialtyName, true)
                 .orElseThrow(() -> new DataNotFoundException(
                         String.format(NOT_FOUND_MSG, specialtyName)));
-        return specialtyEntity.getInvestigations().stream()
-                .filter(inv -> inv.getIsActive().equals(true))
-                .map(investigationConverter::fromEntityToDto)
-                .toList();
+        return investigationRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, true);
     }
 
+    @Transactional(readOnly = true)
     public List<InvestigationDto> getInvestigationByDuration(Integer duration) {
-        return investigationRepository.findAllByDurationAndIsActive(duration, true)
-                .stream()
-                .map(investigationConverter::fromEntityToDto)
-                .toList();
+        return investigationRepository.findAllDtoByDurationAndIsActive(duration, true);
     }
 
-    public List<InvestigationDto> getAllInvestigations() {
-        return investigationRepository.findAllByIsActive(true).stream()
-                .map(investigationConverter::fromEntityToDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public PageDto<InvestigationDto> getAllInvestigations(Long cursor, Integer pageSize) {
+        return KeysetPagination.toPage(
+                investigationRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                        true, KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                pageSize, InvestigationDto::getId);
     }
 
     public Long deleteInvestigationById(Long investigationId) {
@@ -138,7 +146,9 @@ public class InvestigationService {
         if (doctorEntity == null) {
             return investigationId;
         }
-        return investigationRepository.save(doctorEntity).getId();
+        Long deletedId = investigationRepository.save(doctorEntity).getId();
+        eventPublisher.publishEvent(new InvestigationChangedEvent(investigationId));
+        return deletedId;
     }
 
 
@@ -151,9 +161,12 @@ public class InvestigationService {
                 investigationName, investigationEntityOptional, investigationRepository,
                 LOG_FAIL_DELETE_MSG, LOG_SUCCESS_DELETE_MSG, NOT_FOUND_MSG, infoContributor);
 
-        return investigationRepository.save(investigationEntity).getId();
+        Long investigationId = investigationRepository.save(investigationEntity).getId();
+        eventPublisher.publishEvent(new InvestigationChangedEvent(investigationEntity.getId()));
+        return investigationId;
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Map<String, Double>> getInvestigationWithPricing(
             String doctorName, String investigationName)
             throws DataNotFoundException {
@@ -167,8 +180,7 @@ public class InvestigationService {
         Map<String, Double> innerCollection = new HashMap<>();
 
         if (investigationName == null || StringUtils.isBlank(investigationName)) {
-            doctorEntity.getSpecialty().getInvestigations().stream()
-                    .filter(inv -> inv.getIsActive().equals(true))
+            investigationRepository.findAllDtoBySpecialtyAndIsActive(doctorEntity.getSpecialty(), true)
                     .forEach(inv -> {
                 Double basePrice = inv.getBasePrice();
                 Double price = basePrice + (doctorPriceRate / 100) * basePrice;
@@ -0,0 +1,175 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.ImportJobRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds a fresh DB from an H2 SCRIPT snapshot instead of the CSVs when one exists
+ * for the current seed files. The snapshot key hashes the seed files together with
+ * the column layout of the schema, so changing either the data or an entity falls
+ * back to {@link InputFileParser} and writes a new snapshot after it succeeds.
+ * Snapshots are only taken right after seeding an empty DB, never of a DB that
+ * already carries data of its own.
+ */
+@Service
+@Slf4j
+public class SeedSnapshotService implements InfoContributor {
+
+    public static final String SOURCE_SNAPSHOT = "snapshot";
+    public static final String SOURCE_CSV = "csv";
+    public static final String SNAPSHOT_FILE_FORMAT = "seed-%s.sql.gz";
+    public static final String LOG_SEED_TIMING_MSG = "Startup seed from %s took %s ms";
+    public static final String LOG_SNAPSHOT_WRITTEN_MSG = "Seed snapshot written to %s in %s ms";
+    public static final String LOG_SNAPSHOT_NOT_WRITTEN_MSG = "Seed snapshot not written: %s";
+    public static final String LOG_SNAPSHOT_FAILED_MSG = "Seed snapshot %s could not be restored and was removed: %s";
+    private static final String H2_PRODUCT_NAME = "H2";
+    private static final String SCHEMA_QUERY = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE " +
+            "FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC' " +
+            "ORDER BY TABLE_NAME, ORDINAL_POSITION";
+    private final InputFileParser inputFileParser;
+    private final ImportJobRepository importJobRepository;
+    private final HolidayIndex holidayIndex;
+    private final VacationIndex vacationIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path snapshotDirectory;
+    private final boolean isEnabled;
+    private volatile String lastSource = "none";
+    private volatile long lastSeedMillis;
+
+    public SeedSnapshotService(InputFileParser inputFileParser,
+                               ImportJobRepository importJobRepository,
+                               HolidayIndex holidayIndex,
+                               VacationIndex vacationIndex,
+                               EntityManagerFactory entityManagerFactory,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${medicalsys.seed.snapshot-dir}") String snapshotDirectory,
+                               @Value("${medicalsys.seed.snapshot-enabled:true}") boolean isEnabled) {
+        this.inputFileParser = inputFileParser;
+        this.importJobRepository = importJobRepository;
+        this.holidayIndex = holidayIndex;
+        this.vacationIndex = vacationIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotDirectory = Paths.get(snapshotDirectory);
+        this.isEnabled = isEnabled;
+    }
+
+    public String seed() {
+        long start = System.nanoTime();
+        Path snapshot = isEnabled && importJobRepository.count() == 0 && isH2() ?
+                snapshotDirectory.resolve(String.format(SNAPSHOT_FILE_FORMAT, snapshotKey())) : null;
+
+        if (snapshot != null && Files.exists(snapshot) && restore(snapshot)) {
+            report(SOURCE_SNAPSHOT, start);
+            return SOURCE_SNAPSHOT;
+        }
+
+        inputFileParser.run();
+        report(SOURCE_CSV, start);
+        if (snapshot != null) {
+            write(snapshot);
+        }
+        return SOURCE_CSV;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("seed", Map.of(
+                "source", lastSource,
+                "duration-ms", String.valueOf(lastSeedMillis),
+                "snapshots-enabled", String.valueOf(isEnabled)));
+    }
+
+    private boolean restore(Path snapshot) {
+        try {
+            jdbcTemplate.execute(String.format("RUNSCRIPT FROM '%s' COMPRESSION GZIP", sqlPath(snapshot)));
+        } catch (DataAccessException exception) {
+            log.error(String.format(LOG_SNAPSHOT_FAILED_MSG, snapshot, exception.getMostSpecificCause().getMessage()));
+            deleteQuietly(snapshot);
+            return false;
+        }
+
+        entityManagerFactory.getCache().evictAll();
+        holidayIndex.reload();
+        vacationIndex.evictAll();
+        return true;
+    }
+
+    private void write(Path snapshot) {
+        long start = System.nanoTime();
+        Path temporary = null;
+        try {
+            Files.createDirectories(snapshotDirectory);
+            temporary = Files.createTempFile(snapshotDirectory, "seed-", ".tmp");
+            jdbcTemplate.execute(String.format("SCRIPT DROP TO '%s' COMPRESSION GZIP", sqlPath(temporary)));
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info(String.format(LOG_SNAPSHOT_WRITTEN_MSG, snapshot,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } catch (IOException | DataAccessException exception) {
+            log.warn(String.format(LOG_SNAPSHOT_NOT_WRITTEN_MSG, exception.getMessage()));
+            if (temporary != null) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    private String snapshotKey() {
+        StringBuilder fingerprint = new StringBuilder();
+        inputFileParser.seedFileHashes().forEach((fileName, hash) ->
+                fingerprint.append(fileName).append('=').append(hash).append('\n'));
+        jdbcTemplate.queryForList(SCHEMA_QUERY).forEach(column ->
+                fingerprint.append(column.values()).append('\n'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isH2() {
+        return H2_PRODUCT_NAME.equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName()));
+    }
+
+    private void report(String source, long start) {
+        lastSource = source;
+        lastSeedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info(String.format(LOG_SEED_TIMING_MSG, source, lastSeedMillis));
+    }
+
+    private static String sqlPath(Path path) {
+        return path.toAbsolutePath().toString().replace("'", "''");
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ro.felixcirebea.medicalsys.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.SlotHoldDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry.SlotHold;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Service
+@Slf4j
+public class SlotHoldService {
+
+    public static final int DEFAULT_HOLD_SECONDS = 300;
+    public static final int MAX_HOLD_SECONDS = 900;
+    public static final String NOT_FOUND_MSG = "%s not found";
+    public static final String NOT_AVAILABLE_MSG = "%s not available, please select a different hour";
+    public static final String HOLD_NOT_FOUND_MSG = "Hold %s not found or expired";
+    public static final String DATE_ERROR_MSG = "Can't create appointments for dates in the past";
+    public static final String ON_VACATION_MSG = "%s is on vacation on %s";
+    public static final String HOLIDAY_MSG = "%s is a holiday";
+    public static final String LOG_HOLD_MSG = "Slot %s on %s held for %s until %s";
+    public static final String LOG_CONFIRM_MSG = "Hold %s confirmed as appointment %s";
+    private final DoctorRepository doctorRepository;
+    private final InvestigationRepository investigationRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentConverter appointmentConverter;
+    private final Contributor infoContributor;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final VacationIndex vacationIndex;
+    private final HolidayIndex holidayIndex;
+    private final BookingGuard bookingGuard;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SlotHoldService(DoctorRepository doctorRepository,
+                           InvestigationRepository investigationRepository,
+                           AppointmentRepository appointmentRepository,
+                           AppointmentConverter appointmentConverter,
+                           Contributor infoContributor,
+                           SlotOccupancyIndex slotOccupancyIndex,
+                           SlotHoldRegistry slotHoldRegistry,
+                           VacationIndex vacationIndex,
+                           HolidayIndex holidayIndex,
+                           BookingGuard bookingGuard,
+                           ApplicationEventPublisher eventPublisher) {
+        this.doctorRepository = doctorRepository;
+        this.investigationRepository = investigationRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentConverter = appointmentConverter;
+        this.infoContributor = infoContributor;
+        this.slotOccupancyIndex = slotOccupancyIndex;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.vacationIndex = vacationIndex;
+        this.holidayIndex = holidayIndex;
+        this.bookingGuard = bookingGuard;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public SlotHoldDto holdSlot(AppointmentDto appointmentDto, Integer holdSeconds)
+            throws DataNotFoundException, ConcurrencyException {
+        if (appointmentDto.getDate().isBefore(infoContributor.getCurrentDate())) {
+            throw new ConcurrencyException(DATE_ERROR_MSG);
+        }
+
+        DoctorEntity doctorEntity =
+                doctorRepository.findByNameAndIsActive(appointmentDto.getDoctor(), true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, appointmentDto.getDoctor())));
+
+        InvestigationEntity investigationEntity =
+                investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, appointmentDto.getInvestigation())));
+
+        checkDayOpen(doctorEntity, appointmentDto.getDate());
+
+        LocalTime clientStartHour = appointmentDto.getStartHour();
+        LocalTime clientEndHour = clientStartHour.plusMinutes(investigationEntity.getDuration());
+
+        SlotHold slotHold = bookingGuard.runExclusively(doctorEntity.getId(), appointmentDto.getDate(), () -> {
+            boolean notAvailable = slotHoldRegistry.isHeld(
+                    doctorEntity.getId(), appointmentDto.getDate(), clientStartHour, clientEndHour) ||
+                    appointmentRepository.existsByDoctorDateAndTimeRange(
+                            doctorEntity, appointmentDto.getDate(), clientStartHour, clientEndHour);
+
+            if (notAvailable) {
+                throw new ConcurrencyException(
+                        String.format(NOT_AVAILABLE_MSG, clientStartHour));
+            }
+
+            return slotHoldRegistry.hold(doctorEntity.getId(), appointmentDto.getDate(),
+                    clientStartHour, clientEndHour, appointmentDto, Duration.ofSeconds(holdSeconds));
+        });
+
+        log.info(String.format(LOG_HOLD_MSG, clientStartHour, appointmentDto.getDate(),
+                appointmentDto.getClientName(), slotHold.getExpiresAt()));
+        return SlotHoldDto.builder()
+                .token(slotHold.getToken())
+                .doctor(doctorEntity.getName())
+                .investigation(investigationEntity.getName())
+                .date(slotHold.getDate())
+                .startHour(slotHold.getStartTime())
+                .endHour(slotHold.getEndTime())
+                .expiresAt(slotHold.getExpiresAt())
+                .build();
+    }
+
+    public Long confirmHold(String token)
+            throws DataNotFoundException, ConcurrencyException {
+        SlotHold slotHold = slotHoldRegistry.find(token)
+                .orElseThrow(() -> new DataNotFoundException(String.format(HOLD_NOT_FOUND_MSG, token)));
+        AppointmentDto appointmentDto = slotHold.getAppointmentDto();
+        if (slotHold.getDate().isBefore(infoContributor.getCurrentDate())) {
+            throw new ConcurrencyException(DATE_ERROR_MSG);
+        }
+
+        DoctorEntity doctorEntity =
+                doctorRepository.findByNameAndIsActive(appointmentDto.getDoctor(), true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, appointmentDto.getDoctor())));
+
+        InvestigationEntity investigationEntity =
+                investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), true)
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format(NOT_FOUND_MSG, appointmentDto.getInvestigation())));
+
+        checkDayOpen(doctorEntity, slotHold.getDate());
+
+        Long appointmentId = bookingGuard.runExclusively(slotHold.getDoctorId(), slotHold.getDate(), () -> {
+            if (slotHoldRegistry.find(token).isEmpty()) {
+                throw new DataNotFoundException(String.format(HOLD_NOT_FOUND_MSG, token));
+            }
+
+            Boolean notAvailable =
+                    appointmentRepository.existsByDoctorDateAndTimeRange(
+                            doctorEntity, slotHold.getDate(), slotHold.getStartTime(), slotHold.getEndTime());
+
+            if (notAvailable) {
+                throw new ConcurrencyException(
+                        String.format(NOT_AVAILABLE_MSG, slotHold.getStartTime()));
+            }
+
+            AppointmentEntity entity =
+                    appointmentConverter.fromDtoToEntity(
+                            appointmentDto, doctorEntity, investigationEntity);
+            Long savedId = appointmentRepository.save(entity).getId();
+            if (!slotHoldRegistry.remove(token)) {
+                throw new DataNotFoundException(String.format(HOLD_NOT_FOUND_MSG, token));
+            }
+            return savedId;
+        });
+
+        slotOccupancyIndex.markOccupied(
+                slotHold.getDoctorId(), slotHold.getDate(), slotHold.getStartTime(), slotHold.getEndTime());
+        eventPublisher.publishEvent(new AppointmentsChangedEvent(slotHold.getDoctorId(), slotHold.getDate()));
+        log.info(String.format(LOG_CONFIRM_MSG, token, appointmentId));
+        return appointmentId;
+    }
+
+    private void checkDayOpen(DoctorEntity doctorEntity, LocalDate date) throws ConcurrencyException {
+        if (holidayIndex.isHoliday(date)) {
+            throw new ConcurrencyException(String.format(HOLIDAY_MSG, date));
+        }
+        if (vacationIndex.isOnVacation(doctorEntity.getId(), date)) {
+            throw new ConcurrencyException(String.format(ON_VACATION_MSG, doctorEntity.getName(), date));
+        }
+    }
+}
@@ -2,8 +2,10 @@ package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.SpecialtyConverter;
 import ro.felixcirebea.medicalsys.dto.SpecialtyDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
@@ -11,8 +13,8 @@ import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -32,6 +34,7 @@ public class SpecialtyService {
     private final InvestigationRepository investigationRepository;
     private final WorkingHoursService workingHoursService;
     private final AppointmentService appointmentService;
+    private final VacationService vacationService;
     private final Contributor infoContributor;
     private final DeleteUtility deleteUtility;
 
@@ -41,6 +44,7 @@ public class SpecialtyService {
                             InvestigationRepository investigationRepository,
                             WorkingHoursService workingHoursService,
                             AppointmentService appointmentService,
+                            VacationService vacationService,
                             Contributor infoContributor,
                             DeleteUtility deleteUtility) {
         this.specialtyRepository = specialtyRepository;
@@ -49,6 +53,7 @@ public class SpecialtyService {
         this.investigationRepository = investigationRepository;
         this.workingHoursService = workingHoursService;
         this.appointmentService = appointmentService;
+        this.vacationService = vacationService;
         this.infoContributor = infoContributor;
         this.deleteUtility = deleteUtility;
     }
@@ -75,14 +80,14 @@ public class SpecialtyService {
         return specialtyRepository.save(specialtyEntity).getId();
     }
 
+    @Transactional(readOnly = true)
     public String getSpecialtyById(Long specialtyId)
             throws DataNotFoundException {
-        SpecialtyEntity specialtyEntity =
-                specialtyRepository.findByIdAndIsActive(specialtyId, true)
+        return specialtyRepository.findNameByIdAndIsActive(specialtyId, true)
                 .orElseThrow(() -> new DataNotFoundException(WRONG_ID_MSG));
-        return specialtyEntity.getName();
     }
 
+    @Transactional(readOnly = true)
     public String getSpecialtyByName(String specialtyName)
             throws DataNotFoundException {
         SpecialtyEntity specialtyEntity =
@@ -92,12 +97,15 @@ public class SpecialtyService {
         return specialtyEntity.getName();
     }
 
-    public List<SpecialtyDto> getAllSpecialties() {
-        return specialtyRepository.findAllByIsActive(true).stream()
-                .map(specialtyConverter::fromEntityToDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public PageDto<SpecialtyDto> getAllSpecialties(Long cursor, Integer pageSize) {
+        return KeysetPagination.toPage(
+                specialtyRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                        true, KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                pageSize, SpecialtyDto::getId);
     }
 
+    @Transactional
     public Long deleteSpecialtyById(Long specialtyId) {
         Optional<SpecialtyEntity> specialtyEntityOptional =
                 specialtyRepository.findByIdAndIsActive(specialtyId, true);
@@ -111,11 +119,12 @@ public class SpecialtyService {
         }
 
         deleteUtility.softCascadeDelete(specialtyEntity, workingHoursService, appointmentService,
-                doctorRepository, investigationRepository, LOG_SUCCESS_CASCADE_DELETE_MSG);
+                vacationService, doctorRepository, investigationRepository, LOG_SUCCESS_CASCADE_DELETE_MSG);
 
         return specialtyRepository.save(specialtyEntity).getId();
     }
 
+    @Transactional
     public Long deleteSpecialtyByName(String specialtyName)
             throws DataNotFoundException {
         Optional<SpecialtyEntity> specialtyEntityOptional =
@@ -126,7 +135,7 @@ public class SpecialtyService {
                 LOG_FAIL_DELETE_MSG, LOG_SUCCESS_DELETE_MSG, NOT_FOUND_MSG, infoContributor);
 
         deleteUtility.softCascadeDelete(specialtyEntity, workingHoursService, appointmentService,
-                doctorRepository, investigationRepository, LOG_SUCCESS_CASCADE_DELETE_MSG);
+                vacationService, doctorRepository, investigationRepository, LOG_SUCCESS_CASCADE_DELETE_MSG);
 
         return specialtyRepository.save(specialtyEntity).getId();
     }
@@ -2,22 +2,27 @@ package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.VacationConverter;
 import ro.felixcirebea.medicalsys.dto.VacationDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.VacationEntity;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.VacationRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -30,19 +35,26 @@ public class VacationService {
     public static final String LOG_INSERT_MSG = "Vacation for doctor %s was inserted";
     public static final String VACATION_DATE_ERROR_MSG = "Can't operate vacations from the past";
     public static final String VACATION_PLANNED_MSG = "Vacation already planned for %s - %s";
+    public static final String CANCEL_ALL_VACATIONS_MSG = "%s open vacations for %s canceled";
     private final VacationRepository vacationRepository;
     private final DoctorRepository doctorRepository;
     private final VacationConverter vacationConverter;
     private final Contributor infoContributor;
+    private final VacationIndex vacationIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public VacationService(VacationRepository vacationRepository,
                            DoctorRepository doctorRepository,
                            VacationConverter vacationConverter,
-                           Contributor infoContributor) {
+                           Contributor infoContributor,
+                           VacationIndex vacationIndex,
+                           ApplicationEventPublisher eventPublisher) {
         this.vacationRepository = vacationRepository;
         this.doctorRepository = doctorRepository;
         this.vacationConverter = vacationConverter;
         this.infoContributor = infoContributor;
+        this.vacationIndex = vacationIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long insertVacation(VacationDto vacationDto)
@@ -56,8 +68,8 @@ public class VacationService {
         }
 
         Boolean notInsertCondition =
-                vacationRepository.existsByDateBetweenDates(
-                        vacationDto.getStartDate(), vacationDto.getEndDate());
+                vacationRepository.existsByDoctorAndDateBetweenDates(
+                        doctorEntity, vacationDto.getStartDate(), vacationDto.getEndDate());
         if (notInsertCondition) {
             throw new ConcurrencyException(
                     String.format(VACATION_PLANNED_MSG,
@@ -66,8 +78,12 @@ public class VacationService {
         }
 
         log.info(String.format(LOG_INSERT_MSG, doctorEntity.getName()));
-        return vacationRepository.save(
+        Long vacationId = vacationRepository.save(
                 vacationConverter.fromDtoToEntity(vacationDto, doctorEntity)).getId();
+        vacationIndex.refresh(doctorEntity.getId());
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(
+                doctorEntity.getId(), vacationDto.getStartDate(), vacationDto.getEndDate()));
+        return vacationId;
     }
 
     public Long cancelVacation(String doctorName, String startDate)
@@ -90,9 +106,14 @@ public class VacationService {
         vacationEntity.setStatus(VacationStatus.CANCELED);
 
         log.info(String.format(LOG_UPDATE_MSG, doctorEntity.getName(), vacationEntity));
-        return vacationRepository.save(vacationEntity).getId();
+        Long vacationId = vacationRepository.save(vacationEntity).getId();
+        vacationIndex.refresh(doctorEntity.getId());
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(
+                doctorEntity.getId(), vacationEntity.getStartDate(), vacationEntity.getEndDate()));
+        return vacationId;
     }
 
+    @Transactional(readOnly = true)
     public List<VacationDto> getVacationByDoctorAndDates(
             String doctorName, String startDate, String endDate)
             throws DataNotFoundException, DataMismatchException {
@@ -107,32 +128,20 @@ public class VacationService {
                 StringUtils.isNotBlank(endDate) ? Validator.dateValidator(endDate) : null;
 
         if (startDateValue != null && endDateValue != null) {
-            return vacationRepository
-                    .findAllByDoctorAndStartDateAfterAndEndDateBefore(
-                            doctorEntity, startDateValue, endDateValue)
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByDoctorAndStartDateAfterAndEndDateBefore(
+                    doctorEntity, startDateValue, endDateValue);
         } else if (startDateValue != null) {
-            return vacationRepository.findAllByDoctorAndStartDateAfter(
-                            doctorEntity, startDateValue)
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByDoctorAndStartDateAfter(
+                    doctorEntity, startDateValue);
         } else if (endDateValue != null) {
-            return vacationRepository.findAllByDoctorAndEndDateBefore(
-                            doctorEntity, endDateValue)
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByDoctorAndEndDateBefore(
+                    doctorEntity, endDateValue);
         } else {
-            return doctorEntity.getVacation()
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByDoctor(doctorEntity);
         }
     }
 
+    @Transactional(readOnly = true)
     public List<VacationDto> getVacationByDoctorAndType(String doctorName, VacationType type)
             throws DataNotFoundException {
         if (StringUtils.isNotBlank(doctorName)) {
@@ -140,15 +149,9 @@ public class VacationService {
                     doctorRepository.findByNameAndIsActive(doctorName, true)
                     .orElseThrow(() -> new DataNotFoundException(
                             String.format(NOT_FOUND_MSG, doctorName)));
-            return vacationRepository.findAllByDoctorAndType(doctorEntity, type)
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByDoctorAndType(doctorEntity, type);
         } else {
-            return vacationRepository.findAllByType(type)
-                    .stream()
-                    .map(vacationConverter::fromEntityToDto)
-                    .toList();
+            return vacationRepository.findAllDtoByType(type);
         }
     }
 
@@ -158,18 +161,34 @@ public class VacationService {
                 doctorRepository.findByNameAndIsActive(doctorName, true)
                 .orElseThrow(() -> new DataNotFoundException(
                         String.format(NOT_FOUND_MSG, doctorName)));
-        return vacationRepository.isDateBetweenVacation(doctorEntity, date);
+        return vacationIndex.isOnVacation(doctorEntity.getId(), date);
     }
 
+    @Transactional(readOnly = true)
     public List<VacationDto> getVacationByStatus(String doctorName, VacationStatus statusValue)
             throws DataNotFoundException {
         DoctorEntity doctorEntity =
                 doctorRepository.findByNameAndIsActive(doctorName, true)
                         .orElseThrow(() -> new DataNotFoundException(
                                 String.format(NOT_FOUND_MSG, doctorName)));
-        return vacationRepository.findAllByDoctorAndStatus(doctorEntity, statusValue)
-                .stream()
-                .map(vacationConverter::fromEntityToDto)
-                .toList();
+        return vacationRepository.findAllDtoByDoctorAndStatus(doctorEntity, statusValue);
+    }
+
+    public String cancelOpenVacationsForDoctor(DoctorEntity doctor) {
+        int canceled = cancelOpenVacationsForDoctors(List.of(doctor.getId()));
+        return String.format(CANCEL_ALL_VACATIONS_MSG, canceled, doctor.getName());
+    }
+
+    @Transactional
+    public int cancelOpenVacationsForDoctors(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return 0;
+        }
+
+        int canceled = vacationRepository.cancelAllByDoctorIdInAndStatusIn(
+                doctorIds, VacationIndex.ACTIVE_STATUSES);
+        doctorIds.forEach(doctorId ->
+                eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorId)));
+        return canceled;
     }
 }
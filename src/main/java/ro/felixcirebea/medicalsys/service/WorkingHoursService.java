@@ -1,22 +1,28 @@
 package ro.felixcirebea.medicalsys.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ro.felixcirebea.medicalsys.converter.WorkingHoursConverter;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursProjection;
 import ro.felixcirebea.medicalsys.repository.WorkingHoursRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.helper.Validator;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 
 @Service
 @Slf4j
@@ -28,19 +34,23 @@ public class WorkingHoursService {
     public static final String LOG_INSERT_MSG = "Working hours for %s were inserted";
     public static final String LOG_FAIL_DELETE_MSG = "Can't delete working hours for %s failed - not found";
     public static final String LOG_SUCCESS_DELETE_MSG = "Working hours for %s deleted";
+    public static final String DELETE_ALL_WORKING_HOURS_MSG = "%s working hours for %s deleted";
     private final DoctorRepository doctorRepository;
     private final WorkingHoursRepository workingHoursRepository;
     private final WorkingHoursConverter workingHoursConverter;
     private final Contributor infoContributor;
+    private final ApplicationEventPublisher eventPublisher;
 
     public WorkingHoursService(DoctorRepository doctorRepository,
                                WorkingHoursRepository workingHoursRepository,
                                WorkingHoursConverter workingHoursConverter,
-                               Contributor infoContributor) {
+                               Contributor infoContributor,
+                               ApplicationEventPublisher eventPublisher) {
         this.doctorRepository = doctorRepository;
         this.workingHoursRepository = workingHoursRepository;
         this.workingHoursConverter = workingHoursConverter;
         this.infoContributor = infoContributor;
+        this.eventPublisher = eventPublisher;
     }
 
     public Long upsertWorkingHours(WorkingHoursDto workingHoursDto)
@@ -60,7 +70,9 @@ public class WorkingHoursService {
         log.info(String.format(LOG_INSERT_MSG, doctorEntity.getName()));
         WorkingHoursEntity workingHoursEntity =
                 workingHoursConverter.fromDtoToEntity(workingHoursDto, doctorEntity);
-        return workingHoursRepository.save(workingHoursEntity).getId();
+        Long workingHoursId = workingHoursRepository.save(workingHoursEntity).getId();
+        eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorEntity.getId()));
+        return workingHoursId;
     }
 
     private Long updateWorkingHours(WorkingHoursDto workingHoursDto,
@@ -75,10 +87,14 @@ public class WorkingHoursService {
         workingHoursEntity.setStartHour(workingHoursDto.getStartHour());
         workingHoursEntity.setEndHour(workingHoursDto.getEndHour());
         log.info(String.format(LOG_UPDATE_MSG, workingHoursEntity.getDoctor(), workingHoursDto));
-        return workingHoursRepository.save(workingHoursEntity).getId();
+        Long workingHoursId = workingHoursRepository.save(workingHoursEntity).getId();
+        eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorEntity.getId()));
+        return workingHoursId;
     }
 
-    public List<WorkingHoursDto> getWorkingHoursByDoctorAndDay(String doctorName, Integer dayOfWeek)
+    @Transactional(readOnly = true)
+    public PageDto<WorkingHoursDto> getWorkingHoursByDoctorAndDay(String doctorName, Integer dayOfWeek,
+                                                                  Long cursor, Integer pageSize)
             throws DataNotFoundException, DataMismatchException {
         if (doctorName != null && dayOfWeek != null) {
             DoctorEntity doctorEntity =
@@ -87,29 +103,32 @@ public class WorkingHoursService {
                             String.format(NOT_FOUND_MSG, doctorName)));
             DayOfWeek dayOfWeekValue = Validator.dayOfWeekValidator(dayOfWeek);
 
-            return workingHoursRepository.findByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue)
-                    .stream()
-                    .map(workingHoursConverter::fromEntityToDto)
-                    .toList();
+            return KeysetPagination.singlePage(
+                    workingHoursRepository.findProjectionByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue)
+                            .stream()
+                            .map(workingHoursConverter::fromProjectionToDto)
+                            .toList());
         } else if (doctorName != null) {
             DoctorEntity doctorEntity =
                     doctorRepository.findByNameAndIsActive(doctorName, true)
                     .orElseThrow(() -> new DataNotFoundException(
                             String.format(NOT_FOUND_MSG, doctorName)));
-            return workingHoursRepository.findByDoctor(doctorEntity)
-                    .stream()
-                    .map(workingHoursConverter::fromEntityToDto)
-                    .toList();
+            return KeysetPagination.singlePage(
+                    workingHoursRepository.findProjectionByDoctor(doctorEntity)
+                            .stream()
+                            .map(workingHoursConverter::fromProjectionToDto)
+                            .toList());
         } else if (dayOfWeek != null) {
             DayOfWeek dayOfWeekValue = Validator.dayOfWeekValidator(dayOfWeek);
-            return workingHoursRepository.findByDayOfWeek(dayOfWeekValue)
-                    .stream()
-                    .map(workingHoursConverter::fromEntityToDto)
-                    .toList();
+            return KeysetPagination.toPage(
+                    workingHoursRepository.findProjectionByDayOfWeekAndIdGreaterThan(dayOfWeekValue,
+                            KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                    pageSize, WorkingHoursProjection::id, workingHoursConverter::fromProjectionToDto);
         } else {
-            return StreamSupport.stream(workingHoursRepository.findAll().spliterator(), false)
-                    .map(workingHoursConverter::fromEntityToDto)
-                    .toList();
+            return KeysetPagination.toPage(
+                    workingHoursRepository.findProjectionByIdGreaterThan(
+                            KeysetPagination.startAfter(cursor), KeysetPagination.firstRows(pageSize)),
+                    pageSize, WorkingHoursProjection::id, workingHoursConverter::fromProjectionToDto);
         }
     }
 
@@ -128,16 +147,29 @@ public class WorkingHoursService {
         if (dayOfWeek != null) {
             DayOfWeek dayOfWeekValue = Validator.dayOfWeekValidator(dayOfWeek);
             workingHoursRepository.deleteByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue);
+            eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorEntity.getId()));
             log.info(String.format(LOG_SUCCESS_DELETE_MSG, doctorEntity.getName()));
             return doctorEntity.getId();
         }
 
-        workingHoursRepository.deleteByDoctor(doctorEntity);
+        deleteAllWorkingHoursForDoctors(List.of(doctorEntity.getId()));
         return doctorEntity.getId();
     }
 
     public String deleteAllWorkingHoursForDoctor(DoctorEntity doctor) {
-        workingHoursRepository.deleteByDoctor(doctor);
-        return String.format("Working hours for %s deleted", doctor.getName());
+        int deleted = deleteAllWorkingHoursForDoctors(List.of(doctor.getId()));
+        return String.format(DELETE_ALL_WORKING_HOURS_MSG, deleted, doctor.getName());
+    }
+
+    @Transactional
+    public int deleteAllWorkingHoursForDoctors(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = workingHoursRepository.deleteAllByDoctorIdIn(doctorIds);
+        doctorIds.forEach(doctorId ->
+                eventPublisher.publishEvent(DoctorScheduleChangedEvent.allDates(doctorId)));
+        return deleted;
     }
 }
@@ -0,0 +1,54 @@
+package ro.felixcirebea.medicalsys;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+
+import java.util.List;
+
+/**
+ * Common setup of the Spring integration tests. Every subclass runs on the "test" profile, so
+ * they share one application context and one in-memory DB. Tests that assert on whole tables
+ * call {@link #resetDatabase()} first and must not rely on rows created by other classes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class IntegrationTestBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VacationIndex vacationIndex;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    protected void resetDatabase() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE \"" + table + "\""));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+
+        //the JPA evictAll leaves the natural-id and query regions behind
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        vacationIndex.evictAll();
+        slotOccupancyIndex.evictAll();
+        //reloads the holiday index and drops every cached available-hours result
+        eventPublisher.publishEvent(new HolidaysChangedEvent(null, null));
+    }
+}
@@ -15,17 +15,28 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
+import ro.felixcirebea.medicalsys.dto.BookingResultDto;
+import ro.felixcirebea.medicalsys.dto.SlotHoldDto;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.service.AppointmentExportService;
 import ro.felixcirebea.medicalsys.service.AppointmentService;
+import ro.felixcirebea.medicalsys.service.BookingBatchService;
+import ro.felixcirebea.medicalsys.service.EarliestAvailabilityService;
+import ro.felixcirebea.medicalsys.service.SlotHoldService;
 import ro.felixcirebea.medicalsys.util.AppointmentUtil;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 @WebMvcTest(controllers = AppointmentController.class)
@@ -50,6 +61,18 @@ public class AppointmentControllerTests {
     @MockBean
     private AppointmentService appointmentService;
 
+    @MockBean
+    private EarliestAvailabilityService earliestAvailabilityService;
+
+    @MockBean
+    private BookingBatchService bookingBatchService;
+
+    @MockBean
+    private SlotHoldService slotHoldService;
+
+    @MockBean
+    private AppointmentExportService appointmentExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -116,6 +139,70 @@ public class AppointmentControllerTests {
         result.andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    public void testGetNextAvailableSlots_whenAllValid_thenReturnOk() throws Exception {
+        AvailableSlotDto slot = AvailableSlotDto.builder()
+                .doctor(DOCTOR)
+                .date(DESIRED_DATE)
+                .startHour(LocalTime.of(8, 0))
+                .build();
+
+        when(appointmentService.getNextAvailableSlots(DOCTOR, INVESTIGATION, DESIRED_DATE, 5))
+                .thenReturn(List.of(slot));
+
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/next-available")
+                .param("doctor", DOCTOR)
+                .param("investigation", INVESTIGATION)
+                .param("start-date", String.valueOf(DESIRED_DATE))
+                .param("limit", "5"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].doctor", CoreMatchers.is(DOCTOR)));
+    }
+
+    @Test
+    public void testGetNextAvailableSlots_whenLimitTooLarge_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/next-available")
+                .param("doctor", DOCTOR)
+                .param("investigation", INVESTIGATION)
+                .param("start-date", String.valueOf(DESIRED_DATE))
+                .param("limit", "1000"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenAllValid_thenReturnOk() throws Exception {
+        AvailableSlotDto slot = AvailableSlotDto.builder()
+                .doctor(DOCTOR)
+                .date(DESIRED_DATE)
+                .startHour(LocalTime.of(8, 0))
+                .build();
+
+        when(earliestAvailabilityService.getEarliestAvailableSlots(INVESTIGATION, null, DESIRED_DATE, 10))
+                .thenReturn(List.of(slot));
+
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/earliest-available")
+                .param("investigation", INVESTIGATION)
+                .param("start-date", String.valueOf(DESIRED_DATE)));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenInvestigationNotExist_thenReturnBadRequest() throws Exception {
+        when(earliestAvailabilityService.getEarliestAvailableSlots(INVESTIGATION, null, DESIRED_DATE, 10))
+                .thenThrow(DataNotFoundException.class);
+
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/earliest-available")
+                .param("investigation", INVESTIGATION)
+                .param("start-date", String.valueOf(DESIRED_DATE)));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     public void testBookAppointment_whenDtoValid_thenReturnOk() throws Exception {
         when(appointmentService.bookAppointment(appointmentDto))
@@ -156,6 +243,106 @@ public class AppointmentControllerTests {
         result.andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    public void testBookAppointments_whenBatchValid_thenReturnOk() throws Exception {
+        BookingResultDto accepted = BookingResultDto.builder().index(0).id(ID).build();
+        when(bookingBatchService.bookAppointments(List.of(appointmentDto)))
+                .thenReturn(List.of(accepted));
+
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/book-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(appointmentDto))));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id", CoreMatchers.is(ID.intValue())));
+    }
+
+    @Test
+    public void testBookAppointments_whenBatchEmpty_thenReturnBadRequest() throws Exception {
+        when(bookingBatchService.bookAppointments(List.of()))
+                .thenThrow(DataMismatchException.class);
+
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/book-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testHoldSlot_whenDtoValid_thenReturnOk() throws Exception {
+        SlotHoldDto slotHoldDto = SlotHoldDto.builder()
+                .token("token")
+                .doctor(DOCTOR)
+                .date(DESIRED_DATE)
+                .build();
+        when(slotHoldService.holdSlot(appointmentDto, SlotHoldService.DEFAULT_HOLD_SECONDS))
+                .thenReturn(slotHoldDto);
+
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/hold")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentDto)));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.token", CoreMatchers.is("token")));
+    }
+
+    @Test
+    public void testHoldSlot_whenHoldSecondsTooLarge_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/hold")
+                .param("hold-seconds", String.valueOf(SlotHoldService.MAX_HOLD_SECONDS + 1))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentDto)));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testConfirmHold_whenHoldExpired_thenReturnBadRequest() throws Exception {
+        when(slotHoldService.confirmHold("token"))
+                .thenThrow(DataNotFoundException.class);
+
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/hold/token/confirm"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void testExportAppointments_whenParamsValid_thenStreamNdjson() throws Exception {
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/export")
+                .param("start-date", "2023-01-01")
+                .param("end-date", "2023-01-31")
+                .param("doctor", DOCTOR)
+                .param("status", "NEW"));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(
+                        AppointmentExportService.EXPORT_CONTENT_TYPE));
+        verify(appointmentExportService).exportAppointments(
+                eq(LocalDate.of(2023, 1, 1)), eq(LocalDate.of(2023, 1, 31)),
+                eq(DOCTOR), eq(AppointmentStatus.NEW), any());
+    }
+
+    @Test
+    public void testExportAppointments_whenStartAfterEnd_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/export")
+                .param("start-date", "2023-02-01")
+                .param("end-date", "2023-01-01"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(appointmentExportService);
+    }
+
+    @Test
+    public void testExportAppointments_whenStatusInvalid_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/export")
+                .param("start-date", "2023-01-01")
+                .param("end-date", "2023-01-31")
+                .param("status", "UNKNOWN"));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(appointmentExportService);
+    }
 
     @Test
     public void testGetAppointmentById_whenIdExists_thenReturnOk() throws Exception {
@@ -17,6 +17,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ro.felixcirebea.medicalsys.dto.DoctorDto;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.service.DoctorService;
 import ro.felixcirebea.medicalsys.util.DoctorUtil;
 
@@ -190,17 +191,26 @@ public class DoctorControllerTests {
 
     @Test
     public void testGetAllDoctors_whenDoctorsExist_thenReturnOk() throws Exception {
-        when(doctorService.getAllDoctors()).thenReturn(List.of(doctorDto));
+        when(doctorService.getAllDoctors(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(doctorDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/all"));
 
         result.andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$", CoreMatchers.isA(List.class)))
+                        "$.items", CoreMatchers.isA(List.class)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.size()", CoreMatchers.is(1)))
+                        "$.items.size()", CoreMatchers.is(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$[0].name", CoreMatchers.is(doctorDto.getName())));
+                        "$.items[0].name", CoreMatchers.is(doctorDto.getName())));
+    }
+
+    @Test
+    public void testGetAllDoctors_whenSizeAboveMax_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(get(BASE_PATH + "/all")
+                .param("size", String.valueOf(KeysetPagination.MAX_PAGE_SIZE + 1)));
+
+        result.andExpect(status().isBadRequest());
     }
 
     @Test
@@ -17,6 +17,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ro.felixcirebea.medicalsys.dto.HolidayDto;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.service.HolidayService;
 import ro.felixcirebea.medicalsys.util.HolidayUtil;
 
@@ -166,17 +167,18 @@ public class HolidayControllerTests {
 
     @Test
     public void testGetAllHolidays_whenHolidaysExist_thenReturnOk() throws Exception {
-        when(holidayService.getAllHolidays()).thenReturn(List.of(holidayDto));
+        when(holidayService.getAllHolidays(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(holidayDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/all"));
 
         result.andExpect(status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$", CoreMatchers.isA(List.class)))
+                        "$.items", CoreMatchers.isA(List.class)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.size()", CoreMatchers.is(1)))
+                        "$.items.size()", CoreMatchers.is(1)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$[0].description", CoreMatchers.is(holidayDto.getDescription())));
+                        "$.items[0].description", CoreMatchers.is(holidayDto.getDescription())));
     }
 
     @Test
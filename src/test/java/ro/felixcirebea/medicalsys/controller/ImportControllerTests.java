@@ -0,0 +1,61 @@
+package ro.felixcirebea.medicalsys.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.service.CsvImportService;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@WebMvcTest(controllers = ImportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(MockitoExtension.class)
+public class ImportControllerTests {
+
+    public static final String BASE_PATH = "/admin/import";
+    public static final String CSV = "TestDoctor,1,08:00,16:00\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CsvImportService csvImportService;
+
+    @MockBean
+    private Contributor contributor;
+
+    @Test
+    public void testImportCsv_whenEntityValid_thenStreamReport() throws Exception {
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/working-hours")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(CSV));
+
+        result.andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(CsvImportService.REPORT_CONTENT_TYPE));
+        verify(csvImportService).importCsv(eq(ImportEntity.WORKING_HOURS), any(), any());
+    }
+
+    @Test
+    public void testImportCsv_whenEntityInvalid_thenReturnBadRequest() throws Exception {
+        ResultActions result = mockMvc.perform(post(BASE_PATH + "/doctors")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(CSV));
+
+        result.andExpect(MockMvcResultMatchers.status().isBadRequest());
+        verifyNoInteractions(csvImportService);
+    }
+}
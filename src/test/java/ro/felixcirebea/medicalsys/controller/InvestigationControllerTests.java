@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ro.felixcirebea.medicalsys.dto.InvestigationDto;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.service.InvestigationService;
 import ro.felixcirebea.medicalsys.util.InvestigationUtil;
 
@@ -296,14 +297,14 @@ public class InvestigationControllerTests {
         InvestigationDto investigationDto2 = InvestigationUtil.createInvestigationDto();
         investigationDto2.setId(2L);
 
-        when(investigationService.getAllInvestigations())
-                .thenReturn(List.of(investigationDto1, investigationDto2));
+        when(investigationService.getAllInvestigations(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(investigationDto1, investigationDto2)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/all"));
 
         result.andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(2)));
     }
 
     @Test
@@ -19,9 +19,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.dto.SpecialtyDto;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.service.SpecialtyService;
 import ro.felixcirebea.medicalsys.util.SpecialtyUtil;
 
@@ -176,29 +178,31 @@ public class SpecialtyControllerTests {
         specialtyDto1.setId(1L);
         specialtyDto2.setId(2L);
 
-        when(specialtyService.getAllSpecialties()).thenReturn(List.of(specialtyDto1, specialtyDto2));
+        when(specialtyService.getAllSpecialties(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(specialtyDto1, specialtyDto2)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/all")
                 .contentType(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(2)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name", CoreMatchers.is(SPECIALTY)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name", CoreMatchers.is(SPECIALTY)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].name", CoreMatchers.is(SPECIALTY)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[1].name", CoreMatchers.is(SPECIALTY)))
                 .andDo(MockMvcResultHandlers.print());
     }
 
     @Test
     public void testGetAllSpecialties_whenSpecialtiesNotExist_thenReturnOk() throws Exception {
-        when(specialtyService.getAllSpecialties()).thenReturn(Collections.emptyList());
+        when(specialtyService.getAllSpecialties(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(Collections.emptyList()));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/all")
                 .contentType(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(0)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(0)))
                 .andDo(MockMvcResultHandlers.print());
     }
 
@@ -258,16 +262,18 @@ public class SpecialtyControllerTests {
         specialtyDto1.setId(1L);
         specialtyDto2.setId(2L);
 
-        when(specialtyService.getAllSpecialties()).thenReturn(List.of(specialtyDto1, specialtyDto2));
+        when(specialtyService.getAllSpecialties(null, KeysetPagination.DEFAULT_PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(specialtyDto1, specialtyDto2)));
 
         MvcResult mvcResult = mockMvc.perform(get(BASE_PATH + "/all"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andReturn();
 
-        TypeReference<List<SpecialtyDto>> typeReference = new TypeReference<List<SpecialtyDto>>() {};
+        TypeReference<PageDto<SpecialtyDto>> typeReference = new TypeReference<PageDto<SpecialtyDto>>() {};
 
-        List<SpecialtyDto> result = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), typeReference);
+        List<SpecialtyDto> result =
+                objectMapper.readValue(mvcResult.getResponse().getContentAsString(), typeReference).getItems();
 
         Assertions.assertThat(result.isEmpty()).isFalse();
         Assertions.assertThat(result.size()).isEqualTo(2);
@@ -18,6 +18,7 @@ import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.service.WorkingHoursService;
 import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
 
@@ -37,6 +38,7 @@ public class WorkingHoursControllerTests {
     public static final Integer DAY_OF_WEEK = 1;
     public static final int INVALID_DAY_OF_WEEK = 15;
     public static final String FAKE_DOCTOR = "FakeDoctor";
+    public static final int PAGE_SIZE = KeysetPagination.DEFAULT_PAGE_SIZE;
 
     @Autowired
     private MockMvc mockMvc;
@@ -97,59 +99,59 @@ public class WorkingHoursControllerTests {
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDoctorAndDayNotNull_thenReturnOk() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, DAY_OF_WEEK))
-                .thenReturn(List.of(workingHoursDto));
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, DAY_OF_WEEK, null, PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(workingHoursDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day")
                 .param("doctor", DOCTOR)
                 .param("day", String.valueOf(DAY_OF_WEEK)));
 
         result.andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(1)));
     }
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDayNull_thenReturnOk() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, null))
-                .thenReturn(List.of(workingHoursDto));
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, null, null, PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(workingHoursDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day")
                 .param("doctor", DOCTOR));
 
         result.andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(1)));
     }
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDoctorNull_thenReturnOk() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(null, DAY_OF_WEEK))
-                .thenReturn(List.of(workingHoursDto));
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(null, DAY_OF_WEEK, null, PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(workingHoursDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day")
                 .param("day", String.valueOf(DAY_OF_WEEK)));
 
         result.andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(1)));
     }
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDoctorAndDayNull_thenReturnOk() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(null, null))
-                .thenReturn(List.of(workingHoursDto));
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(null, null, null, PAGE_SIZE))
+                .thenReturn(KeysetPagination.singlePage(List.of(workingHoursDto)));
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day"));
 
         result.andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.jsonPath("$", CoreMatchers.isA(List.class)))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", CoreMatchers.is(1)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items", CoreMatchers.isA(List.class)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items.size()", CoreMatchers.is(1)));
     }
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDoctorNotExist_thenReturnBadRequest() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, DAY_OF_WEEK))
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, DAY_OF_WEEK, null, PAGE_SIZE))
                 .thenThrow(DataNotFoundException.class);
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day")
@@ -161,7 +163,7 @@ public class WorkingHoursControllerTests {
 
     @Test
     public void testGetWorkingHoursByDoctorAndDay_whenDayNotValid_thenReturnBadRequest() throws Exception {
-        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, INVALID_DAY_OF_WEEK))
+        when(workingHoursService.getWorkingHoursByDoctorAndDay(DOCTOR, INVALID_DAY_OF_WEEK, null, PAGE_SIZE))
                 .thenThrow(DataMismatchException.class);
 
         ResultActions result = mockMvc.perform(get(BASE_PATH + "/by-doctor-and-day")
@@ -4,6 +4,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AppointmentExportDto;
 import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
@@ -80,4 +81,17 @@ public class AppointmentConverterTests {
         Assertions.assertThat(returnValue.getPrice()).isEqualTo(inputEntity.getPrice());
     }
 
+    @Test
+    public void testFromEntityToExportDto() {
+        //Act
+        AppointmentExportDto returnValue = appointmentConverter.fromEntityToExportDto(inputEntity);
+
+        //Assert
+        Assertions.assertThat(returnValue.getId()).isEqualTo(inputEntity.getId());
+        Assertions.assertThat(returnValue.getDoctor()).isEqualTo(doctorEntity.getName());
+        Assertions.assertThat(returnValue.getInvestigation()).isEqualTo(investigationEntity.getName());
+        Assertions.assertThat(returnValue.getEndHour()).isEqualTo(inputEntity.getEndTime());
+        Assertions.assertThat(returnValue.getStatus()).isEqualTo(inputEntity.getStatus());
+    }
+
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursProjection;
 import ro.felixcirebea.medicalsys.util.DoctorUtil;
 import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
 
@@ -57,4 +58,20 @@ public class WorkingHoursConverterTests {
         Assertions.assertThat(returnValue.getStartHour()).isEqualTo(inputEntity.getStartHour());
         Assertions.assertThat(returnValue.getEndHour()).isEqualTo(inputEntity.getEndHour());
     }
+
+    @Test
+    public void testFromProjectionToDto() {
+        //Arrange
+        WorkingHoursProjection inputProjection = WorkingHoursUtil.createWorkingHoursProjection(ID, DAY_OF_WEEK);
+
+        //Act
+        WorkingHoursDto returnValue = converter.fromProjectionToDto(inputProjection);
+
+        //Assert
+        Assertions.assertThat(returnValue.getId()).isEqualTo(inputProjection.id());
+        Assertions.assertThat(returnValue.getDoctor()).isEqualTo(inputProjection.doctor());
+        Assertions.assertThat(returnValue.getDayOfWeek()).isEqualTo(DAY_OF_WEEK);
+        Assertions.assertThat(returnValue.getStartHour()).isEqualTo(inputProjection.startHour());
+        Assertions.assertThat(returnValue.getEndHour()).isEqualTo(inputProjection.endHour());
+    }
 }
@@ -0,0 +1,98 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+public class AppointmentSweepTests {
+
+    private static final LocalDate DATE = LocalDate.of(2023, 3, 6);
+    private static final DoctorEntity DOCTOR = doctor(1L);
+    private static final DoctorEntity OTHER_DOCTOR = doctor(2L);
+
+    @Test
+    public void testConflicting_whenRowsOverlapEachOther_thenLaterStartRejected() {
+        //Arrange
+        List<AppointmentEntity> candidates = List.of(
+                appointment(DOCTOR, DATE, "09:15", "09:45"),
+                appointment(DOCTOR, DATE, "09:00", "09:30"),
+                appointment(DOCTOR, DATE, "09:30", "10:00"),
+                appointment(DOCTOR, DATE, "09:00", "09:30"));
+
+        //Act
+        BitSet result = AppointmentSweep.conflicting(candidates, List.of());
+
+        //Assert
+        Assertions.assertThat(result.stream()).containsExactly(0, 3);
+    }
+
+    @Test
+    public void testConflicting_whenOtherDoctorOrDay_thenNoConflict() {
+        //Arrange
+        List<AppointmentEntity> candidates = List.of(
+                appointment(DOCTOR, DATE, "09:00", "09:30"),
+                appointment(OTHER_DOCTOR, DATE, "09:00", "09:30"),
+                appointment(DOCTOR, DATE.plusDays(1), "09:00", "09:30"));
+
+        //Act
+        BitSet result = AppointmentSweep.conflicting(candidates, List.of());
+
+        //Assert
+        Assertions.assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testConflicting_whenBookedAppointments_thenRowsOverlappingThemRejected() {
+        //Arrange
+        List<AppointmentEntity> booked = List.of(
+                appointment(DOCTOR, DATE, "10:00", "11:00"),
+                appointment(DOCTOR, DATE, "08:00", "09:10"));
+        List<AppointmentEntity> candidates = List.of(
+                appointment(DOCTOR, DATE, "09:00", "09:30"),
+                appointment(DOCTOR, DATE, "09:30", "10:00"),
+                appointment(DOCTOR, DATE, "09:45", "10:15"),
+                appointment(DOCTOR, DATE, "11:00", "11:30"));
+
+        //Act
+        BitSet result = AppointmentSweep.conflicting(candidates, booked);
+
+        //Assert
+        Assertions.assertThat(result.stream()).containsExactly(0, 2);
+    }
+
+    @Test
+    public void testConflicting_whenBookedAppointmentCanceled_thenIgnored() {
+        //Arrange
+        AppointmentEntity canceled = appointment(DOCTOR, DATE, "09:00", "10:00");
+        canceled.setStatus(AppointmentStatus.CANCELED);
+
+        //Act
+        BitSet result = AppointmentSweep.conflicting(
+                List.of(appointment(DOCTOR, DATE, "09:00", "09:30")), List.of(canceled));
+
+        //Assert
+        Assertions.assertThat(result.isEmpty()).isTrue();
+    }
+
+    private static AppointmentEntity appointment(DoctorEntity doctor, LocalDate date, String start, String end) {
+        AppointmentEntity appointmentEntity = new AppointmentEntity();
+        appointmentEntity.setDoctor(doctor);
+        appointmentEntity.setDate(date);
+        appointmentEntity.setStartTime(LocalTime.parse(start));
+        appointmentEntity.setEndTime(LocalTime.parse(end));
+        return appointmentEntity;
+    }
+
+    private static DoctorEntity doctor(Long id) {
+        DoctorEntity doctorEntity = new DoctorEntity();
+        doctorEntity.setId(id);
+        return doctorEntity;
+    }
+}
@@ -0,0 +1,131 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
+import ro.felixcirebea.medicalsys.event.InvestigationChangedEvent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+public class AvailableHoursCacheTests {
+
+    private static final String DOCTOR = "TestDoctor";
+    private static final String INVESTIGATION = "TestInvestigation";
+    private static final Long DOCTOR_ID = 1L;
+    private static final Long INVESTIGATION_ID = 2L;
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+
+    private AvailableHoursCache availableHoursCache;
+
+    @BeforeEach
+    public void setUp() {
+        availableHoursCache = new AvailableHoursCache(2);
+    }
+
+    @Test
+    public void testGet_whenEntryCached_thenCountHitsAndMisses() {
+        //Arrange
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE)).isEmpty();
+        put(DATE);
+
+        //Act
+        Optional<AvailableHoursCache.CachedHours> returnValue = availableHoursCache.get(DOCTOR, INVESTIGATION, DATE);
+
+        //Assert
+        Assertions.assertThat(returnValue).isPresent();
+        Assertions.assertThat(returnValue.get().freeHours()).containsExactly(LocalTime.of(8, 0));
+        Assertions.assertThat(availableHoursCache.getHits()).isEqualTo(1);
+        Assertions.assertThat(availableHoursCache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPut_whenFull_thenEvictLeastRecentlyUsed() {
+        //Arrange
+        put(DATE);
+        put(DATE.plusDays(1));
+        availableHoursCache.get(DOCTOR, INVESTIGATION, DATE);
+
+        //Act
+        put(DATE.plusDays(2));
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.size()).isEqualTo(2);
+        Assertions.assertThat(availableHoursCache.getEvictions()).isEqualTo(1);
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE)).isPresent();
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE.plusDays(1))).isEmpty();
+    }
+
+    @Test
+    public void testPut_whenInvalidatedWhileComputing_thenDiscardStaleResult() {
+        //Arrange
+        long version = availableHoursCache.currentVersion();
+        availableHoursCache.onAppointmentsChanged(new AppointmentsChangedEvent(DOCTOR_ID, DATE));
+
+        //Act
+        availableHoursCache.put(DOCTOR, INVESTIGATION, DATE, cachedHours(), version);
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.size()).isZero();
+    }
+
+    @Test
+    public void testOnAppointmentsChanged_whenOtherDate_thenKeepEntry() {
+        //Arrange
+        put(DATE);
+        put(DATE.plusDays(1));
+
+        //Act
+        availableHoursCache.onAppointmentsChanged(new AppointmentsChangedEvent(DOCTOR_ID, DATE));
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE)).isEmpty();
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE.plusDays(1))).isPresent();
+    }
+
+    @Test
+    public void testOnScheduleAndHolidayChanges_whenDateInRange_thenDropEntry() {
+        //Arrange
+        put(DATE);
+        put(DATE.plusDays(5));
+
+        //Act
+        availableHoursCache.onHolidaysChanged(new HolidaysChangedEvent(DATE.minusDays(1), DATE));
+        availableHoursCache.onDoctorScheduleChanged(new DoctorScheduleChangedEvent(2L, null, null));
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE)).isEmpty();
+        Assertions.assertThat(availableHoursCache.get(DOCTOR, INVESTIGATION, DATE.plusDays(5))).isPresent();
+
+        //Act
+        availableHoursCache.onDoctorScheduleChanged(DoctorScheduleChangedEvent.allDates(DOCTOR_ID));
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.size()).isZero();
+    }
+
+    @Test
+    public void testOnInvestigationChanged_whenInvestigationCached_thenDropEntry() {
+        //Arrange
+        put(DATE);
+
+        //Act
+        availableHoursCache.onInvestigationChanged(new InvestigationChangedEvent(INVESTIGATION_ID));
+
+        //Assert
+        Assertions.assertThat(availableHoursCache.size()).isZero();
+    }
+
+    private void put(LocalDate date) {
+        availableHoursCache.put(DOCTOR, INVESTIGATION, date, cachedHours(), availableHoursCache.currentVersion());
+    }
+
+    private AvailableHoursCache.CachedHours cachedHours() {
+        return new AvailableHoursCache.CachedHours(DOCTOR_ID, INVESTIGATION_ID, 30, List.of(LocalTime.of(8, 0)));
+    }
+}
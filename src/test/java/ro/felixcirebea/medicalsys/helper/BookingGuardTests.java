@@ -0,0 +1,193 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.BookingLockRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingGuardTests {
+
+    private static final Long DOCTOR_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+
+    @Mock
+    private BookingLockRepository bookingLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingGuard bookingGuard;
+
+    @BeforeEach
+    public void setUp() {
+        bookingGuard = new BookingGuard(bookingLockRepository, transactionManager, 16, 100);
+    }
+
+    @Test
+    public void testRunExclusively_whenLockRowMissing_thenCreateRowAndRunAction()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(DOCTOR_ID, DATE)).thenReturn(false);
+        when(bookingLockRepository.lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), anyLong()))
+                .thenReturn(Optional.of(new BookingLockEntity(DOCTOR_ID, DATE)));
+
+        //Act
+        Long returnValue = bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> 7L);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(7L);
+        Assertions.assertThat(bookingGuard.getAcquisitions()).isEqualTo(1);
+        Assertions.assertThat(bookingGuard.getContendedAcquisitions()).isZero();
+
+        //Verify
+        verify(bookingLockRepository).save(any(BookingLockEntity.class));
+        verify(bookingLockRepository).lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), anyLong());
+    }
+
+    @Test
+    public void testRunExclusively_whenSeveralDoctorDays_thenLockEachRowInOrder()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        LocalDate nextDate = DATE.plusDays(1);
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(any(), any())).thenReturn(true);
+
+        //Act
+        Long returnValue = bookingGuard.runExclusively(List.of(
+                new BookingGuard.DoctorDay(DOCTOR_ID, nextDate),
+                new BookingGuard.DoctorDay(DOCTOR_ID, DATE),
+                new BookingGuard.DoctorDay(DOCTOR_ID, nextDate)), () -> 3L);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(3L);
+
+        //Verify
+        InOrder inOrder = inOrder(bookingLockRepository);
+        inOrder.verify(bookingLockRepository).lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), anyLong());
+        inOrder.verify(bookingLockRepository).lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(nextDate), anyLong());
+        verify(bookingLockRepository, never()).save(any(BookingLockEntity.class));
+    }
+
+    @Test
+    public void testRunExclusively_whenActionThrows_thenPropagateCheckedException() {
+        //Arrange
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(DOCTOR_ID, DATE)).thenReturn(true);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> {
+                    throw new ConcurrencyException("taken");
+                }))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage("taken");
+
+        //Verify
+        verify(bookingLockRepository, never()).save(any(BookingLockEntity.class));
+    }
+
+    @Test
+    public void testRunExclusively_whenRowLockNotAcquired_thenThrowException() {
+        //Arrange
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(DOCTOR_ID, DATE)).thenReturn(true);
+        when(bookingLockRepository.lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), anyLong()))
+                .thenThrow(new CannotAcquireLockException("timeout"));
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> 1L))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(BookingGuard.LOCK_TIMEOUT_MSG, DOCTOR_ID, DATE));
+        Assertions.assertThat(bookingGuard.getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRunExclusively_whenRowLocked_thenWaitAtMostConfiguredTimeout()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(DOCTOR_ID, DATE)).thenReturn(true);
+        ArgumentCaptor<Long> timeoutCaptor = ArgumentCaptor.forClass(Long.class);
+
+        //Act
+        bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> 1L);
+
+        //Assert
+        verify(bookingLockRepository).lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), timeoutCaptor.capture());
+        Assertions.assertThat(timeoutCaptor.getValue()).isPositive().isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    public void testRunExclusively_whenFirstRowLockUsesTimeout_thenTimeOutWithoutLockingNextRow() {
+        //Arrange
+        LocalDate nextDate = DATE.plusDays(1);
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(any(), any())).thenReturn(true);
+        when(bookingLockRepository.lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(DATE), anyLong()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(150);
+                    return Optional.of(new BookingLockEntity(DOCTOR_ID, DATE));
+                });
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingGuard.runExclusively(List.of(
+                        new BookingGuard.DoctorDay(DOCTOR_ID, DATE),
+                        new BookingGuard.DoctorDay(DOCTOR_ID, nextDate)), () -> 1L))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(BookingGuard.LOCK_TIMEOUT_MSG, DOCTOR_ID, nextDate));
+        Assertions.assertThat(bookingGuard.getTimeouts()).isEqualTo(1);
+
+        //Verify
+        verify(bookingLockRepository, never()).lockByDoctorIdAndLockDate(eq(DOCTOR_ID), eq(nextDate), anyLong());
+    }
+
+    @Test
+    public void testRunExclusively_whenSameDoctorAndDayHeld_thenTimeOut() throws Exception {
+        //Arrange
+        when(bookingLockRepository.existsByDoctorIdAndLockDate(DOCTOR_ID, DATE)).thenReturn(true);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Long> holder = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> {
+                    holding.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 1L;
+                });
+            } catch (DataNotFoundException | ConcurrencyException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assertions.assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingGuard.runExclusively(DOCTOR_ID, DATE, () -> 2L))
+                .isInstanceOf(ConcurrencyException.class);
+        release.countDown();
+        Assertions.assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        Assertions.assertThat(bookingGuard.getContendedAcquisitions()).isEqualTo(1);
+        Assertions.assertThat(bookingGuard.getTimeouts()).isEqualTo(1);
+    }
+}
@@ -7,21 +7,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import ro.felixcirebea.medicalsys.entity.DoctorEntity;
-import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
-import ro.felixcirebea.medicalsys.entity.VacationEntity;
-import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.event.InvestigationChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.service.AppointmentService;
+import ro.felixcirebea.medicalsys.service.VacationService;
 import ro.felixcirebea.medicalsys.service.WorkingHoursService;
-import ro.felixcirebea.medicalsys.util.DoctorUtil;
-import ro.felixcirebea.medicalsys.util.InvestigationUtil;
 import ro.felixcirebea.medicalsys.util.SpecialtyUtil;
-import ro.felixcirebea.medicalsys.util.VacationUtil;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,8 +35,6 @@ public class DeleteUtilityTests {
     private static final String SUCCESS_MESSAGE = "Success";
 
     private static final String EXCEPTION_MESSAGE = "Exception";
-    public static final String DELETE_WORKING_HOURS_MSG = "Working hours for %s deleted";
-    public static final String CANCEL_APPOINTMENTS_MSG = "Appointments for %s canceled";
 
     private SpecialtyEntity specialtyEntity;
 
@@ -56,12 +50,18 @@ public class DeleteUtilityTests {
     @Mock
     private AppointmentService appointmentService;
 
+    @Mock
+    private VacationService vacationService;
+
     @Mock
     private DoctorRepository doctorRepository;
 
     @Mock
     private InvestigationRepository investigationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeleteUtilityImpl utility;
 
@@ -142,61 +142,38 @@ public class DeleteUtilityTests {
     }
 
     @Test
-    public void testSoftCascadeDelete() {
+    public void testSoftCascadeDelete_whenSpecialtyHasDoctors_thenReturnAffectedRows() {
         //Arrange
-        DoctorEntity doctor1 = DoctorUtil.createDoctorEntity(1L);
-        DoctorEntity doctor2 = DoctorUtil.createDoctorEntity(2L);
-        specialtyEntity.setDoctors(List.of(doctor1, doctor2));
-
-        VacationEntity vacation1 = VacationUtil.createVacationEntity(1L);
-        vacation1.setStatus(VacationStatus.DONE);
-        VacationEntity vacation2 = VacationUtil.createVacationEntity(2L);
-        doctor1.setVacation(List.of(vacation1, vacation2));
-        doctor2.setVacation(List.of(vacation1, vacation2));
-
-        InvestigationEntity investigation1 = InvestigationUtil.createInvestigationEntity(1L);
-        InvestigationEntity investigation2 = InvestigationUtil.createInvestigationEntity(2L);
-        specialtyEntity.setInvestigations(List.of(investigation1, investigation2));
+        List<Long> doctorIds = List.of(1L, 2L);
 
-        when(workingHoursService.deleteAllWorkingHoursForDoctor(doctor1))
-                .thenReturn(String.format(DELETE_WORKING_HOURS_MSG, doctor1.getName()));
-        when(workingHoursService.deleteAllWorkingHoursForDoctor(doctor2))
-                .thenReturn(String.format(DELETE_WORKING_HOURS_MSG, doctor2.getName()));
-
-        when(appointmentService.cancelAllAppointmentForDoctor(doctor1))
-                .thenReturn(String.format(CANCEL_APPOINTMENTS_MSG, doctor1.getName()));
-        when(appointmentService.cancelAllAppointmentForDoctor(doctor2))
-                .thenReturn(String.format(CANCEL_APPOINTMENTS_MSG, doctor2.getName()));
-
-        when(doctorRepository.saveAll(List.of(doctor1, doctor2)))
-                .thenReturn(List.of(doctor1, doctor2));
-
-        when(investigationRepository.saveAll(List.of(investigation1, investigation2)))
-                .thenReturn(List.of(investigation1, investigation2));
+        when(doctorRepository.findAllIdsBySpecialtyAndIsActive(specialtyEntity, true)).thenReturn(doctorIds);
+        when(investigationRepository.findAllIdsBySpecialtyAndIsActive(specialtyEntity, true))
+                .thenReturn(List.of(5L, 6L, 7L));
+        when(doctorRepository.deactivateAllBySpecialty(specialtyEntity)).thenReturn(2);
+        when(investigationRepository.deactivateAllBySpecialty(specialtyEntity)).thenReturn(3);
+        when(appointmentService.cancelFutureAppointmentsForDoctors(doctorIds)).thenReturn(4);
+        when(vacationService.cancelOpenVacationsForDoctors(doctorIds)).thenReturn(1);
+        when(workingHoursService.deleteAllWorkingHoursForDoctors(doctorIds)).thenReturn(10);
 
         //Act
-        utility.softCascadeDelete(specialtyEntity, workingHoursService, appointmentService,
-                doctorRepository, investigationRepository, SUCCESS_MESSAGE);
+        CascadeDeleteResult returnValue = utility.softCascadeDelete(specialtyEntity, workingHoursService,
+                appointmentService, vacationService, doctorRepository, investigationRepository, SUCCESS_MESSAGE);
 
         //Assert
-        Assertions.assertThat(doctor1.getIsActive()).isFalse();
-        Assertions.assertThat(doctor2.getIsActive()).isFalse();
-
-        Assertions.assertThat(doctor1.getVacation().get(0).getStatus()).isEqualTo(VacationStatus.DONE);
-        Assertions.assertThat(doctor1.getVacation().get(1).getStatus()).isEqualTo(VacationStatus.CANCELED);
-        Assertions.assertThat(doctor2.getVacation().get(0).getStatus()).isEqualTo(VacationStatus.DONE);
-        Assertions.assertThat(doctor2.getVacation().get(1).getStatus()).isEqualTo(VacationStatus.CANCELED);
-
-        Assertions.assertThat(investigation1.getIsActive()).isFalse();
-        Assertions.assertThat(investigation2.getIsActive()).isFalse();
+        Assertions.assertThat(returnValue).isEqualTo(new CascadeDeleteResult(2, 3, 4, 1, 10));
 
         //Verify
-        verify(workingHoursService).deleteAllWorkingHoursForDoctor(doctor1);
-        verify(workingHoursService).deleteAllWorkingHoursForDoctor(doctor2);
-        verify(appointmentService).cancelAllAppointmentForDoctor(doctor1);
-        verify(appointmentService).cancelAllAppointmentForDoctor(doctor2);
-        verify(doctorRepository).saveAll(List.of(doctor1, doctor2));
-        verify(investigationRepository).saveAll(List.of(investigation1, investigation2));
+        verify(doctorRepository).findAllIdsBySpecialtyAndIsActive(specialtyEntity, true);
+        verify(doctorRepository).deactivateAllBySpecialty(specialtyEntity);
+        verify(investigationRepository).findAllIdsBySpecialtyAndIsActive(specialtyEntity, true);
+        verify(investigationRepository).deactivateAllBySpecialty(specialtyEntity);
+        verify(eventPublisher).publishEvent(new InvestigationChangedEvent(5L));
+        verify(eventPublisher).publishEvent(new InvestigationChangedEvent(6L));
+        verify(eventPublisher).publishEvent(new InvestigationChangedEvent(7L));
+        verify(appointmentService).cancelFutureAppointmentsForDoctors(doctorIds);
+        verify(vacationService).cancelOpenVacationsForDoctors(doctorIds);
+        verify(workingHoursService).deleteAllWorkingHoursForDoctors(doctorIds);
+        verifyNoMoreInteractions(doctorRepository, investigationRepository);
     }
 
 }
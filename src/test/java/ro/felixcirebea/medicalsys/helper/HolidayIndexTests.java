@@ -0,0 +1,119 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.felixcirebea.medicalsys.entity.HolidayEntity;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
+import ro.felixcirebea.medicalsys.repository.HolidayRepository;
+import ro.felixcirebea.medicalsys.util.HolidayUtil;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HolidayIndexTests {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @InjectMocks
+    private HolidayIndex holidayIndex;
+
+    @Test
+    public void testIsHoliday_whenRangesOverlap_thenMergeAndMatchEdges() {
+        //Arrange
+        when(holidayRepository.findAllByIsActive(true)).thenReturn(List.of(
+                createHoliday(LocalDate.of(2023, 12, 24), LocalDate.of(2023, 12, 26)),
+                createHoliday(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 2)),
+                createHoliday(LocalDate.of(2023, 12, 25), LocalDate.of(2023, 12, 31))));
+
+        //Act && assert
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2022, 12, 31))).isFalse();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 1, 1))).isTrue();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 1, 2))).isTrue();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 1, 3))).isFalse();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 12, 23))).isFalse();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 12, 28))).isTrue();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 12, 31))).isTrue();
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2024, 1, 1))).isFalse();
+
+        //Verify
+        verify(holidayRepository, times(1)).findAllByIsActive(true);
+    }
+
+    @Test
+    public void testIsHoliday_whenNoHolidays_thenReturnFalse() {
+        //Arrange
+        when(holidayRepository.findAllByIsActive(true)).thenReturn(List.of());
+
+        //Act && assert
+        Assertions.assertThat(holidayIndex.isHoliday(LocalDate.of(2023, 3, 1))).isFalse();
+    }
+
+    @Test
+    public void testGetHolidays_whenSomeDatesAreHolidays_thenReturnOnlyHolidays() {
+        //Arrange
+        when(holidayRepository.findAllByIsActive(true))
+                .thenReturn(List.of(HolidayUtil.createHolidayEntity(1L)));
+
+        //Act
+        Set<LocalDate> returnValue = holidayIndex.getHolidays(List.of(
+                LocalDate.of(2023, 2, 28), LocalDate.of(2023, 3, 1),
+                LocalDate.of(2023, 3, 2), LocalDate.of(2023, 3, 3)));
+
+        //Assert
+        Assertions.assertThat(returnValue)
+                .containsExactlyInAnyOrder(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 2));
+    }
+
+    @Test
+    public void testGetHolidaysBetween_whenHolidaysOverlapRange_thenReturnDatesInsideRange() {
+        //Arrange
+        when(holidayRepository.findAllByIsActive(true)).thenReturn(List.of(
+                HolidayUtil.createHolidayEntity(1L),
+                createHoliday(LocalDate.of(2023, 3, 9), LocalDate.of(2023, 3, 12))));
+
+        //Act
+        Set<LocalDate> returnValue = holidayIndex.getHolidaysBetween(
+                LocalDate.of(2023, 3, 2), LocalDate.of(2023, 3, 10));
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactlyInAnyOrder(
+                LocalDate.of(2023, 3, 2), LocalDate.of(2023, 3, 9), LocalDate.of(2023, 3, 10));
+    }
+
+    @Test
+    public void testOnHolidaysChanged_whenHolidayAdded_thenReloadIndex() {
+        //Arrange
+        LocalDate date = LocalDate.of(2023, 5, 1);
+        when(holidayRepository.findAllByIsActive(true))
+                .thenReturn(List.of())
+                .thenReturn(List.of(createHoliday(date, date)));
+
+        //Act
+        boolean before = holidayIndex.isHoliday(date);
+        holidayIndex.onHolidaysChanged(new HolidaysChangedEvent(date, date));
+        boolean after = holidayIndex.isHoliday(date);
+
+        //Assert
+        Assertions.assertThat(before).isFalse();
+        Assertions.assertThat(after).isTrue();
+
+        //Verify
+        verify(holidayRepository, times(2)).findAllByIsActive(true);
+    }
+
+    private static HolidayEntity createHoliday(LocalDate startDate, LocalDate endDate) {
+        HolidayEntity holidayEntity = new HolidayEntity();
+        holidayEntity.setStartDate(startDate);
+        holidayEntity.setEndDate(endDate);
+        return holidayEntity;
+    }
+}
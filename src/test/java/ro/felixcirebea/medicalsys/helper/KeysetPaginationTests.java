@@ -0,0 +1,53 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ro.felixcirebea.medicalsys.dto.PageDto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class KeysetPaginationTests {
+
+    @Test
+    public void testToPage_whenMoreRowsThanPageSize_thenReturnNextCursor() {
+        //Act
+        PageDto<String> returnValue = KeysetPagination.toPage(
+                List.of(3L, 5L, 8L), 2, Function.identity(), String::valueOf);
+
+        //Assert
+        Assertions.assertThat(returnValue.getItems()).containsExactly("3", "5");
+        Assertions.assertThat(returnValue.getNextCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    public void testToPage_whenRowsFitPageSize_thenReturnNoCursor() {
+        //Act
+        PageDto<String> returnValue = KeysetPagination.toPage(
+                List.of(3L, 5L), 2, Function.identity(), String::valueOf);
+
+        //Assert
+        Assertions.assertThat(returnValue.getItems()).containsExactly("3", "5");
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void testFirstRows_whenCalled_thenFetchOneExtraRowSortedById() {
+        //Act
+        Pageable returnValue = KeysetPagination.firstRows(50);
+
+        //Assert
+        Assertions.assertThat(returnValue.getPageNumber()).isZero();
+        Assertions.assertThat(returnValue.getPageSize()).isEqualTo(51);
+        Assertions.assertThat(returnValue.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    public void testStartAfter_whenCursorMissing_thenStartBeforeFirstId() {
+        //Act && assert
+        Assertions.assertThat(KeysetPagination.startAfter(null)).isZero();
+        Assertions.assertThat(KeysetPagination.startAfter(42L)).isEqualTo(42L);
+    }
+}
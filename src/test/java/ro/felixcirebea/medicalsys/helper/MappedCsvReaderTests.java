@@ -0,0 +1,135 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ro.felixcirebea.medicalsys.exception.InputFileException;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.AppointmentRecord;
+import ro.felixcirebea.medicalsys.helper.SeedRecordParser.InvestigationRecord;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MappedCsvReaderTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testParse_whenSplitIntoRegions_thenSameRecordsAsSequentialParse() throws Exception {
+        //Arrange
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            csv.append("Client ").append(i).append(",Doctor ").append(i % 7)
+                    .append(",Investigation,2023-03-").append(String.format("%02d", i % 28 + 1))
+                    .append(",").append(String.format("%02d:%02d", i % 24, i % 60)).append('\n');
+        }
+        Path file = write(csv.toString());
+
+        //Act
+        List<AppointmentRecord> result = new ArrayList<>();
+        List<MappedCsvReader.Region> regions;
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            regions = reader.split(4);
+            for (MappedCsvReader.Region region : regions) {
+                result.addAll(reader.parse(region, SeedRecordParser::parseAppointment));
+            }
+        }
+
+        //Assert
+        List<AppointmentRecord> expected = new ArrayList<>();
+        for (String line : csv.toString().split("\n")) {
+            expected.add(SeedRecordParser.parseAppointment(line));
+        }
+        Assertions.assertThat(regions).hasSizeGreaterThan(1);
+        Assertions.assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testParseAll_whenCrlfAndBlankLines_thenSkipped() throws Exception {
+        //Arrange
+        Path file = write("Ecography,Cardiology,150.5,30\r\n\r\nRadiography,Radiology,-12,1e2\r\n");
+
+        //Act
+        List<InvestigationRecord> result;
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            result = reader.parseAll(row -> new InvestigationRecord(row.text(0), row.text(1),
+                    row.doubleValue(2), (int) row.doubleValue(3)));
+        }
+
+        //Assert
+        Assertions.assertThat(result).containsExactly(
+                new InvestigationRecord("Ecography", "Cardiology", 150.5, 30),
+                new InvestigationRecord("Radiography", "Radiology", -12.0, 100));
+    }
+
+    @Test
+    public void testSplit_whenStartingAtLineOffset_thenOnlyRemainingRowsParsed() throws Exception {
+        //Arrange
+        Path file = write("Ecografie,Cardiology,150,30\nRadiografie,Radiology,80,15\n");
+
+        //Act
+        List<String> result = new ArrayList<>();
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            for (MappedCsvReader.Region region : reader.split("Ecografie,Cardiology,150,30\n".length(), 4)) {
+                result.addAll(reader.parse(region, row -> row.text(0)));
+            }
+        }
+
+        //Assert
+        Assertions.assertThat(result).containsExactly("Radiografie");
+    }
+
+    @Test
+    public void testParseAll_whenFieldsNeedFallback_thenParsedLikeValidator() throws Exception {
+        //Arrange
+        Path file = write("+12023-03-06,09:30:15.5,0.1,-42\n");
+
+        //Act
+        List<List<Object>> result;
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            result = reader.parseAll(row -> List.of(row.date(0), row.time(1), row.doubleValue(2), row.intValue(3)));
+        }
+
+        //Assert
+        Assertions.assertThat(result).containsExactly(
+                List.of(LocalDate.of(12023, 3, 6), LocalTime.of(9, 30, 15, 500_000_000), 0.1, -42));
+    }
+
+    @Test
+    public void testParseAll_whenInvalidDate_thenReportFileAndLineNumber() throws Exception {
+        //Arrange
+        Path file = write("2023-01-10\n2023-02-30\n");
+
+        //Act && assert
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            Assertions.assertThatThrownBy(() -> reader.parseAll(row -> row.date(0)))
+                    .isInstanceOf(InputFileException.class)
+                    .hasMessage(String.format(MappedCsvReader.INVALID_LINE_MSG,
+                            file.getFileName(), 2, Validator.INVALID_DATE_MSG));
+        }
+    }
+
+    @Test
+    public void testParse_whenRowInvalid_thenReportLineNumber() throws Exception {
+        //Arrange
+        Path file = write("Ecography,Cardiology,150,30\n\nRadiography,Radiology,abc,30\n");
+
+        //Act && assert
+        try (MappedCsvReader reader = MappedCsvReader.open(file)) {
+            Assertions.assertThatThrownBy(() -> reader.parseAll(SeedRecordParser::parseInvestigation))
+                    .isInstanceOf(InputFileException.class)
+                    .hasMessageStartingWith("Internal error - " + file.getFileName() + " line 3:");
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("input.csv"), content, StandardCharsets.UTF_8);
+    }
+}
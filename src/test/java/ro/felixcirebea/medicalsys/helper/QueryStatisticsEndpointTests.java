@@ -0,0 +1,87 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.service.DoctorService;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+
+import java.util.List;
+import java.util.Map;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-statistics;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.region_prefix=query-statistics",
+        "medicalsys.jdbc.slow-query-threshold-ms=0"
+})
+public class QueryStatisticsEndpointTests extends IntegrationTestBase {
+
+    private static final String NAME = "StatisticsTest";
+
+    @Autowired
+    private QueryStatisticsEndpoint queryStatisticsEndpoint;
+
+    @Autowired
+    private SlowQueryListener slowQueryListener;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setUp() {
+        doctorId = doctorRepository.findByNameAndIsActive(NAME, true)
+                .orElseGet(() -> doctorRepository.save(DoctorUtil.createDoctorEntity(NAME)))
+                .getId();
+        queryStatisticsEndpoint.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQueryStatistics_whenServiceQueries_thenReportedWithCaller() throws DataNotFoundException {
+        //Arrange
+        doctorService.getDoctorById(doctorId);
+
+        //Act
+        Map<String, Object> result = queryStatisticsEndpoint.queryStatistics();
+
+        //Assert
+        Map<String, Object> hibernateMap = (Map<String, Object>) result.get("hibernate");
+        Assertions.assertThat((List<Map<String, Object>>) hibernateMap.get("queries"))
+                .isNotEmpty()
+                .allSatisfy(queryMap -> Assertions.assertThat(queryMap)
+                        .containsKeys("executions", "total-ms", "max-ms", "rows"));
+        Assertions.assertThat(hibernateMap).containsKeys("entities", "second-level-cache");
+
+        Assertions.assertThat(slowQueryListener.getRecentSlowQueries())
+                .extracting(SlowQueryListener.SlowQuery::caller)
+                .contains("DoctorService.getDoctorById");
+        Assertions.assertThat(slowQueryListener.getStatementStatistics()).isNotEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReset_whenCalled_thenStatisticsCleared() throws DataNotFoundException {
+        //Arrange
+        doctorService.getDoctorById(doctorId);
+
+        //Act
+        queryStatisticsEndpoint.reset();
+
+        //Assert
+        Map<String, Object> hibernateMap =
+                (Map<String, Object>) queryStatisticsEndpoint.queryStatistics().get("hibernate");
+        Assertions.assertThat((List<Map<String, Object>>) hibernateMap.get("queries")).isEmpty();
+        Assertions.assertThat(slowQueryListener.getRecentSlowQueries()).isEmpty();
+    }
+}
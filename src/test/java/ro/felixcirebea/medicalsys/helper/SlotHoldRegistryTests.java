@@ -0,0 +1,134 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+
+import java.time.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SlotHoldRegistryTests {
+
+    private static final Long DOCTOR_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+    private static final LocalTime START_HOUR = LocalTime.of(9, 0);
+    private static final LocalTime END_HOUR = LocalTime.of(9, 30);
+
+    private MutableClock clock;
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MutableClock(Instant.parse("2023-01-05T10:00:00Z"));
+        slotHoldRegistry = new SlotHoldRegistry(clock);
+    }
+
+    @Test
+    public void testHold_whenActive_thenSlotIsHeld() {
+        //Act
+        SlotHoldRegistry.SlotHold slotHold = hold(Duration.ofMinutes(5));
+
+        //Assert
+        Assertions.assertThat(slotHoldRegistry.isHeld(DOCTOR_ID, DATE, LocalTime.of(9, 15), LocalTime.of(9, 45)))
+                .isTrue();
+        Assertions.assertThat(slotHoldRegistry.isHeld(DOCTOR_ID, DATE, END_HOUR, LocalTime.of(10, 0)))
+                .isFalse();
+        Assertions.assertThat(slotHoldRegistry.find(slotHold.getToken())).contains(slotHold);
+    }
+
+    @Test
+    public void testHold_whenTtlElapsed_thenReclaimHold() {
+        //Arrange
+        SlotHoldRegistry.SlotHold shortHold = hold(Duration.ofSeconds(30));
+        SlotHoldRegistry.SlotHold longHold = slotHoldRegistry.hold(DOCTOR_ID, DATE, LocalTime.of(10, 0),
+                LocalTime.of(10, 30), AppointmentUtil.createAppointmentDto(DATE, LocalTime.of(10, 0)),
+                Duration.ofMinutes(5));
+
+        //Act
+        clock.advance(Duration.ofSeconds(30));
+
+        //Assert
+        Assertions.assertThat(slotHoldRegistry.find(shortHold.getToken())).isEmpty();
+        Assertions.assertThat(slotHoldRegistry.isHeld(DOCTOR_ID, DATE, START_HOUR, END_HOUR)).isFalse();
+        Assertions.assertThat(slotHoldRegistry.getActiveHolds(DOCTOR_ID, DATE)).containsExactly(longHold);
+        Assertions.assertThat(slotHoldRegistry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRemove_whenHoldExists_thenReleaseSlot() {
+        //Arrange
+        SlotHoldRegistry.SlotHold slotHold = hold(Duration.ofMinutes(5));
+
+        //Act
+        boolean removed = slotHoldRegistry.remove(slotHold.getToken());
+        clock.advance(Duration.ofMinutes(10));
+
+        //Assert
+        Assertions.assertThat(removed).isTrue();
+        Assertions.assertThat(slotHoldRegistry.remove(slotHold.getToken())).isFalse();
+        Assertions.assertThat(slotHoldRegistry.isHeld(DOCTOR_ID, DATE, START_HOUR, END_HOUR)).isFalse();
+        Assertions.assertThat(slotHoldRegistry.size()).isZero();
+    }
+
+    @Test
+    public void testHold_whenSameDayDetachedConcurrently_thenHoldStaysVisible() throws Exception {
+        //Arrange
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<Void> churn = CompletableFuture.runAsync(() -> {
+            while (running.get()) {
+                SlotHoldRegistry.SlotHold other = slotHoldRegistry.hold(DOCTOR_ID, DATE, LocalTime.of(10, 0),
+                        LocalTime.of(10, 30), AppointmentUtil.createAppointmentDto(DATE, LocalTime.of(10, 0)),
+                        Duration.ofMinutes(5));
+                slotHoldRegistry.remove(other.getToken());
+            }
+        });
+
+        //Act && assert
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                SlotHoldRegistry.SlotHold slotHold = hold(Duration.ofMinutes(5));
+                Assertions.assertThat(slotHoldRegistry.getActiveHolds(DOCTOR_ID, DATE)).contains(slotHold);
+                slotHoldRegistry.remove(slotHold.getToken());
+            }
+        } finally {
+            running.set(false);
+            churn.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private SlotHoldRegistry.SlotHold hold(Duration ttl) {
+        return slotHoldRegistry.hold(DOCTOR_ID, DATE, START_HOUR, END_HOUR,
+                AppointmentUtil.createAppointmentDto(DATE, START_HOUR), ttl);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlotOccupancyIndexTests {
+
+    private static final Long DOCTOR_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+    private static final LocalTime START_HOUR = LocalTime.of(8, 0);
+    private static final LocalTime END_HOUR = LocalTime.of(12, 0);
+    private static final int MAX_DAYS = 2;
+
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @BeforeEach
+    public void setUp() {
+        slotOccupancyIndex = new SlotOccupancyIndex(MAX_DAYS);
+    }
+
+    @Test
+    public void testFindFreeSlots_whenNoAppointments_thenReturnAllSlots() {
+        //Act
+        List<LocalTime> returnValue = slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of)
+                .findFreeSlots(START_HOUR, END_HOUR, 60, 30);
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(7);
+        Assertions.assertThat(returnValue.get(0)).isEqualTo(START_HOUR);
+        Assertions.assertThat(returnValue.get(6)).isEqualTo(LocalTime.of(11, 0));
+    }
+
+    @Test
+    public void testFindFreeSlots_whenAppointmentsExist_thenSkipOverlappingSlots() {
+        //Arrange
+        AppointmentEntity appointment1 = AppointmentUtil.createAppointmentEntity(
+                1L, DATE, LocalTime.of(8, 30), LocalTime.of(9, 0));
+        AppointmentEntity appointment2 = AppointmentUtil.createAppointmentEntity(
+                2L, DATE, LocalTime.of(10, 15), LocalTime.of(10, 45));
+
+        //Act
+        List<LocalTime> returnValue = slotOccupancyIndex
+                .getOccupancy(DOCTOR_ID, DATE, () -> List.of(appointment1, appointment2))
+                .findFreeSlots(START_HOUR, END_HOUR, 30, 30);
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactly(
+                LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(9, 30),
+                LocalTime.of(11, 0), LocalTime.of(11, 30));
+    }
+
+    @Test
+    public void testGetOccupancy_whenAppointmentCanceled_thenSlotIsFree() {
+        //Arrange
+        AppointmentEntity appointment = AppointmentUtil.createAppointmentEntity(
+                1L, DATE, LocalTime.of(8, 0), LocalTime.of(12, 0));
+        appointment.setStatus(AppointmentStatus.CANCELED);
+
+        //Act
+        SlotOccupancyIndex.DayOccupancy occupancy =
+                slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> List.of(appointment));
+
+        //Assert
+        Assertions.assertThat(occupancy.isFree(LocalTime.of(8, 0), LocalTime.of(12, 0))).isTrue();
+    }
+
+    @Test
+    public void testGetOccupancy_whenCalledTwice_thenLoadOnce() {
+        //Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        //Act
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        //Assert
+        Assertions.assertThat(loads.get()).isEqualTo(1);
+        Assertions.assertThat(slotOccupancyIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetOccupancy_whenOverCapacity_thenEvictLeastRecentlyUsedDay() {
+        //Arrange
+        AtomicInteger loads = new AtomicInteger();
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE.plusDays(1), List::of);
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+
+        //Act
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE.plusDays(2), List::of);
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        //Assert
+        Assertions.assertThat(loads.get()).isZero();
+        Assertions.assertThat(slotOccupancyIndex.size()).isEqualTo(MAX_DAYS);
+        Assertions.assertThat(slotOccupancyIndex.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetOccupancy_whenBookedDuringLoad_thenDoNotCacheStaleDay() {
+        //Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        //Act
+        SlotOccupancyIndex.DayOccupancy stale = slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> {
+            loads.incrementAndGet();
+            slotOccupancyIndex.markOccupied(DOCTOR_ID, DATE, START_HOUR, END_HOUR);
+            return List.of();
+        });
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        //Assert
+        Assertions.assertThat(stale.isFree(START_HOUR, END_HOUR)).isTrue();
+        Assertions.assertThat(loads.get()).isEqualTo(2);
+        Assertions.assertThat(slotOccupancyIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMarkOccupiedAndRelease_whenDayLoaded_thenUpdateSnapshot() {
+        //Arrange
+        LocalTime start = LocalTime.of(9, 0);
+        LocalTime end = LocalTime.of(10, 30);
+        SlotOccupancyIndex.DayOccupancy before = slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+
+        //Act
+        slotOccupancyIndex.markOccupied(DOCTOR_ID, DATE, start, end);
+        SlotOccupancyIndex.DayOccupancy booked = slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+        slotOccupancyIndex.release(DOCTOR_ID, DATE, start, end);
+        SlotOccupancyIndex.DayOccupancy released = slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+
+        //Assert
+        Assertions.assertThat(before.isFree(start, end)).isTrue();
+        Assertions.assertThat(booked.isFree(start, end)).isFalse();
+        Assertions.assertThat(booked.isFree(LocalTime.of(8, 30), LocalTime.of(9, 0))).isTrue();
+        Assertions.assertThat(booked.isFree(LocalTime.of(10, 0), LocalTime.of(11, 0))).isFalse();
+        Assertions.assertThat(released.isFree(start, end)).isTrue();
+    }
+
+    @Test
+    public void testMarkOccupied_whenDayNotLoaded_thenDoNothing() {
+        //Act
+        slotOccupancyIndex.markOccupied(DOCTOR_ID, DATE, START_HOUR, END_HOUR);
+
+        //Assert
+        Assertions.assertThat(slotOccupancyIndex.size()).isZero();
+    }
+
+    @Test
+    public void testEvictDoctor_whenDaysLoaded_thenRemoveOnlyThatDoctor() {
+        //Arrange
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE.plusDays(1), List::of);
+        slotOccupancyIndex.getOccupancy(2L, DATE, List::of);
+
+        //Act
+        slotOccupancyIndex.evictDoctor(DOCTOR_ID);
+
+        //Assert
+        Assertions.assertThat(slotOccupancyIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOnAppointmentsChanged_whenAllDates_thenEvictDoctor() {
+        //Arrange
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE, List::of);
+        slotOccupancyIndex.getOccupancy(DOCTOR_ID, DATE.plusDays(1), List::of);
+
+        //Act
+        slotOccupancyIndex.onAppointmentsChanged(new AppointmentsChangedEvent(DOCTOR_ID, DATE));
+        int afterSingleDay = slotOccupancyIndex.size();
+        slotOccupancyIndex.onAppointmentsChanged(AppointmentsChangedEvent.allDates(DOCTOR_ID));
+
+        //Assert
+        Assertions.assertThat(afterSingleDay).isEqualTo(2);
+        Assertions.assertThat(slotOccupancyIndex.size()).isZero();
+    }
+
+    @Test
+    public void testIsRangeClear_whenRangeSpansWords_thenCheckEveryWord() {
+        //Arrange
+        long[] words = new long[23];
+        SlotOccupancyIndex.setRange(words, 200, 201, true);
+
+        //Assert
+        Assertions.assertThat(SlotOccupancyIndex.isRangeClear(words, 0, 200)).isTrue();
+        Assertions.assertThat(SlotOccupancyIndex.isRangeClear(words, 201, 1440)).isTrue();
+        Assertions.assertThat(SlotOccupancyIndex.isRangeClear(words, 10, 300)).isFalse();
+        Assertions.assertThat(SlotOccupancyIndex.isRangeClear(words, 200, 201)).isFalse();
+    }
+}
@@ -0,0 +1,107 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+public class SlowQueryListenerTests {
+
+    private static final long THRESHOLD_MILLIS = 100;
+    private static final String SQL = "select d.id from doctors d where d.name=?";
+    private static final String OTHER_SQL = "select s.id from specialties s";
+    private static final String NAME = "TestName";
+
+    private SlowQueryListener slowQueryListener;
+
+    @BeforeEach
+    public void setUp() {
+        slowQueryListener = new SlowQueryListener(THRESHOLD_MILLIS, false);
+    }
+
+    @Test
+    public void testAfterQuery_whenFast_thenAggregatedButNotSlow() throws NoSuchMethodException {
+        //Act
+        slowQueryListener.afterQuery(execution(10), List.of(query(SQL)));
+        slowQueryListener.afterQuery(execution(30), List.of(query(SQL)));
+
+        //Assert
+        Assertions.assertThat(slowQueryListener.getStatementStatistics())
+                .containsExactly(new SlowQueryListener.StatementStatistics(SQL, 2, 40, 30));
+        Assertions.assertThat(slowQueryListener.getSlowQueries()).isZero();
+        Assertions.assertThat(slowQueryListener.getRecentSlowQueries()).isEmpty();
+    }
+
+    @Test
+    public void testAfterQuery_whenOverThreshold_thenRecordedWithParameterTypes() throws NoSuchMethodException {
+        //Act
+        slowQueryListener.afterQuery(execution(THRESHOLD_MILLIS), List.of(query(SQL)));
+
+        //Assert
+        Assertions.assertThat(slowQueryListener.getSlowQueries()).isEqualTo(1);
+        Assertions.assertThat(slowQueryListener.getRecentSlowQueries()).containsExactly(
+                new SlowQueryListener.SlowQuery(SQL, "[1=<String>]",
+                        SlowQueryListener.UNKNOWN_CALLER, THRESHOLD_MILLIS));
+    }
+
+    @Test
+    public void testAfterQuery_whenBindValuesEnabled_thenRecordedWithParameterValues() throws NoSuchMethodException {
+        //Arrange
+        SlowQueryListener valueLoggingListener = new SlowQueryListener(THRESHOLD_MILLIS, true);
+
+        //Act
+        valueLoggingListener.afterQuery(execution(THRESHOLD_MILLIS), List.of(query(SQL)));
+
+        //Assert
+        Assertions.assertThat(valueLoggingListener.getRecentSlowQueries()).containsExactly(
+                new SlowQueryListener.SlowQuery(SQL, "[1=" + NAME + "]",
+                        SlowQueryListener.UNKNOWN_CALLER, THRESHOLD_MILLIS));
+    }
+
+    @Test
+    public void testGetStatementStatistics_whenSeveralStatements_thenSortedByTotalTime() throws NoSuchMethodException {
+        //Arrange
+        slowQueryListener.afterQuery(execution(5), List.of(query(SQL)));
+        slowQueryListener.afterQuery(execution(50), List.of(query(OTHER_SQL)));
+
+        //Act
+        List<SlowQueryListener.StatementStatistics> result = slowQueryListener.getStatementStatistics();
+
+        //Assert
+        Assertions.assertThat(result).extracting(SlowQueryListener.StatementStatistics::sql)
+                .containsExactly(OTHER_SQL, SQL);
+    }
+
+    @Test
+    public void testReset_whenCalled_thenCountersCleared() throws NoSuchMethodException {
+        //Arrange
+        slowQueryListener.afterQuery(execution(THRESHOLD_MILLIS), List.of(query(SQL)));
+
+        //Act
+        slowQueryListener.reset();
+
+        //Assert
+        Assertions.assertThat(slowQueryListener.getStatementStatistics()).isEmpty();
+        Assertions.assertThat(slowQueryListener.getRecentSlowQueries()).isEmpty();
+        Assertions.assertThat(slowQueryListener.getSlowQueries()).isZero();
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMillis);
+        return executionInfo;
+    }
+
+    private static QueryInfo query(String sql) throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        queryInfo.getParametersList().add(List.of(new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setString", int.class, String.class),
+                new Object[]{1, NAME})));
+        return queryInfo;
+    }
+}
@@ -0,0 +1,109 @@
+package ro.felixcirebea.medicalsys.helper;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.felixcirebea.medicalsys.entity.VacationEntity;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
+import ro.felixcirebea.medicalsys.repository.VacationRepository;
+import ro.felixcirebea.medicalsys.util.VacationUtil;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VacationIndexTests {
+
+    private static final Long DOCTOR_ID = 1L;
+
+    @Mock
+    private VacationRepository vacationRepository;
+
+    @InjectMocks
+    private VacationIndex vacationIndex;
+
+    @Test
+    public void testIsOnVacation_whenDateOnEdges_thenReturnTrue() {
+        //Arrange
+        when(vacationRepository.findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(VacationUtil.createVacationEntity(1L)));
+
+        //Act && assert
+        Assertions.assertThat(vacationIndex.isOnVacation(DOCTOR_ID, LocalDate.of(2022, 12, 31))).isFalse();
+        Assertions.assertThat(vacationIndex.isOnVacation(DOCTOR_ID, LocalDate.of(2023, 1, 1))).isTrue();
+        Assertions.assertThat(vacationIndex.isOnVacation(DOCTOR_ID, LocalDate.of(2023, 1, 7))).isTrue();
+        Assertions.assertThat(vacationIndex.isOnVacation(DOCTOR_ID, LocalDate.of(2023, 1, 8))).isFalse();
+
+        //Verify
+        verify(vacationRepository, times(1))
+                .findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES);
+    }
+
+    @Test
+    public void testGetVacationDaysBetween_whenVacationsOverlapRange_thenReturnDaysInsideRange() {
+        //Arrange
+        when(vacationRepository.findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(VacationUtil.createVacationEntity(1L),
+                        createVacation(LocalDate.of(2023, 2, 1), LocalDate.of(2023, 2, 3))));
+
+        //Act
+        Set<LocalDate> returnValue = vacationIndex.getVacationDaysBetween(
+                DOCTOR_ID, LocalDate.of(2023, 1, 6), LocalDate.of(2023, 2, 1));
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactlyInAnyOrder(
+                LocalDate.of(2023, 1, 6), LocalDate.of(2023, 1, 7), LocalDate.of(2023, 2, 1));
+        Assertions.assertThat(vacationIndex.hasVacationBetween(
+                DOCTOR_ID, LocalDate.of(2023, 1, 8), LocalDate.of(2023, 1, 31))).isFalse();
+    }
+
+    @Test
+    public void testRefresh_whenVacationCanceled_thenDateIsFree() {
+        //Arrange
+        LocalDate date = LocalDate.of(2023, 1, 3);
+        when(vacationRepository.findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(VacationUtil.createVacationEntity(1L)))
+                .thenReturn(List.of());
+
+        //Act
+        boolean before = vacationIndex.isOnVacation(DOCTOR_ID, date);
+        vacationIndex.refresh(DOCTOR_ID);
+        boolean after = vacationIndex.isOnVacation(DOCTOR_ID, date);
+
+        //Assert
+        Assertions.assertThat(before).isTrue();
+        Assertions.assertThat(after).isFalse();
+    }
+
+    @Test
+    public void testOnDoctorScheduleChanged_whenAllDates_thenReloadOnNextLookup() {
+        //Arrange
+        LocalDate date = LocalDate.of(2023, 1, 3);
+        when(vacationRepository.findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of());
+
+        //Act
+        vacationIndex.isOnVacation(DOCTOR_ID, date);
+        vacationIndex.onDoctorScheduleChanged(new DoctorScheduleChangedEvent(DOCTOR_ID, date, date));
+        vacationIndex.isOnVacation(DOCTOR_ID, date);
+        vacationIndex.onDoctorScheduleChanged(DoctorScheduleChangedEvent.allDates(DOCTOR_ID));
+        vacationIndex.isOnVacation(DOCTOR_ID, date);
+
+        //Verify
+        verify(vacationRepository, times(2))
+                .findAllByDoctorIdAndStatusIn(DOCTOR_ID, VacationIndex.ACTIVE_STATUSES);
+    }
+
+    private static VacationEntity createVacation(LocalDate startDate, LocalDate endDate) {
+        VacationEntity vacationEntity = new VacationEntity();
+        vacationEntity.setStartDate(startDate);
+        vacationEntity.setEndDate(endDate);
+        return vacationEntity;
+    }
+}
@@ -2,6 +2,8 @@ package ro.felixcirebea.medicalsys.helper;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
@@ -106,6 +108,65 @@ public class ValidatorTests {
                 .hasMessage("The given argument is not valid enum element");
     }
 
+    @Test
+    public void testImportEntityValidator_whenPathSegment_thenReturnImportEntity() throws DataMismatchException {
+        //Arrange
+        String input = "working-hours";
+
+        //Act
+        ImportEntity returnValue = Validator.importEntityValidator(input);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(ImportEntity.WORKING_HOURS);
+    }
+
+    @Test
+    public void testImportEntityValidator_whenInputInvalid_thenThrowException() {
+        //Arrange
+        String input = "doctors";
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> Validator.importEntityValidator(input))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage("The given argument is not valid enum element");
+    }
+
+    @Test
+    public void testAppointmentStatusValidator_whenInputValid_thenReturnAppointmentStatus()
+            throws DataMismatchException {
+        //Arrange
+        String input = "CANCELED";
+
+        //Act
+        AppointmentStatus returnValue = Validator.appointmentStatusValidator(input);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(AppointmentStatus.CANCELED);
+    }
+
+    @Test
+    public void testAppointmentStatusValidator_whenInputInvalid_thenThrowException() {
+        //Arrange
+        String input = "canceled";
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> Validator.appointmentStatusValidator(input))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage("The given argument is not valid enum element");
+    }
+
+    @Test
+    public void testDateRangeValidator_whenStartAfterEnd_thenThrowException() {
+        //Arrange
+        LocalDate startDate = LocalDate.of(2023, 2, 1);
+        LocalDate endDate = LocalDate.of(2023, 1, 1);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> Validator.dateRangeValidator(startDate, endDate))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage("The given start date must not be after the end date");
+    }
+
     @Test
     public void testDateValidator_whenInputValid_thenReturnLocalDate() throws DataMismatchException {
         //Arrange
@@ -153,4 +214,29 @@ public class ValidatorTests {
                 .isInstanceOf(DataMismatchException.class)
                 .hasMessage("The given id is not a number");
     }
+
+    @Test
+    public void testLimitValidator_whenInputNull_thenReturnDefault() throws DataMismatchException {
+        //Act
+        Integer returnValue = Validator.limitValidator(null, 10, 100);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(10);
+    }
+
+    @Test
+    public void testLimitValidator_whenInputAboveMax_thenThrowException() {
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> Validator.limitValidator(101, 10, 100))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage("The given limit must be between 1 and 100");
+    }
+
+    @Test
+    public void testHoldSecondsValidator_whenInputBelowMin_thenThrowException() {
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> Validator.holdSecondsValidator(0, 300, 900))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage("The given hold time must be between 1 and 900 seconds");
+    }
 }
@@ -0,0 +1,124 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.BookingLockEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BookingLockRepositoryTests extends IntegrationTestBase {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+    private static final int LOCK_TIMEOUT_MILLIS = 100;
+
+    @Autowired
+    private BookingLockRepository bookingLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long doctorId;
+
+    @BeforeEach
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        doctorId = SEQUENCE.incrementAndGet();
+        bookingLockRepository.save(new BookingLockEntity(doctorId, DATE));
+    }
+
+    @Test
+    public void testLockByDoctorIdAndLockDate_whenRowHeld_thenThrowPessimisticLockingFailure() throws Exception {
+        //Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdRow(release);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                        bookingLockRepository.lockByDoctorIdAndLockDate(doctorId, DATE, LOCK_TIMEOUT_MILLIS)))
+                .isInstanceOf(PessimisticLockingFailureException.class);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testLockByDoctorIdAndLockDate_whenLocked_thenRestorePreviousSessionTimeout() {
+        //Act
+        Number timeoutAfterLock = transactionTemplate.execute(status -> {
+            entityManager.createNativeQuery("SET LOCK_TIMEOUT 1234").executeUpdate();
+            bookingLockRepository.lockByDoctorIdAndLockDate(doctorId, DATE, LOCK_TIMEOUT_MILLIS);
+            Number timeout = (Number) entityManager.createNativeQuery("SELECT LOCK_TIMEOUT()").getSingleResult();
+            entityManager.createNativeQuery("SET LOCK_TIMEOUT 2000").executeUpdate();
+            return timeout;
+        });
+
+        //Assert
+        Assertions.assertThat(timeoutAfterLock.longValue()).isEqualTo(1234L);
+    }
+
+    @Test
+    public void testRunExclusively_whenRowHeldByOtherInstance_thenThrowConcurrencyException() throws Exception {
+        //Arrange
+        BookingGuard bookingGuard = new BookingGuard(bookingLockRepository, transactionManager, 16, LOCK_TIMEOUT_MILLIS);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdRow(release);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingGuard.runExclusively(doctorId, DATE, () -> 1L))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(BookingGuard.LOCK_TIMEOUT_MSG, doctorId, DATE));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(bookingGuard.getTimeouts()).isEqualTo(1);
+        Assertions.assertThat(bookingGuard.runExclusively(doctorId, DATE, () -> 2L)).isEqualTo(2L);
+    }
+
+    @Test
+    public void testDeleteAllByLockDateBefore_whenPastRowsExist_thenKeepCurrentDayRows() {
+        //Arrange
+        bookingLockRepository.save(new BookingLockEntity(doctorId, DATE.minusDays(1)));
+
+        //Act
+        int returnValue = bookingLockRepository.deleteAllByLockDateBefore(DATE);
+
+        //Assert
+        Assertions.assertThat(returnValue).isGreaterThanOrEqualTo(1);
+        Assertions.assertThat(bookingLockRepository.existsByDoctorIdAndLockDate(doctorId, DATE.minusDays(1))).isFalse();
+        Assertions.assertThat(bookingLockRepository.existsByDoctorIdAndLockDate(doctorId, DATE)).isTrue();
+    }
+
+    private CompletableFuture<Void> holdRow(CountDownLatch release) throws InterruptedException {
+        CountDownLatch holding = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    bookingLockRepository.lockByDoctorIdAndLockDate(doctorId, DATE, 1000);
+                    holding.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        Assertions.assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+}
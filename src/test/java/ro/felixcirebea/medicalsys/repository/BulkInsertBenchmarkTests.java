@@ -0,0 +1,137 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-insert;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.region_prefix=bulk-insert",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Tag("benchmark")
+@Slf4j
+public class BulkInsertBenchmarkTests {
+
+    private static final int APPOINTMENT_ROWS = 5000;
+    private static final int WORKING_HOURS_ROWS = 2100;
+    private static final int BATCH_SIZE = 50;
+    private static final String LOG_RATE_MSG = "Inserted %s %s in %s ms (%s rows/sec, %s statements)";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<DoctorEntity> doctors;
+
+    private InvestigationEntity investigation;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        doctors = new ArrayList<>();
+        for (int i = 0; i < WORKING_HOURS_ROWS / DayOfWeek.values().length; i++) {
+            DoctorEntity doctorEntity = new DoctorEntity();
+            doctorEntity.setName("BulkDoctor" + System.nanoTime() + i);
+            doctorEntity.setPriceRate(1.0);
+            doctors.add(doctorEntity);
+        }
+        doctors = (List<DoctorEntity>) doctorRepository.saveAll(doctors);
+
+        investigation = new InvestigationEntity();
+        investigation.setName("BulkInvestigation" + System.nanoTime());
+        investigation.setDuration(30);
+        investigation.setBasePrice(100.0);
+        investigation = investigationRepository.save(investigation);
+    }
+
+    @Test
+    public void testSaveAllAppointments_whenBulkInsert_thenBatchStatements() {
+        //Arrange
+        List<AppointmentEntity> appointments = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENT_ROWS; i++) {
+            AppointmentEntity appointmentEntity = new AppointmentEntity();
+            appointmentEntity.setClientName("BulkClient" + i);
+            appointmentEntity.setDoctor(doctors.get(i % doctors.size()));
+            appointmentEntity.setInvestigation(investigation);
+            appointmentEntity.setDate(LocalDate.of(2023, 1, 2).plusDays(i / 16));
+            appointmentEntity.setStartTime(LocalTime.of(8, 0).plusMinutes(30L * (i % 16)));
+            appointmentEntity.setEndTime(appointmentEntity.getStartTime().plusMinutes(30));
+            appointmentEntity.setPrice(101.0);
+            appointments.add(appointmentEntity);
+        }
+
+        //Act
+        long statements = measure("appointments", APPOINTMENT_ROWS,
+                () -> appointmentRepository.saveAll(appointments));
+
+        //Assert
+        Assertions.assertThat(statements).isLessThanOrEqualTo(2L * APPOINTMENT_ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    public void testSaveAllWorkingHours_whenBulkInsert_thenBatchStatements() {
+        //Arrange
+        List<WorkingHoursEntity> workingHours = new ArrayList<>();
+        for (DoctorEntity doctorEntity : doctors) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                WorkingHoursEntity workingHoursEntity = new WorkingHoursEntity();
+                workingHoursEntity.setDoctor(doctorEntity);
+                workingHoursEntity.setDayOfWeek(dayOfWeek);
+                workingHoursEntity.setStartHour(LocalTime.of(8, 0));
+                workingHoursEntity.setEndHour(LocalTime.of(16, 0));
+                workingHours.add(workingHoursEntity);
+            }
+        }
+
+        //Act
+        long statements = measure("working hours", WORKING_HOURS_ROWS,
+                () -> workingHoursRepository.saveAll(workingHours));
+
+        //Assert
+        Assertions.assertThat(statements).isLessThanOrEqualTo(2L * WORKING_HOURS_ROWS / BATCH_SIZE + 2);
+    }
+
+    private long measure(String label, int rows, Supplier<?> insert) {
+        statistics.clear();
+        long start = System.nanoTime();
+        insert.get();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long statements = statistics.getPrepareStatementCount();
+        log.info(String.format(LOG_RATE_MSG, rows, label, elapsedMillis,
+                rows * 1000L / elapsedMillis, statements));
+        return statements;
+    }
+}
@@ -0,0 +1,103 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkInsertTests extends IntegrationTestBase {
+
+    private static final int DOCTOR_ROWS = 10;
+    private static final int APPOINTMENT_ROWS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<DoctorEntity> doctors;
+
+    private InvestigationEntity investigation;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTOR_ROWS; i++) {
+            doctors.add(DoctorUtil.createDoctorEntity("BatchDoctor" + System.nanoTime() + i));
+        }
+        doctors = (List<DoctorEntity>) doctorRepository.saveAll(doctors);
+        investigation = investigationRepository.save(
+                InvestigationUtil.createInvestigationEntity("BatchInvestigation" + System.nanoTime()));
+    }
+
+    @Test
+    public void testSaveAllAppointments_whenBulkInsert_thenBatchStatements() {
+        //Arrange
+        List<AppointmentEntity> appointments = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENT_ROWS; i++) {
+            appointments.add(AppointmentUtil.createAppointmentEntity(doctors.get(i % doctors.size()),
+                    investigation, LocalDate.of(2023, 1, 2).plusDays(i / 16),
+                    LocalTime.of(8, 0).plusMinutes(30L * (i % 16)), AppointmentStatus.NEW));
+        }
+        statistics.clear();
+
+        //Act
+        appointmentRepository.saveAll(appointments);
+
+        //Assert
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(2L * APPOINTMENT_ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    public void testSaveAllWorkingHours_whenBulkInsert_thenBatchStatements() {
+        //Arrange
+        List<WorkingHoursEntity> workingHours = new ArrayList<>();
+        for (DoctorEntity doctorEntity : doctors) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                workingHours.add(WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, dayOfWeek));
+            }
+        }
+        statistics.clear();
+
+        //Act
+        workingHoursRepository.saveAll(workingHours);
+
+        //Assert
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+                .isLessThanOrEqualTo(2L * workingHours.size() / BATCH_SIZE + 2);
+    }
+}
@@ -0,0 +1,252 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.enums.VacationType;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.region_prefix=query-plan",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ro.felixcirebea.medicalsys.repository.QueryPlanTests$CapturingInspector"
+})
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class QueryPlanTests {
+
+    private static final String FULL_SCAN = ".tableScan";
+    private static final LocalDate DATE = LocalDate.of(2023, 1, 10);
+    private static final String NAME = "TestName";
+    private static final String MISSING_NAME = "MissingName";
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Autowired
+    private BookingLockRepository bookingLockRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private VacationRepository vacationRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private DoctorEntity doctor;
+
+    @BeforeEach
+    public void setUp() {
+        SpecialtyEntity specialty = new SpecialtyEntity();
+        specialty.setName(NAME);
+        specialty = testEntityManager.persistAndFlush(specialty);
+
+        doctor = new DoctorEntity();
+        doctor.setName(NAME);
+        doctor.setSpecialty(specialty);
+        doctor.setPriceRate(10.0);
+        doctor = testEntityManager.persistAndFlush(doctor);
+    }
+
+    @Test
+    public void testAppointmentRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> appointmentRepository.findAllByDoctorAndDate(doctor, DATE));
+        assertNoFullScan(() -> appointmentRepository.findAllByDoctorAndDateBetween(doctor, DATE, DATE));
+        assertNoFullScan(() -> appointmentRepository.findAllByDoctorInAndDateIn(List.of(doctor), Set.of(DATE)));
+        assertNoFullScan(() -> appointmentRepository.existsByDoctorDateAndTimeRange(
+                doctor, DATE, LocalTime.of(9, 0), LocalTime.of(9, 30)));
+        assertNoFullScan(() -> appointmentRepository.findByIdAndClientNameAndStatus(
+                1L, NAME, AppointmentStatus.NEW));
+        assertNoFullScan(() -> appointmentRepository.cancelAllNewByDoctorIdInAndDateFrom(
+                List.of(doctor.getId()), DATE));
+        assertNoFullScan(() -> appointmentRepository.findIdsByDateBefore(DATE, PageRequest.ofSize(10)));
+        assertNoFullScan(() -> appointmentRepository.deleteAllByIdIn(List.of(1L)));
+        assertNoFullScan(() -> {
+            try (Stream<?> rows = appointmentRepository.streamForExport(DATE, DATE, null, null)) {
+                rows.count();
+            }
+        });
+    }
+
+    @Test
+    public void testAppointmentArchiveRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> appointmentArchiveRepository.findById(1L));
+        assertNoFullScan(() -> {
+            try (Stream<?> rows = appointmentArchiveRepository.streamForExport(DATE, DATE, null, null)) {
+                rows.count();
+            }
+        });
+    }
+
+    @Test
+    public void testBookingLockRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> bookingLockRepository.existsByDoctorIdAndLockDate(doctor.getId(), DATE));
+        assertNoFullScan(() -> bookingLockRepository.lockByDoctorIdAndLockDate(doctor.getId(), DATE, 1000));
+    }
+
+    @Test
+    public void testDoctorRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> doctorRepository.findByNameAndIsActive(MISSING_NAME, true));
+        assertNoFullScan(() -> doctorRepository.findWithWorkingHoursByNameAndIsActive(MISSING_NAME, true));
+        assertNoFullScan(() -> doctorRepository.findByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> doctorRepository.findAllByNameInAndIsActive(List.of(NAME), true));
+        assertNoFullScan(() -> doctorRepository.findDtoByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> doctorRepository.findAllDtoBySpecialtyAndIsActive(doctor.getSpecialty(), true));
+        assertNoFullScan(() -> doctorRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                true, 0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+        assertNoFullScan(() -> doctorRepository.findAllIdsBySpecialtyAndIsActive(doctor.getSpecialty(), true));
+        assertNoFullScan(() -> doctorRepository.deactivateAllBySpecialty(doctor.getSpecialty()));
+    }
+
+    @Test
+    public void testHolidayRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> holidayRepository.findByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> holidayRepository.findByDescriptionAndIsActive(NAME, true));
+        assertNoFullScan(() -> holidayRepository.findAllByIsActive(true));
+        assertNoFullScan(() -> holidayRepository.findDtoByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> holidayRepository.findDtoByDescriptionAndIsActive(NAME, true));
+        assertNoFullScan(() -> holidayRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                true, 0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+    }
+
+    @Test
+    public void testInvestigationRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> investigationRepository.findByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> investigationRepository.findByNameAndIsActive(NAME, true));
+        assertNoFullScan(() -> investigationRepository.findDtoByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> investigationRepository.findAllDtoBySpecialtyAndIsActive(
+                doctor.getSpecialty(), true));
+        assertNoFullScan(() -> investigationRepository.findAllDtoByDurationAndIsActive(30, true));
+        assertNoFullScan(() -> investigationRepository.findAllByNameInAndIsActive(List.of(NAME), true));
+        assertNoFullScan(() -> investigationRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                true, 0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+        assertNoFullScan(() -> investigationRepository.deactivateAllBySpecialty(doctor.getSpecialty()));
+    }
+
+    @Test
+    public void testSpecialtyRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> specialtyRepository.findByNameAndIsActive(MISSING_NAME, true));
+        assertNoFullScan(() -> specialtyRepository.findByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> specialtyRepository.findAllByIsActive(true));
+        assertNoFullScan(() -> specialtyRepository.findNameByIdAndIsActive(1L, true));
+        assertNoFullScan(() -> specialtyRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                true, 0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+    }
+
+    @Test
+    public void testVacationRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctor(doctor));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctorAndStartDateAfter(doctor, DATE));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctorAndEndDateBefore(doctor, DATE));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctorAndStartDateAfterAndEndDateBefore(
+                doctor, DATE, DATE));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctorAndType(doctor, VacationType.VACATION));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByType(VacationType.VACATION));
+        assertNoFullScan(() -> vacationRepository.findByDoctorAndStartDate(doctor, DATE));
+        assertNoFullScan(() -> vacationRepository.findAllDtoByDoctorAndStatus(doctor, VacationStatus.PLANNED));
+        assertNoFullScan(() -> vacationRepository.findAllByDoctorIdAndStatusIn(
+                doctor.getId(), EnumSet.of(VacationStatus.PLANNED, VacationStatus.IN_PROGRESS)));
+        assertNoFullScan(() -> vacationRepository.existsByDoctorAndDateBetweenDates(doctor, DATE, DATE));
+        assertNoFullScan(() -> vacationRepository.cancelAllByDoctorIdInAndStatusIn(
+                List.of(doctor.getId()), EnumSet.of(VacationStatus.PLANNED, VacationStatus.IN_PROGRESS)));
+    }
+
+    @Test
+    public void testWorkingHoursRepository_whenQueried_thenNoFullScan() throws SQLException {
+        assertNoFullScan(() -> workingHoursRepository.existsByDoctorAndDayOfWeek(doctor, DayOfWeek.MONDAY));
+        assertNoFullScan(() -> workingHoursRepository.findByDoctorAndDayOfWeek(doctor, DayOfWeek.MONDAY));
+        assertNoFullScan(() -> workingHoursRepository.findProjectionByDoctorAndDayOfWeek(doctor, DayOfWeek.MONDAY));
+        assertNoFullScan(() -> workingHoursRepository.findProjectionByDoctor(doctor));
+        assertNoFullScan(() -> workingHoursRepository.findProjectionByDayOfWeekAndIdGreaterThan(
+                DayOfWeek.MONDAY, 0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+        assertNoFullScan(() -> workingHoursRepository.findProjectionByIdGreaterThan(
+                0L, KeysetPagination.firstRows(KeysetPagination.DEFAULT_PAGE_SIZE)));
+        assertNoFullScan(() -> workingHoursRepository.deleteAllByDoctorIdIn(List.of(doctor.getId())));
+    }
+
+    private void assertNoFullScan(Runnable repositoryCall) throws SQLException {
+        CapturingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        List<String> statements = new ArrayList<>(CapturingInspector.STATEMENTS);
+        Assertions.assertThat(statements).isNotEmpty();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (String statement : statements) {
+                String plan = explain(connection, statement);
+                Assertions.assertThat(plan)
+                        .as("Full scan in plan for: %s", statement)
+                        .doesNotContain(FULL_SCAN);
+            }
+        }
+    }
+
+    private String explain(Connection connection, String statement) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement)) {
+            for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") || sql.startsWith("update") || sql.startsWith("delete")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
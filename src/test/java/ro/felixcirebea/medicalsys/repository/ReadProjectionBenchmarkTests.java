@@ -0,0 +1,155 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.converter.DoctorConverter;
+import ro.felixcirebea.medicalsys.dto.DoctorDto;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-projection;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.cache.region_prefix=read-projection",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Tag("benchmark")
+@Slf4j
+public class ReadProjectionBenchmarkTests {
+
+    private static final int DOCTOR_ROWS = 2000;
+    private static final int PAGE_SIZE = KeysetPagination.MAX_PAGE_SIZE;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String ENTITY_PAGE_QUERY =
+            "SELECT d FROM doctors d WHERE d.isActive = true AND d.id > :id ORDER BY d.id";
+    private static final String LOG_RESULT_MSG =
+            "Read %s doctors via %s path in %s ms (%s KB allocated, %s entities loaded)";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private DoctorConverter doctorConverter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (doctorRepository.count() >= DOCTOR_ROWS) {
+            return;
+        }
+
+        SpecialtyEntity specialtyEntity = new SpecialtyEntity();
+        specialtyEntity.setName("ProjectionSpecialty");
+        specialtyEntity = specialtyRepository.save(specialtyEntity);
+
+        List<DoctorEntity> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTOR_ROWS; i++) {
+            DoctorEntity doctorEntity = new DoctorEntity();
+            doctorEntity.setName("ProjectionDoctor" + i);
+            doctorEntity.setSpecialty(specialtyEntity);
+            doctorEntity.setPriceRate(1.0);
+            doctors.add(doctorEntity);
+        }
+        doctorRepository.saveAll(doctors);
+    }
+
+    @Test
+    public void testReadAllDoctors_whenProjected_thenAllocateLessAndLoadNoEntities() {
+        //Arrange
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Function<Long, List<DoctorDto>> entityPage = cursor -> entityManager
+                .createQuery(ENTITY_PAGE_QUERY, DoctorEntity.class)
+                .setParameter("id", cursor)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(doctorConverter::fromEntityToDto)
+                .toList();
+        Function<Long, List<DoctorDto>> projectionPage = cursor -> doctorRepository
+                .findAllDtoByIsActiveAndIdGreaterThan(true, cursor, KeysetPagination.firstRows(PAGE_SIZE - 1));
+
+        //Act
+        Measurement entityPath = measure("entity", readWrite, entityPage);
+        Measurement projectionPath = measure("projection", readOnly, projectionPage);
+
+        //Assert
+        Assertions.assertThat(entityPath.rows()).isEqualTo(projectionPath.rows());
+        Assertions.assertThat(entityPath.entitiesLoaded()).isPositive();
+        Assertions.assertThat(projectionPath.entitiesLoaded()).isZero();
+        Assertions.assertThat(projectionPath.allocatedBytes()).isLessThan(entityPath.allocatedBytes());
+    }
+
+    private Measurement measure(String label, TransactionTemplate transaction,
+                                Function<Long, List<DoctorDto>> page) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            transaction.execute(status -> readAll(page));
+        }
+
+        statistics.clear();
+        long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long rows = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rows = transaction.execute(status -> readAll(page));
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long allocatedBytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        long entitiesLoaded = statistics.getEntityLoadCount();
+
+        log.info(String.format(LOG_RESULT_MSG, rows * MEASURED_ROUNDS, label, elapsedMillis,
+                allocatedBytes / 1024, entitiesLoaded));
+        return new Measurement(rows, allocatedBytes, entitiesLoaded);
+    }
+
+    private long readAll(Function<Long, List<DoctorDto>> page) {
+        long rows = 0;
+        Long cursor = KeysetPagination.startAfter(null);
+        List<DoctorDto> doctors = page.apply(cursor);
+        while (!doctors.isEmpty()) {
+            rows += doctors.size();
+            cursor = doctors.get(doctors.size() - 1).getId();
+            doctors = page.apply(cursor);
+        }
+        return rows;
+    }
+
+    private record Measurement(long rows, long allocatedBytes, long entitiesLoaded) {
+    }
+}
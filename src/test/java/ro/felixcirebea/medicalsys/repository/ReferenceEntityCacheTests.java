@@ -0,0 +1,137 @@
+package ro.felixcirebea.medicalsys.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReferenceEntityCacheTests extends IntegrationTestBase {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String doctorName;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        doctorName = "CacheDoctor" + SEQUENCE.incrementAndGet();
+
+        DoctorEntity doctorEntity = doctorRepository.save(DoctorUtil.createDoctorEntity(doctorName));
+        workingHoursRepository.saveAll(List.of(
+                WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.MONDAY),
+                WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.TUESDAY)));
+    }
+
+    @Test
+    public void testFindByNameAndIsActive_whenLookedUpTwice_thenSecondLookupSkipsDatabase() {
+        //Arrange
+        doctorRepository.findByNameAndIsActive(doctorName, true);
+        statistics.clear();
+
+        //Act
+        Optional<DoctorEntity> returnValue = doctorRepository.findByNameAndIsActive(doctorName, true);
+
+        //Assert
+        Assertions.assertThat(returnValue).isPresent();
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    public void testFindWithWorkingHoursByNameAndIsActive_whenCold_thenLoadDoctorAndWorkingHours() {
+        //Arrange
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        //Act
+        Optional<DoctorEntity> returnValue =
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true);
+
+        //Assert
+        Assertions.assertThat(returnValue).isPresent();
+        Assertions.assertThat(returnValue.get().getWorkingHours()).hasSize(2);
+        //doctor, working hours
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFindWithWorkingHoursByNameAndIsActive_whenWarm_thenCollectionServedFromCache() {
+        //Arrange
+        doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true);
+        statistics.clear();
+
+        //Act
+        Optional<DoctorEntity> returnValue =
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true);
+
+        //Assert
+        Assertions.assertThat(returnValue).isPresent();
+        Assertions.assertThat(returnValue.get().getWorkingHours()).hasSize(2);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testFindWithWorkingHoursByNameAndIsActive_whenWorkingHoursAdded_thenCollectionRefreshed() {
+        //Arrange
+        DoctorEntity doctorEntity =
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true).orElseThrow();
+        workingHoursRepository.save(WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.FRIDAY));
+
+        //Act
+        Optional<DoctorEntity> returnValue =
+                doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, true);
+
+        //Assert
+        Assertions.assertThat(returnValue).isPresent();
+        Assertions.assertThat(returnValue.get().getWorkingHours()).hasSize(3);
+    }
+
+    @Test
+    public void testFindByNameAndIsActive_whenDoctorRenamed_thenResolveNewName() {
+        //Arrange
+        DoctorEntity doctorEntity = doctorRepository.findByNameAndIsActive(doctorName, true).orElseThrow();
+        String newName = doctorName + "Renamed";
+        doctorEntity.setName(newName);
+        doctorRepository.save(doctorEntity);
+
+        //Act && assert
+        Assertions.assertThat(doctorRepository.findByNameAndIsActive(doctorName, true)).isEmpty();
+        Assertions.assertThat(doctorRepository.findByNameAndIsActive(newName, true)).isPresent();
+    }
+
+    @Test
+    public void testFindByNameAndIsActive_whenDoctorDeactivated_thenReturnEmpty() {
+        //Arrange
+        DoctorEntity doctorEntity = doctorRepository.findByNameAndIsActive(doctorName, true).orElseThrow();
+        doctorEntity.setIsActive(false);
+        doctorRepository.save(doctorEntity);
+
+        //Act && assert
+        Assertions.assertThat(doctorRepository.findByNameAndIsActive(doctorName, true)).isEmpty();
+        Assertions.assertThat(doctorRepository.findByNameAndIsActive(doctorName, false)).isPresent();
+    }
+}
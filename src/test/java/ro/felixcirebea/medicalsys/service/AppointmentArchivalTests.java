@@ -0,0 +1,118 @@
+package ro.felixcirebea.medicalsys.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AppointmentArchivalTests extends IntegrationTestBase {
+
+    private static final String NAME = "ArchiveTest";
+    private static final int OLD_ROWS = 5;
+    private static final LocalDate OLD_DATE = LocalDate.of(2022, 6, 1);
+    private static final LocalDate RECENT_DATE = LocalDate.of(2022, 12, 20);
+
+    @Autowired
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentExportService appointmentExportService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    private List<AppointmentEntity> oldAppointments;
+
+    private AppointmentEntity recentAppointment;
+
+    @BeforeEach
+    public void setUp() {
+        resetDatabase();
+        DoctorEntity doctorEntity = doctorRepository.save(DoctorUtil.createDoctorEntity(NAME));
+        InvestigationEntity investigationEntity =
+                investigationRepository.save(InvestigationUtil.createInvestigationEntity(NAME));
+
+        oldAppointments = new ArrayList<>();
+        for (int i = 0; i < OLD_ROWS; i++) {
+            oldAppointments.add(createAppointment(doctorEntity, investigationEntity, OLD_DATE.plusDays(i)));
+        }
+        oldAppointments = (List<AppointmentEntity>) appointmentRepository.saveAll(oldAppointments);
+        recentAppointment = appointmentRepository.save(
+                createAppointment(doctorEntity, investigationEntity, RECENT_DATE));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        resetDatabase();
+    }
+
+    @Test
+    public void testArchivePastAppointments_whenOlderThanHorizon_thenMovedAndStillReadable()
+            throws DataNotFoundException, IOException {
+        //Arrange
+        Long archivedId = oldAppointments.get(0).getId();
+        long chunksBefore = appointmentArchiveService.getChunks();
+
+        //Act
+        long moved = appointmentArchiveService.archivePastAppointments();
+
+        //Assert
+        Assertions.assertThat(moved).isEqualTo(OLD_ROWS);
+        Assertions.assertThat(appointmentArchiveService.getChunks() - chunksBefore).isEqualTo(3);
+        Assertions.assertThat(appointmentRepository.findById(archivedId)).isEmpty();
+        Assertions.assertThat(appointmentRepository.findById(recentAppointment.getId())).isPresent();
+        Assertions.assertThat(appointmentArchiveRepository.count()).isEqualTo(OLD_ROWS);
+
+        AppointmentDto archived = appointmentService.getAppointmentById(archivedId);
+        Assertions.assertThat(archived.getDate()).isEqualTo(OLD_DATE);
+        Assertions.assertThat(archived.getDoctor()).isEqualTo(NAME);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long exported = appointmentExportService.exportAppointments(
+                OLD_DATE, RECENT_DATE, NAME, AppointmentStatus.COMPLETED, outputStream);
+        Assertions.assertThat(exported).isEqualTo(OLD_ROWS + 1);
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8).split("\n")).hasSize(OLD_ROWS + 1);
+    }
+
+    private AppointmentEntity createAppointment(DoctorEntity doctorEntity,
+                                                InvestigationEntity investigationEntity,
+                                                LocalDate date) {
+        return AppointmentUtil.createAppointmentEntity(doctorEntity, investigationEntity,
+                date, LocalTime.of(9, 0), AppointmentStatus.COMPLETED);
+    }
+}
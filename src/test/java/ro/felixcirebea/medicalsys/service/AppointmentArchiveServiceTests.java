@@ -0,0 +1,136 @@
+package ro.felixcirebea.medicalsys.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.BookingLockRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AppointmentArchiveServiceTests {
+
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2023, 3, 1);
+    private static final LocalDate CUTOFF = CURRENT_DATE.minusDays(30);
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Mock
+    private BookingLockRepository bookingLockRepository;
+
+    @Mock
+    private Contributor infoContributor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentArchiveService appointmentArchiveService;
+
+    @BeforeEach
+    public void setUp() {
+        appointmentArchiveService = new AppointmentArchiveService(appointmentRepository,
+                appointmentArchiveRepository, bookingLockRepository, infoContributor, transactionManager, 30, CHUNK_SIZE);
+    }
+
+    @Test
+    public void testArchivePastAppointments_whenRowsSpanChunks_thenMoveChunkByChunk() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(appointmentRepository.findIdsByDateBefore(CUTOFF, PageRequest.ofSize(CHUNK_SIZE)))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(appointmentRepository.deleteAllByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(appointmentRepository.deleteAllByIdIn(List.of(3L))).thenReturn(1);
+
+        //Act
+        long returnValue = appointmentArchiveService.archivePastAppointments();
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(3);
+        Assertions.assertThat(appointmentArchiveService.getRowsMoved()).isEqualTo(3);
+        Assertions.assertThat(appointmentArchiveService.getChunks()).isEqualTo(2);
+
+        //Verify
+        verify(appointmentArchiveRepository).copyFromAppointments(List.of(1L, 2L));
+        verify(appointmentArchiveRepository).copyFromAppointments(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void testArchivePastAppointments_whenNothingOldEnough_thenMoveNothing() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(appointmentRepository.findIdsByDateBefore(CUTOFF, PageRequest.ofSize(CHUNK_SIZE)))
+                .thenReturn(List.of());
+
+        //Act
+        long returnValue = appointmentArchiveService.archivePastAppointments();
+
+        //Assert
+        Assertions.assertThat(returnValue).isZero();
+        Assertions.assertThat(appointmentArchiveService.getChunks()).isZero();
+
+        //Verify
+        verifyNoInteractions(appointmentArchiveRepository);
+        verify(appointmentRepository, never()).deleteAllByIdIn(any());
+    }
+
+    @Test
+    public void testArchivePastAppointments_whenRun_thenPurgeLockRowsOfPastDays() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(appointmentRepository.findIdsByDateBefore(CUTOFF, PageRequest.ofSize(CHUNK_SIZE)))
+                .thenReturn(List.of());
+        when(bookingLockRepository.deleteAllByLockDateBefore(CURRENT_DATE)).thenReturn(4);
+
+        //Act
+        appointmentArchiveService.archivePastAppointments();
+
+        //Assert
+        Assertions.assertThat(appointmentArchiveService.getLockRowsPurged()).isEqualTo(4);
+
+        //Verify
+        verify(bookingLockRepository).deleteAllByLockDateBefore(CURRENT_DATE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContribute_whenArchived_thenExposeJobMetrics() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(appointmentRepository.findIdsByDateBefore(CUTOFF, PageRequest.ofSize(CHUNK_SIZE)))
+                .thenReturn(List.of(1L));
+        when(appointmentRepository.deleteAllByIdIn(List.of(1L))).thenReturn(1);
+        appointmentArchiveService.archivePastAppointments();
+        Info.Builder builder = new Info.Builder();
+
+        //Act
+        appointmentArchiveService.contribute(builder);
+
+        //Assert
+        Map<String, Object> archiveMap = (Map<String, Object>) builder.build().get("appointment-archive");
+        Assertions.assertThat(archiveMap.get("rows-moved")).isEqualTo("1");
+        Assertions.assertThat(archiveMap.get("chunks")).isEqualTo("1");
+        Assertions.assertThat(archiveMap.get("lock-rows-purged")).isEqualTo("0");
+        Assertions.assertThat(archiveMap.get("runs")).isEqualTo("1");
+        Assertions.assertThat(archiveMap.get("last-cutoff")).isEqualTo(CUTOFF.toString());
+        Assertions.assertThat(archiveMap).containsKeys("last-chunk-ms", "average-chunk-ms", "max-chunk-ms");
+    }
+}
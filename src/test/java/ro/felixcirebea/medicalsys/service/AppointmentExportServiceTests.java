@@ -0,0 +1,146 @@
+package ro.felixcirebea.medicalsys.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AppointmentExportServiceTests {
+
+    private static final LocalDate START_DATE = LocalDate.of(2023, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2023, 1, 31);
+    private static final String DOCTOR = "TestDoctor";
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Spy
+    private AppointmentConverter appointmentConverter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private EntityManager entityManager;
+
+    private AppointmentExportService appointmentExportService;
+
+    @BeforeEach
+    public void setUp() {
+        appointmentExportService = new AppointmentExportService(
+                appointmentRepository, appointmentArchiveRepository, appointmentConverter,
+                objectMapper, entityManager, CHUNK_SIZE);
+    }
+
+    @Test
+    public void testExportAppointments_whenAppointmentsExist_thenWriteOneJsonLinePerAppointment()
+            throws IOException {
+        //Arrange
+        AtomicBoolean streamClosed = new AtomicBoolean(false);
+        when(appointmentArchiveRepository.streamForExport(START_DATE, END_DATE, DOCTOR, AppointmentStatus.NEW))
+                .thenReturn(Stream.empty());
+        when(appointmentRepository.streamForExport(START_DATE, END_DATE, DOCTOR, AppointmentStatus.NEW))
+                .thenReturn(Stream.of(
+                        createAppointment(1L, LocalTime.of(9, 0)),
+                        createAppointment(2L, LocalTime.of(10, 0)),
+                        createAppointment(3L, LocalTime.of(11, 0)))
+                        .onClose(() -> streamClosed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //Act
+        long returnValue = appointmentExportService.exportAppointments(
+                START_DATE, END_DATE, DOCTOR, AppointmentStatus.NEW, outputStream);
+
+        //Assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(returnValue).isEqualTo(3);
+        Assertions.assertThat(lines).hasSize(3);
+        Assertions.assertThat(lines[0]).contains("\"id\":1", "\"status\":\"NEW\"", "\"startHour\":\"09:00:00\"");
+        Assertions.assertThat(lines[2]).contains("\"id\":3");
+        Assertions.assertThat(streamClosed).isTrue();
+
+        //Verify
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void testExportAppointments_whenNoAppointments_thenWriteNothing() throws IOException {
+        //Arrange
+        when(appointmentArchiveRepository.streamForExport(START_DATE, END_DATE, null, null))
+                .thenReturn(Stream.empty());
+        when(appointmentRepository.streamForExport(START_DATE, END_DATE, null, null))
+                .thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //Act
+        long returnValue = appointmentExportService.exportAppointments(
+                START_DATE, END_DATE, null, null, outputStream);
+
+        //Assert
+        Assertions.assertThat(returnValue).isZero();
+        Assertions.assertThat(outputStream.size()).isZero();
+
+        //Verify
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    public void testExportAppointments_whenSomeArchived_thenWriteArchivedFirst() throws IOException {
+        //Arrange
+        AtomicBoolean archiveClosed = new AtomicBoolean(false);
+        when(appointmentArchiveRepository.streamForExport(START_DATE, END_DATE, null, null))
+                .thenReturn(Stream.of(AppointmentUtil.createAppointmentArchiveEntity(
+                                1L, START_DATE, LocalTime.of(9, 0)))
+                        .onClose(() -> archiveClosed.set(true)));
+        when(appointmentRepository.streamForExport(START_DATE, END_DATE, null, null))
+                .thenReturn(Stream.of(createAppointment(2L, LocalTime.of(10, 0))));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //Act
+        long returnValue = appointmentExportService.exportAppointments(
+                START_DATE, END_DATE, null, null, outputStream);
+
+        //Assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(returnValue).isEqualTo(2);
+        Assertions.assertThat(lines[0]).contains("\"id\":1", "\"status\":\"COMPLETED\"");
+        Assertions.assertThat(lines[1]).contains("\"id\":2", "\"status\":\"NEW\"");
+        Assertions.assertThat(archiveClosed).isTrue();
+
+        //Verify
+        verify(entityManager, times(1)).clear();
+    }
+
+    private AppointmentEntity createAppointment(Long id, LocalTime startTime) {
+        return AppointmentUtil.createAppointmentEntity(
+                id, START_DATE, startTime, startTime.plusMinutes(30));
+    }
+}
@@ -0,0 +1,90 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursRepository;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class AppointmentServiceStatementCountTests extends IntegrationTestBase {
+
+    private static final String DOCTOR_NAME = "CountDoctor";
+    private static final String INVESTIGATION_NAME = "CountInvestigation";
+    private static final LocalDate FIRST_MONDAY = LocalDate.of(2023, 1, 9);
+    private static final LocalDate SECOND_MONDAY = LocalDate.of(2023, 1, 16);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        resetDatabase();
+        DoctorEntity doctorEntity = doctorRepository.save(DoctorUtil.createDoctorEntity(DOCTOR_NAME));
+        investigationRepository.save(InvestigationUtil.createInvestigationEntity(INVESTIGATION_NAME));
+
+        workingHoursRepository.saveAll(List.of(
+                WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.MONDAY),
+                WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.TUESDAY)));
+    }
+
+    @Test
+    public void testGetAvailableHours_whenCalled_thenStayWithinStatementBudget()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        entityManagerFactory.getCache().evictAll();
+
+        //Act
+        statistics.clear();
+        List<LocalTime> coldValue =
+                appointmentService.getAvailableHours(DOCTOR_NAME, INVESTIGATION_NAME, FIRST_MONDAY);
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        appointmentService.getAvailableHours(DOCTOR_NAME, INVESTIGATION_NAME, SECOND_MONDAY);
+        long warmStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        appointmentService.getAvailableHours(DOCTOR_NAME, INVESTIGATION_NAME, SECOND_MONDAY);
+        long cachedStatements = statistics.getPrepareStatementCount();
+
+        //Assert
+        Assertions.assertThat(coldValue).hasSize(8);
+        //doctor, working hours, investigation, vacations, appointments; the holiday index is loaded on reset
+        Assertions.assertThat(coldStatements).isEqualTo(5);
+        //appointments
+        Assertions.assertThat(warmStatements).isEqualTo(1);
+        Assertions.assertThat(cachedStatements).isZero();
+    }
+}
@@ -5,25 +5,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
 import ro.felixcirebea.medicalsys.entity.*;
 import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.event.AppointmentsChangedEvent;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
 import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
 import ro.felixcirebea.medicalsys.helper.*;
 import ro.felixcirebea.medicalsys.util.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,9 +57,30 @@ public class AppointmentServiceTests {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
     @Mock
     private AppointmentConverter appointmentConverter;
 
+    @Spy
+    private SlotOccupancyIndex slotOccupancyIndex = new SlotOccupancyIndex(100);
+
+    @Mock
+    private BookingGuard bookingGuard;
+
+    @Spy
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Spy
+    private AvailableHoursCache availableHoursCache = new AvailableHoursCache(100);
+
+    @Mock
+    private VacationIndex vacationIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -68,16 +102,13 @@ public class AppointmentServiceTests {
         WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
         doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
 
-        VacationEntity vacationEntity = VacationUtil.createVacationEntity(id);
-        doctorEntity.setVacation(List.of(vacationEntity));
-
         AppointmentEntity appointmentEntity1 = AppointmentUtil.createAppointmentEntity(
                 1L, desiredDate, LocalTime.of(8, 30), LocalTime.of(9, 0));
         AppointmentEntity appointmentEntity2 = AppointmentUtil.createAppointmentEntity(
                 1L, desiredDate, LocalTime.of(9, 30), LocalTime.of(10, 30));
 
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.of(investigationEntity));
@@ -99,12 +130,92 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
         verify(holidayService).isDateHoliday(desiredDate);
         verify(appointmentRepository).findAllByDoctorAndDate(doctorEntity, desiredDate);
     }
 
+    @Test
+    public void testGetAvailableHours_whenCalledTwice_thenLoadAppointmentsOnce()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        final Long id = 1L;
+        final boolean isActive = true;
+        final String doctorName = "TestDoctor";
+        final String investigationName = "TestInvestigation";
+        final LocalDate desiredDate = LocalDate.of(2023, 1, 10);
+        final LocalDate currentDate = LocalDate.of(2023, 1, 5);
+
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
+
+        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
+        doctorEntity.setWorkingHours(List.of(workingHoursEntity));
+
+        AppointmentEntity appointmentEntity = AppointmentUtil.createAppointmentEntity(
+                1L, desiredDate, LocalTime.of(8, 0), LocalTime.of(11, 0));
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
+                .thenReturn(Optional.of(investigationEntity));
+        when(holidayService.isDateHoliday(desiredDate)).thenReturn(false);
+        when(appointmentRepository.findAllByDoctorAndDate(doctorEntity, desiredDate))
+                .thenReturn(List.of(appointmentEntity));
+
+        //Act
+        appointmentService.getAvailableHours(doctorName, investigationName, desiredDate);
+        slotOccupancyIndex.markOccupied(id, desiredDate, LocalTime.of(11, 0), LocalTime.of(11, 30));
+        availableHoursCache.onAppointmentsChanged(new AppointmentsChangedEvent(id, desiredDate));
+        List<LocalTime> returnValue = appointmentService.getAvailableHours(doctorName, investigationName, desiredDate);
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactly(LocalTime.of(11, 30));
+
+        //Verify
+        verify(appointmentRepository, times(1)).findAllByDoctorAndDate(doctorEntity, desiredDate);
+    }
+
+    @Test
+    public void testGetAvailableHours_whenSlotHeld_thenExcludeHeldSlot()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        final Long id = 1L;
+        final boolean isActive = true;
+        final String doctorName = "TestDoctor";
+        final String investigationName = "TestInvestigation";
+        final LocalDate desiredDate = LocalDate.of(2023, 1, 10);
+        final LocalDate currentDate = LocalDate.of(2023, 1, 5);
+
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
+
+        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
+        doctorEntity.setWorkingHours(List.of(workingHoursEntity));
+
+        AppointmentEntity appointmentEntity = AppointmentUtil.createAppointmentEntity(
+                1L, desiredDate, LocalTime.of(8, 0), LocalTime.of(11, 0));
+        slotHoldRegistry.hold(id, desiredDate, LocalTime.of(11, 0), LocalTime.of(11, 30),
+                AppointmentUtil.createAppointmentDto(desiredDate, LocalTime.of(11, 0)), Duration.ofMinutes(5));
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
+                .thenReturn(Optional.of(investigationEntity));
+        when(holidayService.isDateHoliday(desiredDate)).thenReturn(false);
+        when(appointmentRepository.findAllByDoctorAndDate(doctorEntity, desiredDate))
+                .thenReturn(List.of(appointmentEntity));
+
+        //Act
+        List<LocalTime> returnValue = appointmentService.getAvailableHours(doctorName, investigationName, desiredDate);
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactly(LocalTime.of(11, 30));
+    }
+
     @Test
     public void testGetAvailableHours_whenFullyBooked_thenReturnEmptyList()
             throws DataNotFoundException, ConcurrencyException {
@@ -123,14 +234,11 @@ public class AppointmentServiceTests {
         WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
         doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
 
-        VacationEntity vacationEntity = VacationUtil.createVacationEntity(id);
-        doctorEntity.setVacation(List.of(vacationEntity));
-
         AppointmentEntity appointmentEntity1 = AppointmentUtil.createAppointmentEntity(
                 1L, desiredDate, LocalTime.of(8, 0), LocalTime.of(12, 0));
 
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.of(investigationEntity));
@@ -146,7 +254,7 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
         verify(holidayService).isDateHoliday(desiredDate);
         verify(appointmentRepository).findAllByDoctorAndDate(doctorEntity, desiredDate);
@@ -170,15 +278,13 @@ public class AppointmentServiceTests {
         WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
         doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
 
-        VacationEntity vacationEntity = VacationUtil.createVacationEntity(id);
-        doctorEntity.setVacation(List.of(vacationEntity));
-
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.of(investigationEntity));
         when(holidayService.isDateHoliday(desiredDate)).thenReturn(false);
+        when(vacationIndex.isOnVacation(id, desiredDate)).thenReturn(true);
 
         //Act
         List<LocalTime> returnValue = appointmentService.getAvailableHours(doctorName, investigationName, desiredDate);
@@ -188,9 +294,10 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
         verify(holidayService).isDateHoliday(desiredDate);
+        verify(vacationIndex).isOnVacation(id, desiredDate);
     }
 
     @Test
@@ -211,11 +318,8 @@ public class AppointmentServiceTests {
         WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
         doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
 
-        VacationEntity vacationEntity = VacationUtil.createVacationEntity(id);
-        doctorEntity.setVacation(List.of(vacationEntity));
-
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.of(investigationEntity));
@@ -229,7 +333,7 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
         verify(holidayService).isDateHoliday(desiredDate);
     }
@@ -252,7 +356,7 @@ public class AppointmentServiceTests {
         doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
 
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.of(investigationEntity));
@@ -265,7 +369,7 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
     }
 
@@ -282,7 +386,7 @@ public class AppointmentServiceTests {
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
 
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
                 .thenReturn(Optional.empty());
@@ -295,7 +399,7 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
         verify(investigationRepository).findByNameAndIsActive(investigationName, isActive);
     }
 
@@ -309,7 +413,7 @@ public class AppointmentServiceTests {
         final LocalDate currentDate = LocalDate.of(2023, 1, 5);
 
         when(infoContributor.getCurrentDate()).thenReturn(currentDate);
-        when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.empty());
 
         //Act && assert
@@ -320,7 +424,7 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(infoContributor).getCurrentDate();
-        verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(doctorRepository).findWithWorkingHoursByNameAndIsActive(doctorName, isActive);
     }
 
     @Test
@@ -343,6 +447,114 @@ public class AppointmentServiceTests {
         verify(infoContributor).getCurrentDate();
     }
 
+    @Test
+    public void testGetNextAvailableSlots_whenAllValid_thenSkipClosedDaysAndReturnLimit()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        final Long id = 1L;
+        final boolean isActive = true;
+        final String doctorName = "TestDoctor";
+        final String investigationName = "TestInvestigation";
+        final LocalDate currentDate = LocalDate.of(2023, 1, 5);
+        final LocalDate startDate = LocalDate.of(2023, 1, 9);
+        final LocalDate endDate = startDate.plusDays(AppointmentService.MAX_SEARCH_DAYS - 1);
+
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
+
+        WorkingHoursEntity workingHoursEntity1 = WorkingHoursUtil.createWorkingHoursEntity(1L, 1);
+        WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
+        doctorEntity.setWorkingHours(List.of(workingHoursEntity1, workingHoursEntity2));
+
+        AppointmentEntity appointmentEntity = AppointmentUtil.createAppointmentEntity(
+                1L, LocalDate.of(2023, 1, 16), LocalTime.of(8, 0), LocalTime.of(11, 0));
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
+                .thenReturn(Optional.of(investigationEntity));
+        when(holidayService.getHolidayDatesBetween(startDate, endDate))
+                .thenReturn(Set.of(LocalDate.of(2023, 1, 9), LocalDate.of(2023, 1, 10)));
+        when(appointmentRepository.findAllByDoctorAndDateBetween(doctorEntity, startDate, endDate))
+                .thenReturn(List.of(appointmentEntity));
+
+        //Act
+        List<AvailableSlotDto> returnValue =
+                appointmentService.getNextAvailableSlots(doctorName, investigationName, startDate, 3);
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(3);
+        Assertions.assertThat(returnValue.get(0).getDate()).isEqualTo(LocalDate.of(2023, 1, 16));
+        Assertions.assertThat(returnValue.get(0).getStartHour()).isEqualTo(LocalTime.of(11, 0));
+        Assertions.assertThat(returnValue.get(1).getDate()).isEqualTo(LocalDate.of(2023, 1, 16));
+        Assertions.assertThat(returnValue.get(1).getStartHour()).isEqualTo(LocalTime.of(11, 30));
+        Assertions.assertThat(returnValue.get(2).getDate()).isEqualTo(LocalDate.of(2023, 1, 17));
+        Assertions.assertThat(returnValue.get(2).getStartHour()).isEqualTo(LocalTime.of(8, 0));
+        Assertions.assertThat(returnValue.get(0).getDoctor()).isEqualTo(doctorName);
+
+        //Verify
+        verify(holidayService).getHolidayDatesBetween(startDate, endDate);
+        verify(appointmentRepository).findAllByDoctorAndDateBetween(doctorEntity, startDate, endDate);
+    }
+
+    @Test
+    public void testGetNextAvailableSlots_whenVacationPlanned_thenSkipVacationDays()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        final Long id = 1L;
+        final boolean isActive = true;
+        final String doctorName = "TestDoctor";
+        final String investigationName = "TestInvestigation";
+        final LocalDate currentDate = LocalDate.of(2023, 1, 1);
+        final LocalDate startDate = LocalDate.of(2023, 1, 2);
+        final LocalDate endDate = startDate.plusDays(AppointmentService.MAX_SEARCH_DAYS - 1);
+
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
+
+        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(1L, 1);
+        doctorEntity.setWorkingHours(List.of(workingHoursEntity));
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(doctorRepository.findWithWorkingHoursByNameAndIsActive(doctorName, isActive))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(investigationName, isActive))
+                .thenReturn(Optional.of(investigationEntity));
+        when(holidayService.getHolidayDatesBetween(startDate, endDate)).thenReturn(Set.of());
+        when(vacationIndex.getVacationDaysBetween(id, startDate, endDate))
+                .thenReturn(startDate.datesUntil(LocalDate.of(2023, 1, 8)).collect(Collectors.toSet()));
+        when(appointmentRepository.findAllByDoctorAndDateBetween(doctorEntity, startDate, endDate))
+                .thenReturn(List.of());
+
+        //Act
+        List<AvailableSlotDto> returnValue =
+                appointmentService.getNextAvailableSlots(doctorName, investigationName, startDate, 1);
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(1);
+        Assertions.assertThat(returnValue.get(0).getDate()).isEqualTo(LocalDate.of(2023, 1, 9));
+        Assertions.assertThat(returnValue.get(0).getStartHour()).isEqualTo(LocalTime.of(8, 0));
+    }
+
+    @Test
+    public void testGetNextAvailableSlots_whenDateIsBeforeCurrentDate_thenThrowException() {
+        //Arrange
+        final LocalDate startDate = LocalDate.of(2023, 1, 4);
+        final LocalDate currentDate = LocalDate.of(2023, 1, 5);
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() ->
+                        appointmentService.getNextAvailableSlots("TestDoctor", "TestInvestigation", startDate, 5))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage("Can't create appointments for dates in the past");
+
+        //Verify
+        verify(infoContributor).getCurrentDate();
+    }
+
     @Test
     public void testBookAppointment_whenAllValid_thenReturnLong() throws DataNotFoundException, ConcurrencyException {
         //Arrange
@@ -366,6 +578,8 @@ public class AppointmentServiceTests {
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), isActive))
                 .thenReturn(Optional.of(investigationEntity));
+        when(bookingGuard.runExclusively(eq(doctorEntity.getId()), eq(appointmentDto.getDate()), any()))
+                .thenAnswer(invocation -> invocation.<BookingGuard.BookingAction<Long>>getArgument(2).execute());
         when(appointmentRepository.existsByDoctorDateAndTimeRange(
                 doctorEntity, appointmentDto.getDate(), startHour, endHour))
                 .thenReturn(false);
@@ -384,14 +598,17 @@ public class AppointmentServiceTests {
         verify(infoContributor).getCurrentDate();
         verify(doctorRepository).findByNameAndIsActive(appointmentDto.getDoctor(), isActive);
         verify(investigationRepository).findByNameAndIsActive(appointmentDto.getInvestigation(), isActive);
+        verify(bookingGuard).runExclusively(eq(doctorEntity.getId()), eq(appointmentDto.getDate()), any());
         verify(appointmentRepository).existsByDoctorDateAndTimeRange(
                 doctorEntity, appointmentDto.getDate(), startHour, endHour);
         verify(appointmentConverter).fromDtoToEntity(appointmentDto, doctorEntity, investigationEntity);
         verify(appointmentRepository).save(appointmentEntity);
+        verify(eventPublisher).publishEvent(new AppointmentsChangedEvent(id, desiredDate));
     }
 
     @Test
-    public void testBookAppointment_whenHourNotAvailable_thenThrowException() {
+    public void testBookAppointment_whenHourNotAvailable_thenThrowException()
+            throws DataNotFoundException, ConcurrencyException {
         //Arrange
         final Long id = 1L;
         final boolean isActive = true;
@@ -411,6 +628,8 @@ public class AppointmentServiceTests {
                 .thenReturn(Optional.of(doctorEntity));
         when(investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), isActive))
                 .thenReturn(Optional.of(investigationEntity));
+        when(bookingGuard.runExclusively(eq(doctorEntity.getId()), eq(appointmentDto.getDate()), any()))
+                .thenAnswer(invocation -> invocation.<BookingGuard.BookingAction<Long>>getArgument(2).execute());
         when(appointmentRepository.existsByDoctorDateAndTimeRange(
                 doctorEntity, appointmentDto.getDate(), startHour, endHour))
                 .thenReturn(true);
@@ -424,10 +643,41 @@ public class AppointmentServiceTests {
         verify(infoContributor).getCurrentDate();
         verify(doctorRepository).findByNameAndIsActive(appointmentDto.getDoctor(), isActive);
         verify(investigationRepository).findByNameAndIsActive(appointmentDto.getInvestigation(), isActive);
+        verify(bookingGuard).runExclusively(eq(doctorEntity.getId()), eq(appointmentDto.getDate()), any());
         verify(appointmentRepository).existsByDoctorDateAndTimeRange(
                 doctorEntity, appointmentDto.getDate(), startHour, endHour);
     }
 
+    @Test
+    public void testBookAppointment_whenDoctorOnVacation_thenThrowException() {
+        //Arrange
+        final Long id = 1L;
+        final boolean isActive = true;
+        final LocalDate currentDate = LocalDate.of(2023, 1, 5);
+        final LocalDate desiredDate = LocalDate.of(2023, 1, 10);
+        final LocalTime desiredTime = LocalTime.of(8, 30);
+
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(desiredDate, desiredTime);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
+
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(doctorRepository.findByNameAndIsActive(appointmentDto.getDoctor(), isActive))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), isActive))
+                .thenReturn(Optional.of(investigationEntity));
+        when(vacationIndex.isOnVacation(id, desiredDate)).thenReturn(true);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> appointmentService.bookAppointment(appointmentDto))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format("%s is on vacation on %s", doctorEntity.getName(), desiredDate));
+
+        //Verify
+        verify(vacationIndex).isOnVacation(id, desiredDate);
+        verifyNoInteractions(bookingGuard, appointmentRepository);
+    }
+
     @Test
     public void testBookAppointment_whenInvestigationNotExist_thenThrowException() {
         //Arrange
@@ -537,6 +787,7 @@ public class AppointmentServiceTests {
         final Long id = 1L;
 
         when(appointmentRepository.findById(id)).thenReturn(Optional.empty());
+        when(appointmentArchiveRepository.findById(id)).thenReturn(Optional.empty());
 
         //Act && assert
         Assertions.assertThatThrownBy(() -> appointmentService.getAppointmentById(id))
@@ -544,6 +795,35 @@ public class AppointmentServiceTests {
 
         //Verify
         verify(appointmentRepository).findById(id);
+        verify(appointmentArchiveRepository).findById(id);
+    }
+
+    @Test
+    public void testGetAppointmentById_whenIdArchived_thenReturnArchivedDto() throws DataNotFoundException {
+        //Arrange
+        final Long id = 1L;
+        AppointmentArchiveEntity archiveEntity = AppointmentUtil.createAppointmentArchiveEntity(
+                id, LocalDate.of(2022, 6, 1), LocalTime.of(8, 30));
+        AppointmentDto appointmentDto = AppointmentDto.builder()
+                .id(id)
+                .date(archiveEntity.getDate())
+                .startHour(archiveEntity.getStartTime())
+                .build();
+
+        when(appointmentRepository.findById(id)).thenReturn(Optional.empty());
+        when(appointmentArchiveRepository.findById(id)).thenReturn(Optional.of(archiveEntity));
+        when(appointmentConverter.fromArchiveEntityToDto(archiveEntity)).thenReturn(appointmentDto);
+
+        //Act
+        AppointmentDto returnValue = appointmentService.getAppointmentById(id);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(appointmentDto);
+
+        //Verify
+        verify(appointmentRepository).findById(id);
+        verify(appointmentArchiveRepository).findById(id);
+        verify(appointmentConverter).fromArchiveEntityToDto(archiveEntity);
     }
 
     @Test
@@ -594,33 +874,36 @@ public class AppointmentServiceTests {
     public void testCancelAllAppointmentsForDoctor_whenAllValid_thenReturnString() {
         //Arrange
         final Long id = 1L;
-        final LocalDate desiredDate = LocalDate.of(2023, 1, 4);
-        final LocalTime desiredTime1 = LocalTime.of(8, 30);
-        final LocalTime desiredTime2 = LocalTime.of(9, 30);
+        final LocalDate currentDate = LocalDate.of(2023, 1, 4);
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
 
-        AppointmentEntity appointmentEntity1 = AppointmentUtil.createAppointmentEntity(
-                1L, desiredDate, desiredTime1, desiredTime1.plusMinutes(30));
-        AppointmentEntity appointmentEntity2 = AppointmentUtil.createAppointmentEntity(
-                2L, desiredDate, desiredTime2, desiredTime2.plusMinutes(30));
-
-        when(appointmentRepository.findAllByDoctor(doctorEntity))
-                .thenReturn(List.of(appointmentEntity1, appointmentEntity2));
-        when(appointmentRepository.saveAll(List.of(appointmentEntity1, appointmentEntity2)))
-                .thenReturn(List.of(appointmentEntity1, appointmentEntity2));
+        when(infoContributor.getCurrentDate()).thenReturn(currentDate);
+        when(appointmentRepository.cancelAllNewByDoctorIdInAndDateFrom(List.of(id), currentDate))
+                .thenReturn(2);
 
         //Act
         String returnValue = appointmentService.cancelAllAppointmentForDoctor(doctorEntity);
 
         //Assert
         Assertions.assertThat(returnValue)
-                .isEqualTo(String.format("Appointments for %s canceled", doctorEntity.getName()));
-        Assertions.assertThat(appointmentEntity1.getStatus()).isEqualTo(AppointmentStatus.CANCELED);
-        Assertions.assertThat(appointmentEntity2.getStatus()).isEqualTo(AppointmentStatus.CANCELED);
+                .isEqualTo(String.format("2 future appointments for %s canceled", doctorEntity.getName()));
+
+        //Verify
+        verify(appointmentRepository).cancelAllNewByDoctorIdInAndDateFrom(List.of(id), currentDate);
+        verify(eventPublisher).publishEvent(AppointmentsChangedEvent.allDates(id));
+        verify(slotOccupancyIndex, never()).evictDoctor(id);
+    }
+
+    @Test
+    public void testCancelFutureAppointmentsForDoctors_whenNoDoctors_thenReturnZero() {
+        //Act
+        int returnValue = appointmentService.cancelFutureAppointmentsForDoctors(List.of());
+
+        //Assert
+        Assertions.assertThat(returnValue).isZero();
 
         //Verify
-        verify(appointmentRepository).findAllByDoctor(doctorEntity);
-        verify(appointmentRepository).saveAll(List.of(appointmentEntity1, appointmentEntity2));
+        verifyNoInteractions(appointmentRepository, slotOccupancyIndex, eventPublisher);
     }
 }
@@ -0,0 +1,177 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.BookingResultDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataMismatchException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingBatchServiceTests {
+
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2023, 1, 5);
+    private static final LocalDate DESIRED_DATE = LocalDate.of(2023, 1, 10);
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private InvestigationRepository investigationRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Spy
+    private AppointmentConverter appointmentConverter;
+
+    @Mock
+    private Contributor infoContributor;
+
+    @Spy
+    private SlotOccupancyIndex slotOccupancyIndex = new SlotOccupancyIndex(100);
+
+    @Mock
+    private BookingGuard bookingGuard;
+
+    @Spy
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private VacationIndex vacationIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookingBatchService bookingBatchService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBookAppointments_whenBatchHasConflicts_thenReturnResultPerItem()
+            throws DataMismatchException, DataNotFoundException, ConcurrencyException {
+        //Arrange
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(1L);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(1L);
+        AppointmentEntity existing = AppointmentUtil.createAppointmentEntity(
+                10L, DESIRED_DATE, LocalTime.of(11, 0), LocalTime.of(11, 30));
+
+        AppointmentDto accepted = AppointmentUtil.createAppointmentDto(DESIRED_DATE, LocalTime.of(8, 0));
+        AppointmentDto overlapsBatch = AppointmentUtil.createAppointmentDto(DESIRED_DATE, LocalTime.of(8, 15));
+        AppointmentDto overlapsDb = AppointmentUtil.createAppointmentDto(DESIRED_DATE, LocalTime.of(11, 0));
+        AppointmentDto unknownDoctor = AppointmentUtil.createAppointmentDto(DESIRED_DATE, LocalTime.of(9, 0));
+        unknownDoctor.setDoctor("FakeDoctor");
+        AppointmentDto pastDate = AppointmentUtil.createAppointmentDto(CURRENT_DATE.minusDays(1), LocalTime.of(9, 0));
+        AppointmentDto blankClient = AppointmentUtil.createAppointmentDto(DESIRED_DATE, LocalTime.of(9, 0));
+        blankClient.setClientName(" ");
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(doctorRepository.findAllByNameInAndIsActive(Set.of("TestDoctor", "FakeDoctor"), true))
+                .thenReturn(List.of(doctorEntity));
+        when(investigationRepository.findAllByNameInAndIsActive(Set.of("TestInvestigation"), true))
+                .thenReturn(List.of(investigationEntity));
+        when(bookingGuard.runExclusively(anyCollection(), any()))
+                .thenAnswer(invocation -> invocation.<BookingGuard.BookingAction<?>>getArgument(1).execute());
+        when(appointmentRepository.findAllByDoctorInAndDateIn(Set.of(doctorEntity), Set.of(DESIRED_DATE)))
+                .thenReturn(List.of(existing));
+        when(appointmentRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<AppointmentEntity> entities = invocation.getArgument(0);
+            entities.forEach(entity -> entity.setId(1L));
+            return entities;
+        });
+
+        //Act
+        List<BookingResultDto> returnValue = bookingBatchService.bookAppointments(
+                List.of(accepted, overlapsBatch, overlapsDb, unknownDoctor, pastDate, blankClient));
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(6);
+        Assertions.assertThat(returnValue).extracting(BookingResultDto::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5);
+        Assertions.assertThat(returnValue.get(0).getId()).isEqualTo(1L);
+        Assertions.assertThat(returnValue.get(0).getError()).isNull();
+        Assertions.assertThat(returnValue.get(1).getError())
+                .isEqualTo(String.format("%s not available, please select a different hour", LocalTime.of(8, 15)));
+        Assertions.assertThat(returnValue.get(2).getError())
+                .isEqualTo(String.format("%s not available, please select a different hour", LocalTime.of(11, 0)));
+        Assertions.assertThat(returnValue.get(3).getError()).isEqualTo("FakeDoctor not found");
+        Assertions.assertThat(returnValue.get(4).getError())
+                .isEqualTo("Can't create appointments for dates in the past");
+        Assertions.assertThat(returnValue.get(5).getError()).isEqualTo("Client name cannot be blank");
+        Assertions.assertThat(returnValue.get(5).getId()).isNull();
+
+        //Verify
+        verify(doctorRepository).findAllByNameInAndIsActive(Set.of("TestDoctor", "FakeDoctor"), true);
+        verify(investigationRepository).findAllByNameInAndIsActive(Set.of("TestInvestigation"), true);
+        verify(appointmentRepository).findAllByDoctorInAndDateIn(Set.of(doctorEntity), Set.of(DESIRED_DATE));
+        verify(appointmentRepository).saveAll(argThat(entities -> ((Collection<?>) entities).size() == 1));
+    }
+
+    @Test
+    public void testBookAppointments_whenBatchEmpty_thenThrowException() {
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> bookingBatchService.bookAppointments(List.of()))
+                .isInstanceOf(DataMismatchException.class)
+                .hasMessage(String.format("A batch must contain between 1 and %s appointments",
+                        BookingBatchService.MAX_BATCH_SIZE));
+
+        //Verify
+        verifyNoInteractions(doctorRepository, investigationRepository, appointmentRepository);
+    }
+
+    @Test
+    public void testBookAppointments_whenNoItemValid_thenSkipLookups()
+            throws DataMismatchException, DataNotFoundException, ConcurrencyException {
+        //Arrange
+        AppointmentDto pastDate = AppointmentUtil.createAppointmentDto(CURRENT_DATE.minusDays(1), LocalTime.of(9, 0));
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+
+        //Act
+        List<BookingResultDto> returnValue = bookingBatchService.bookAppointments(List.of(pastDate));
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(1);
+        Assertions.assertThat(returnValue.get(0).getError())
+                .isEqualTo("Can't create appointments for dates in the past");
+
+        //Verify
+        verifyNoInteractions(doctorRepository, investigationRepository, appointmentRepository, bookingGuard);
+    }
+}
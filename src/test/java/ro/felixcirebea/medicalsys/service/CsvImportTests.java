@@ -0,0 +1,144 @@
+package ro.felixcirebea.medicalsys.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.dto.ImportReportDto;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.enums.ImportEntity;
+import ro.felixcirebea.medicalsys.repository.*;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class CsvImportTests extends IntegrationTestBase {
+
+    private static final String INVESTIGATION = "ImportInvestigation";
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VacationRepository vacationRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testImportCsv_whenAppointmentsWithBadRows_thenReportRejectedLines() throws IOException {
+        //Arrange
+        DoctorEntity doctorEntity = createDoctor("AppointmentImportDoctor");
+        createInvestigation();
+        String csv = String.join("\n",
+                "Client A,AppointmentImportDoctor,ImportInvestigation,2023-03-06,09:00",
+                "Client B,AppointmentImportDoctor,ImportInvestigation,2023-03-06,09:15",
+                "",
+                "Client C,UnknownDoctor,ImportInvestigation,2023-03-06,10:00",
+                "Client D,AppointmentImportDoctor,ImportInvestigation,2023-03-06,10:00",
+                "Client E,AppointmentImportDoctor,ImportInvestigation,2023-03-06,09:00",
+                "broken line");
+
+        //Act
+        List<Map<String, Object>> report = new ArrayList<>();
+        ImportReportDto summary = importCsv(ImportEntity.APPOINTMENTS, csv, report);
+
+        //Assert
+        Assertions.assertThat(summary.getAccepted()).isEqualTo(2);
+        Assertions.assertThat(summary.getRejected()).isEqualTo(4);
+        Assertions.assertThat(summary.getChunks()).isEqualTo(3);
+        Assertions.assertThat(report)
+                .filteredOn(line -> line.containsKey("line"))
+                .extracting(line -> ((Number) line.get("line")).intValue())
+                .containsExactly(2, 4, 6, 7);
+        Assertions.assertThat(report.get(report.size() - 1)).containsEntry("accepted", 2);
+        Assertions.assertThat(appointmentRepository.findAllByDoctorAndDate(
+                doctorEntity, LocalDate.of(2023, 3, 6))).hasSize(2);
+    }
+
+    @Test
+    public void testImportCsv_whenVacationsOverlap_thenRejectLaterRow() throws IOException {
+        //Arrange
+        createDoctor("VacationImportDoctor");
+        String csv = String.join("\n",
+                "VacationImportDoctor,2023-05-01,2023-05-05,VACATION",
+                "VacationImportDoctor,2023-05-04,2023-05-08,VACATION",
+                "VacationImportDoctor,2023-05-10,2023-05-08,VACATION");
+
+        //Act
+        ImportReportDto summary = importCsv(ImportEntity.VACATIONS, csv, new ArrayList<>());
+
+        //Assert
+        Assertions.assertThat(summary.getAccepted()).isEqualTo(1);
+        Assertions.assertThat(summary.getRejected()).isEqualTo(2);
+        Assertions.assertThat(vacationRepository.findAllDtoByDoctor(
+                doctorRepository.findByNameAndIsActive("VacationImportDoctor", true).orElseThrow())).hasSize(1);
+    }
+
+    @Test
+    public void testImportCsv_whenWorkingHoursExist_thenUpsert() throws IOException {
+        //Arrange
+        DoctorEntity doctorEntity = createDoctor("WorkingHoursImportDoctor");
+        workingHoursRepository.save(WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.MONDAY));
+        String csv = String.join("\n",
+                "WorkingHoursImportDoctor,1,09:00,17:00",
+                "WorkingHoursImportDoctor,2,09:00,17:00",
+                "WorkingHoursImportDoctor,9,09:00,17:00");
+
+        //Act
+        ImportReportDto summary = importCsv(ImportEntity.WORKING_HOURS, csv, new ArrayList<>());
+
+        //Assert
+        Assertions.assertThat(summary.getAccepted()).isEqualTo(2);
+        Assertions.assertThat(summary.getRejected()).isEqualTo(1);
+        Assertions.assertThat(workingHoursRepository.findByDoctorAndDayOfWeek(doctorEntity, DayOfWeek.MONDAY))
+                .hasValueSatisfying(workingHours ->
+                        Assertions.assertThat(workingHours.getStartHour()).isEqualTo(LocalTime.of(9, 0)));
+        Assertions.assertThat(workingHoursRepository.existsByDoctorAndDayOfWeek(doctorEntity, DayOfWeek.TUESDAY))
+                .isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ImportReportDto importCsv(ImportEntity importEntity, String csv, List<Map<String, Object>> report)
+            throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImportReportDto summary = csvImportService.importCsv(importEntity,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), outputStream);
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            report.add(objectMapper.readValue(line, Map.class));
+        }
+        return summary;
+    }
+
+    private DoctorEntity createDoctor(String name) {
+        return doctorRepository.save(DoctorUtil.createDoctorEntity(name));
+    }
+
+    private void createInvestigation() {
+        investigationRepository.save(InvestigationUtil.createInvestigationEntity(INVESTIGATION));
+    }
+}
@@ -6,19 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.DoctorConverter;
 import ro.felixcirebea.medicalsys.dto.DoctorDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
-import ro.felixcirebea.medicalsys.entity.VacationEntity;
-import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.helper.*;
 import ro.felixcirebea.medicalsys.util.DoctorUtil;
 import ro.felixcirebea.medicalsys.util.SpecialtyUtil;
-import ro.felixcirebea.medicalsys.util.VacationUtil;
 
 import java.util.Collections;
 import java.util.List;
@@ -52,6 +51,12 @@ public class DoctorServiceTests {
     @Mock
     private AppointmentService appointmentService;
 
+    @Mock
+    private VacationService vacationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -167,23 +172,20 @@ public class DoctorServiceTests {
         final boolean isActive = true;
         DoctorDto doctorDto = DoctorUtil.createDoctorDto();
         doctorDto.setId(expectedId);
-        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(expectedId);
 
-        when(doctorRepository.findByIdAndIsActive(expectedId, isActive))
-                .thenReturn(Optional.of(doctorEntity));
-        when(doctorConverter.fromEntityToDto(doctorEntity))
-                .thenReturn(doctorDto);
+        when(doctorRepository.findDtoByIdAndIsActive(expectedId, isActive))
+                .thenReturn(Optional.of(doctorDto));
 
         //Act
         DoctorDto returnValue = doctorService.getDoctorById(expectedId);
 
         //Assert
         Assertions.assertThat(returnValue.getId()).isEqualTo(expectedId);
-        Assertions.assertThat(returnValue.getName()).isEqualTo(doctorEntity.getName());
+        Assertions.assertThat(returnValue.getName()).isEqualTo(doctorDto.getName());
 
         //Verify
-        verify(doctorRepository).findByIdAndIsActive(expectedId, isActive);
-        verify(doctorConverter).fromEntityToDto(doctorEntity);
+        verify(doctorRepository).findDtoByIdAndIsActive(expectedId, isActive);
+        verifyNoInteractions(doctorConverter);
     }
 
     @Test
@@ -192,7 +194,7 @@ public class DoctorServiceTests {
         final Long nonExistentId = 999L;
         final boolean isActive = true;
 
-        when(doctorRepository.findByIdAndIsActive(nonExistentId, isActive))
+        when(doctorRepository.findDtoByIdAndIsActive(nonExistentId, isActive))
                 .thenReturn(Optional.empty());
 
         //Act && assert
@@ -200,7 +202,7 @@ public class DoctorServiceTests {
                 .isInstanceOf(DataNotFoundException.class);
 
         //Verify
-        verify(doctorRepository).findByIdAndIsActive(nonExistentId, isActive);
+        verify(doctorRepository).findDtoByIdAndIsActive(nonExistentId, isActive);
     }
 
     @Test
@@ -253,18 +255,13 @@ public class DoctorServiceTests {
         final String specialtyName = "TestSpecialty";
         final boolean isActive = true;
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(1L);
-        DoctorEntity doctorEntity1 = DoctorUtil.createDoctorEntity(1L);
-        DoctorEntity doctorEntity2 = DoctorUtil.createDoctorEntity(2L);
-        specialtyEntity.setDoctors(List.of(doctorEntity1, doctorEntity2));
         DoctorDto doctorDto1 = DoctorDto.builder().id(1L).build();
         DoctorDto doctorDto2 = DoctorDto.builder().id(2L).build();
 
         when(specialtyRepository.findByNameAndIsActive(specialtyName, isActive))
                 .thenReturn(Optional.of(specialtyEntity));
-        when(doctorConverter.fromEntityToDto(doctorEntity1))
-                .thenReturn(doctorDto1);
-        when(doctorConverter.fromEntityToDto(doctorEntity2))
-                .thenReturn(doctorDto2);
+        when(doctorRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive))
+                .thenReturn(List.of(doctorDto1, doctorDto2));
 
         //Act
         List<DoctorDto> returnValue = doctorService.getDoctorsBySpecialty(specialtyName);
@@ -275,8 +272,7 @@ public class DoctorServiceTests {
 
         //Verify
         verify(specialtyRepository).findByNameAndIsActive(specialtyName, isActive);
-        verify(doctorConverter).fromEntityToDto(doctorEntity1);
-        verify(doctorConverter).fromEntityToDto(doctorEntity2);
+        verify(doctorRepository).findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive);
     }
 
     @Test
@@ -285,10 +281,11 @@ public class DoctorServiceTests {
         final String specialtyName = "TestSpecialty";
         final boolean isActive = true;
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(1L);
-        specialtyEntity.setDoctors(Collections.emptyList());
 
         when(specialtyRepository.findByNameAndIsActive(specialtyName, isActive))
                 .thenReturn(Optional.of(specialtyEntity));
+        when(doctorRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive))
+                .thenReturn(Collections.emptyList());
 
         //Act
         List<DoctorDto> returnValue = doctorService.getDoctorsBySpecialty(specialtyName);
@@ -298,6 +295,7 @@ public class DoctorServiceTests {
 
         //Verify
         verify(specialtyRepository).findByNameAndIsActive(specialtyName, isActive);
+        verify(doctorRepository).findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive);
     }
 
     @Test
@@ -321,47 +319,47 @@ public class DoctorServiceTests {
     public void testGetAllDoctors_whenDoctorsExist_thenReturnListOfDtos() {
         //Arrange
         final boolean isActive = true;
-        DoctorEntity doctorEntity1 = DoctorUtil.createDoctorEntity(1L);
-        DoctorEntity doctorEntity2 = DoctorUtil.createDoctorEntity(2L);
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
         DoctorDto doctorDto1 = DoctorDto.builder().id(1L).build();
         DoctorDto doctorDto2 = DoctorDto.builder().id(2L).build();
 
-        when(doctorRepository.findAllByIsActive(isActive))
-                .thenReturn(List.of(doctorEntity1, doctorEntity2));
-        when(doctorConverter.fromEntityToDto(doctorEntity1))
-                .thenReturn(doctorDto1);
-        when(doctorConverter.fromEntityToDto(doctorEntity2))
-                .thenReturn(doctorDto2);
+        when(doctorRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize)))
+                .thenReturn(List.of(doctorDto1, doctorDto2));
 
         //Act
-        List<DoctorDto> returnValue = doctorService.getAllDoctors();
+        PageDto<DoctorDto> returnValue = doctorService.getAllDoctors(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(doctorRepository).findAllByIsActive(isActive);
-        verify(doctorConverter).fromEntityToDto(doctorEntity1);
-        verify(doctorConverter).fromEntityToDto(doctorEntity2);
+        verify(doctorRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
     public void testGetAllDoctors_whenDoctorsNotExist_thenReturnEmptyList() {
         //Arrange
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
-        when(doctorRepository.findAllByIsActive(isActive))
+        when(doctorRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize)))
                 .thenReturn(Collections.emptyList());
 
         //Act
-        List<DoctorDto> returnValue = doctorService.getAllDoctors();
+        PageDto<DoctorDto> returnValue = doctorService.getAllDoctors(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isTrue();
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isTrue();
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(doctorRepository).findAllByIsActive(isActive);
+        verify(doctorRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
@@ -371,9 +369,6 @@ public class DoctorServiceTests {
         final boolean isActive = true;
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
         Optional<DoctorEntity> doctorEntityOptional = Optional.of(doctorEntity);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
-        doctorEntity.setVacation(List.of(vacationEntity1, vacationEntity2));
 
         when(doctorRepository.findByIdAndIsActive(id, isActive))
                 .thenReturn(doctorEntityOptional);
@@ -387,50 +382,7 @@ public class DoctorServiceTests {
                 .thenReturn(null);
         when(appointmentService.cancelAllAppointmentForDoctor(doctorEntity))
                 .thenReturn(null);
-
-        //Act
-        Long returnValue = doctorService.deleteDoctorById(id);
-
-        //Assert
-        Assertions.assertThat(returnValue).isEqualTo(id);
-        Assertions.assertThat(doctorEntity.getVacation().get(0).getStatus())
-                .isEqualTo(VacationStatus.CANCELED);
-        Assertions.assertThat(doctorEntity.getVacation().get(1).getStatus())
-                .isEqualTo(VacationStatus.CANCELED);
-
-        //Verify
-        verify(doctorRepository).findByIdAndIsActive(id, isActive);
-        verify(deleteUtility).softDeleteById(
-                eq(id), eq(doctorEntityOptional),
-                anyString(), anyString(), eq(infoContributor));
-        verify(doctorRepository).save(doctorEntity);
-        verify(workingHoursService).deleteAllWorkingHoursForDoctor(doctorEntity);
-        verify(appointmentService).cancelAllAppointmentForDoctor(doctorEntity);
-    }
-
-    @Test
-    public void testDeleteDoctorById_whenIdExistsAndVacationDone_thenReturnId() {
-        //Arrange
-        final Long id = 1L;
-        final boolean isActive = true;
-        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        Optional<DoctorEntity> doctorEntityOptional = Optional.of(doctorEntity);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        vacationEntity1.setStatus(VacationStatus.DONE);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
-        doctorEntity.setVacation(List.of(vacationEntity1, vacationEntity2));
-
-        when(doctorRepository.findByIdAndIsActive(id, isActive))
-                .thenReturn(doctorEntityOptional);
-        when(deleteUtility.softDeleteById(
-                eq(id), eq(doctorEntityOptional),
-                anyString(), anyString(), eq(infoContributor)))
-                .thenReturn(doctorEntity);
-        when(doctorRepository.save(doctorEntity))
-                .thenReturn(doctorEntity);
-        when(workingHoursService.deleteAllWorkingHoursForDoctor(doctorEntity))
-                .thenReturn(null);
-        when(appointmentService.cancelAllAppointmentForDoctor(doctorEntity))
+        when(vacationService.cancelOpenVacationsForDoctor(doctorEntity))
                 .thenReturn(null);
 
         //Act
@@ -438,10 +390,6 @@ public class DoctorServiceTests {
 
         //Assert
         Assertions.assertThat(returnValue).isEqualTo(id);
-        Assertions.assertThat(doctorEntity.getVacation().get(0).getStatus())
-                .isEqualTo(VacationStatus.DONE);
-        Assertions.assertThat(doctorEntity.getVacation().get(1).getStatus())
-                .isEqualTo(VacationStatus.CANCELED);
 
         //Verify
         verify(doctorRepository).findByIdAndIsActive(id, isActive);
@@ -451,6 +399,7 @@ public class DoctorServiceTests {
         verify(doctorRepository).save(doctorEntity);
         verify(workingHoursService).deleteAllWorkingHoursForDoctor(doctorEntity);
         verify(appointmentService).cancelAllAppointmentForDoctor(doctorEntity);
+        verify(vacationService).cancelOpenVacationsForDoctor(doctorEntity);
     }
 
     @Test
@@ -488,9 +437,6 @@ public class DoctorServiceTests {
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
         String name = doctorEntity.getName();
         Optional<DoctorEntity> doctorEntityOptional = Optional.of(doctorEntity);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
-        doctorEntity.setVacation(List.of(vacationEntity1, vacationEntity2));
 
         when(doctorRepository.findByNameAndIsActive(name, isActive))
                 .thenReturn(doctorEntityOptional);
@@ -504,16 +450,14 @@ public class DoctorServiceTests {
                 .thenReturn(null);
         when(appointmentService.cancelAllAppointmentForDoctor(doctorEntity))
                 .thenReturn(null);
+        when(vacationService.cancelOpenVacationsForDoctor(doctorEntity))
+                .thenReturn(null);
 
         //Act
         Long returnValue = doctorService.deleteDoctorByName(name);
 
         //Assert
         Assertions.assertThat(returnValue).isEqualTo(id);
-        Assertions.assertThat(doctorEntity.getVacation().get(0).getStatus())
-                .isEqualTo(VacationStatus.CANCELED);
-        Assertions.assertThat(doctorEntity.getVacation().get(1).getStatus())
-                .isEqualTo(VacationStatus.CANCELED);
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(name, isActive);
@@ -523,6 +467,7 @@ public class DoctorServiceTests {
         verify(doctorRepository).save(doctorEntity);
         verify(workingHoursService).deleteAllWorkingHoursForDoctor(doctorEntity);
         verify(appointmentService).cancelAllAppointmentForDoctor(doctorEntity);
+        verify(vacationService).cancelOpenVacationsForDoctor(doctorEntity);
     }
 
     @Test
@@ -0,0 +1,196 @@
+package ro.felixcirebea.medicalsys.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.felixcirebea.medicalsys.dto.AvailableSlotDto;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+import ro.felixcirebea.medicalsys.util.SpecialtyUtil;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EarliestAvailabilityServiceTests {
+
+    private static final String INVESTIGATION_NAME = "TestInvestigation";
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2023, 1, 5);
+    private static final LocalDate START_DATE = LocalDate.of(2023, 1, 9);
+    private static final LocalDate END_DATE = START_DATE.plusDays(AppointmentService.MAX_SEARCH_DAYS - 1);
+
+    @Mock
+    private InvestigationRepository investigationRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    @Mock
+    private HolidayService holidayService;
+
+    @Mock
+    private Contributor infoContributor;
+
+    private EarliestAvailabilityService earliestAvailabilityService;
+
+    @BeforeEach
+    public void setUp() {
+        earliestAvailabilityService = new EarliestAvailabilityService(
+                investigationRepository, doctorRepository, appointmentService, holidayService, infoContributor,
+                2, 8, 2000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        earliestAvailabilityService.shutdown();
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenDoctorsAvailable_thenReturnMergedInTimeOrder()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        DoctorEntity firstDoctor = createDoctor(1L, "FirstDoctor");
+        DoctorEntity secondDoctor = createDoctor(2L, "SecondDoctor");
+        InvestigationEntity investigationEntity = createInvestigation();
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(investigationRepository.findByNameAndIsActive(INVESTIGATION_NAME, true))
+                .thenReturn(Optional.of(investigationEntity));
+        when(doctorRepository.findAllWithWorkingHoursBySpecialtyAndIsActive(investigationEntity.getSpecialty(), true))
+                .thenReturn(List.of(firstDoctor, secondDoctor));
+        when(holidayService.getHolidayDatesBetween(START_DATE, END_DATE)).thenReturn(Set.of());
+        when(appointmentService.findFreeSlotsBetween(firstDoctor, 30, START_DATE, END_DATE, Set.of(), 3))
+                .thenReturn(List.of(
+                        createSlot("FirstDoctor", START_DATE.plusDays(1), LocalTime.of(8, 0)),
+                        createSlot("FirstDoctor", START_DATE.plusDays(1), LocalTime.of(8, 30))));
+        when(appointmentService.findFreeSlotsBetween(secondDoctor, 30, START_DATE, END_DATE, Set.of(), 3))
+                .thenReturn(List.of(
+                        createSlot("SecondDoctor", START_DATE, LocalTime.of(11, 0)),
+                        createSlot("SecondDoctor", START_DATE.plusDays(1), LocalTime.of(8, 0))));
+
+        //Act
+        List<AvailableSlotDto> returnValue = earliestAvailabilityService.getEarliestAvailableSlots(
+                INVESTIGATION_NAME, null, START_DATE, 3);
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(3);
+        Assertions.assertThat(returnValue.get(0).getDoctor()).isEqualTo("SecondDoctor");
+        Assertions.assertThat(returnValue.get(0).getDate()).isEqualTo(START_DATE);
+        Assertions.assertThat(returnValue.get(1).getDoctor()).isEqualTo("FirstDoctor");
+        Assertions.assertThat(returnValue.get(1).getStartHour()).isEqualTo(LocalTime.of(8, 0));
+        Assertions.assertThat(returnValue.get(2).getDoctor()).isEqualTo("SecondDoctor");
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenMoreDoctorsThanPoolAndQueue_thenSearchAllDoctors()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        InvestigationEntity investigationEntity = createInvestigation();
+        List<DoctorEntity> doctors = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            DoctorEntity doctorEntity = createDoctor(id, "Doctor" + id);
+            doctors.add(doctorEntity);
+            when(appointmentService.findFreeSlotsBetween(doctorEntity, 30, START_DATE, END_DATE, Set.of(), 100))
+                    .thenReturn(List.of(createSlot(doctorEntity.getName(), START_DATE, LocalTime.of(8, 0))));
+        }
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(investigationRepository.findByNameAndIsActive(INVESTIGATION_NAME, true))
+                .thenReturn(Optional.of(investigationEntity));
+        when(holidayService.getHolidayDatesBetween(START_DATE, END_DATE)).thenReturn(Set.of());
+        when(doctorRepository.findAllWithWorkingHoursBySpecialtyAndIsActive(investigationEntity.getSpecialty(), true))
+                .thenReturn(doctors);
+
+        //Act
+        List<AvailableSlotDto> returnValue = earliestAvailabilityService.getEarliestAvailableSlots(
+                INVESTIGATION_NAME, null, START_DATE, 100);
+
+        //Assert
+        Assertions.assertThat(returnValue).hasSize(40);
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenSpecialtyNotOfferingInvestigation_thenThrowException() {
+        //Arrange
+        InvestigationEntity investigationEntity = createInvestigation();
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(investigationRepository.findByNameAndIsActive(INVESTIGATION_NAME, true))
+                .thenReturn(Optional.of(investigationEntity));
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> earliestAvailabilityService.getEarliestAvailableSlots(
+                        INVESTIGATION_NAME, "Cardiology", START_DATE, 3))
+                .isInstanceOf(DataNotFoundException.class)
+                .hasMessage(String.format("%s is not offered by %s", INVESTIGATION_NAME, "Cardiology"));
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenInvestigationNotFound_thenThrowException() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        when(investigationRepository.findByNameAndIsActive(INVESTIGATION_NAME, true))
+                .thenReturn(Optional.empty());
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> earliestAvailabilityService.getEarliestAvailableSlots(
+                        INVESTIGATION_NAME, null, START_DATE, 3))
+                .isInstanceOf(DataNotFoundException.class)
+                .hasMessage(String.format("%s not found", INVESTIGATION_NAME));
+    }
+
+    @Test
+    public void testGetEarliestAvailableSlots_whenDateIsBeforeCurrentDate_thenThrowException() {
+        //Arrange
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> earliestAvailabilityService.getEarliestAvailableSlots(
+                        INVESTIGATION_NAME, null, CURRENT_DATE.minusDays(1), 3))
+                .isInstanceOf(ConcurrencyException.class);
+    }
+
+    private DoctorEntity createDoctor(Long id, String name) {
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+        doctorEntity.setName(name);
+        doctorEntity.setWorkingHours(List.of());
+        doctorEntity.setVacation(List.of());
+        return doctorEntity;
+    }
+
+    private InvestigationEntity createInvestigation() {
+        SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(1L);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(1L);
+        investigationEntity.setSpecialty(specialtyEntity);
+        return investigationEntity;
+    }
+
+    private AvailableSlotDto createSlot(String doctor, LocalDate date, LocalTime startHour) {
+        return AvailableSlotDto.builder()
+                .doctor(doctor)
+                .date(date)
+                .startHour(startHour)
+                .build();
+    }
+}
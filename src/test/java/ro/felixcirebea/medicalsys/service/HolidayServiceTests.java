@@ -6,19 +6,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.HolidayConverter;
 import ro.felixcirebea.medicalsys.dto.HolidayDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.HolidayEntity;
+import ro.felixcirebea.medicalsys.event.HolidaysChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.HolidayRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.util.HolidayUtil;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -37,6 +43,12 @@ public class HolidayServiceTests {
     @Mock
     private DeleteUtility deleteUtility;
 
+    @Mock
+    private HolidayIndex holidayIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private HolidayService holidayService;
 
@@ -75,6 +87,8 @@ public class HolidayServiceTests {
         holidayDto.setEndDate(updatedEndDate);
 
         HolidayEntity holidayEntity = HolidayUtil.createHolidayEntity(expectedId);
+        HolidaysChangedEvent previousDates =
+                new HolidaysChangedEvent(holidayEntity.getStartDate(), holidayEntity.getEndDate());
 
         when(holidayRepository.findByIdAndIsActive(expectedId, isActive)).thenReturn(Optional.of(holidayEntity));
         when(holidayRepository.save(holidayEntity)).thenReturn(holidayEntity);
@@ -91,6 +105,8 @@ public class HolidayServiceTests {
         //Verify
         verify(holidayRepository).findByIdAndIsActive(expectedId, isActive);
         verify(holidayRepository).save(holidayEntity);
+        verify(eventPublisher).publishEvent(previousDates);
+        verify(eventPublisher).publishEvent(new HolidaysChangedEvent(updatedStartDate, updatedEndDate));
     }
 
     @Test
@@ -120,23 +136,21 @@ public class HolidayServiceTests {
         final Long id = 1L;
         final boolean isActive = true;
 
-        HolidayEntity holidayEntity = HolidayUtil.createHolidayEntity(id);
         HolidayDto holidayDto = HolidayUtil.createHolidayDto();
         holidayDto.setId(id);
 
-        when(holidayRepository.findByIdAndIsActive(id, isActive)).thenReturn(Optional.of(holidayEntity));
-        when(holidayConverter.fromEntityToDto(holidayEntity)).thenReturn(holidayDto);
+        when(holidayRepository.findDtoByIdAndIsActive(id, isActive)).thenReturn(Optional.of(holidayDto));
 
         //Act
         HolidayDto returnValue = holidayService.getHolidayById(id);
 
         //Assert
         Assertions.assertThat(id).isEqualTo(returnValue.getId());
-        Assertions.assertThat(holidayEntity.getDescription()).isEqualTo(returnValue.getDescription());
+        Assertions.assertThat(holidayDto.getDescription()).isEqualTo(returnValue.getDescription());
 
         //Verify
-        verify(holidayRepository).findByIdAndIsActive(id, isActive);
-        verify(holidayConverter).fromEntityToDto(holidayEntity);
+        verify(holidayRepository).findDtoByIdAndIsActive(id, isActive);
+        verifyNoInteractions(holidayConverter);
     }
 
     @Test
@@ -146,7 +160,7 @@ public class HolidayServiceTests {
         final boolean isActive = true;
         final String exceptionMessage = "Wrong ID";
 
-        when(holidayRepository.findByIdAndIsActive(nonExistentId, isActive)).thenReturn(Optional.empty());
+        when(holidayRepository.findDtoByIdAndIsActive(nonExistentId, isActive)).thenReturn(Optional.empty());
 
         //Act && Assert
         Assertions.assertThatThrownBy(() -> holidayService.getHolidayById(nonExistentId))
@@ -154,7 +168,7 @@ public class HolidayServiceTests {
                 .hasMessage(exceptionMessage);
 
         //Verify
-        verify(holidayRepository).findByIdAndIsActive(nonExistentId, isActive);
+        verify(holidayRepository).findDtoByIdAndIsActive(nonExistentId, isActive);
     }
 
     @Test
@@ -164,24 +178,22 @@ public class HolidayServiceTests {
         final Long id = 1L;
         final boolean isActive = true;
 
-        HolidayEntity holidayEntity = HolidayUtil.createHolidayEntity(id);
         HolidayDto holidayDto = HolidayUtil.createHolidayDto();
         holidayDto.setId(id);
 
-        when(holidayRepository.findByDescriptionAndIsActive(description, isActive))
-                .thenReturn(Optional.of(holidayEntity));
-        when(holidayConverter.fromEntityToDto(holidayEntity)).thenReturn(holidayDto);
+        when(holidayRepository.findDtoByDescriptionAndIsActive(description, isActive))
+                .thenReturn(Optional.of(holidayDto));
 
         //Act
         HolidayDto returnValue = holidayService.getHolidayByDescription(description);
 
         //Assert
         Assertions.assertThat(id).isEqualTo(returnValue.getId());
-        Assertions.assertThat(holidayEntity.getDescription()).isEqualTo(returnValue.getDescription());
+        Assertions.assertThat(holidayDto.getDescription()).isEqualTo(returnValue.getDescription());
 
         //Verify
-        verify(holidayRepository).findByDescriptionAndIsActive(description, isActive);
-        verify(holidayConverter).fromEntityToDto(holidayEntity);
+        verify(holidayRepository).findDtoByDescriptionAndIsActive(description, isActive);
+        verifyNoInteractions(holidayConverter);
     }
 
     @Test
@@ -191,7 +203,7 @@ public class HolidayServiceTests {
         final boolean isActive = true;
         final String exceptionMessage = " not found";
 
-        when(holidayRepository.findByDescriptionAndIsActive(nonExistentDescription, isActive))
+        when(holidayRepository.findDtoByDescriptionAndIsActive(nonExistentDescription, isActive))
                 .thenReturn(Optional.empty());
 
         //Act && Assert
@@ -200,54 +212,53 @@ public class HolidayServiceTests {
                 .hasMessage(nonExistentDescription + exceptionMessage);
 
         //Verify
-        verify(holidayRepository).findByDescriptionAndIsActive(nonExistentDescription, isActive);
+        verify(holidayRepository).findDtoByDescriptionAndIsActive(nonExistentDescription, isActive);
     }
 
     @Test
     public void testGetAllHolidays_whenHolidaysExist_thenReturnListOfHolidays() {
         //Arrange
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
         HolidayDto holidayDto1 = HolidayDto.builder().id(1L).build();
         HolidayDto holidayDto2 = HolidayDto.builder().id(2L).build();
 
-        HolidayEntity holidayEntity1 = new HolidayEntity();
-        HolidayEntity holidayEntity2 = new HolidayEntity();
-        holidayEntity1.setId(1L);
-        holidayEntity2.setId(2L);
-
-        when(holidayRepository.findAllByIsActive(isActive)).thenReturn(List.of(holidayEntity1, holidayEntity2));
-        when(holidayConverter.fromEntityToDto(holidayEntity1)).thenReturn(holidayDto1);
-        when(holidayConverter.fromEntityToDto(holidayEntity2)).thenReturn(holidayDto2);
+        when(holidayRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize))).thenReturn(List.of(holidayDto1, holidayDto2));
 
         //Act
-        List<HolidayDto> returnValue = holidayService.getAllHolidays();
+        PageDto<HolidayDto> returnValue = holidayService.getAllHolidays(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue).isNotEmpty();
-        Assertions.assertThat(returnValue.size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getItems()).isNotEmpty();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(holidayRepository).findAllByIsActive(isActive);
-        verify(holidayConverter).fromEntityToDto(holidayEntity1);
-        verify(holidayConverter).fromEntityToDto(holidayEntity2);
+        verify(holidayRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
     public void testGetAllHolidays_whenHolidaysNotExist_thenReturnEmptyList() {
         //Arrange
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
-        when(holidayRepository.findAllByIsActive(isActive)).thenReturn(Collections.emptyList());
+        when(holidayRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize))).thenReturn(Collections.emptyList());
 
         //Act
-        List<HolidayDto> returnValue = holidayService.getAllHolidays();
+        PageDto<HolidayDto> returnValue = holidayService.getAllHolidays(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue).isEmpty();
+        Assertions.assertThat(returnValue.getItems()).isEmpty();
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(holidayRepository).findAllByIsActive(isActive);
+        verify(holidayRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
@@ -370,7 +381,7 @@ public class HolidayServiceTests {
         LocalDate date = LocalDate.of(2023, 8, 15);
         boolean expectedValue = true;
 
-        when(holidayRepository.isDateBetweenHolidays(date)).thenReturn(expectedValue);
+        when(holidayIndex.isHoliday(date)).thenReturn(expectedValue);
 
         //Act
         Boolean returnValue = holidayService.isDateHoliday(date);
@@ -379,7 +390,44 @@ public class HolidayServiceTests {
         Assertions.assertThat(returnValue).isEqualTo(expectedValue);
 
         //Verify
-        verify(holidayRepository).isDateBetweenHolidays(date);
+        verify(holidayIndex).isHoliday(date);
+        verifyNoInteractions(holidayRepository);
     }
 
+    @Test
+    public void testGetHolidayDatesBetween_whenHolidaysOverlapRange_thenReturnDatesInsideRange() {
+        //Arrange
+        final LocalDate startDate = LocalDate.of(2023, 3, 2);
+        final LocalDate endDate = LocalDate.of(2023, 3, 10);
+
+        when(holidayIndex.getHolidaysBetween(startDate, endDate))
+                .thenReturn(Set.of(LocalDate.of(2023, 3, 2)));
+
+        //Act
+        Set<LocalDate> returnValue = holidayService.getHolidayDatesBetween(startDate, endDate);
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactly(LocalDate.of(2023, 3, 2));
+
+        //Verify
+        verify(holidayIndex).getHolidaysBetween(startDate, endDate);
+        verifyNoInteractions(holidayRepository);
+    }
+
+    @Test
+    public void testGetHolidayDates_whenSomeDatesAreHolidays_thenReturnOnlyHolidays() {
+        //Arrange
+        List<LocalDate> dates = List.of(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 5));
+
+        when(holidayIndex.getHolidays(dates)).thenReturn(Set.of(LocalDate.of(2023, 3, 1)));
+
+        //Act
+        Set<LocalDate> returnValue = holidayService.getHolidayDates(dates);
+
+        //Assert
+        Assertions.assertThat(returnValue).containsExactly(LocalDate.of(2023, 3, 1));
+
+        //Verify
+        verify(holidayIndex).getHolidays(dates);
+    }
 }
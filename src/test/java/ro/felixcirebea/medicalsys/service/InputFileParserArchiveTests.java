@@ -0,0 +1,88 @@
+package ro.felixcirebea.medicalsys.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.ImportJobEntity;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.ImportJobStatus;
+import ro.felixcirebea.medicalsys.repository.AppointmentArchiveRepository;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.ImportJobRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InputFileParserArchiveTests extends IntegrationTestBase {
+
+    private static final String APPOINTMENTS_FILE = "appointments.csv";
+
+    @Autowired
+    private InputFileParser inputFileParser;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentArchiveRepository appointmentArchiveRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @BeforeEach
+    public void setUp() {
+        resetDatabase();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        resetDatabase();
+    }
+
+    @Test
+    public void testRun_whenSeededAppointmentsArchivedOrCanceledAndFileChanged_thenRowsNotDuplicated()
+            throws IOException {
+        //Arrange
+        inputFileParser.run();
+        List<AppointmentEntity> seeded = new ArrayList<>();
+        appointmentRepository.findAll().forEach(seeded::add);
+        AppointmentEntity canceled = seeded.get(0);
+        canceled.setStatus(AppointmentStatus.CANCELED);
+        appointmentRepository.save(canceled);
+        List<Long> archivedIds = seeded.subList(1, seeded.size()).stream().map(AppointmentEntity::getId).toList();
+        appointmentArchiveRepository.copyFromAppointments(archivedIds);
+        appointmentRepository.deleteAllByIdIn(archivedIds);
+
+        ImportJobEntity job = importJobRepository.findByFileName(APPOINTMENTS_FILE).orElseThrow();
+        job.setFileHash("changed");
+        importJobRepository.save(job);
+
+        //Act
+        inputFileParser.run();
+
+        //Assert
+        long lines = lineCount();
+        Assertions.assertThat(appointmentRepository.count()).isEqualTo(1);
+        Assertions.assertThat(appointmentRepository.findById(canceled.getId())).hasValueSatisfying(result ->
+                Assertions.assertThat(result.getStatus()).isEqualTo(AppointmentStatus.CANCELED));
+        Assertions.assertThat(appointmentArchiveRepository.count()).isEqualTo(lines - 1);
+        Assertions.assertThat(importJobRepository.findByFileName(APPOINTMENTS_FILE)).hasValueSatisfying(result -> {
+            Assertions.assertThat(result.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+            Assertions.assertThat(result.getInsertedRows()).isZero();
+            Assertions.assertThat(result.getSkippedRows()).isEqualTo(lines);
+        });
+    }
+
+    private static long lineCount() throws IOException {
+        return Files.readString(new ClassPathResource("input-files/" + APPOINTMENTS_FILE).getFile().toPath(),
+                StandardCharsets.UTF_8).lines().count();
+    }
+}
@@ -0,0 +1,163 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.ImportJobEntity;
+import ro.felixcirebea.medicalsys.enums.ImportJobStatus;
+import ro.felixcirebea.medicalsys.repository.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class InputFileParserTests extends IntegrationTestBase {
+
+    private static final String APPOINTMENTS_FILE = "appointments.csv";
+
+    @Autowired
+    private InputFileParser inputFileParser;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private VacationRepository vacationRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+        resetDatabase();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        resetDatabase();
+    }
+
+    @Test
+    public void testRun_whenSeedFiles_thenAllRowsInsertedInBatches() throws IOException {
+        //Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //Act
+        inputFileParser.run();
+
+        //Assert
+        long rows = specialtyRepository.count() + investigationRepository.count() + doctorRepository.count() +
+                workingHoursRepository.count() + holidayRepository.count() + vacationRepository.count() +
+                appointmentRepository.count();
+        Assertions.assertThat(specialtyRepository.count())
+                .isEqualTo(lines("specialties.csv").split(",").length);
+        Assertions.assertThat(investigationRepository.count()).isEqualTo(lineCount("investigations.csv"));
+        Assertions.assertThat(doctorRepository.count()).isEqualTo(lineCount("doctors.csv"));
+        Assertions.assertThat(workingHoursRepository.count()).isEqualTo(lineCount("working-hours.csv"));
+        Assertions.assertThat(holidayRepository.count()).isEqualTo(lineCount("holidays.csv"));
+        Assertions.assertThat(vacationRepository.count()).isEqualTo(lineCount("vacations.csv"));
+        Assertions.assertThat(appointmentRepository.count()).isEqualTo(lineCount(APPOINTMENTS_FILE));
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThan(rows / 2);
+    }
+
+    @Test
+    public void testRun_whenJobRewound_thenRowsNotDuplicated() throws IOException {
+        //Arrange
+        inputFileParser.run();
+        ImportJobEntity job = importJobRepository.findByFileName(APPOINTMENTS_FILE).orElseThrow();
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setCommittedOffset(0L);
+        job.setInsertedRows(0L);
+        job.setSkippedRows(0L);
+        importJobRepository.save(job);
+
+        //Act
+        inputFileParser.run();
+
+        //Assert
+        long lines = lineCount(APPOINTMENTS_FILE);
+        Assertions.assertThat(appointmentRepository.count()).isEqualTo(lines);
+        Assertions.assertThat(importJobRepository.findByFileName(APPOINTMENTS_FILE)).hasValueSatisfying(result -> {
+            Assertions.assertThat(result.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+            Assertions.assertThat(result.getInsertedRows()).isZero();
+            Assertions.assertThat(result.getSkippedRows()).isEqualTo(lines);
+            Assertions.assertThat(result.getCommittedOffset()).isEqualTo(result.getFileSize());
+        });
+    }
+
+    @Test
+    public void testRun_whenInterruptedAfterCheckpoint_thenResumeFromCommittedOffset()
+            throws IOException {
+        //Arrange
+        inputFileParser.run();
+        String[] lines = lines(APPOINTMENTS_FILE).split("\n");
+        int committedLines = lines.length / 2;
+        for (int i = committedLines; i < lines.length; i++) {
+            String[] columns = lines[i].split(",");
+            DoctorEntity doctorEntity = doctorRepository.findByNameAndIsActive(columns[1], true).orElseThrow();
+            appointmentRepository.deleteAll(appointmentRepository
+                    .findAllByDoctorAndDate(doctorEntity, LocalDate.parse(columns[3])).stream()
+                    .filter(appointment -> appointment.getStartTime().equals(LocalTime.parse(columns[4])))
+                    .toList());
+        }
+        long committedOffset = 0;
+        for (int i = 0; i < committedLines; i++) {
+            committedOffset += (lines[i] + "\n").getBytes(StandardCharsets.UTF_8).length;
+        }
+        ImportJobEntity job = importJobRepository.findByFileName(APPOINTMENTS_FILE).orElseThrow();
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setCommittedOffset(committedOffset);
+        job.setInsertedRows((long) committedLines);
+        job.setSkippedRows(0L);
+        importJobRepository.save(job);
+
+        //Act
+        inputFileParser.run();
+
+        //Assert
+        Assertions.assertThat(appointmentRepository.count()).isEqualTo(lines.length);
+        Assertions.assertThat(importJobRepository.findByFileName(APPOINTMENTS_FILE)).hasValueSatisfying(result -> {
+            Assertions.assertThat(result.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+            Assertions.assertThat(result.getInsertedRows()).isEqualTo(lines.length);
+            Assertions.assertThat(result.getSkippedRows()).isZero();
+        });
+    }
+
+    private static long lineCount(String fileName) throws IOException {
+        return lines(fileName).lines().count();
+    }
+
+    private static String lines(String fileName) throws IOException {
+        return Files.readString(new ClassPathResource("input-files/" + fileName).getFile().toPath(),
+                StandardCharsets.UTF_8);
+    }
+}
@@ -6,8 +6,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.InvestigationConverter;
 import ro.felixcirebea.medicalsys.dto.InvestigationDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
@@ -28,6 +30,7 @@ import java.util.Optional;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -52,6 +55,9 @@ public class InvestigationServiceTests {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private InvestigationService investigationService;
 
@@ -167,23 +173,20 @@ public class InvestigationServiceTests {
         final boolean isActive = true;
         InvestigationDto investigationDto = InvestigationUtil.createInvestigationDto();
         investigationDto.setId(id);
-        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(id);
 
-        when(investigationRepository.findByIdAndIsActive(id, isActive))
-                .thenReturn(Optional.of(investigationEntity));
-        when(investigationConverter.fromEntityToDto(investigationEntity))
-                .thenReturn(investigationDto);
+        when(investigationRepository.findDtoByIdAndIsActive(id, isActive))
+                .thenReturn(Optional.of(investigationDto));
 
         //Act
         InvestigationDto returnValue = investigationService.getInvestigationById(id);
 
         //Assert
-        Assertions.assertThat(returnValue.getId()).isEqualTo(investigationEntity.getId());
-        Assertions.assertThat(returnValue.getName()).isEqualTo(investigationEntity.getName());
+        Assertions.assertThat(returnValue.getId()).isEqualTo(id);
+        Assertions.assertThat(returnValue.getName()).isEqualTo(investigationDto.getName());
 
         //Verify
-        verify(investigationRepository).findByIdAndIsActive(id, isActive);
-        verify(investigationConverter).fromEntityToDto(investigationEntity);
+        verify(investigationRepository).findDtoByIdAndIsActive(id, isActive);
+        verifyNoInteractions(investigationConverter);
     }
 
     @Test
@@ -192,7 +195,7 @@ public class InvestigationServiceTests {
         final Long nonExistentId = 999L;
         final boolean isActive = true;
 
-        when(investigationRepository.findByIdAndIsActive(nonExistentId, isActive))
+        when(investigationRepository.findDtoByIdAndIsActive(nonExistentId, isActive))
                 .thenReturn(Optional.empty());
 
         //Act && assert
@@ -200,7 +203,7 @@ public class InvestigationServiceTests {
                 .isInstanceOf(DataNotFoundException.class);
 
         //Verify
-        verify(investigationRepository).findByIdAndIsActive(nonExistentId, isActive);
+        verify(investigationRepository).findDtoByIdAndIsActive(nonExistentId, isActive);
     }
 
     @Test
@@ -254,18 +257,13 @@ public class InvestigationServiceTests {
         final String name = "TestSpecialty";
         final boolean isActive = true;
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(id);
-        InvestigationEntity investigationEntity1 = InvestigationUtil.createInvestigationEntity(1L);
-        InvestigationEntity investigationEntity2 = InvestigationUtil.createInvestigationEntity(2L);
-        specialtyEntity.setInvestigations(List.of(investigationEntity1, investigationEntity2));
         InvestigationDto investigationDto1 = InvestigationDto.builder().id(1L).build();
         InvestigationDto investigationDto2 = InvestigationDto.builder().id(2L).build();
 
         when(specialtyRepository.findByNameAndIsActive(name, isActive))
                 .thenReturn(Optional.of(specialtyEntity));
-        when(investigationConverter.fromEntityToDto(investigationEntity1))
-                .thenReturn(investigationDto1);
-        when(investigationConverter.fromEntityToDto(investigationEntity2))
-                .thenReturn(investigationDto2);
+        when(investigationRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive))
+                .thenReturn(List.of(investigationDto1, investigationDto2));
 
         //Act
         List<InvestigationDto> returnValue = investigationService.getInvestigationBySpecialty(name);
@@ -276,8 +274,7 @@ public class InvestigationServiceTests {
 
         //Verify
         verify(specialtyRepository).findByNameAndIsActive(name, isActive);
-        verify(investigationConverter).fromEntityToDto(investigationEntity1);
-        verify(investigationConverter).fromEntityToDto(investigationEntity2);
+        verify(investigationRepository).findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive);
     }
 
     @Test
@@ -287,14 +284,11 @@ public class InvestigationServiceTests {
         final String name = "TestSpecialty";
         final boolean isActive = true;
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(id);
-        InvestigationEntity investigationEntity1 = InvestigationUtil.createInvestigationEntity(1L);
-        investigationEntity1.setIsActive(false);
-        InvestigationEntity investigationEntity2 = InvestigationUtil.createInvestigationEntity(2L);
-        investigationEntity2.setIsActive(false);
-        specialtyEntity.setInvestigations(List.of(investigationEntity1, investigationEntity2));
 
         when(specialtyRepository.findByNameAndIsActive(name, isActive))
                 .thenReturn(Optional.of(specialtyEntity));
+        when(investigationRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive))
+                .thenReturn(Collections.emptyList());
 
         //Act
         List<InvestigationDto> returnValue = investigationService.getInvestigationBySpecialty(name);
@@ -304,6 +298,7 @@ public class InvestigationServiceTests {
 
         //Verify
         verify(specialtyRepository).findByNameAndIsActive(name, isActive);
+        verify(investigationRepository).findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive);
     }
 
     @Test
@@ -327,20 +322,13 @@ public class InvestigationServiceTests {
     public void testGetInvestigationByDuration_whenInvestigationsExist_thenReturnListOfDtos() {
         final Integer duration = 30;
         final boolean isActive = true;
-        InvestigationEntity investigationEntity1 = InvestigationUtil.createInvestigationEntity(1L);
-        InvestigationEntity investigationEntity2 = InvestigationUtil.createInvestigationEntity(2L);
-
         InvestigationDto investigationDto1 = InvestigationUtil.createInvestigationDto();
         investigationDto1.setId(1L);
         InvestigationDto investigationDto2 = InvestigationUtil.createInvestigationDto();
         investigationDto2.setId(2L);
 
-        when(investigationRepository.findAllByDurationAndIsActive(duration, isActive))
-                .thenReturn(List.of(investigationEntity1, investigationEntity2));
-        when(investigationConverter.fromEntityToDto(investigationEntity1))
-                .thenReturn(investigationDto1);
-        when(investigationConverter.fromEntityToDto(investigationEntity2))
-                .thenReturn(investigationDto2);
+        when(investigationRepository.findAllDtoByDurationAndIsActive(duration, isActive))
+                .thenReturn(List.of(investigationDto1, investigationDto2));
 
         //Act
         List<InvestigationDto> returnValue = investigationService.getInvestigationByDuration(duration);
@@ -350,9 +338,7 @@ public class InvestigationServiceTests {
         Assertions.assertThat(returnValue.size()).isEqualTo(2);
 
         //Verify
-        verify(investigationRepository).findAllByDurationAndIsActive(duration, isActive);
-        verify(investigationConverter).fromEntityToDto(investigationEntity1);
-        verify(investigationConverter).fromEntityToDto(investigationEntity2);
+        verify(investigationRepository).findAllDtoByDurationAndIsActive(duration, isActive);
     }
 
     @Test
@@ -360,7 +346,7 @@ public class InvestigationServiceTests {
         final Integer duration = 30;
         final boolean isActive = true;
 
-        when(investigationRepository.findAllByDurationAndIsActive(duration, isActive))
+        when(investigationRepository.findAllDtoByDurationAndIsActive(duration, isActive))
                 .thenReturn(Collections.emptyList());
 
         //Act
@@ -370,55 +356,54 @@ public class InvestigationServiceTests {
         Assertions.assertThat(returnValue.isEmpty()).isTrue();
 
         //Verify
-        verify(investigationRepository).findAllByDurationAndIsActive(duration, isActive);
+        verify(investigationRepository).findAllDtoByDurationAndIsActive(duration, isActive);
     }
 
     @Test
     public void testGetAllInvestigations_whenInvestigationsExist_thenReturnListOfDtos() {
         final boolean isActive = true;
-        InvestigationEntity investigationEntity1 = InvestigationUtil.createInvestigationEntity(1L);
-        InvestigationEntity investigationEntity2 = InvestigationUtil.createInvestigationEntity(2L);
-
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
         InvestigationDto investigationDto1 = InvestigationUtil.createInvestigationDto();
         investigationDto1.setId(1L);
         InvestigationDto investigationDto2 = InvestigationUtil.createInvestigationDto();
         investigationDto2.setId(2L);
 
-        when(investigationRepository.findAllByIsActive(isActive))
-                .thenReturn(List.of(investigationEntity1, investigationEntity2));
-        when(investigationConverter.fromEntityToDto(investigationEntity1))
-                .thenReturn(investigationDto1);
-        when(investigationConverter.fromEntityToDto(investigationEntity2))
-                .thenReturn(investigationDto2);
+        when(investigationRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize)))
+                .thenReturn(List.of(investigationDto1, investigationDto2));
 
         //Act
-        List<InvestigationDto> returnValue = investigationService.getAllInvestigations();
+        PageDto<InvestigationDto> returnValue = investigationService.getAllInvestigations(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(investigationRepository).findAllByIsActive(isActive);
-        verify(investigationConverter).fromEntityToDto(investigationEntity1);
-        verify(investigationConverter).fromEntityToDto(investigationEntity2);
+        verify(investigationRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
     public void testGetAllInvestigations_whenInvestigationsNotExist_thenReturnEmptyList() {
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
-        when(investigationRepository.findAllByIsActive(isActive))
+        when(investigationRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize)))
                 .thenReturn(Collections.emptyList());
 
         //Act
-        List<InvestigationDto> returnValue = investigationService.getAllInvestigations();
+        PageDto<InvestigationDto> returnValue = investigationService.getAllInvestigations(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isTrue();
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isTrue();
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(investigationRepository).findAllByIsActive(isActive);
+        verify(investigationRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
@@ -582,45 +567,37 @@ public class InvestigationServiceTests {
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(1L);
 
-        InvestigationEntity investigationEntity1 = InvestigationUtil.createInvestigationEntity(1L);
-        investigationEntity1.setName("TestInvestigation1");
-        investigationEntity1.setBasePrice(150D);
-
-        InvestigationEntity investigationEntity2 = InvestigationUtil.createInvestigationEntity(2L);
-        investigationEntity2.setName("TestInvestigation2");
-        investigationEntity2.setBasePrice(200D);
+        InvestigationDto investigationDto1 = InvestigationUtil.createInvestigationDto();
+        investigationDto1.setName("TestInvestigation1");
+        investigationDto1.setBasePrice(150D);
 
-        InvestigationEntity investigationEntity3 = InvestigationUtil.createInvestigationEntity(3L);
-        investigationEntity3.setName("TestInvestigation3");
-        investigationEntity3.setBasePrice(250D);
-        investigationEntity3.setIsActive(false);
+        InvestigationDto investigationDto2 = InvestigationUtil.createInvestigationDto();
+        investigationDto2.setName("TestInvestigation2");
+        investigationDto2.setBasePrice(200D);
 
-        specialtyEntity.setInvestigations(List.of(investigationEntity1, investigationEntity2, investigationEntity3));
         doctorEntity.setSpecialty(specialtyEntity);
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive))
+                .thenReturn(List.of(investigationDto1, investigationDto2));
 
         //Act
         Map<String, Map<String, Double>> returnValue =
                 investigationService.getInvestigationWithPricing(doctorName, investigationName);
 
         //Assert
-        Assertions.assertThat(returnValue.get(doctorName).get(investigationEntity1.getName()))
+        Assertions.assertThat(returnValue.get(doctorName).get(investigationDto1.getName()))
                 .isEqualTo(expectedPrice1);
-        Assertions.assertThat(returnValue.get(doctorName).get(investigationEntity2.getName()))
+        Assertions.assertThat(returnValue.get(doctorName).get(investigationDto2.getName()))
                 .isEqualTo(expectedPrice2);
 
         Assertions.assertThat(returnValue.containsKey(doctorName)).isTrue();
-        Assertions.assertThat(returnValue.get(doctorName).containsKey(investigationEntity1.getName()))
-                .isTrue();
-        Assertions.assertThat(returnValue.get(doctorName).containsKey(investigationEntity2.getName()))
-                .isTrue();
-        Assertions.assertThat(returnValue.get(doctorName).containsKey(investigationEntity3.getName()))
-                .isFalse();
+        Assertions.assertThat(returnValue.get(doctorName).size()).isEqualTo(2);
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
+        verify(investigationRepository).findAllDtoBySpecialtyAndIsActive(specialtyEntity, isActive);
     }
 
     @Test
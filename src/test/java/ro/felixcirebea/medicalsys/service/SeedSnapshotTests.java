@@ -0,0 +1,102 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.ImportJobRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class SeedSnapshotTests extends IntegrationTestBase {
+
+    @TempDir
+    private Path snapshotDirectory;
+
+    @Autowired
+    private InputFileParser inputFileParser;
+
+    @Autowired
+    private HolidayIndex holidayIndex;
+
+    @Autowired
+    private VacationIndex vacationIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SeedSnapshotService seedSnapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        resetDatabase();
+        seedSnapshotService = new SeedSnapshotService(inputFileParser, importJobRepository, holidayIndex,
+                vacationIndex, entityManagerFactory, jdbcTemplate, snapshotDirectory.toString(), true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        resetDatabase();
+    }
+
+    @Test
+    public void testSeed_whenSnapshotOfSameSeedFiles_thenRestoredInsteadOfParsed()
+            throws IOException {
+        //Arrange
+        String firstSource = seedSnapshotService.seed();
+        long doctors = doctorRepository.count();
+        long appointments = appointmentRepository.count();
+        resetDatabase();
+
+        //Act
+        String secondSource = seedSnapshotService.seed();
+
+        //Assert
+        Assertions.assertThat(firstSource).isEqualTo(SeedSnapshotService.SOURCE_CSV);
+        Assertions.assertThat(secondSource).isEqualTo(SeedSnapshotService.SOURCE_SNAPSHOT);
+        try (Stream<Path> snapshots = Files.list(snapshotDirectory)) {
+            Assertions.assertThat(snapshots.map(path -> path.getFileName().toString()))
+                    .singleElement()
+                    .matches(name -> name.startsWith("seed-") && name.endsWith(".sql.gz"));
+        }
+        Assertions.assertThat(doctorRepository.count()).isEqualTo(doctors).isPositive();
+        Assertions.assertThat(appointmentRepository.count()).isEqualTo(appointments).isPositive();
+        Assertions.assertThat(importJobRepository.count()).isEqualTo(7);
+    }
+
+    @Test
+    public void testSeed_whenDbAlreadySeeded_thenNoSnapshotRestored() {
+        //Arrange
+        seedSnapshotService.seed();
+
+        //Act
+        String result = seedSnapshotService.seed();
+
+        //Assert
+        Assertions.assertThat(result).isEqualTo(SeedSnapshotService.SOURCE_CSV);
+    }
+}
@@ -0,0 +1,296 @@
+package ro.felixcirebea.medicalsys.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ro.felixcirebea.medicalsys.converter.AppointmentConverter;
+import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.dto.SlotHoldDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
+import ro.felixcirebea.medicalsys.entity.DoctorEntity;
+import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
+import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.BookingGuard;
+import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.HolidayIndex;
+import ro.felixcirebea.medicalsys.helper.SlotHoldRegistry;
+import ro.felixcirebea.medicalsys.helper.SlotOccupancyIndex;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
+import ro.felixcirebea.medicalsys.repository.AppointmentRepository;
+import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.InvestigationRepository;
+import ro.felixcirebea.medicalsys.util.AppointmentUtil;
+import ro.felixcirebea.medicalsys.util.DoctorUtil;
+import ro.felixcirebea.medicalsys.util.InvestigationUtil;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotHoldServiceTests {
+
+    private static final Long ID = 1L;
+    private static final LocalDate CURRENT_DATE = LocalDate.of(2023, 1, 5);
+    private static final LocalDate DESIRED_DATE = LocalDate.of(2023, 1, 10);
+    private static final LocalTime START_HOUR = LocalTime.of(9, 0);
+    private static final LocalTime END_HOUR = LocalTime.of(9, 30);
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private InvestigationRepository investigationRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Spy
+    private AppointmentConverter appointmentConverter;
+
+    @Mock
+    private Contributor infoContributor;
+
+    @Spy
+    private SlotOccupancyIndex slotOccupancyIndex = new SlotOccupancyIndex(100);
+
+    @Spy
+    private SlotHoldRegistry slotHoldRegistry;
+
+    @Mock
+    private VacationIndex vacationIndex;
+
+    @Mock
+    private HolidayIndex holidayIndex;
+
+    @Mock
+    private BookingGuard bookingGuard;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SlotHoldService slotHoldService;
+
+    @Test
+    public void testHoldSlot_whenSlotFree_thenReturnHold()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        stubGuard();
+        when(appointmentRepository.existsByDoctorDateAndTimeRange(doctorEntity, DESIRED_DATE, START_HOUR, END_HOUR))
+                .thenReturn(false);
+
+        //Act
+        SlotHoldDto returnValue = slotHoldService.holdSlot(appointmentDto, 60);
+
+        //Assert
+        Assertions.assertThat(returnValue.getToken()).isNotBlank();
+        Assertions.assertThat(returnValue.getEndHour()).isEqualTo(END_HOUR);
+        Assertions.assertThat(slotHoldRegistry.isHeld(ID, DESIRED_DATE, START_HOUR, END_HOUR)).isTrue();
+    }
+
+    @Test
+    public void testHoldSlot_whenSlotAlreadyHeld_thenThrowException()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        stubGuard();
+        when(appointmentRepository.existsByDoctorDateAndTimeRange(doctorEntity, DESIRED_DATE, START_HOUR, END_HOUR))
+                .thenReturn(false);
+        slotHoldService.holdSlot(appointmentDto, 60);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.holdSlot(appointmentDto, 60))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format("%s not available, please select a different hour", START_HOUR));
+    }
+
+    @Test
+    public void testHoldSlot_whenDoctorOnVacation_thenThrowException() {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        when(vacationIndex.isOnVacation(ID, DESIRED_DATE)).thenReturn(true);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.holdSlot(appointmentDto, 60))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(SlotHoldService.ON_VACATION_MSG, doctorEntity.getName(), DESIRED_DATE));
+        Assertions.assertThat(slotHoldRegistry.isHeld(ID, DESIRED_DATE, START_HOUR, END_HOUR)).isFalse();
+
+        //Verify
+        verifyNoInteractions(bookingGuard);
+    }
+
+    @Test
+    public void testHoldSlot_whenHoliday_thenThrowException() {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        when(holidayIndex.isHoliday(DESIRED_DATE)).thenReturn(true);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.holdSlot(appointmentDto, 60))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(SlotHoldService.HOLIDAY_MSG, DESIRED_DATE));
+        Assertions.assertThat(slotHoldRegistry.isHeld(ID, DESIRED_DATE, START_HOUR, END_HOUR)).isFalse();
+
+        //Verify
+        verifyNoInteractions(bookingGuard);
+    }
+
+    @Test
+    public void testConfirmHold_whenHoldActive_thenBookAppointment()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+        AppointmentEntity appointmentEntity =
+                AppointmentUtil.createAppointmentEntity(ID, DESIRED_DATE, START_HOUR, END_HOUR);
+        String token = slotHoldRegistry.hold(ID, DESIRED_DATE, START_HOUR, END_HOUR, appointmentDto,
+                Duration.ofMinutes(5)).getToken();
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        stubGuard();
+        when(appointmentRepository.existsByDoctorDateAndTimeRange(doctorEntity, DESIRED_DATE, START_HOUR, END_HOUR))
+                .thenReturn(false);
+        when(appointmentRepository.save(any(AppointmentEntity.class))).thenReturn(appointmentEntity);
+
+        //Act
+        Long returnValue = slotHoldService.confirmHold(token);
+
+        //Assert
+        Assertions.assertThat(returnValue).isEqualTo(ID);
+        Assertions.assertThat(slotHoldRegistry.find(token)).isEmpty();
+
+        //Verify
+        verify(slotOccupancyIndex).markOccupied(ID, DESIRED_DATE, START_HOUR, END_HOUR);
+    }
+
+    @Test
+    public void testConfirmHold_whenSaveFails_thenKeepHold()
+            throws DataNotFoundException, ConcurrencyException {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+        String token = slotHoldRegistry.hold(ID, DESIRED_DATE, START_HOUR, END_HOUR, appointmentDto,
+                Duration.ofMinutes(5)).getToken();
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        stubGuard();
+        when(appointmentRepository.existsByDoctorDateAndTimeRange(doctorEntity, DESIRED_DATE, START_HOUR, END_HOUR))
+                .thenReturn(false);
+        when(appointmentRepository.save(any(AppointmentEntity.class)))
+                .thenThrow(new IllegalStateException("save failed"));
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.confirmHold(token))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("save failed");
+        Assertions.assertThat(slotHoldRegistry.find(token)).isPresent();
+
+        //Verify
+        verify(slotHoldRegistry, never()).remove(token);
+        verify(slotOccupancyIndex, never()).markOccupied(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testConfirmHold_whenDateInPast_thenThrowException() {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        String token = slotHoldRegistry.hold(ID, DESIRED_DATE, START_HOUR, END_HOUR, appointmentDto,
+                Duration.ofMinutes(5)).getToken();
+
+        when(infoContributor.getCurrentDate()).thenReturn(DESIRED_DATE.plusDays(1));
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.confirmHold(token))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(SlotHoldService.DATE_ERROR_MSG);
+        Assertions.assertThat(slotHoldRegistry.find(token)).isPresent();
+
+        //Verify
+        verifyNoInteractions(appointmentRepository, bookingGuard);
+    }
+
+    @Test
+    public void testConfirmHold_whenDoctorOnVacation_thenThrowException() {
+        //Arrange
+        AppointmentDto appointmentDto = AppointmentUtil.createAppointmentDto(DESIRED_DATE, START_HOUR);
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(ID);
+        InvestigationEntity investigationEntity = InvestigationUtil.createInvestigationEntity(ID);
+        String token = slotHoldRegistry.hold(ID, DESIRED_DATE, START_HOUR, END_HOUR, appointmentDto,
+                Duration.ofMinutes(5)).getToken();
+
+        when(infoContributor.getCurrentDate()).thenReturn(CURRENT_DATE);
+        stubLookups(appointmentDto, doctorEntity, investigationEntity);
+        when(vacationIndex.isOnVacation(ID, DESIRED_DATE)).thenReturn(true);
+
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.confirmHold(token))
+                .isInstanceOf(ConcurrencyException.class)
+                .hasMessage(String.format(SlotHoldService.ON_VACATION_MSG, doctorEntity.getName(), DESIRED_DATE));
+        Assertions.assertThat(slotHoldRegistry.find(token)).isPresent();
+
+        //Verify
+        verifyNoInteractions(appointmentRepository, bookingGuard);
+    }
+
+    @Test
+    public void testConfirmHold_whenHoldUnknown_thenThrowException() {
+        //Act && assert
+        Assertions.assertThatThrownBy(() -> slotHoldService.confirmHold("missing"))
+                .isInstanceOf(DataNotFoundException.class)
+                .hasMessage("Hold missing not found or expired");
+
+        //Verify
+        verifyNoInteractions(appointmentRepository, bookingGuard);
+    }
+
+    private void stubLookups(AppointmentDto appointmentDto, DoctorEntity doctorEntity,
+                             InvestigationEntity investigationEntity) {
+        when(doctorRepository.findByNameAndIsActive(appointmentDto.getDoctor(), true))
+                .thenReturn(Optional.of(doctorEntity));
+        when(investigationRepository.findByNameAndIsActive(appointmentDto.getInvestigation(), true))
+                .thenReturn(Optional.of(investigationEntity));
+    }
+
+    private void stubGuard() throws DataNotFoundException, ConcurrencyException {
+        when(bookingGuard.runExclusively(eq(ID), eq(DESIRED_DATE), any()))
+                .thenAnswer(invocation -> invocation.<BookingGuard.BookingAction<?>>getArgument(2).execute());
+    }
+}
@@ -0,0 +1,181 @@
+package ro.felixcirebea.medicalsys.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.felixcirebea.medicalsys.IntegrationTestBase;
+import ro.felixcirebea.medicalsys.entity.*;
+import ro.felixcirebea.medicalsys.enums.AppointmentStatus;
+import ro.felixcirebea.medicalsys.enums.VacationStatus;
+import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
+import ro.felixcirebea.medicalsys.helper.AvailableHoursCache;
+import ro.felixcirebea.medicalsys.repository.*;
+import ro.felixcirebea.medicalsys.util.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SpecialtyCascadeDeleteTests extends IntegrationTestBase {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final int DOCTORS = 20;
+    private static final LocalDate PAST_DATE = LocalDate.of(2022, 12, 30);
+    private static final LocalDate FUTURE_DATE = LocalDate.of(2023, 1, 10);
+
+    @Autowired
+    private SpecialtyService specialtyService;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private InvestigationRepository investigationRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private VacationRepository vacationRepository;
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AvailableHoursCache availableHoursCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private String specialtyName;
+
+    private List<DoctorEntity> doctors;
+
+    private InvestigationEntity investigation;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        specialtyName = "CascadeSpecialty" + SEQUENCE.incrementAndGet();
+
+        SpecialtyEntity specialtyEntity =
+                specialtyRepository.save(SpecialtyUtil.createSpecialtyEntity(specialtyName));
+
+        investigation = InvestigationUtil.createInvestigationEntity(specialtyName + "Investigation");
+        investigation.setSpecialty(specialtyEntity);
+        investigation = investigationRepository.save(investigation);
+
+        doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(specialtyName + "Doctor" + i);
+            doctorEntity.setSpecialty(specialtyEntity);
+            doctors.add(doctorEntity);
+        }
+        doctors = (List<DoctorEntity>) doctorRepository.saveAll(doctors);
+    }
+
+    @Test
+    public void testDeleteSpecialtyByName_whenCascading_thenTouchOnlyOpenRowsWithConstantStatements()
+            throws DataNotFoundException {
+        //Arrange
+        DoctorEntity doctorEntity = doctors.get(0);
+        AppointmentEntity futureNew = saveAppointment(doctorEntity, FUTURE_DATE, AppointmentStatus.NEW);
+        AppointmentEntity futureCompleted =
+                saveAppointment(doctorEntity, FUTURE_DATE, AppointmentStatus.COMPLETED);
+        AppointmentEntity pastNew = saveAppointment(doctorEntity, PAST_DATE, AppointmentStatus.NEW);
+        VacationEntity planned = saveVacation(doctorEntity, FUTURE_DATE, VacationStatus.PLANNED);
+        VacationEntity done = saveVacation(doctorEntity, PAST_DATE, VacationStatus.DONE);
+        workingHoursRepository.save(WorkingHoursUtil.createWorkingHoursEntity(doctorEntity, DayOfWeek.MONDAY));
+        statistics.clear();
+
+        //Act
+        specialtyService.deleteSpecialtyByName(specialtyName);
+        long statements = statistics.getPrepareStatementCount();
+
+        //Assert
+        //specialty, doctor ids, investigation ids, doctors, investigations, appointments, vacations,
+        //working hours, specialty update
+        Assertions.assertThat(statements).isLessThanOrEqualTo(9);
+        Assertions.assertThat(doctorRepository.findAllIdsBySpecialtyAndIsActive(
+                specialtyRepository.findByNameAndIsActive(specialtyName, false).orElseThrow(), true)).isEmpty();
+        Assertions.assertThat(investigationRepository.findByIdAndIsActive(investigation.getId(), true)).isEmpty();
+        Assertions.assertThat(statusOf(futureNew)).isEqualTo(AppointmentStatus.CANCELED);
+        Assertions.assertThat(statusOf(futureCompleted)).isEqualTo(AppointmentStatus.COMPLETED);
+        Assertions.assertThat(statusOf(pastNew)).isEqualTo(AppointmentStatus.NEW);
+        Assertions.assertThat(vacationRepository.findById(planned.getId()).orElseThrow().getStatus())
+                .isEqualTo(VacationStatus.CANCELED);
+        Assertions.assertThat(vacationRepository.findById(done.getId()).orElseThrow().getStatus())
+                .isEqualTo(VacationStatus.DONE);
+        Assertions.assertThat(workingHoursRepository.findProjectionByDoctor(doctorEntity)).isEmpty();
+    }
+
+    @Test
+    public void testDeleteSpecialtyByName_whenHoursCached_thenDropThemOnlyAfterCommit() {
+        //Arrange
+        final Long otherDoctorId = Long.MAX_VALUE;
+        final Long otherInvestigationId = Long.MAX_VALUE;
+        DoctorEntity doctorEntity = doctors.get(0);
+        cacheHours("OtherDoctor", otherDoctorId, investigation.getName(), investigation.getId());
+        cacheHours(doctorEntity.getName(), doctorEntity.getId(), "OtherInvestigation", otherInvestigationId);
+        cacheHours("OtherDoctor", otherDoctorId, "OtherInvestigation", otherInvestigationId);
+
+        //Act
+        List<Boolean> cachedBeforeCommit = new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                specialtyService.deleteSpecialtyByName(specialtyName);
+            } catch (DataNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            return List.of(
+                    isCached("OtherDoctor", investigation.getName()),
+                    isCached(doctorEntity.getName(), "OtherInvestigation"));
+        });
+
+        //Assert
+        Assertions.assertThat(cachedBeforeCommit).containsExactly(true, true);
+        Assertions.assertThat(isCached("OtherDoctor", investigation.getName())).isFalse();
+        Assertions.assertThat(isCached(doctorEntity.getName(), "OtherInvestigation")).isFalse();
+        Assertions.assertThat(isCached("OtherDoctor", "OtherInvestigation")).isTrue();
+    }
+
+    private void cacheHours(String doctorName, Long doctorId, String investigationName, Long investigationId) {
+        availableHoursCache.put(doctorName, investigationName, FUTURE_DATE,
+                new AvailableHoursCache.CachedHours(doctorId, investigationId, 30, List.of(LocalTime.of(8, 0))),
+                availableHoursCache.currentVersion());
+    }
+
+    private boolean isCached(String doctorName, String investigationName) {
+        return availableHoursCache.get(doctorName, investigationName, FUTURE_DATE).isPresent();
+    }
+
+    private AppointmentEntity saveAppointment(DoctorEntity doctorEntity, LocalDate date, AppointmentStatus status) {
+        return appointmentRepository.save(AppointmentUtil.createAppointmentEntity(
+                doctorEntity, investigation, date, LocalTime.of(8, 0), status));
+    }
+
+    private VacationEntity saveVacation(DoctorEntity doctorEntity, LocalDate startDate, VacationStatus status) {
+        return vacationRepository.save(VacationUtil.createVacationEntity(
+                doctorEntity, startDate, startDate.plusDays(1), status));
+    }
+
+    private AppointmentStatus statusOf(AppointmentEntity appointmentEntity) {
+        return appointmentRepository.findById(appointmentEntity.getId()).orElseThrow().getStatus();
+    }
+}
@@ -8,11 +8,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ro.felixcirebea.medicalsys.converter.SpecialtyConverter;
 import ro.felixcirebea.medicalsys.dto.SpecialtyDto;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.entity.SpecialtyEntity;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.SpecialtyRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
 import ro.felixcirebea.medicalsys.helper.DeleteUtility;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.util.SpecialtyUtil;
 
 import java.util.Collections;
@@ -109,11 +111,10 @@ public class SpecialtyServiceTests {
         //Arrange
         final Long expectedId = 1L;
         final boolean isActive = true;
-        SpecialtyDto specialtyDto = SpecialtyUtil.createSpecialtyDto();
-        specialtyDto.setId(expectedId);
         SpecialtyEntity specialtyEntity = SpecialtyUtil.createSpecialtyEntity(expectedId);
 
-        when(specialtyRepository.findByIdAndIsActive(expectedId, isActive)).thenReturn(Optional.of(specialtyEntity));
+        when(specialtyRepository.findNameByIdAndIsActive(expectedId, isActive))
+                .thenReturn(Optional.of(specialtyEntity.getName()));
 
         //Act
         String returnValue = specialtyService.getSpecialtyById(expectedId);
@@ -122,7 +123,7 @@ public class SpecialtyServiceTests {
         Assertions.assertThat(returnValue).isEqualTo(specialtyEntity.getName());
 
         //Verify
-        verify(specialtyRepository).findByIdAndIsActive(expectedId, isActive);
+        verify(specialtyRepository).findNameByIdAndIsActive(expectedId, isActive);
     }
 
     @Test
@@ -131,7 +132,7 @@ public class SpecialtyServiceTests {
         final Long nonExistentId = 999L;
         final boolean isActive = true;
 
-        when(specialtyRepository.findByIdAndIsActive(nonExistentId, isActive))
+        when(specialtyRepository.findNameByIdAndIsActive(nonExistentId, isActive))
                 .thenReturn(Optional.empty());
 
         //Act && Assert
@@ -139,7 +140,7 @@ public class SpecialtyServiceTests {
                 .isInstanceOf(DataNotFoundException.class);
 
         //Verify
-        verify(specialtyRepository).findByIdAndIsActive(nonExistentId, isActive);
+        verify(specialtyRepository).findNameByIdAndIsActive(nonExistentId, isActive);
     }
 
     @Test
@@ -186,48 +187,47 @@ public class SpecialtyServiceTests {
     public void testGetAllSpecialties_whenSpecialtiesExist_thenReturnListOfSpecialties() {
         //Arrange
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
         SpecialtyDto specialtyDto1 = SpecialtyDto.builder().id(1L).build();
         SpecialtyDto specialtyDto2 = SpecialtyDto.builder().id(2L).build();
 
-        SpecialtyEntity specialtyEntity1 = new SpecialtyEntity();
-        specialtyEntity1.setId(1L);
-        SpecialtyEntity specialtyEntity2 = new SpecialtyEntity();
-        specialtyEntity2.setId(2L);
-
-        when(specialtyRepository.findAllByIsActive(isActive))
-                .thenReturn(List.of(specialtyEntity1, specialtyEntity2));
-        when(specialtyConverter.fromEntityToDto(specialtyEntity1)).thenReturn(specialtyDto1);
-        when(specialtyConverter.fromEntityToDto(specialtyEntity2)).thenReturn(specialtyDto2);
+        when(specialtyRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize)))
+                .thenReturn(List.of(specialtyDto1, specialtyDto2));
 
         //Act
-        List<SpecialtyDto> returnValue = specialtyService.getAllSpecialties();
+        PageDto<SpecialtyDto> returnValue = specialtyService.getAllSpecialties(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue).isNotEmpty();
-        Assertions.assertThat(returnValue.size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getItems()).isNotEmpty();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(specialtyRepository).findAllByIsActive(isActive);
-        verify(specialtyConverter).fromEntityToDto(specialtyEntity1);
-        verify(specialtyConverter).fromEntityToDto(specialtyEntity2);
+        verify(specialtyRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
     }
 
     @Test
     public void testGetAllSpecialties_whenSpecialtiesNotExist_thenReturnEmptyList() {
         //Arrange
         final boolean isActive = true;
+        final int pageSize = KeysetPagination.DEFAULT_PAGE_SIZE;
 
-        when(specialtyRepository.findAllByIsActive(isActive)).thenReturn(Collections.emptyList());
+        when(specialtyRepository.findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize))).thenReturn(Collections.emptyList());
 
         //Act
-        List<SpecialtyDto> returnValue = specialtyService.getAllSpecialties();
+        PageDto<SpecialtyDto> returnValue = specialtyService.getAllSpecialties(null, pageSize);
 
         //Assert
-        Assertions.assertThat(returnValue).isEmpty();
+        Assertions.assertThat(returnValue.getItems()).isEmpty();
+        Assertions.assertThat(returnValue.getNextCursor()).isNull();
 
         //Verify
-        verify(specialtyRepository).findAllByIsActive(isActive);
+        verify(specialtyRepository).findAllDtoByIsActiveAndIdGreaterThan(
+                isActive, 0L, KeysetPagination.firstRows(pageSize));
         verifyNoInteractions(specialtyConverter);
     }
 
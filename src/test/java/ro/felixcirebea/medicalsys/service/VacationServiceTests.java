@@ -6,18 +6,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.VacationConverter;
 import ro.felixcirebea.medicalsys.dto.VacationDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.VacationEntity;
 import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
 import ro.felixcirebea.medicalsys.exception.ConcurrencyException;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
 import ro.felixcirebea.medicalsys.repository.VacationRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.VacationIndex;
 import ro.felixcirebea.medicalsys.util.DoctorUtil;
 import ro.felixcirebea.medicalsys.util.VacationUtil;
 
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +47,12 @@ public class VacationServiceTests {
     @Mock
     private VacationConverter vacationConverter;
 
+    @Mock
+    private VacationIndex vacationIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VacationService vacationService;
 
@@ -61,7 +71,8 @@ public class VacationServiceTests {
                 .thenReturn(Optional.of(doctorEntity));
         when(infoContributor.getCurrentDate())
                 .thenReturn(currentDate);
-        when(vacationRepository.existsByDateBetweenDates(vacationDto.getStartDate(), vacationDto.getEndDate()))
+        when(vacationRepository.existsByDoctorAndDateBetweenDates(
+                doctorEntity, vacationDto.getStartDate(), vacationDto.getEndDate()))
                 .thenReturn(false);
         when(vacationConverter.fromDtoToEntity(vacationDto, doctorEntity))
                 .thenReturn(vacationEntity);
@@ -77,9 +88,11 @@ public class VacationServiceTests {
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
         verify(infoContributor).getCurrentDate();
-        verify(vacationRepository).existsByDateBetweenDates(vacationDto.getStartDate(), vacationDto.getEndDate());
+        verify(vacationRepository).existsByDoctorAndDateBetweenDates(
+                doctorEntity, vacationDto.getStartDate(), vacationDto.getEndDate());
         verify(vacationConverter).fromDtoToEntity(vacationDto, doctorEntity);
         verify(vacationRepository).save(vacationEntity);
+        verify(vacationIndex).refresh(doctorEntity.getId());
     }
 
     @Test
@@ -96,7 +109,8 @@ public class VacationServiceTests {
                 .thenReturn(Optional.of(doctorEntity));
         when(infoContributor.getCurrentDate())
                 .thenReturn(currentDate);
-        when(vacationRepository.existsByDateBetweenDates(vacationDto.getStartDate(), vacationDto.getEndDate()))
+        when(vacationRepository.existsByDoctorAndDateBetweenDates(
+                doctorEntity, vacationDto.getStartDate(), vacationDto.getEndDate()))
                 .thenReturn(true);
 
         //Act && assert
@@ -108,7 +122,8 @@ public class VacationServiceTests {
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
         verify(infoContributor).getCurrentDate();
-        verify(vacationRepository).existsByDateBetweenDates(vacationDto.getStartDate(), vacationDto.getEndDate());
+        verify(vacationRepository).existsByDoctorAndDateBetweenDates(
+                doctorEntity, vacationDto.getStartDate(), vacationDto.getEndDate());
     }
 
     @Test
@@ -190,6 +205,7 @@ public class VacationServiceTests {
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
         verify(vacationRepository).findByDoctorAndStartDate(doctorEntity, startDateValue);
         verify(vacationRepository).save(vacationEntity);
+        verify(vacationIndex).refresh(doctorEntity.getId());
     }
 
     @Test
@@ -276,8 +292,6 @@ public class VacationServiceTests {
         final LocalDate endDateValue = LocalDate.parse(endDate);
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -285,13 +299,9 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.findAllByDoctorAndStartDateAfterAndEndDateBefore(
+        when(vacationRepository.findAllDtoByDoctorAndStartDateAfterAndEndDateBefore(
                 doctorEntity, startDateValue, endDateValue))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndDates(doctorName, startDate, endDate);
@@ -303,9 +313,7 @@ public class VacationServiceTests {
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
         verify(vacationRepository)
-                .findAllByDoctorAndStartDateAfterAndEndDateBefore(doctorEntity, startDateValue, endDateValue);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+                .findAllDtoByDoctorAndStartDateAfterAndEndDateBefore(doctorEntity, startDateValue, endDateValue);
     }
 
     @Test
@@ -319,8 +327,6 @@ public class VacationServiceTests {
         final LocalDate endDateValue = LocalDate.parse(endDate);
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -328,12 +334,8 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.findAllByDoctorAndEndDateBefore(doctorEntity, endDateValue))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByDoctorAndEndDateBefore(doctorEntity, endDateValue))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndDates(doctorName, startDate, endDate);
@@ -344,9 +346,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationRepository).findAllByDoctorAndEndDateBefore(doctorEntity, endDateValue);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByDoctorAndEndDateBefore(doctorEntity, endDateValue);
     }
 
     @Test
@@ -360,8 +360,6 @@ public class VacationServiceTests {
         final LocalDate startDateValue = LocalDate.parse(startDate);
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -369,12 +367,8 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.findAllByDoctorAndStartDateAfter(doctorEntity, startDateValue))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByDoctorAndStartDateAfter(doctorEntity, startDateValue))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndDates(doctorName, startDate, endDate);
@@ -385,9 +379,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationRepository).findAllByDoctorAndStartDateAfter(doctorEntity, startDateValue);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByDoctorAndStartDateAfter(doctorEntity, startDateValue);
     }
 
     @Test
@@ -400,9 +392,6 @@ public class VacationServiceTests {
         final String endDate = "";
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
-        doctorEntity.setVacation(List.of(vacationEntity1, vacationEntity2));
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -410,10 +399,8 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByDoctor(doctorEntity))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndDates(doctorName, startDate, endDate);
@@ -424,8 +411,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByDoctor(doctorEntity);
     }
 
     @Test
@@ -457,8 +443,6 @@ public class VacationServiceTests {
         final VacationType inputType = VacationType.VACATION;
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -466,12 +450,8 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.findAllByDoctorAndType(doctorEntity, inputType))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByDoctorAndType(doctorEntity, inputType))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndType(doctorName, inputType);
@@ -484,9 +464,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationRepository).findAllByDoctorAndType(doctorEntity, inputType);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByDoctorAndType(doctorEntity, inputType);
     }
 
     @Test
@@ -495,19 +473,13 @@ public class VacationServiceTests {
         final String doctorName = "";
         final VacationType inputType = VacationType.VACATION;
 
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
         vacationDto2.setId(2L);
 
-        when(vacationRepository.findAllByType(inputType))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByType(inputType))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByDoctorAndType(doctorName, inputType);
@@ -519,9 +491,7 @@ public class VacationServiceTests {
         Assertions.assertThat(returnValue.get(1).getType()).isEqualTo(inputType);
 
         //Verify
-        verify(vacationRepository).findAllByType(inputType);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByType(inputType);
     }
 
     @Test
@@ -555,8 +525,7 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.isDateBetweenVacation(doctorEntity, inputDate))
-                .thenReturn(true);
+        when(vacationIndex.isOnVacation(id, inputDate)).thenReturn(true);
 
         //Act
         Boolean returnValue = vacationService.isDateVacation(doctorName, inputDate);
@@ -566,7 +535,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationRepository).isDateBetweenVacation(doctorEntity, inputDate);
+        verify(vacationIndex).isOnVacation(id, inputDate);
     }
 
     @Test
@@ -597,8 +566,6 @@ public class VacationServiceTests {
         final VacationStatus inputStatus = VacationStatus.PLANNED;
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        VacationEntity vacationEntity1 = VacationUtil.createVacationEntity(1L);
-        VacationEntity vacationEntity2 = VacationUtil.createVacationEntity(2L);
         VacationDto vacationDto1 = VacationUtil.createVacationDto();
         vacationDto1.setId(1L);
         VacationDto vacationDto2 = VacationUtil.createVacationDto();
@@ -606,12 +573,8 @@ public class VacationServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(vacationRepository.findAllByDoctorAndStatus(doctorEntity, inputStatus))
-                .thenReturn(List.of(vacationEntity1, vacationEntity2));
-        when(vacationConverter.fromEntityToDto(vacationEntity1))
-                .thenReturn(vacationDto1);
-        when(vacationConverter.fromEntityToDto(vacationEntity2))
-                .thenReturn(vacationDto2);
+        when(vacationRepository.findAllDtoByDoctorAndStatus(doctorEntity, inputStatus))
+                .thenReturn(List.of(vacationDto1, vacationDto2));
 
         //Act
         List<VacationDto> returnValue = vacationService.getVacationByStatus(doctorName, inputStatus);
@@ -622,9 +585,7 @@ public class VacationServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(vacationRepository).findAllByDoctorAndStatus(doctorEntity, inputStatus);
-        verify(vacationConverter).fromEntityToDto(vacationEntity1);
-        verify(vacationConverter).fromEntityToDto(vacationEntity2);
+        verify(vacationRepository).findAllDtoByDoctorAndStatus(doctorEntity, inputStatus);
     }
 
     @Test
@@ -645,4 +606,37 @@ public class VacationServiceTests {
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
     }
+
+    @Test
+    public void testCancelOpenVacationsForDoctor_whenAllValid_thenReturnString() {
+        //Arrange
+        final Long id = 1L;
+        DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
+
+        when(vacationRepository.cancelAllByDoctorIdInAndStatusIn(List.of(id), VacationIndex.ACTIVE_STATUSES))
+                .thenReturn(2);
+
+        //Act
+        String returnValue = vacationService.cancelOpenVacationsForDoctor(doctorEntity);
+
+        //Assert
+        Assertions.assertThat(returnValue)
+                .isEqualTo(String.format("2 open vacations for %s canceled", doctorEntity.getName()));
+
+        //Verify
+        verify(vacationRepository).cancelAllByDoctorIdInAndStatusIn(List.of(id), VacationIndex.ACTIVE_STATUSES);
+        verify(eventPublisher).publishEvent(DoctorScheduleChangedEvent.allDates(id));
+    }
+
+    @Test
+    public void testCancelOpenVacationsForDoctors_whenNoDoctors_thenReturnZero() {
+        //Act
+        int returnValue = vacationService.cancelOpenVacationsForDoctors(List.of());
+
+        //Assert
+        Assertions.assertThat(returnValue).isZero();
+
+        //Verify
+        verifyNoInteractions(vacationRepository, eventPublisher);
+    }
 }
@@ -6,15 +6,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ro.felixcirebea.medicalsys.converter.WorkingHoursConverter;
+import ro.felixcirebea.medicalsys.dto.PageDto;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.event.DoctorScheduleChangedEvent;
 import ro.felixcirebea.medicalsys.exception.DataMismatchException;
 import ro.felixcirebea.medicalsys.exception.DataNotFoundException;
 import ro.felixcirebea.medicalsys.repository.DoctorRepository;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursProjection;
 import ro.felixcirebea.medicalsys.repository.WorkingHoursRepository;
 import ro.felixcirebea.medicalsys.helper.Contributor;
+import ro.felixcirebea.medicalsys.helper.KeysetPagination;
 import ro.felixcirebea.medicalsys.util.DoctorUtil;
 import ro.felixcirebea.medicalsys.util.WorkingHoursUtil;
 
@@ -28,6 +33,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class WorkingHoursServiceTests {
 
+    private static final int PAGE_SIZE = KeysetPagination.DEFAULT_PAGE_SIZE;
+
     @Mock
     private DoctorRepository doctorRepository;
 
@@ -40,6 +47,9 @@ public class WorkingHoursServiceTests {
     @Mock
     private Contributor infoContributor;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private WorkingHoursService workingHoursService;
 
@@ -75,6 +85,7 @@ public class WorkingHoursServiceTests {
         verify(workingHoursRepository).existsByDoctorAndDayOfWeek(doctorEntity, dayOfWeek);
         verify(workingHoursConverter).fromDtoToEntity(workingHoursDto, doctorEntity);
         verify(workingHoursRepository).save(workingHoursEntity);
+        verify(eventPublisher).publishEvent(DoctorScheduleChangedEvent.allDates(id));
     }
 
     @Test
@@ -175,29 +186,30 @@ public class WorkingHoursServiceTests {
         final DayOfWeek dayOfWeekValue = DayOfWeek.of(dayOfWeek);
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(id, 1);
+        WorkingHoursProjection workingHoursProjection = WorkingHoursUtil.createWorkingHoursProjection(id, 1);
         WorkingHoursDto workingHoursDto = WorkingHoursUtil.createWorkingHoursDto(dayOfWeek);
         workingHoursDto.setId(id);
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(workingHoursRepository.findByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue))
-                .thenReturn(Optional.of(workingHoursEntity));
-        when(workingHoursConverter.fromEntityToDto(workingHoursEntity))
+        when(workingHoursRepository.findProjectionByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue))
+                .thenReturn(Optional.of(workingHoursProjection));
+        when(workingHoursConverter.fromProjectionToDto(workingHoursProjection))
                 .thenReturn(workingHoursDto);
 
         //Act
-        List<WorkingHoursDto> returnValue = workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek);
+        PageDto<WorkingHoursDto> returnValue =
+                workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek, null, PAGE_SIZE);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(1);
-        Assertions.assertThat(returnValue.get(0)).isEqualTo(workingHoursDto);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(1);
+        Assertions.assertThat(returnValue.getItems().get(0)).isEqualTo(workingHoursDto);
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(workingHoursRepository).findByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue);
-        verify(workingHoursConverter).fromEntityToDto(workingHoursEntity);
+        verify(workingHoursRepository).findProjectionByDoctorAndDayOfWeek(doctorEntity, dayOfWeekValue);
+        verify(workingHoursConverter).fromProjectionToDto(workingHoursProjection);
     }
 
     @Test
@@ -209,8 +221,8 @@ public class WorkingHoursServiceTests {
         final String doctorName = "TestDoctor";
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
-        WorkingHoursEntity workingHoursEntity1 = WorkingHoursUtil.createWorkingHoursEntity(1L, 1);
-        WorkingHoursEntity workingHoursEntity2 = WorkingHoursUtil.createWorkingHoursEntity(2L, 2);
+        WorkingHoursProjection workingHoursProjection1 = WorkingHoursUtil.createWorkingHoursProjection(1L, 1);
+        WorkingHoursProjection workingHoursProjection2 = WorkingHoursUtil.createWorkingHoursProjection(2L, 2);
         WorkingHoursDto workingHoursDto1 = WorkingHoursUtil.createWorkingHoursDto(1);
         WorkingHoursDto workingHoursDto2 = WorkingHoursUtil.createWorkingHoursDto(2);
         workingHoursDto1.setId(1L);
@@ -218,28 +230,28 @@ public class WorkingHoursServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        when(workingHoursRepository.findByDoctor(doctorEntity))
-                .thenReturn(List.of(workingHoursEntity1, workingHoursEntity2));
-        when(workingHoursConverter.fromEntityToDto(workingHoursEntity1))
+        when(workingHoursRepository.findProjectionByDoctor(doctorEntity))
+                .thenReturn(List.of(workingHoursProjection1, workingHoursProjection2));
+        when(workingHoursConverter.fromProjectionToDto(workingHoursProjection1))
                 .thenReturn(workingHoursDto1);
-        when(workingHoursConverter.fromEntityToDto(workingHoursEntity2))
+        when(workingHoursConverter.fromProjectionToDto(workingHoursProjection2))
                 .thenReturn(workingHoursDto2);
 
         //Act
-        List<WorkingHoursDto> returnValue =
-                workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, null);
+        PageDto<WorkingHoursDto> returnValue =
+                workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, null, null, PAGE_SIZE);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(2);
-        Assertions.assertThat(returnValue.get(0)).isEqualTo(workingHoursDto1);
-        Assertions.assertThat(returnValue.get(1)).isEqualTo(workingHoursDto2);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(2);
+        Assertions.assertThat(returnValue.getItems().get(0)).isEqualTo(workingHoursDto1);
+        Assertions.assertThat(returnValue.getItems().get(1)).isEqualTo(workingHoursDto2);
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(workingHoursRepository).findByDoctor(doctorEntity);
-        verify(workingHoursConverter).fromEntityToDto(workingHoursEntity1);
-        verify(workingHoursConverter).fromEntityToDto(workingHoursEntity2);
+        verify(workingHoursRepository).findProjectionByDoctor(doctorEntity);
+        verify(workingHoursConverter).fromProjectionToDto(workingHoursProjection1);
+        verify(workingHoursConverter).fromProjectionToDto(workingHoursProjection2);
     }
 
     @Test
@@ -250,26 +262,28 @@ public class WorkingHoursServiceTests {
         final Integer dayOfWeek = 1;
         final DayOfWeek dayOfWeekValue = DayOfWeek.of(dayOfWeek);
 
-        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(id, dayOfWeek);
+        WorkingHoursProjection workingHoursProjection = WorkingHoursUtil.createWorkingHoursProjection(id, dayOfWeek);
         WorkingHoursDto workingHoursDto = WorkingHoursUtil.createWorkingHoursDto(dayOfWeek);
         workingHoursDto.setId(1L);
 
-        when(workingHoursRepository.findByDayOfWeek(dayOfWeekValue))
-                .thenReturn(List.of(workingHoursEntity));
-        when(workingHoursConverter.fromEntityToDto(workingHoursEntity))
+        when(workingHoursRepository.findProjectionByDayOfWeekAndIdGreaterThan(
+                dayOfWeekValue, 0L, KeysetPagination.firstRows(PAGE_SIZE)))
+                .thenReturn(List.of(workingHoursProjection));
+        when(workingHoursConverter.fromProjectionToDto(workingHoursProjection))
                 .thenReturn(workingHoursDto);
 
         //Act
-        List<WorkingHoursDto> returnValue =
-                workingHoursService.getWorkingHoursByDoctorAndDay(null, dayOfWeek);
+        PageDto<WorkingHoursDto> returnValue =
+                workingHoursService.getWorkingHoursByDoctorAndDay(null, dayOfWeek, null, PAGE_SIZE);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(1);
-        Assertions.assertThat(returnValue.get(0)).isEqualTo(workingHoursDto);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(1);
+        Assertions.assertThat(returnValue.getItems().get(0)).isEqualTo(workingHoursDto);
 
         //Verify
-        verify(workingHoursRepository).findByDayOfWeek(dayOfWeekValue);
+        verify(workingHoursRepository).findProjectionByDayOfWeekAndIdGreaterThan(
+                dayOfWeekValue, 0L, KeysetPagination.firstRows(PAGE_SIZE));
     }
 
     @Test
@@ -278,26 +292,26 @@ public class WorkingHoursServiceTests {
         //Arrange
         final Long id = 1L;
 
-        WorkingHoursEntity workingHoursEntity = WorkingHoursUtil.createWorkingHoursEntity(id, 3);
+        WorkingHoursProjection workingHoursProjection = WorkingHoursUtil.createWorkingHoursProjection(id, 3);
         WorkingHoursDto workingHoursDto = WorkingHoursUtil.createWorkingHoursDto(3);
         workingHoursDto.setId(1L);
 
-        when(workingHoursRepository.findAll())
-                .thenReturn(List.of(workingHoursEntity));
-        when(workingHoursConverter.fromEntityToDto(workingHoursEntity))
+        when(workingHoursRepository.findProjectionByIdGreaterThan(0L, KeysetPagination.firstRows(PAGE_SIZE)))
+                .thenReturn(List.of(workingHoursProjection));
+        when(workingHoursConverter.fromProjectionToDto(workingHoursProjection))
                 .thenReturn(workingHoursDto);
 
         //Act
-        List<WorkingHoursDto> returnValue =
-                workingHoursService.getWorkingHoursByDoctorAndDay(null, null);
+        PageDto<WorkingHoursDto> returnValue =
+                workingHoursService.getWorkingHoursByDoctorAndDay(null, null, null, PAGE_SIZE);
 
         //Assert
-        Assertions.assertThat(returnValue.isEmpty()).isFalse();
-        Assertions.assertThat(returnValue.size()).isEqualTo(1);
-        Assertions.assertThat(returnValue.get(0)).isEqualTo(workingHoursDto);
+        Assertions.assertThat(returnValue.getItems().isEmpty()).isFalse();
+        Assertions.assertThat(returnValue.getItems().size()).isEqualTo(1);
+        Assertions.assertThat(returnValue.getItems().get(0)).isEqualTo(workingHoursDto);
 
         //Verify
-        verify(workingHoursRepository).findAll();
+        verify(workingHoursRepository).findProjectionByIdGreaterThan(0L, KeysetPagination.firstRows(PAGE_SIZE));
     }
 
     @Test
@@ -314,7 +328,7 @@ public class WorkingHoursServiceTests {
                 .thenReturn(Optional.of(doctorEntity));
 
         //Act && assert
-        Assertions.assertThatThrownBy(() -> workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek))
+        Assertions.assertThatThrownBy(() -> workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek, null, PAGE_SIZE))
                 .isInstanceOf(DataMismatchException.class);
 
         //Verify
@@ -332,7 +346,7 @@ public class WorkingHoursServiceTests {
                 .thenReturn(Optional.empty());
 
         //Act && assert
-        Assertions.assertThatThrownBy(() -> workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek))
+        Assertions.assertThatThrownBy(() -> workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, dayOfWeek, null, PAGE_SIZE))
                 .isInstanceOf(DataNotFoundException.class)
                 .hasMessage(String.format("%s not found", doctorName));
 
@@ -351,7 +365,7 @@ public class WorkingHoursServiceTests {
 
         //Act && assert
         Assertions.assertThatThrownBy(() ->
-                        workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, null))
+                        workingHoursService.getWorkingHoursByDoctorAndDay(doctorName, null, null, PAGE_SIZE))
                 .isInstanceOf(DataNotFoundException.class)
                 .hasMessage(String.format("%s not found", doctorName));
 
@@ -399,7 +413,7 @@ public class WorkingHoursServiceTests {
 
         when(doctorRepository.findByNameAndIsActive(doctorName, isActive))
                 .thenReturn(Optional.of(doctorEntity));
-        doNothing().when(workingHoursRepository).deleteByDoctor(doctorEntity);
+        when(workingHoursRepository.deleteAllByDoctorIdIn(List.of(id))).thenReturn(3);
 
         //Act
         Long returnValue = workingHoursService.deleteWorkingHoursByDoctorAndDay(doctorName, null);
@@ -409,7 +423,7 @@ public class WorkingHoursServiceTests {
 
         //Verify
         verify(doctorRepository).findByNameAndIsActive(doctorName, isActive);
-        verify(workingHoursRepository).deleteByDoctor(doctorEntity);
+        verify(workingHoursRepository).deleteAllByDoctorIdIn(List.of(id));
     }
 
     @Test
@@ -440,17 +454,30 @@ public class WorkingHoursServiceTests {
 
         DoctorEntity doctorEntity = DoctorUtil.createDoctorEntity(id);
 
-        doNothing().when(workingHoursRepository).deleteByDoctor(doctorEntity);
+        when(workingHoursRepository.deleteAllByDoctorIdIn(List.of(id))).thenReturn(3);
 
         //Act
         String returnValue = workingHoursService.deleteAllWorkingHoursForDoctor(doctorEntity);
 
         //Assert
         Assertions.assertThat(returnValue)
-                .isEqualTo(String.format("Working hours for %s deleted", doctorEntity.getName()));
+                .isEqualTo(String.format("3 working hours for %s deleted", doctorEntity.getName()));
+
+        //Verify
+        verify(workingHoursRepository).deleteAllByDoctorIdIn(List.of(id));
+        verify(eventPublisher).publishEvent(DoctorScheduleChangedEvent.allDates(id));
+    }
+
+    @Test
+    public void testDeleteAllWorkingHoursForDoctors_whenNoDoctors_thenReturnZero() {
+        //Act
+        int returnValue = workingHoursService.deleteAllWorkingHoursForDoctors(List.of());
+
+        //Assert
+        Assertions.assertThat(returnValue).isZero();
 
         //Verify
-        verify(workingHoursRepository).deleteByDoctor(doctorEntity);
+        verifyNoInteractions(workingHoursRepository, eventPublisher);
     }
 
 
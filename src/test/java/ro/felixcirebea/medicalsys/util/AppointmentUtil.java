@@ -1,6 +1,7 @@
 package ro.felixcirebea.medicalsys.util;
 
 import ro.felixcirebea.medicalsys.dto.AppointmentDto;
+import ro.felixcirebea.medicalsys.entity.AppointmentArchiveEntity;
 import ro.felixcirebea.medicalsys.entity.AppointmentEntity;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.InvestigationEntity;
@@ -33,6 +34,39 @@ public class AppointmentUtil {
         return appointmentEntity;
     }
 
+    public static AppointmentEntity createAppointmentEntity(DoctorEntity doctorEntity,
+                                                            InvestigationEntity investigationEntity,
+                                                            LocalDate date, LocalTime startTime,
+                                                            AppointmentStatus status) {
+        AppointmentEntity appointmentEntity = new AppointmentEntity();
+        appointmentEntity.setClientName(CLIENT);
+        appointmentEntity.setDoctor(doctorEntity);
+        appointmentEntity.setInvestigation(investigationEntity);
+        appointmentEntity.setDate(date);
+        appointmentEntity.setStartTime(startTime);
+        appointmentEntity.setEndTime(startTime.plusMinutes(investigationEntity.getDuration()));
+        appointmentEntity.setPrice(investigationEntity.getBasePrice());
+        appointmentEntity.setStatus(status);
+
+        return appointmentEntity;
+    }
+
+    public static AppointmentArchiveEntity createAppointmentArchiveEntity(Long id, LocalDate date,
+                                                                          LocalTime startTime) {
+        AppointmentArchiveEntity archiveEntity = new AppointmentArchiveEntity();
+        archiveEntity.setId(id);
+        archiveEntity.setClientName(CLIENT);
+        archiveEntity.setDoctor(DOCTOR);
+        archiveEntity.setInvestigation(INVESTIGATION);
+        archiveEntity.setDate(date);
+        archiveEntity.setStartTime(startTime);
+        archiveEntity.setEndTime(startTime.plusMinutes(INVESTIGATION.getDuration()));
+        archiveEntity.setPrice(INVESTIGATION.getBasePrice());
+        archiveEntity.setStatus(AppointmentStatus.COMPLETED);
+
+        return archiveEntity;
+    }
+
     public static AppointmentDto createAppointmentDto(LocalDate date, LocalTime startTime) {
         return AppointmentDto.builder()
                 .clientName(CLIENT)
@@ -29,4 +29,12 @@ public class DoctorUtil {
         return doctorEntity;
     }
 
+    public static DoctorEntity createDoctorEntity(String name) {
+        DoctorEntity doctorEntity = new DoctorEntity();
+        doctorEntity.setName(name);
+        doctorEntity.setPriceRate(PRICE_RATE);
+
+        return doctorEntity;
+    }
+
 }
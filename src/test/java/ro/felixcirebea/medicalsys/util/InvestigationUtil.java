@@ -32,4 +32,13 @@ public class InvestigationUtil {
         return investigationEntity;
     }
 
+    public static InvestigationEntity createInvestigationEntity(String name) {
+        InvestigationEntity investigationEntity = new InvestigationEntity();
+        investigationEntity.setName(name);
+        investigationEntity.setBasePrice(BASE_PRICE);
+        investigationEntity.setDuration(DURATION);
+
+        return investigationEntity;
+    }
+
 }
@@ -20,4 +20,10 @@ public class SpecialtyUtil {
         return specialtyEntity;
     }
 
+    public static SpecialtyEntity createSpecialtyEntity(String name) {
+        SpecialtyEntity specialtyEntity = new SpecialtyEntity();
+        specialtyEntity.setName(name);
+        return specialtyEntity;
+    }
+
 }
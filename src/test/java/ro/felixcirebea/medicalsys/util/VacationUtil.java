@@ -3,6 +3,7 @@ package ro.felixcirebea.medicalsys.util;
 import ro.felixcirebea.medicalsys.dto.VacationDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.VacationEntity;
+import ro.felixcirebea.medicalsys.enums.VacationStatus;
 import ro.felixcirebea.medicalsys.enums.VacationType;
 
 import java.time.LocalDate;
@@ -34,4 +35,16 @@ public class VacationUtil {
 
         return vacationEntity;
     }
+
+    public static VacationEntity createVacationEntity(DoctorEntity doctorEntity, LocalDate startDate,
+                                                      LocalDate endDate, VacationStatus status) {
+        VacationEntity vacationEntity = new VacationEntity();
+        vacationEntity.setDoctor(doctorEntity);
+        vacationEntity.setStartDate(startDate);
+        vacationEntity.setEndDate(endDate);
+        vacationEntity.setType(TYPE);
+        vacationEntity.setStatus(status);
+
+        return vacationEntity;
+    }
 }
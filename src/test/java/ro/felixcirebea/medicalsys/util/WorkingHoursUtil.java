@@ -3,6 +3,7 @@ package ro.felixcirebea.medicalsys.util;
 import ro.felixcirebea.medicalsys.dto.WorkingHoursDto;
 import ro.felixcirebea.medicalsys.entity.DoctorEntity;
 import ro.felixcirebea.medicalsys.entity.WorkingHoursEntity;
+import ro.felixcirebea.medicalsys.repository.WorkingHoursProjection;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -24,6 +25,20 @@ public class WorkingHoursUtil {
         return workingHoursEntity;
     }
 
+    public static WorkingHoursEntity createWorkingHoursEntity(DoctorEntity doctorEntity, DayOfWeek dayOfWeek) {
+        WorkingHoursEntity workingHoursEntity = new WorkingHoursEntity();
+        workingHoursEntity.setDoctor(doctorEntity);
+        workingHoursEntity.setDayOfWeek(dayOfWeek);
+        workingHoursEntity.setStartHour(START_HOUR);
+        workingHoursEntity.setEndHour(END_HOUR);
+
+        return workingHoursEntity;
+    }
+
+    public static WorkingHoursProjection createWorkingHoursProjection(Long id, Integer dayOfWeek) {
+        return new WorkingHoursProjection(id, DOCTOR.getName(), DayOfWeek.of(dayOfWeek), START_HOUR, END_HOUR);
+    }
+
     public static WorkingHoursDto createWorkingHoursDto(Integer dayOfWeek) {
         return WorkingHoursDto.builder()
                 .doctor(DOCTOR.getName())